@@ -20,6 +20,7 @@
 package br.usp.poli.lta.cereda.aa.examples;
 
 import br.usp.poli.lta.cereda.aa.execution.AdaptiveAutomaton;
+import br.usp.poli.lta.cereda.aa.execution.RecognitionResult;
 import br.usp.poli.lta.cereda.aa.model.Action;
 import br.usp.poli.lta.cereda.aa.model.State;
 import br.usp.poli.lta.cereda.aa.model.Submachine;
@@ -157,14 +158,17 @@ public class ContextSensitiveLanguageExample {
             
         };
         
-        boolean resultado = aa.recognize(ExampleUtils.convert("aaabbbccc"));
+        RecognitionResult resultado =
+                aa.evaluate(ExampleUtils.convert("aaabbbccc"));
         System.out.println("Resultado: cadeia "
-                .concat(resultado == true ? "aceita" : "rejeitada"));      
+                .concat(resultado.isAccepted() ? "aceita" : "rejeitada"));      
         System.out.print("Reconhecimento determinístico? ");
         System.out.println(
-                ExampleUtils.getAnswer(aa.getRecognitionPaths().size() == 1)
+                ExampleUtils.getAnswer(
+                        resultado.getRecognitionPaths().size() == 1
+                )
         );
-        for (RecognitionPath rp : aa.getRecognitionPaths()) {
+        for (RecognitionPath rp : resultado.getRecognitionPaths()) {
             System.out.println(rp);
         }
         
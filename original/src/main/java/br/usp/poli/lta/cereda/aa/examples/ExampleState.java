@@ -20,6 +20,7 @@
 package br.usp.poli.lta.cereda.aa.examples;
 
 import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.utils.Copyable;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -28,7 +29,7 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  * conjunto de estados do autômato adaptativo.
  * @author Paulo Roberto Massa Cereda
  */
-public class ExampleState extends State {
+public class ExampleState extends State implements Copyable<ExampleState> {
 
     // nome do estado
     private String value;
@@ -40,6 +41,11 @@ public class ExampleState extends State {
     public ExampleState(String value) {
         this.value = value;
     }
+
+    @Override
+    public ExampleState copy() {
+        return new ExampleState(value);
+    }
     
     @Override
     public boolean equals(Object object) {
@@ -20,6 +20,7 @@
 package br.usp.poli.lta.cereda.aa.examples;
 
 import br.usp.poli.lta.cereda.aa.model.Symbol;
+import br.usp.poli.lta.cereda.aa.utils.Copyable;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -28,7 +29,7 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  * alfabeto de entrada do autômato adaptativo.
  * @author Paulo Roberto Massa Cereda
  */
-public class ExampleSymbol extends Symbol {
+public class ExampleSymbol extends Symbol implements Copyable<ExampleSymbol> {
 
     // valor do símbolo
     private String value;
@@ -36,6 +37,11 @@ public class ExampleSymbol extends Symbol {
     public ExampleSymbol(String value) {
         this.value = value;
     }
+
+    @Override
+    public ExampleSymbol copy() {
+        return new ExampleSymbol(value);
+    }
     
     @Override
     public boolean equals(Object object) {
@@ -20,6 +20,7 @@
 package br.usp.poli.lta.cereda.aa.examples;
 
 import br.usp.poli.lta.cereda.aa.execution.AdaptiveAutomaton;
+import br.usp.poli.lta.cereda.aa.execution.RecognitionResult;
 import br.usp.poli.lta.cereda.aa.model.Action;
 import br.usp.poli.lta.cereda.aa.model.State;
 import br.usp.poli.lta.cereda.aa.model.Submachine;
@@ -141,10 +142,10 @@ public class LexerExample {
         
         do {
             symbols = symbols.subList(compare, size);
-            aa.recognize(symbols);
+            RecognitionResult resultado = aa.evaluate(symbols);
             size = symbols.size();
-            compare = aa.getRecognitionPaths().get(0).getCursor() == compare ?
-                    compare + 1 : aa.getRecognitionPaths().get(0).getCursor();
+            int cursor = resultado.getRecognitionPaths().get(0).getCursor();
+            compare = (cursor == compare ? compare + 1 : cursor);
         } while (size > compare);
         
         System.out.println(tokens);
@@ -25,12 +25,19 @@ import br.usp.poli.lta.cereda.aa.model.Symbol;
 import br.usp.poli.lta.cereda.aa.model.sets.ActionsSet;
 import br.usp.poli.lta.cereda.aa.model.sets.SubmachinesSet;
 import br.usp.poli.lta.cereda.aa.model.sets.Mapping;
+import br.usp.poli.lta.cereda.aa.utils.CopyUtils;
 import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
-import com.rits.cloning.Cloner;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import org.apache.commons.lang3.Validate;
 
 /**
@@ -73,9 +80,80 @@ public abstract class AdaptiveAutomaton {
     // encerrar, pelo menos, uma execução obtendo resultado
     private boolean stopAtFirstFinishedRecognitionPath;
     
-    // objeto que representa uma referência ao autômato
-    // adaptativo corrente
-    private AdaptiveAutomaton reference;
+    // variável que determina se as transições em vazio puras devem ser
+    // substituídas pelos atalhos dos fechos em vazio
+    private boolean epsilonClosures;
+    
+    // variável que determina se o cache de subconjuntos determinísticos deve
+    // ser utilizado nas regiões livres de ações
+    private boolean deterministicCache;
+    
+    // variável que determina se cada ramificação não determinística deve
+    // operar sobre uma bifurcação própria do conjunto de transições
+    private boolean isolatedBranches;
+    
+    // variável que determina se o reconhecimento deve ser feito através de
+    // uma busca em profundidade com retrocesso
+    private boolean depthFirst;
+    
+    // variável que determina se as chamadas de submáquina devem ser
+    // memorizadas
+    private boolean callMemoization;
+    
+    // variável que determina se as transições incapazes de consumir o
+    // símbolo corrente devem ser descartadas antes da bifurcação
+    private boolean lookahead;
+    
+    // variável que determina se as transições que conduzem a estados a
+    // partir dos quais nenhum estado final é alcançável devem ser descartadas
+    private boolean coReachability;
+    
+    // variável que determina se as configurações cuja cadeia de entrada
+    // restante é mais curta do que o necessário devem ser descartadas
+    private boolean lengthBound;
+    
+    // variável que determina se as configurações revisitadas sem consumo de
+    // símbolos devem ser descartadas
+    private boolean cycleDetection;
+    
+    // limites de recursos do reconhecimento, isto é, quantidade máxima de
+    // passos computacionais, de threads simultâneas e de elementos na pilha,
+    // e tempo máximo em milissegundos; limites nulos não são verificados
+    private long maximumSteps;
+    private int maximumThreads;
+    private int maximumStackDepth;
+    private long timeLimit;
+    
+    // estatísticas do último reconhecimento
+    private Statistics statistics;
+    
+    // escalonador das threads pendentes; caso seja nulo, as threads são
+    // executadas em rodadas sobre a lista de threads
+    private Scheduler scheduler;
+    
+    // variável que determina se as alternativas devem ser tentadas em ordem
+    // de prioridade, com o cancelamento das alternativas de menor prioridade
+    // quando uma escolha é efetivada
+    private boolean orderedChoice;
+    
+    // política de retenção dos caminhos encerrados, sua aplicação ao
+    // reconhecimento corrente e sinalizadores indicando se algum caminho já
+    // foi encerrado e se algum caminho foi aceito, independentemente de sua
+    // retenção
+    private RetentionPolicy retention;
+    private RetentionPolicy.Run retaining;
+    private boolean finished;
+    private boolean accepted;
+    
+    // cache de resultados de reconhecimento, compartilhado por todas as
+    // threads; caso seja nulo, todos os reconhecimentos são executados
+    private ResultCache cache;
+    
+    // resultado do último reconhecimento realizado através do método de
+    // reconhecimento, em qualquer thread; o resultado em si é independente
+    // do autômato, de modo que reconhecimentos concorrentes não interfiram
+    // entre si
+    private volatile RecognitionResult reference;
         
     /**
      * Construtor.
@@ -101,7 +179,60 @@ public abstract class AdaptiveAutomaton {
         // reconhecimento quando todas as instâncias encerrarem-se
         stopAtFirstFinishedRecognitionPath = false;
         
-        // define a referência inicial do autômato adaptativo
+        // define que, inicialmente, os fechos em vazio não são utilizados
+        epsilonClosures = false;
+        
+        // define que, inicialmente, o cache de subconjuntos determinísticos
+        // não é utilizado
+        deterministicCache = false;
+        
+        // define que, inicialmente, as ramificações compartilham o mesmo
+        // conjunto de transições
+        isolatedBranches = false;
+        
+        // define que, inicialmente, o reconhecimento é feito através de uma
+        // busca em largura
+        depthFirst = false;
+        
+        // define que, inicialmente, as chamadas de submáquina não são
+        // memorizadas
+        callMemoization = false;
+        
+        // define que, inicialmente, não há antecipação
+        lookahead = false;
+        
+        // define que, inicialmente, a co-alcançabilidade não é verificada
+        coReachability = false;
+        
+        // define que, inicialmente, o comprimento restante não é verificado
+        lengthBound = false;
+        
+        // define que, inicialmente, os ciclos não são detectados
+        cycleDetection = false;
+        
+        // define que, inicialmente, não há limites de recursos
+        maximumSteps = 0;
+        maximumThreads = 0;
+        maximumStackDepth = 0;
+        timeLimit = 0;
+        statistics = null;
+        
+        // define que, inicialmente, não há escalonador
+        scheduler = null;
+        
+        // define que, inicialmente, não há escolha ordenada
+        orderedChoice = false;
+        
+        // define que, inicialmente, todos os caminhos encerrados são mantidos
+        retention = RetentionPolicy.all();
+        retaining = null;
+        finished = false;
+        accepted = false;
+        
+        // define que, inicialmente, não há cache de resultados
+        cache = null;
+        
+        // define que, inicialmente, não há último reconhecimento
         reference = null;
             
     }
@@ -118,6 +249,7 @@ public abstract class AdaptiveAutomaton {
      */
     public void setTransitions(Mapping transitions) {
         this.transitions = transitions;
+        invalidate();
     }
 
     /**
@@ -126,6 +258,7 @@ public abstract class AdaptiveAutomaton {
      */
     public void setSubmachines(SubmachinesSet submachines) {
         this.submachines = submachines;
+        invalidate();
     }
 
     /**
@@ -134,6 +267,7 @@ public abstract class AdaptiveAutomaton {
      */
     public void setActions(ActionsSet actions) {
         this.actions = actions;
+        invalidate();
     }
 
     /**
@@ -142,75 +276,199 @@ public abstract class AdaptiveAutomaton {
      */
     public void setMainSubmachine(String mainSubmachine) {
         this.mainSubmachine = mainSubmachine;
+        invalidate();
     }
 
     /**
-     * Obtém o mapa contendo os caminhos de reconhecimento.
+     * Obtém o mapa contendo os caminhos de reconhecimento do último
+     * reconhecimento realizado através do método de reconhecimento.
      * @return Mapa contendo os caminhos de reconhecimento.
+     * @deprecated O último reconhecimento é compartilhado por todas as
+     * threads; utilize o resultado retornado pelo método de avaliação.
      */
+    @Deprecated
     public Map<Integer, RecognitionPath> getRecognitionMap() {
-        return reference.getRecognitionMapOnce();
+        return last().getRecognitionMap();
     }
     
     /**
-     * Obtém, apenas uma vez, o mapa contendo os caminhos de reconhecimento.
-     * @return Mapa contendo os caminhos de reconhecimento.
+     * Obtém a lista contendo todos os caminhos de reconhecimento obtidos
+     * durante o último reconhecimento realizado através do método de
+     * reconhecimento.
+     * @return Lista de todos os caminhos de reconhecimento.
+     * @deprecated O último reconhecimento é compartilhado por todas as
+     * threads; utilize o resultado retornado pelo método de avaliação.
      */
-    private Map<Integer, RecognitionPath> getRecognitionMapOnce() {
-        return paths;
+    @Deprecated
+    public List<RecognitionPath> getRecognitionPaths() {
+        return last().getRecognitionPaths();
     }
     
     /**
-     * Obtém a lista contendo todos os caminhos de reconhecimento obtidos
-     * durante a execução do autômato adaptativo.
-     * @return Lista de todos os caminhos de reconhecimento.
+     * Obtém as estatísticas do último reconhecimento realizado através do
+     * método de reconhecimento, incluindo o seu desfecho. Caso o
+     * reconhecimento tenha sido interrompido pelo esgotamento de um limite de
+     * recursos, as estatísticas são parciais.
+     * @return Estatísticas do último reconhecimento.
+     * @deprecated O último reconhecimento é compartilhado por todas as
+     * threads; utilize o resultado retornado pelo método de avaliação.
      */
-    public List<RecognitionPath> getRecognitionPaths() {
-        return reference.getRecognitionPathsOnce();
+    @Deprecated
+    public Statistics getStatistics() {
+        return last().getStatistics();
     }
     
     /**
-     * Obtém, apenas uma vez, a lista contendo todos os caminhos de
-     * reconhecimento obtidos
-     * durante a execução do autômato adaptativo.
-     * @return Lista de todos os caminhos de reconhecimento.
+     * Obtém o resultado do último reconhecimento realizado através do
+     * método de reconhecimento.
+     * @return Resultado do último reconhecimento.
      */
-    private List<RecognitionPath> getRecognitionPathsOnce() {
-        List<RecognitionPath> result = new ArrayList<>();
-        for (int key : paths.keySet()) {
-            result.add(paths.get(key));
-        }
-        return result;  
+    private RecognitionResult last() {
+        RecognitionResult result = reference;
+        Validate.validState(result != null,
+                "Nenhum reconhecimento foi realizado.");
+        return result;
     }
     
     /**
      * Reconhece uma lista de símbolos representado a cadeia de entrada.
+     * Caso um limite de recursos seja esgotado antes da aceitação, o
+     * resultado é falso e o desfecho distinto é informado pelas estatísticas.
+     * O reconhecimento é feito sobre uma cópia do autômato corrente, e o
+     * seu resultado é mantido como o último reconhecimento do autômato,
+     * compartilhado por todas as threads; com diversas threads, o método de
+     * avaliação deve ser utilizado.
      * @param input Lista de símbolos representando a cadeia de entrada.
      * @return Um valor lógico informando se o autômato adaptativo reconheceu
      * a cadeia de entrada.
      */
     public boolean recognize(List<Symbol> input) {
+        RecognitionResult result = evaluate(input, null);
+        reference = result;
+        return result.isAccepted();
+    }
+    
+    /**
+     * Reconhece uma lista de símbolos representando a cadeia de entrada,
+     * retornando um resultado independente do autômato corrente. Esta é a
+     * forma recomendada de reconhecimento: o último reconhecimento do
+     * autômato não é alterado, de modo que o método pode ser utilizado por
+     * diversas threads simultaneamente sem que os resultados interfiram
+     * entre si.
+     * @param input Lista de símbolos representando a cadeia de entrada.
+     * @return Resultado do reconhecimento.
+     */
+    public RecognitionResult evaluate(List<Symbol> input) {
+        return evaluate(input, null);
+    }
+    
+    /**
+     * Reconhece uma lista de símbolos representando a cadeia de entrada em
+     * segundo plano, disponibilizando os caminhos aceitos através de um
+     * iterador à medida que as threads correspondentes aceitam a cadeia. O
+     * iterador bloqueia até que um novo caminho seja aceito ou o
+     * reconhecimento termine; fechá-lo cancela o reconhecimento. O resultado
+     * completo é disponibilizado pelo iterador após o término da iteração.
+     * @param input Lista de símbolos representando a cadeia de entrada.
+     * @return Iterador sobre os caminhos aceitos.
+     */
+    public RecognitionIterator recognizeLazily(final List<Symbol> input) {
+        final RecognitionIterator iterator = new RecognitionIterator();
+        Thread worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                RecognitionResult result = null;
+                RuntimeException error = null;
+                try {
+                    result = evaluate(input, iterator);
+                }
+                catch (RuntimeException exception) {
+                    error = exception;
+                }
+                finally {
+                    iterator.end(result, error);
+                }
+            }
+        });
+        worker.setDaemon(true);
+        worker.start();
+        return iterator;
+    }
+    
+    /**
+     * Reconhece uma lista de símbolos representando a cadeia de entrada de
+     * forma assíncrona, em segundo plano. O cancelamento do valor futuro
+     * interrompe o reconhecimento no próximo passo computacional de qualquer
+     * thread, com o desfecho de cancelamento; a cópia do autômato utilizada
+     * no reconhecimento é então descartada. O reconhecimento assíncrono não
+     * altera o último reconhecimento do autômato corrente.
+     * @param input Lista de símbolos representando a cadeia de entrada.
+     * @return Valor futuro contendo o resultado do reconhecimento.
+     */
+    public Future<RecognitionResult> recognizeAsync(List<Symbol> input) {
+        Recognition recognition = new Recognition(input);
+        FutureTask<RecognitionResult> task = new FutureTask<>(recognition);
+        recognition.setFuture(task);
+        Thread worker = new Thread(task);
+        worker.setDaemon(true);
+        worker.start();
+        return task;
+    }
+    
+    /**
+     * Reconhece uma lista de símbolos representando a cadeia de entrada sobre
+     * uma cópia do autômato corrente, notificando o ouvinte informado.
+     * @param input Lista de símbolos representando a cadeia de entrada.
+     * @param listener Ouvinte do reconhecimento, ou nulo.
+     * @return Resultado do reconhecimento.
+     */
+    private RecognitionResult evaluate(List<Symbol> input,
+            RecognitionListener listener) {
         
-        // cria um objeto de clonagem para realizar
-        // a cópia do autômato adaptativo corrente
-        Cloner dolly = new Cloner();
+        // consulta o cache de resultados, caso exista; os caminhos aceitos
+        // do resultado armazenado são reapresentados ao ouvinte
+        if (cache != null) {
+            RecognitionResult result = cache.get(input);
+            if (result != null) {
+                if (listener != null) {
+                    for (RecognitionPath path : result.getRecognitionPaths()) {
+                        if (path.getResult()) {
+                            listener.accepted(path);
+                        }
+                    }
+                }
+                return result;
+            }
+        }
         
-        // cria um clone do autômato corrente
-        reference = dolly.deepClone(this);
+        // cria um clone do autômato corrente; como o autômato é definido
+        // pelo usuário, a cópia é feita por clonagem profunda, exceto pelo
+        // último reconhecimento e pelo cache de resultados, que pertencem
+        // ao autômato corrente e não são utilizados pela cópia
+        AdaptiveAutomaton copy = CopyUtils.copy(this, reference, cache);
+        copy.reference = null;
+        copy.cache = null;
         
         // inicia o processo de reconhecimento da lista de
         // símbolos, retornando o resultado
-        return reference.recognizeOnce(input);
+        boolean accepted = copy.recognizeOnce(input, listener);
+        RecognitionResult result = new RecognitionResult(accepted,
+                copy.paths, copy.statistics);
+        if (cache != null) {
+            cache.put(input, result);
+        }
+        return result;
     }
     
     /**
      * Reconhece, apenas uma vez, uma lista de símbolos representado a cadeia
      * de entrada.
      * @param input Lista de símbolos representando a cadeia de entrada.
+     * @param listener Ouvinte do reconhecimento, ou nulo.
      * @return Um valor lógico informando se o autômato adaptativo reconheceu
      * a cadeia de entrada.
      */
-    private boolean recognizeOnce(List<Symbol> input) {
+    private boolean recognizeOnce(List<Symbol> input, RecognitionListener listener) {
         
         // realiza a configuração e verifica se a submáquina
         // principal não é nula
@@ -220,6 +478,18 @@ public abstract class AdaptiveAutomaton {
                 "A submáquina principal não pode ser nula."
         );
         
+        // a escolha ordenada implica a busca em profundidade com retrocesso
+        boolean backtracking = depthFirst || orderedChoice;
+        Validate.isTrue(
+                !(backtracking && scheduler != null),
+                "A busca em profundidade com retrocesso não admite um escalonador."
+        );
+        
+        // inicia a contabilização dos recursos do reconhecimento
+        statistics = new Statistics(maximumSteps, maximumThreads,
+                maximumStackDepth, timeLimit);
+        retaining = retention.start();
+        
         // cria a thread inicial com os conjuntos
         // do modelo
         Kernel k = new Kernel(threads, removals, paths);
@@ -232,6 +502,19 @@ public abstract class AdaptiveAutomaton {
         k.setInput(input);
         k.setCursor(0);
         k.setEnablePriorAction(true);
+        k.setEpsilonClosures(epsilonClosures || deterministicCache);
+        k.setDeterministicCache(deterministicCache);
+        k.setIsolatedBranches(isolatedBranches && !backtracking);
+        k.setDepthFirst(backtracking);
+        k.setOrderedChoice(orderedChoice);
+        k.setLookahead(lookahead);
+        k.setCoReachability(coReachability);
+        k.setLengthBound(lengthBound);
+        k.setCycleDetection(cycleDetection);
+        k.setCalls(callMemoization ? new CallTable() : null);
+        k.setStatistics(statistics);
+        k.setScheduler(scheduler);
+        k.setListener(listener);
         
         // cria uma transição inicial em vazio que faz o autômato
         // entrar no estado inicial da submáquina principal e ajusta
@@ -249,10 +532,24 @@ public abstract class AdaptiveAutomaton {
         paths.put(k.getIdentifier(), new RecognitionPath());
         threads.add(k);
         
-        // enquanto a lista de threads não estiver vazia e o autômato
+        // no modo de busca em profundidade, as ramificações são exploradas
+        // uma de cada vez, com retrocesso
+        if (backtracking) {
+            backtrack();
+        }
+        
+        // com um escalonador, as threads pendentes são mantidas no
+        // escalonador, que decide a ordem de exploração
+        if (scheduler != null) {
+            schedule();
+        }
+        
+        // enquanto a lista de threads não estiver vazia, o autômato
         // adaptativo não retornou alguma saída em relação ao processo
-        // de reconhecimento, repete o passo computacional
-        while (!threads.isEmpty() && !atLeastOneRecognitionPathIsDone()) {
+        // de reconhecimento e nenhum limite de recursos foi esgotado,
+        // repete o passo computacional
+        while (!threads.isEmpty() && !atLeastOneRecognitionPathIsDone() &&
+                !statistics.isExceeded()) {
             
             // verifica se existem threads que já terminaram
             // e devem ser removidas
@@ -271,10 +568,9 @@ public abstract class AdaptiveAutomaton {
                     
                     // repete a operação no mapa de caminhos de
                     // reconhecimento, mas apenas os reconhecimentos
-                    // incompletos são removidos
-                    if (!paths.get(i).done()) {
-                        paths.remove(i);
-                    }
+                    // incompletos são removidos, e os encerrados são
+                    // submetidos à política de retenção
+                    release(i);
                 }
                 
                 // todas as threads marcadas para remoção foram
@@ -288,15 +584,14 @@ public abstract class AdaptiveAutomaton {
             // da lista de threads
             for (int i = 0; i < threads.size(); i++) {
             
-                // tenta executar, talvez a thread dê erro
-                try {
-                    threads.get(i).start();
-                    threads.get(i).join();
-                }
-                catch (InterruptedException exception) {
-                    System.err.println("Thread error: " +
-                            exception.getMessage());
-                    System.exit(1);
+                // executa a thread e aguarda o seu término
+                execute(threads.get(i));
+                
+                // as novas threads são executadas ainda nesta iteração,
+                // portanto o limite de threads simultâneas é verificado
+                // após cada passo
+                if (!statistics.threads(threads.size() - removals.size())) {
+                    break;
                 }
             }
         }
@@ -319,10 +614,9 @@ public abstract class AdaptiveAutomaton {
 
                 // repete a operação no mapa de caminhos de
                 // reconhecimento, mas apenas os reconhecimentos
-                // incompletos são removidos
-                if (!paths.get(i).done()) {
-                    paths.remove(i);
-                }
+                // incompletos são removidos, e os encerrados são
+                // submetidos à política de retenção
+                release(i);
             }
 
             // todas as threads marcadas para remoção foram
@@ -332,17 +626,19 @@ public abstract class AdaptiveAutomaton {
         }
         
         // verifica se algum caminho de reconhecimento conduziu à
-        // aceitação da cadeia e retorna o resultado
+        // aceitação da cadeia e retorna o resultado, registrando o
+        // desfecho nas estatísticas
+        boolean result = accepted;
         for (int i : paths.keySet()) {
             if (paths.get(i).done()) {
                 if (paths.get(i).getResult() == true) {
-                    return true;
+                    result = true;
+                    break;
                 }
             }
         }
-
-        // a cadeia não foi aceita, retorna falso
-        return false;
+        statistics.finish(result);
+        return result;
     }
     
     /**
@@ -358,6 +654,12 @@ public abstract class AdaptiveAutomaton {
             return false;
         }
         
+        // algum caminho já encerrado pode ter sido liberado
+        // pela política de retenção
+        if (finished) {
+            return true;
+        }
+        
         // percorre o mapa e verifica se algum caminho já encerrou,
         // retornando o valor da consulta
         for (int i : paths.keySet()) {
@@ -368,6 +670,26 @@ public abstract class AdaptiveAutomaton {
         return false;
     }
 
+    /**
+     * Libera o caminho de reconhecimento da thread encerrada informada. Os
+     * caminhos incompletos são removidos; os caminhos encerrados são
+     * registrados e submetidos à política de retenção, que pode removê-los.
+     * @param key Identificador da thread encerrada.
+     */
+    private void release(int key) {
+        RecognitionPath path = paths.get(key);
+        if (path == null) {
+            return;
+        }
+        if (!path.done()) {
+            paths.remove(key);
+            return;
+        }
+        finished = true;
+        accepted = accepted || path.getResult();
+        retaining.apply(key, paths);
+    }
+
     /**
      * Retorna uma representação textual do autômato adaptativo.
      * @return Representação textual do autômato adaptativo.
@@ -388,6 +710,131 @@ public abstract class AdaptiveAutomaton {
         return sb.toString();
     }
 
+    /**
+     * Realiza a busca em profundidade com retrocesso sobre as threads. A
+     * lista de threads funciona como uma pilha de pontos de escolha: a última
+     * thread é executada até encerrar-se, e as threads criadas por ela são
+     * empilhadas na ordem inversa, de modo que a primeira alternativa seja
+     * explorada primeiro. As alterações do conjunto de transições são
+     * registradas em uma trilha; antes da execução de uma thread, as
+     * alterações realizadas após o ponto de escolha que a originou são
+     * desfeitas, portanto o conjunto nunca precisa ser copiado. A pilha e o
+     * cursor de cada alternativa já são mantidos pela própria thread.
+     */
+    private void backtrack() {
+        
+        // marcações da trilha associadas aos identificadores
+        // das threads pendentes
+        Map<Integer, Integer> marks = new HashMap<>();
+        marks.put(threads.get(0).getIdentifier(), transitions.mark());
+        
+        while (!threads.isEmpty() && !atLeastOneRecognitionPathIsDone() &&
+                statistics.threads(threads.size())) {
+            
+            // restaura o conjunto de transições do ponto de escolha
+            // e executa a thread do topo da pilha
+            int size = threads.size();
+            Kernel k = threads.get(size - 1);
+            transitions.undo(marks.remove(k.getIdentifier()));
+            execute(k);
+            
+            // as novas threads compartilham a marcação corrente e são
+            // empilhadas na ordem inversa de criação
+            List<Kernel> alternatives = threads.subList(size, threads.size());
+            Collections.reverse(alternatives);
+            int mark = transitions.mark();
+            for (Kernel alternative : alternatives) {
+                marks.put(alternative.getIdentifier(), mark);
+            }
+            threads.remove(size - 1);
+            
+            // na escolha ordenada, as alternativas canceladas pela thread
+            // deixam de ser pendentes
+            if (orderedChoice) {
+                Set<Integer> cancelled = new HashSet<>(removals);
+                Iterator<Kernel> iterator = threads.iterator();
+                while (iterator.hasNext()) {
+                    Kernel pending = iterator.next();
+                    if (cancelled.contains(pending.getIdentifier())) {
+                        marks.remove(pending.getIdentifier());
+                        iterator.remove();
+                    }
+                }
+            }
+            
+            // remove os caminhos de reconhecimento incompletos
+            // das threads encerradas
+            for (int i : removals) {
+                release(i);
+            }
+            removals.clear();
+        }
+    }
+
+    /**
+     * Executa um passo computacional da thread informada e aguarda o seu
+     * término. A interrupção da thread que conduz o reconhecimento é tratada
+     * como cancelamento: as threads seguintes encerram-se sem executar
+     * passos, e o reconhecimento termina com o desfecho de cancelamento. A
+     * sinalização de interrupção é restaurada ao final da espera.
+     * @param k Thread a ser executada.
+     */
+    private void execute(Kernel k) {
+        boolean interrupted = false;
+        k.start();
+        while (true) {
+            try {
+                k.join();
+                break;
+            }
+            catch (InterruptedException exception) {
+                interrupted = true;
+                statistics.cancel();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Realiza o reconhecimento de acordo com o escalonador. A próxima thread
+     * é retirada do escalonador e executada até encerrar-se ou bifurcar-se;
+     * durante a execução, a lista de threads contém apenas a thread corrente
+     * e as threads criadas por ela, que são entregues ao escalonador na
+     * ordem de criação.
+     */
+    private void schedule() {
+        scheduler.clear();
+        for (Kernel k : threads) {
+            scheduler.offer(k);
+        }
+        threads.clear();
+        
+        while (!scheduler.isEmpty() && !atLeastOneRecognitionPathIsDone() &&
+                statistics.threads(scheduler.size())) {
+            
+            // executa a próxima thread do escalonador
+            Kernel k = scheduler.poll();
+            threads.add(k);
+            execute(k);
+            
+            // as novas threads são entregues ao escalonador
+            for (Kernel alternative : threads.subList(1, threads.size())) {
+                scheduler.offer(alternative);
+            }
+            threads.clear();
+            
+            // remove os caminhos de reconhecimento incompletos
+            // das threads encerradas
+            for (int i : removals) {
+                release(i);
+            }
+            removals.clear();
+        }
+        scheduler.clear();
+    }
+
     /**
      * Define a condição de parada do autômato adaptativo tal que este não
      * prossiga após o resultado de, pelo menos, um caminho de reconhecimento.
@@ -396,6 +843,386 @@ public abstract class AdaptiveAutomaton {
      */
     public void setStopAtFirstResult(boolean flag) {
         this.stopAtFirstFinishedRecognitionPath = flag;
+        invalidate();
+    }
+    
+    /**
+     * Define se o autômato adaptativo deve substituir as transições em vazio
+     * puras, isto é, sem ações associadas, pelos atalhos dos fechos em vazio
+     * dos estados. Os fechos são calculados sob demanda e mantidos em cache
+     * até que as transições em vazio do modelo sejam alteradas por uma ação
+     * adaptativa. Os caminhos de reconhecimento passam a registrar os atalhos
+     * no lugar das sequências de transições em vazio puras.
+     * @param flag Valor lógico que determina se os fechos em vazio devem ser
+     * utilizados.
+     */
+    public void setEpsilonClosures(boolean flag) {
+        this.epsilonClosures = flag;
+        invalidate();
+    }
+    
+    /**
+     * Define se o autômato adaptativo deve utilizar o cache de subconjuntos
+     * determinísticos nas regiões livres de ações, isto é, a partir de estados
+     * cujas transições não possuem ações nem chamadas de submáquina. Nessas
+     * regiões, e com a pilha vazia, a cadeia de entrada é consumida por um
+     * autômato determinístico construído sob demanda, sem a criação de novas
+     * threads. As entradas do cache são descartadas quando as transições dos
+     * estados envolvidos são alteradas. Este modo implica o uso dos fechos em
+     * vazio.
+     * @param flag Valor lógico que determina se o cache de subconjuntos
+     * determinísticos deve ser utilizado.
+     */
+    public void setDeterministicCache(boolean flag) {
+        this.deterministicCache = flag;
+        invalidate();
+    }
+    
+    /**
+     * Define se cada ramificação não determinística do autômato adaptativo
+     * deve operar sobre uma bifurcação própria do conjunto de transições, de
+     * modo que as ações adaptativas executadas em uma ramificação não sejam
+     * observadas pelas demais. A bifurcação tem custo constante e cada
+     * alteração copia apenas o bloco afetado do conjunto. As transições são
+     * compartilhadas por referência, portanto alterações diretas em uma
+     * transição continuam visíveis em todas as ramificações; recomenda-se
+     * utilizar o modo de transições imutáveis do conjunto de transições em
+     * conjunto com este modo.
+     * @param flag Valor lógico que determina se as ramificações devem ser
+     * isoladas.
+     */
+    public void setIsolatedBranches(boolean flag) {
+        this.isolatedBranches = flag;
+        invalidate();
+    }
+    
+    /**
+     * Define se o autômato adaptativo deve realizar o reconhecimento através
+     * de uma busca em profundidade com retrocesso, explorando uma ramificação
+     * de cada vez em vez de manter todas as ramificações ativas. As adições,
+     * remoções e substituições realizadas no conjunto de transições são
+     * registradas em uma trilha e desfeitas no retrocesso, de modo que cada
+     * ramificação observa apenas as próprias ações adaptativas e o consumo de
+     * memória cresce com a profundidade do caminho corrente, e não com a
+     * largura da fronteira. Alterações diretas em uma transição não são
+     * desfeitas; recomenda-se utilizar o modo de transições imutáveis do
+     * conjunto de transições em conjunto com este modo. Este modo torna o
+     * isolamento das ramificações desnecessário.
+     * @param flag Valor lógico que determina se o reconhecimento deve ser
+     * feito através de uma busca em profundidade.
+     */
+    public void setDepthFirst(boolean flag) {
+        this.depthFirst = flag;
+        invalidate();
+    }
+    
+    /**
+     * Define se o autômato adaptativo deve memorizar as chamadas de
+     * submáquina. Com a memorização, cada chamada sem ações associadas é
+     * registrada a partir da submáquina chamada, do cursor de entrada e da
+     * impressão digital do conjunto de transições; após a conclusão de todas
+     * as threads iniciadas pela chamada, os cursores com os quais a submáquina
+     * retornou ficam disponíveis, e uma nova chamada equivalente prossegue
+     * diretamente para o retorno, sem simular a submáquina novamente. Os
+     * caminhos de reconhecimento registram a chamada memorizada no lugar dos
+     * passos da submáquina. Um registro é descartado caso uma ação seja
+     * executada dentro da chamada ou o conjunto de transições seja alterado
+     * enquanto a chamada está em andamento.
+     * @param flag Valor lógico que determina se as chamadas de submáquina
+     * devem ser memorizadas.
+     */
+    public void setCallMemoization(boolean flag) {
+        this.callMemoization = flag;
+        invalidate();
+    }
+    
+    /**
+     * Define se o autômato adaptativo deve descartar, antes da criação de
+     * novas threads, as transições em vazio e chamadas de submáquina cujo
+     * prosseguimento certamente não consome o próximo símbolo da cadeia de
+     * entrada. A decisão utiliza os conjuntos primeiro e a condição de
+     * anulável de cada estado, calculados sob demanda e recalculados a cada
+     * alteração do conjunto de transições; estados que alcançam ações sem
+     * consumir símbolos nunca são descartados. O resultado do reconhecimento
+     * não é alterado, mas os caminhos rejeitados correspondentes às
+     * ramificações descartadas deixam de ser registrados.
+     * @param flag Valor lógico que determina se a antecipação deve ser
+     * utilizada.
+     */
+    public void setLookahead(boolean flag) {
+        this.lookahead = flag;
+        invalidate();
+    }
+    
+    /**
+     * Define se o autômato adaptativo deve descartar as transições que
+     * conduzem a configurações condenadas, isto é, a estados a partir dos
+     * quais nenhum estado final de sua submáquina é alcançável, ou a chamadas
+     * de submáquina que nunca retornam. Os estados co-alcançáveis são
+     * calculados sob demanda e recalculados a cada alteração do conjunto de
+     * transições; estados que alcançam ações nunca são considerados
+     * condenados. O resultado do reconhecimento não é alterado, mas os
+     * caminhos rejeitados correspondentes às ramificações descartadas deixam
+     * de ser registrados.
+     * @param flag Valor lógico que determina se a co-alcançabilidade deve ser
+     * verificada.
+     */
+    public void setCoReachability(boolean flag) {
+        this.coReachability = flag;
+        invalidate();
+    }
+    
+    /**
+     * Define se o autômato adaptativo deve descartar as configurações cuja
+     * cadeia de entrada restante é mais curta do que a quantidade mínima de
+     * símbolos necessária para alcançar um estado final, considerando o
+     * estado corrente e os estados de retorno empilhados. Os limites são
+     * calculados sob demanda e recalculados a cada alteração do conjunto de
+     * transições; estados que alcançam ações possuem limite nulo. Com a
+     * memorização de chamadas habilitada, apenas o limite do estado corrente
+     * é considerado, de modo que as saídas registradas das chamadas
+     * permaneçam completas. O resultado do reconhecimento não é alterado, mas
+     * os caminhos rejeitados correspondentes às configurações descartadas
+     * passam a ser registrados mais cedo.
+     * @param flag Valor lógico que determina se o comprimento restante deve
+     * ser verificado.
+     */
+    public void setLengthBound(boolean flag) {
+        this.lengthBound = flag;
+        invalidate();
+    }
+    
+    /**
+     * Define se o autômato adaptativo deve detectar ciclos de transições em
+     * vazio e chamadas de submáquina que não consomem símbolos. Cada caminho
+     * registra as configurações visitadas a partir do cursor corrente,
+     * identificadas pelo estado corrente, pelo topo e pela altura da pilha e
+     * pela versão do conjunto de transições. Uma configuração revisitada com
+     * a mesma pilha é rejeitada na primeira revisita, e uma configuração
+     * revisitada com a pilha mais alta é rejeitada quando as revisitas
+     * excedem a quantidade de símbolos restantes. Desta forma, ciclos que
+     * nunca consomem símbolos deixam de criar threads indefinidamente, e
+     * chamadas recursivas à esquerda continuam sendo reconhecidas desde que
+     * cada nível consuma ao menos um símbolo.
+     * @param flag Valor lógico que determina se os ciclos devem ser
+     * detectados.
+     */
+    public void setCycleDetection(boolean flag) {
+        this.cycleDetection = flag;
+        invalidate();
+    }
+    
+    
+    /**
+     * Define a quantidade máxima de passos computacionais de um
+     * reconhecimento. Ao esgotar o limite, o reconhecimento é interrompido
+     * com o desfecho {@link Outcome#STEP_LIMIT_EXCEEDED}.
+     * @param steps Quantidade máxima de passos computacionais, ou zero para
+     * não limitar.
+     */
+    public void setMaximumSteps(long steps) {
+        Validate.isTrue(steps >= 0, "O limite de passos não pode ser negativo.");
+        this.maximumSteps = steps;
+        invalidate();
+    }
+    
+    /**
+     * Define a quantidade máxima de threads simultâneas, isto é, de
+     * configurações pendentes, de um reconhecimento. Ao esgotar o limite, o
+     * reconhecimento é interrompido com o desfecho
+     * {@link Outcome#THREAD_LIMIT_EXCEEDED}.
+     * @param threads Quantidade máxima de threads simultâneas, ou zero para
+     * não limitar.
+     */
+    public void setMaximumThreads(int threads) {
+        Validate.isTrue(threads >= 0, "O limite de threads não pode ser negativo.");
+        this.maximumThreads = threads;
+        invalidate();
+    }
+    
+    /**
+     * Define a quantidade máxima de elementos na pilha durante um
+     * reconhecimento. Ao esgotar o limite, o reconhecimento é interrompido
+     * com o desfecho {@link Outcome#STACK_LIMIT_EXCEEDED}.
+     * @param depth Profundidade máxima da pilha, ou zero para não limitar.
+     */
+    public void setMaximumStackDepth(int depth) {
+        Validate.isTrue(depth >= 0, "O limite de profundidade da pilha não pode ser negativo.");
+        this.maximumStackDepth = depth;
+        invalidate();
+    }
+    
+    /**
+     * Define o tempo máximo de um reconhecimento, contado a partir do início
+     * da execução dos passos computacionais. O tempo é verificado a cada
+     * passo; ao esgotar o limite, o reconhecimento é interrompido com o
+     * desfecho {@link Outcome#TIME_LIMIT_EXCEEDED}.
+     * @param milliseconds Tempo máximo, em milissegundos, ou zero para não
+     * limitar.
+     */
+    public void setTimeLimit(long milliseconds) {
+        Validate.isTrue(milliseconds >= 0, "O limite de tempo não pode ser negativo.");
+        this.timeLimit = milliseconds;
+        invalidate();
+    }
+    
+    
+    /**
+     * Define o escalonador das threads pendentes, isto é, a ordem em que as
+     * configurações da fronteira de reconhecimento são exploradas. Estão
+     * disponíveis os escalonadores em largura ({@link BreadthFirstScheduler},
+     * equivalente ao laço padrão), em profundidade
+     * ({@link DepthFirstScheduler}), pela melhor escolha
+     * ({@link BestFirstScheduler}) e em feixe ({@link BeamScheduler}), os
+     * dois últimos ordenados por um comparador definido pelo usuário; o
+     * escalonador em feixe descarta threads e torna o resultado aproximado,
+     * o que é informado pelas estatísticas do reconhecimento. Em conjunto
+     * com a parada no primeiro resultado, uma boa heurística encontra o
+     * primeiro caminho de aceitação mais cedo.
+     * Quando as ramificações compartilham o conjunto de transições, a ordem
+     * de exploração determina a ordem das ações adaptativas, portanto
+     * escalonadores distintos do escalonador em largura podem produzir
+     * resultados distintos; nesse caso, recomenda-se o uso de ramificações
+     * isoladas. O escalonador não pode ser utilizado em conjunto com a busca
+     * em profundidade com retrocesso.
+     * @param scheduler Escalonador das threads pendentes, ou nulo para
+     * utilizar o laço padrão.
+     */
+    public void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+        invalidate();
+    }
+    
+    
+    /**
+     * Define se o autômato adaptativo deve tratar o não-determinismo como
+     * escolha ordenada, à semelhança das gramáticas de expressões de
+     * análise. As alternativas de uma bifurcação são tentadas uma de cada
+     * vez, em ordem decrescente de prioridade das transições (a ordem entre
+     * transições de mesma prioridade não é especificada); quando uma chamada
+     * de submáquina retorna, a escolha é efetivada e as alternativas ainda
+     * pendentes criadas dentro da chamada são canceladas, de modo que uma
+     * falha posterior não retorna à chamada. A primeira aceitação efetiva
+     * todo o reconhecimento. Este modo implica a busca em profundidade com
+     * retrocesso.
+     * @param flag Valor lógico que determina se a escolha ordenada deve ser
+     * utilizada.
+     */
+    public void setOrderedChoice(boolean flag) {
+        this.orderedChoice = flag;
+        invalidate();
+    }
+    
+    
+    /**
+     * Define a política de retenção dos caminhos de reconhecimento
+     * encerrados. Os caminhos descartados pela política são liberados assim
+     * que as threads correspondentes são removidas, em vez de permanecerem
+     * até o término do reconhecimento; o resultado do reconhecimento e a
+     * parada no primeiro resultado não dependem da política.
+     * @param policy Política de retenção.
+     */
+    public void setRetentionPolicy(RetentionPolicy policy) {
+        Validate.notNull(policy, "A política de retenção não pode ser nula.");
+        this.retention = policy;
+        invalidate();
+    }
+    
+    /**
+     * Define a capacidade do cache de resultados de reconhecimento. Com o
+     * cache habilitado, o reconhecimento de uma cadeia de entrada já
+     * reconhecida retorna o resultado armazenado, com os mesmos caminhos e
+     * estatísticas, sem executar o autômato. O cache deve ser habilitado
+     * apenas quando o resultado depende exclusivamente da cadeia de entrada,
+     * isto é, quando a configuração e as ações do autômato não possuem
+     * efeitos colaterais externos; a alteração de qualquer outra opção do
+     * autômato descarta os resultados já armazenados. Reconhecimentos
+     * interrompidos por limites de recursos ou cancelamento, assim como
+     * resultados aproximados, não são armazenados. Uma nova chamada descarta
+     * o cache existente.
+     * @param capacity Quantidade máxima de resultados armazenados; o valor
+     * zero desabilita o cache.
+     */
+    public void setResultCache(int capacity) {
+        Validate.isTrue(capacity >= 0, "A capacidade do cache não pode ser negativa.");
+        this.cache = (capacity == 0 ? null : new ResultCache(capacity));
+    }
+    
+    /**
+     * Descarta os resultados armazenados no cache de resultados, caso este
+     * exista, uma vez que os resultados dependem das opções do autômato.
+     */
+    private void invalidate() {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+    
+    /**
+     * Obtém o cache de resultados de reconhecimento, com seus contadores de
+     * acertos e falhas.
+     * @return Cache de resultados, ou nulo caso o cache esteja desabilitado.
+     */
+    public ResultCache getResultCache() {
+        return cache;
+    }
+    
+    /**
+     * Reconhecimento assíncrono, executado sobre uma cópia do autômato
+     * corrente e interrompido quando o valor futuro correspondente é
+     * cancelado.
+     */
+    private class Recognition implements Callable<RecognitionResult>,
+            RecognitionListener {
+        
+        // cadeia de entrada e valor futuro do reconhecimento
+        private final List<Symbol> input;
+        private volatile Future<RecognitionResult> future;
+        
+        /**
+         * Construtor.
+         * @param input Lista de símbolos representando a cadeia de entrada.
+         */
+        public Recognition(List<Symbol> input) {
+            this.input = input;
+            this.future = null;
+        }
+        
+        /**
+         * Define o valor futuro do reconhecimento.
+         * @param future Valor futuro do reconhecimento.
+         */
+        public void setFuture(Future<RecognitionResult> future) {
+            this.future = future;
+        }
+        
+        /**
+         * Executa o reconhecimento sobre uma cópia do autômato corrente.
+         * @return Resultado do reconhecimento.
+         */
+        @Override
+        public RecognitionResult call() {
+            return evaluate(input, this);
+        }
+        
+        /**
+         * Os caminhos aceitos são informados apenas no resultado.
+         * @param path Caminho de reconhecimento aceito.
+         */
+        @Override
+        public void accepted(RecognitionPath path) {
+        }
+        
+        /**
+         * Verifica se o valor futuro do reconhecimento foi cancelado.
+         * @return Valor lógico indicando se o reconhecimento deve ser
+         * interrompido.
+         */
+        @Override
+        public boolean isCancelled() {
+            return future != null && future.isCancelled();
+        }
+        
     }
     
 }
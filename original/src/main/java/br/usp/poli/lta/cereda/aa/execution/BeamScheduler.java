@@ -0,0 +1,163 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Escalonador em feixe. As threads pendentes são agrupadas pelo cursor e
+ * executadas em ordem crescente de cursor; em cada cursor, apenas as melhores
+ * threads segundo o comparador informado, até a largura do feixe, são
+ * mantidas, e as demais são descartadas sem execução. O reconhecimento
+ * torna-se aproximado, com a fronteira limitada pela largura do feixe; a
+ * quantidade de threads descartadas é registrada nas estatísticas do
+ * reconhecimento, de modo que o chamador saiba se o resultado é aproximado.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class BeamScheduler implements Scheduler {
+
+    // largura do feixe, comparador das threads, threads pendentes agrupadas
+    // por cursor, quantidade total de threads pendentes e contador da ordem
+    // de criação
+    private final int width;
+    private final Comparator<Entry> comparator;
+    private final TreeMap<Integer, TreeSet<Entry>> beams;
+    private int size;
+    private long sequence;
+
+    /**
+     * Thread pendente acompanhada de sua ordem de criação.
+     */
+    private static final class Entry {
+
+        // thread pendente e ordem de criação
+        private final Kernel kernel;
+        private final long order;
+
+        /**
+         * Construtor.
+         * @param kernel Thread pendente.
+         * @param order Ordem de criação.
+         */
+        private Entry(Kernel kernel, long order) {
+            this.kernel = kernel;
+            this.order = order;
+        }
+    }
+
+    /**
+     * Construtor.
+     * @param width Largura do feixe, isto é, a quantidade máxima de threads
+     * pendentes por cursor.
+     * @param comparator Comparador que define a pontuação das threads; as
+     * menores threads são mantidas e executadas primeiro.
+     */
+    public BeamScheduler(int width, final Comparator<Kernel> comparator) {
+        Validate.isTrue(width > 0, "A largura do feixe deve ser positiva.");
+        Validate.notNull(comparator, "O comparador não pode ser nulo.");
+        this.width = width;
+        this.comparator = new Comparator<Entry>() {
+            
+            @Override
+            public int compare(Entry a, Entry b) {
+                int result = comparator.compare(a.kernel, b.kernel);
+                if (result == 0) {
+                    result = Long.compare(a.order, b.order);
+                }
+                return result;
+            }
+        };
+        this.beams = new TreeMap<>();
+        this.size = 0;
+        this.sequence = 0;
+    }
+
+    /**
+     * Adiciona uma thread pendente ao feixe do seu cursor. Caso o feixe
+     * exceda a largura, a pior thread do feixe é descartada.
+     * @param kernel Thread pendente.
+     */
+    @Override
+    public void offer(Kernel kernel) {
+        TreeSet<Entry> beam = beams.get(kernel.getCursor());
+        if (beam == null) {
+            beam = new TreeSet<>(comparator);
+            beams.put(kernel.getCursor(), beam);
+        }
+        beam.add(new Entry(kernel, sequence++));
+        size++;
+        if (beam.size() > width) {
+            beam.pollLast().kernel.discard();
+            size--;
+        }
+    }
+
+    /**
+     * Remove e retorna a melhor thread do feixe de menor cursor.
+     * @return Próxima thread a ser executada.
+     */
+    @Override
+    public Kernel poll() {
+        Map.Entry<Integer, TreeSet<Entry>> first = beams.firstEntry();
+        if (first == null) {
+            return null;
+        }
+        Entry entry = first.getValue().pollFirst();
+        if (first.getValue().isEmpty()) {
+            beams.remove(first.getKey());
+        }
+        size--;
+        return entry.kernel;
+    }
+
+    /**
+     * Verifica se não há threads pendentes.
+     * @return Valor lógico informando se não há threads pendentes.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Obtém a quantidade de threads pendentes.
+     * @return Quantidade de threads pendentes.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove todas as threads pendentes.
+     */
+    @Override
+    public void clear() {
+        beams.clear();
+        size = 0;
+    }
+
+}
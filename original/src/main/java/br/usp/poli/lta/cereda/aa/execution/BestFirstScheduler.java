@@ -0,0 +1,130 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Escalonador pela melhor escolha. As threads pendentes são ordenadas pelo
+ * comparador informado, que expressa a heurística do usuário (por exemplo,
+ * preferindo configurações com o cursor mais avançado ou com a pilha menos
+ * profunda); a menor thread segundo o comparador é executada primeiro.
+ * Threads equivalentes segundo o comparador são executadas na ordem de
+ * criação.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class BestFirstScheduler implements Scheduler {
+
+    // fila de prioridade das threads pendentes
+    // e contador da ordem de criação
+    private final PriorityQueue<Entry> queue;
+    private long sequence;
+
+    /**
+     * Thread pendente acompanhada de sua ordem de criação.
+     */
+    private static final class Entry {
+
+        // thread pendente e ordem de criação
+        private final Kernel kernel;
+        private final long order;
+
+        /**
+         * Construtor.
+         * @param kernel Thread pendente.
+         * @param order Ordem de criação.
+         */
+        private Entry(Kernel kernel, long order) {
+            this.kernel = kernel;
+            this.order = order;
+        }
+    }
+
+    /**
+     * Construtor.
+     * @param comparator Comparador que define a prioridade das threads; a
+     * menor thread é executada primeiro.
+     */
+    public BestFirstScheduler(final Comparator<Kernel> comparator) {
+        Validate.notNull(comparator, "O comparador não pode ser nulo.");
+        queue = new PriorityQueue<>(11, new Comparator<Entry>() {
+            
+            @Override
+            public int compare(Entry a, Entry b) {
+                int result = comparator.compare(a.kernel, b.kernel);
+                if (result == 0) {
+                    result = Long.compare(a.order, b.order);
+                }
+                return result;
+            }
+        });
+        sequence = 0;
+    }
+
+    /**
+     * Adiciona uma thread pendente à fila de prioridade.
+     * @param kernel Thread pendente.
+     */
+    @Override
+    public void offer(Kernel kernel) {
+        queue.add(new Entry(kernel, sequence++));
+    }
+
+    /**
+     * Remove e retorna a thread de maior prioridade.
+     * @return Próxima thread a ser executada.
+     */
+    @Override
+    public Kernel poll() {
+        Entry entry = queue.poll();
+        return (entry == null ? null : entry.kernel);
+    }
+
+    /**
+     * Verifica se não há threads pendentes.
+     * @return Valor lógico informando se não há threads pendentes.
+     */
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * Obtém a quantidade de threads pendentes.
+     * @return Quantidade de threads pendentes.
+     */
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Remove todas as threads pendentes.
+     */
+    @Override
+    public void clear() {
+        queue.clear();
+    }
+
+}
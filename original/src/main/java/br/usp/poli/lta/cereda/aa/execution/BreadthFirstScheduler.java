@@ -0,0 +1,89 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Escalonador em largura. As threads são executadas na ordem em que foram
+ * criadas, o que corresponde à ordem de execução do laço de reconhecimento
+ * padrão do autômato adaptativo.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class BreadthFirstScheduler implements Scheduler {
+
+    // fila de threads pendentes
+    private final Deque<Kernel> queue;
+
+    /**
+     * Construtor.
+     */
+    public BreadthFirstScheduler() {
+        queue = new ArrayDeque<>();
+    }
+
+    /**
+     * Adiciona uma thread pendente ao final da fila.
+     * @param kernel Thread pendente.
+     */
+    @Override
+    public void offer(Kernel kernel) {
+        queue.addLast(kernel);
+    }
+
+    /**
+     * Remove e retorna a thread do início da fila.
+     * @return Próxima thread a ser executada.
+     */
+    @Override
+    public Kernel poll() {
+        return queue.pollFirst();
+    }
+
+    /**
+     * Verifica se não há threads pendentes.
+     * @return Valor lógico informando se não há threads pendentes.
+     */
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * Obtém a quantidade de threads pendentes.
+     * @return Quantidade de threads pendentes.
+     */
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Remove todas as threads pendentes.
+     */
+    @Override
+    public void clear() {
+        queue.clear();
+    }
+
+}
@@ -0,0 +1,127 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import br.usp.poli.lta.cereda.aa.model.sets.Mapping;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Registro de uma chamada de submáquina em andamento ou já concluída, a
+ * partir de uma posição da cadeia de entrada. O registro contabiliza as
+ * threads que ainda executam dentro da chamada e acumula os cursores com os
+ * quais a submáquina retornou; quando não há mais threads dentro da chamada,
+ * o registro é concluído e seus cursores de saída podem ser reaproveitados.
+ * O registro é invalidado caso uma ação seja executada dentro da chamada ou
+ * o conjunto de transições seja alterado durante a chamada.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class CallFrame {
+
+    // conjunto de transições e sua versão no início da chamada, quantidade
+    // de threads dentro da chamada, cursores de saída e sinalizadores de
+    // conclusão e de invalidação
+    private final Mapping mapping;
+    private final long version;
+    private int threads;
+    private final Set<Integer> exits;
+    private boolean complete;
+    private boolean tainted;
+
+    /**
+     * Construtor.
+     * @param mapping Conjunto de transições no início da chamada.
+     */
+    public CallFrame(Mapping mapping) {
+        this.mapping = mapping;
+        this.version = mapping.getVersion();
+        this.threads = 0;
+        this.exits = new LinkedHashSet<>();
+        this.complete = false;
+        this.tainted = false;
+    }
+
+    /**
+     * Registra a entrada de uma thread na chamada.
+     */
+    public void join() {
+        threads++;
+    }
+
+    /**
+     * Registra a saída de uma thread da chamada, seja por retorno da
+     * submáquina ou por encerramento da thread. Quando não há mais threads
+     * dentro da chamada, o registro é concluído.
+     */
+    public void leave() {
+        threads--;
+        if (threads == 0) {
+            complete = true;
+            if (mapping.getVersion() != version) {
+                tainted = true;
+            }
+        }
+    }
+
+    /**
+     * Registra um retorno da submáquina com o cursor informado.
+     * @param cursor Cursor de saída.
+     */
+    public void exit(int cursor) {
+        exits.add(cursor);
+    }
+
+    /**
+     * Invalida o registro, uma vez que uma ação foi executada dentro da
+     * chamada.
+     */
+    public void taint() {
+        tainted = true;
+    }
+
+    /**
+     * Verifica se o registro foi invalidado.
+     * @return Valor lógico indicando se o registro foi invalidado.
+     */
+    public boolean isTainted() {
+        return tainted;
+    }
+
+    /**
+     * Verifica se o registro foi concluído, isto é, se não há mais threads
+     * dentro da chamada.
+     * @return Valor lógico indicando se o registro foi concluído.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Obtém os cursores com os quais a submáquina retornou.
+     * @return Conjunto de cursores de saída.
+     */
+    public Set<Integer> getExits() {
+        return Collections.unmodifiableSet(exits);
+    }
+
+}
@@ -0,0 +1,82 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import br.usp.poli.lta.cereda.aa.model.sets.Mapping;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabela de memorização das chamadas de submáquina. Cada registro é indexado
+ * pela submáquina chamada, pelo cursor de entrada e pela impressão digital do
+ * conjunto de transições, de modo que uma chamada repetida na mesma posição e
+ * sob a mesma topologia reaproveita os cursores de saída já calculados, em
+ * vez de simular a submáquina novamente. A tabela é compartilhada por todas
+ * as threads de um mesmo reconhecimento.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class CallTable {
+
+    // registros indexados pela chave da chamada
+    private final Map<List<Object>, CallFrame> frames;
+
+    /**
+     * Construtor.
+     */
+    public CallTable() {
+        frames = new HashMap<>();
+    }
+
+    /**
+     * Obtém o registro da chamada da submáquina informada, a partir do cursor
+     * e do conjunto de transições informados. Um novo registro é criado caso
+     * não exista um registro válido para a chamada.
+     * @param submachine Nome da submáquina chamada.
+     * @param cursor Cursor de entrada.
+     * @param mapping Conjunto de transições.
+     * @return Registro da chamada, concluído ou em andamento.
+     */
+    public CallFrame get(String submachine, int cursor, Mapping mapping) {
+        List<Object> key = Arrays.<Object>asList(
+                submachine,
+                cursor,
+                mapping.getFingerprint()
+        );
+        CallFrame frame = frames.get(key);
+        if (frame == null || frame.isTainted()) {
+            frame = new CallFrame(mapping);
+            frames.put(key, frame);
+        }
+        return frame;
+    }
+
+    /**
+     * Obtém a quantidade de registros da tabela.
+     * @return Quantidade de registros.
+     */
+    public int size() {
+        return frames.size();
+    }
+
+}
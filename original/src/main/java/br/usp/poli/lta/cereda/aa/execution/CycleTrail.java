@@ -0,0 +1,131 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import br.usp.poli.lta.cereda.aa.model.State;
+import java.util.Objects;
+
+/**
+ * Trilha imutável das configurações visitadas por um caminho de
+ * reconhecimento a partir de uma mesma posição da cadeia de entrada. Cada
+ * configuração é identificada pelo estado corrente, pelo estado no topo da
+ * pilha, pela altura da pilha e pela versão do conjunto de transições. Como
+ * toda alteração da pilha ocorre em um passo computacional, e cada passo
+ * registra uma visita, a trilha também revela se a pilha foi reduzida entre
+ * duas visitas. Como a trilha é imutável, as threads criadas a partir de uma
+ * thread compartilham a trilha herdada e apenas acrescentam novas visitas.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CycleTrail {
+
+    // estado corrente, estado no topo da pilha (nulo caso a pilha esteja
+    // vazia), altura da pilha, versão do conjunto de transições e visita
+    // anterior
+    private final State state;
+    private final State top;
+    private final int depth;
+    private final long version;
+    private final CycleTrail next;
+
+    /**
+     * Construtor.
+     * @param state Estado corrente.
+     * @param top Estado no topo da pilha, ou nulo caso a pilha esteja vazia.
+     * @param depth Altura da pilha.
+     * @param version Versão do conjunto de transições.
+     * @param next Visita anterior, ou nulo caso seja a primeira visita.
+     */
+    public CycleTrail(State state, State top, int depth, long version,
+            CycleTrail next) {
+        this.state = state;
+        this.top = top;
+        this.depth = depth;
+        this.version = version;
+        this.next = next;
+    }
+
+    /**
+     * Verifica se a configuração informada repete exatamente uma visita da
+     * trilha, isto é, se há uma visita com o mesmo estado, o mesmo topo, a
+     * mesma altura e a mesma versão, e a pilha não foi reduzida abaixo dessa
+     * altura desde então, de modo que a pilha inteira é a mesma.
+     * @param trail Trilha, ou nulo caso não haja visitas.
+     * @param state Estado corrente.
+     * @param top Estado no topo da pilha, ou nulo caso a pilha esteja vazia.
+     * @param depth Altura da pilha.
+     * @param version Versão do conjunto de transições.
+     * @return Valor lógico indicando se a configuração é repetida.
+     */
+    public static boolean repeats(CycleTrail trail, State state, State top,
+            int depth, long version) {
+        int floor = depth;
+        for (CycleTrail t = trail; t != null && floor >= depth; t = t.next) {
+            if (t.depth == depth && matches(t, state, top, version)) {
+                return true;
+            }
+            floor = Math.min(floor, t.depth);
+        }
+        return false;
+    }
+
+    /**
+     * Conta as visitas da trilha com o mesmo estado, o mesmo topo e a mesma
+     * versão da configuração informada, mas com uma pilha mais baixa, a
+     * partir das quais a pilha apenas cresceu, como ocorre em chamadas
+     * recursivas à esquerda.
+     * @param trail Trilha, ou nulo caso não haja visitas.
+     * @param state Estado corrente.
+     * @param top Estado no topo da pilha, ou nulo caso a pilha esteja vazia.
+     * @param depth Altura da pilha.
+     * @param version Versão do conjunto de transições.
+     * @return Quantidade de visitas a partir das quais a pilha cresceu.
+     */
+    public static int count(CycleTrail trail, State state, State top,
+            int depth, long version) {
+        int result = 0;
+        int floor = depth;
+        for (CycleTrail t = trail; t != null; t = t.next) {
+            if (t.depth < depth && floor >= t.depth &&
+                    matches(t, state, top, version)) {
+                result++;
+            }
+            floor = Math.min(floor, t.depth);
+        }
+        return result;
+    }
+
+    /**
+     * Verifica se a visita informada possui o estado, o topo e a versão
+     * informados.
+     * @param t Visita.
+     * @param state Estado corrente.
+     * @param top Estado no topo da pilha, ou nulo caso a pilha esteja vazia.
+     * @param version Versão do conjunto de transições.
+     * @return Valor lógico indicando se a visita corresponde.
+     */
+    private static boolean matches(CycleTrail t, State state, State top,
+            long version) {
+        return t.version == version && Objects.equals(t.state, state) &&
+                Objects.equals(t.top, top);
+    }
+
+}
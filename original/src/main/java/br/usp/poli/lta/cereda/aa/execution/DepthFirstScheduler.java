@@ -0,0 +1,102 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Escalonador em profundidade. A thread criada mais recentemente é executada
+ * primeiro; as threads criadas por uma mesma bifurcação são exploradas na
+ * ordem de criação. Diferentemente da busca em profundidade com retrocesso,
+ * o conjunto de transições não é restaurado entre as alternativas.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class DepthFirstScheduler implements Scheduler {
+
+    // pilha de threads pendentes e threads recém-criadas, ainda não
+    // empilhadas, de modo que uma bifurcação seja explorada na ordem
+    // de criação
+    private final Deque<Kernel> stack;
+    private final List<Kernel> batch;
+
+    /**
+     * Construtor.
+     */
+    public DepthFirstScheduler() {
+        stack = new ArrayDeque<>();
+        batch = new ArrayList<>();
+    }
+
+    /**
+     * Adiciona uma thread pendente, que será empilhada na próxima retirada.
+     * @param kernel Thread pendente.
+     */
+    @Override
+    public void offer(Kernel kernel) {
+        batch.add(kernel);
+    }
+
+    /**
+     * Empilha as threads recém-criadas na ordem inversa e remove e retorna
+     * a thread do topo da pilha.
+     * @return Próxima thread a ser executada.
+     */
+    @Override
+    public Kernel poll() {
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            stack.push(batch.get(i));
+        }
+        batch.clear();
+        return stack.poll();
+    }
+
+    /**
+     * Verifica se não há threads pendentes.
+     * @return Valor lógico informando se não há threads pendentes.
+     */
+    @Override
+    public boolean isEmpty() {
+        return stack.isEmpty() && batch.isEmpty();
+    }
+
+    /**
+     * Obtém a quantidade de threads pendentes.
+     * @return Quantidade de threads pendentes.
+     */
+    @Override
+    public int size() {
+        return stack.size() + batch.size();
+    }
+
+    /**
+     * Remove todas as threads pendentes.
+     */
+    @Override
+    public void clear() {
+        stack.clear();
+        batch.clear();
+    }
+
+}
@@ -28,15 +28,25 @@ import br.usp.poli.lta.cereda.aa.model.Transition;
 import br.usp.poli.lta.cereda.aa.model.predicates.EpsilonPredicate;
 import br.usp.poli.lta.cereda.aa.model.predicates.SubmachineCallPredicate;
 import br.usp.poli.lta.cereda.aa.model.sets.ActionsSet;
+import br.usp.poli.lta.cereda.aa.model.sets.CoReachableSets;
+import br.usp.poli.lta.cereda.aa.model.sets.DeterministicCache;
+import br.usp.poli.lta.cereda.aa.model.sets.DeterministicState;
+import br.usp.poli.lta.cereda.aa.model.sets.EpsilonClosures;
+import br.usp.poli.lta.cereda.aa.model.sets.FirstSets;
+import br.usp.poli.lta.cereda.aa.model.sets.LengthBounds;
 import br.usp.poli.lta.cereda.aa.model.sets.SubmachinesSet;
 import br.usp.poli.lta.cereda.aa.model.sets.Mapping;
+import br.usp.poli.lta.cereda.aa.utils.CopyUtils;
 import br.usp.poli.lta.cereda.aa.utils.IdentifierUtils;
 import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
-import com.rits.cloning.Cloner;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.Predicate;
 import org.apache.commons.collections4.PredicateUtils;
@@ -84,9 +94,69 @@ public class Kernel extends Thread {
     private String currentSubmachine;
     private String mainSubmachine;
 
-    // objeto de clonagem para auxiliar na cópia das
-    // estruturas do autômato adaptativo
-    private final Cloner dolly;
+    // sinalizador do modo de fechos em vazio e sinalizador indicando que o
+    // fecho em vazio do estado corrente já foi expandido por meio de atalhos
+    private boolean epsilonClosures;
+    private boolean closed;
+
+    // sinalizador do modo de cache de subconjuntos determinísticos
+    private boolean deterministicCache;
+
+    // sinalizador do modo de isolamento das ramificações, no qual cada nova
+    // thread recebe uma bifurcação do conjunto de transições
+    private boolean isolatedBranches;
+
+    // sinalizador do modo de busca em profundidade, no qual a thread sempre
+    // prossegue com o próximo passo computacional quando há uma única
+    // transição a seguir
+    private boolean depthFirst;
+
+    // sinalizador do modo de antecipação, no qual transições em vazio e
+    // chamadas de submáquina incapazes de consumir o símbolo corrente são
+    // descartadas antes da criação de novas threads
+    private boolean lookahead;
+
+    // sinalizador do modo de co-alcançabilidade, no qual transições que
+    // conduzem a estados a partir dos quais nenhum estado final é alcançável
+    // são descartadas
+    private boolean coReachability;
+
+    // sinalizador do modo de limite de comprimento, no qual configurações
+    // cuja cadeia de entrada restante é mais curta do que a quantidade
+    // mínima de símbolos até um estado final são descartadas
+    private boolean lengthBound;
+
+    // sinalizador do modo de detecção de ciclos, no qual configurações
+    // revisitadas sem consumo de símbolos são descartadas, a trilha das
+    // configurações visitadas e o cursor a partir do qual foram visitadas
+    private boolean cycleDetection;
+    private CycleTrail visits;
+    private int visitsCursor;
+
+    // tabela de memorização das chamadas de submáquina, compartilhada por
+    // todas as threads, e registros das chamadas em andamento, paralelos à
+    // pilha; chamadas não memorizadas são representadas por nulo
+    private CallTable calls;
+    private List<CallFrame> frames;
+
+    // estatísticas e limites de recursos do reconhecimento, compartilhados
+    // por todas as threads
+    private Statistics statistics;
+
+    // escalonador das threads pendentes, caso a fronteira de reconhecimento
+    // seja mantida fora da lista de threads
+    private Scheduler scheduler;
+
+    // sinalizador do modo de escolha ordenada e alturas da lista de threads
+    // no início de cada chamada de submáquina em andamento, paralelas à
+    // pilha; as threads pendentes acima da altura foram criadas dentro da
+    // chamada
+    private boolean orderedChoice;
+    private List<Integer> scopes;
+
+    // ouvinte do reconhecimento, notificado a cada caminho aceito e
+    // consultado sobre o cancelamento do reconhecimento
+    private RecognitionListener listener;
 
     // listas referenciadas externamente, são utilizadas para
     // realizar a comunicação com o método de reconhecimento
@@ -116,10 +186,6 @@ public class Kernel extends Thread {
         input = new ArrayList<>();
         cursor = 0;
 
-        // cria um novo objeto de clonagem
-        // dentro do escopo da thread
-        dolly = new Cloner();
-
         // atribui as referências externas
         this.threads = threads;
         this.removals = removals;
@@ -134,6 +200,63 @@ public class Kernel extends Thread {
         // sinalizador é definido
         // como verdadeiro, apriori
         enablePriorAction = true;
+
+        // o modo de fechos em vazio
+        // é desabilitado, apriori
+        epsilonClosures = false;
+        closed = false;
+
+        // o cache de subconjuntos determinísticos
+        // é desabilitado, apriori
+        deterministicCache = false;
+
+        // o modo de isolamento das ramificações
+        // é desabilitado, apriori
+        isolatedBranches = false;
+
+        // o modo de busca em profundidade
+        // é desabilitado, apriori
+        depthFirst = false;
+
+        // o modo de antecipação
+        // é desabilitado, apriori
+        lookahead = false;
+
+        // o modo de co-alcançabilidade
+        // é desabilitado, apriori
+        coReachability = false;
+
+        // o modo de limite de comprimento
+        // é desabilitado, apriori
+        lengthBound = false;
+
+        // o modo de detecção de ciclos
+        // é desabilitado, apriori
+        cycleDetection = false;
+        visits = null;
+        visitsCursor = -1;
+
+        // a memorização das chamadas de
+        // submáquina é desabilitada, apriori
+        calls = null;
+        frames = new ArrayList<>();
+
+        // não há limites de
+        // recursos, apriori
+        statistics = null;
+
+        // as threads pendentes são mantidas
+        // na lista de threads, apriori
+        scheduler = null;
+
+        // o modo de escolha ordenada
+        // é desabilitado, apriori
+        orderedChoice = false;
+        scopes = new ArrayList<>();
+
+        // não há ouvinte do
+        // reconhecimento, apriori
+        listener = null;
     }
 
     /**
@@ -245,7 +368,7 @@ public class Kernel extends Thread {
      * @param stack Pilha do autômato adaptativo.
      */
     public void setStack(Stack stack) {
-        this.stack = dolly.deepClone(stack);
+        this.stack = CopyUtils.copy(stack);
     }
 
     /**
@@ -269,7 +392,7 @@ public class Kernel extends Thread {
      * @param submachines Conjunto de submáquinas do autômato adaptativo.
      */
     public void setSubmachines(SubmachinesSet submachines) {
-        this.submachines = dolly.deepClone(submachines);
+        this.submachines = CopyUtils.copy(submachines);
     }
 
     /**
@@ -277,7 +400,7 @@ public class Kernel extends Thread {
      * @param input Lista de símbolos representando a cadeia de entrada.
      */
     public void setInput(List<Symbol> input) {
-        this.input = dolly.deepClone(input);
+        this.input = CopyUtils.copyList(input);
     }
 
     /**
@@ -293,7 +416,7 @@ public class Kernel extends Thread {
      * @param transition Transição.
      */
     public void setTransition(Transition transition) {
-        this.transition = dolly.deepClone(transition);
+        this.transition = CopyUtils.copy(transition);
     }
 
     /**
@@ -362,2914 +485,1228 @@ public class Kernel extends Thread {
     }
 
     /**
-     * Executa a ação da thread, que representa um passo computacional do
-     * autômato adaptativo. Após a execução deste método, a thread encerra-se.
+     * Verifica se o modo de fechos em vazio está habilitado.
+     * @return Valor lógico indicando se o modo de fechos em vazio está
+     * habilitado.
      */
-    @Override
-    public void run() {
+    public boolean isEpsilonClosures() {
+        return epsilonClosures;
+    }
 
-        // mensagem de log
-        logger.debug(new TransitionMessage(transition, "A thread %d iniciou #run() com a transição %d.", identifier, transition.getIdentifier()));
+    /**
+     * Define se o modo de fechos em vazio está habilitado.
+     * @param epsilonClosures Valor lógico indicando se o modo de fechos em
+     * vazio está habilitado.
+     */
+    public void setEpsilonClosures(boolean epsilonClosures) {
+        this.epsilonClosures = epsilonClosures;
+    }
 
-        // lista auxiliar de transições para armazenar os resultados
-        // das consultas ao conjunto de transições do modelo
-        List<Transition> query;
+    /**
+     * Verifica se o fecho em vazio do estado corrente já foi expandido.
+     * @return Valor lógico indicando se o fecho em vazio do estado corrente
+     * já foi expandido.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
 
-        // a transição corrente não pode ser nula, caso contrário
-        // uma exceção é lançada
-        Validate.notNull(transition, "A transição não pode ser nula.");
+    /**
+     * Define se o fecho em vazio do estado corrente já foi expandido.
+     * @param closed Valor lógico indicando se o fecho em vazio do estado
+     * corrente já foi expandido.
+     */
+    public void setClosed(boolean closed) {
+        this.closed = closed;
+    }
 
-        // a transição corrente tem uma ação anterior?
-        if (transition.hasPriorActionCall()) {
+    /**
+     * Verifica se o modo de cache de subconjuntos determinísticos está
+     * habilitado.
+     * @return Valor lógico indicando se o modo de cache de subconjuntos
+     * determinísticos está habilitado.
+     */
+    public boolean isDeterministicCache() {
+        return deterministicCache;
+    }
 
-            // mensagem de log
-            logger.debug(new SimpleMessage("[Thread %d] A transição %d possui uma ação anterior.", identifier, transition.getIdentifier()));
+    /**
+     * Define se o modo de cache de subconjuntos determinísticos está
+     * habilitado.
+     * @param deterministicCache Valor lógico indicando se o modo de cache de
+     * subconjuntos determinísticos está habilitado.
+     */
+    public void setDeterministicCache(boolean deterministicCache) {
+        this.deterministicCache = deterministicCache;
+    }
 
-            // sim, tem uma ação; o passo computacional permite
-            // a execução dessa ação anterior?
-            if (enablePriorAction) {
+    /**
+     * Verifica se o modo de isolamento das ramificações está habilitado.
+     * @return Valor lógico indicando se o modo de isolamento das ramificações
+     * está habilitado.
+     */
+    public boolean isIsolatedBranches() {
+        return isolatedBranches;
+    }
 
-                // sim, permite
-                
-                // mensagem de log
-                logger.debug(new SimpleMessage("[Thread %d] A thread está autorizada a executar a ação anterior.", identifier));
-
-                // executa a ação antes da efetivação da transição,
-                // passando os eventuais parâmetros de acordo com
-                // o mapeamento
-                actions.fromName(transition.getPriorActionCall()).execute(transitions, transition, transition.getPriorActionArguments());
-
-                // desabilita o passo computacional para ações anteriores,
-                // caso não seja possível prosseguir com a transição corrente
-                enablePriorAction = false;
-
-                // é importante verificar se a ação anterior removeu ou
-                // alterou a transição corrente; ela não existe mais?
-                if (!transitions.hasIdentifier(transition.getIdentifier())) {
-
-                    // sim, ela não existe mais
-                    
-                    // a ação removeu ou alterou a transição corrente, então
-                    // é necessário recalcular a nova transição corrente
-                    
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] A transição %d foi alterada ou não existe mais. É necessário recalcular a nova transição.", identifier, transition.getIdentifier()));
-
-                    // o estado de origem passa a ser o estado corrente
-                    // para recalcular a nova transição
-                    br.usp.poli.lta.cereda.aa.model.State currentState = transition.getSourceState();
-
-                    // o valor do cursor é igual ao tamanho da cadeia?
-                    if (cursor == input.size()) {
-
-                        // sim, os valores são iguais, o que significa que
-                        // não tenho mais nada para consumir
-                        
-                        // mensagem de log
-                        logger.debug(new SimpleMessage("[Thread %d] Não há mais símbolos para consumir.", identifier));
-
-                        // consulta quais transições partem do estado corrente
-                        // transitando em vazio ou fazendo chamadas de submáquinas
-                        query = transitions.withEpsilonOrSubmachineFromSourceState(currentState);
-
-                        // a consulta está vazia?
-                        if (query.isEmpty()) {
-
-                            // sim, a consulta está vazia, portanto não
-                            // tenho para onde ir
-                            
-                            // mensagem de log
-                            logger.debug(new SimpleMessage("[Thread %d] Não existem transições em vazio ou chamadas de submáquinas.", identifier));
-
-                            // o estado corrente é final na submáquina corrente?
-                            if (submachines.getFromName(currentSubmachine).getAcceptingStates().contains(currentState)) {
-
-                                // sim, o estado corrente é final na submáquina corrente
-                                
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] O estado corrente é final na submáquina corrente.", identifier));
-
-                                // a pilha está vazia?
-                                if (stack.isEmpty()) {
-
-                                    // sim, pilha vazia
-                                    
-                                    // mensagem de log
-                                    logger.debug(new SimpleMessage("[Thread %d] A pilha está vazia.", identifier));
-
-                                    // a submáquina corrente é a principal?
-                                    if (currentSubmachine.equals(mainSubmachine)) {
-
-                                        // sim, indica que a cadeia foi aceita
-                                        
-                                        // mensagens de log
-                                        logger.debug(new SimpleMessage("[Thread %d] A submáquina corrente é a principal.", identifier));
-                                        logger.debug(new SimpleMessage("[Thread %d] A cadeia foi aceita.", identifier));
-
-                                        // define o resultado do caminho corrente
-                                        // como verdadeiro, isto é, a cadeia foi
-                                        // aceita!
-                                        paths.get(identifier).setResult(true);
-                                        
-                                        // define a posição final do cursor da
-                                        // cadeia de entrada
-                                        paths.get(identifier).setCursor(cursor);
-                                        
-                                        // define o estado final do processo
-                                        // de reconhecimento
-                                        paths.get(identifier).setState(dolly.deepClone(currentState));
-
-                                        // informa que a thread pode ser removida
-                                        removals.add(identifier);
-
-                                        // mensagem de log
-                                        logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                        // retorna, e a thread é encerrada
-                                        return;
-
-                                    } else {
-
-                                        // a submáquina corrente não é principal,
-                                        // portanto a cadeia deve ser rejeitada
-                                        
-                                        // mensagem de log
-                                        logger.debug(new SimpleMessage("[Thread %d] A submáquina corrente não é a principal.", identifier));
-
-                                        // define o resultado do caminho corrente
-                                        // como falso, isto é, a cadeia foi rejeitada
-                                        paths.get(identifier).setResult(false);
-                                        
-                                        // define a posição final do cursor da
-                                        // cadeia de entrada
-                                        paths.get(identifier).setCursor(cursor);
-                                        
-                                        // define o estado final do processo
-                                        // de reconhecimento
-                                        paths.get(identifier).setState(dolly.deepClone(currentState));
-
-                                        // mensagem de log
-                                        logger.debug(new SimpleMessage("[Thread %d] A cadeia foi rejeitada.", identifier));
-
-                                        // informa que a thread pode ser removida
-                                        removals.add(identifier);
-
-                                        // mensagem de log
-                                        logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                        // retorna, encerrando a execução da thread
-                                        return;
-
-                                    }
-                                } else {
-
-                                    // a pilha não está vazia, portanto a transição
-                                    // corrente torna-se uma operação de desempilhamento,
-                                    // isto é, de retorno de submáquina
-                                    transition = new Transition();
-                                    transition.setSubmachineReturn(true);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(transition, "[Thread %d] A pilha não está vazia. A nova transição %d é um retorno de submáquina.", identifier, transition.getIdentifier()));
-
-                                }
-                            } else {
-
-                                // não estou no estado final da submáquina corrente,
-                                // portanto a cadeia foi rejeitada
-                                
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] O estado corrente não é final na submáquina corrente.", identifier));
-
-                                // define o resultado do caminho corrente
-                                // como falso, isto é, a cadeia foi rejeitada
-                                paths.get(identifier).setResult(false);
-                                
-                                // define a posição final do cursor da
-                                // cadeia de entrada
-                                paths.get(identifier).setCursor(cursor);
-                                
-                                // define o estado final do processo
-                                // de reconhecimento
-                                paths.get(identifier).setState(dolly.deepClone(currentState));
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] A cadeia foi rejeitada.", identifier));
-
-                                // informa que a thread pode ser removida
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // retorna e encerra a execução da thread corrente
-                                return;
-
-                            }
-
-                        } else {
-
-                            // a consulta não está vazia!
-                            
-                            // mensagem de log
-                            logger.debug(new SimpleMessage("[Thread %d] A consulta não está vazia.", identifier));
-                            
-                            // a consulta tem transições em vazio e chamadas
-                            // de submáquinas?
-                            if (hasEpsilonTransitions(query) && hasSubmachineCalls(query)) {
-                                
-                                // sim, ambas
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Existem transições em vazio e chamadas de submáquina.", identifier));
-
-                                // situação de não-determinismo, com transições em
-                                // vazio e chamadas de submáquinas
-                                for (Transition t : query) {
-
-                                    // para cada transição da consulta, criar uma nova thread
-                                    Kernel k = new Kernel(threads, removals, paths);
-                                    k.setStack(stack);
-                                    k.setActions(actions);
-                                    k.setTransitions(transitions);
-                                    k.setSubmachines(submachines);
-                                    k.setCurrentSubmachine(currentSubmachine);
-                                    k.setMainSubmachine(mainSubmachine);
-                                    k.setInput(input);
-                                    k.setCursor(cursor);
-                                    k.setEnablePriorAction(false);
-                                    k.setTransition(t);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                    // adiciona a nova transição ao caminho
-                                    // de reconhecimento de cada thread
-                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                    threads.add(k);
-
-                                }
-                                
-                                // remove a thread corrente
-                                removals.add(identifier);
-
-                                // mensagem
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // e retorna, encerrando a execução da thread
-                                return;
-
-                            } else {
-                                
-                                // temos transições em vazio ou chamadas
-                                // de submáquinas
-
-                                // primeira verificação: existem chamadas de
-                                // submáquinas na consulta?
-                                if (hasSubmachineCalls(query)) {
-
-                                    // sim, existem chamadas de submáquina
-                                    // (e, por tabela, não existem transições
-                                    // em vazio)
-                                    
-                                    // mensagem de log
-                                    logger.debug(new SimpleMessage("[Thread %d] Existem chamadas de submáquina.", identifier));
-                                    
-                                    // é uma só chamada de submáquina?
-                                    if (query.size() == 1) {
-
-                                        // sim, situação determinística
-                                        
-                                        // define a transição corrente
-                                        // como o resultado da consulta
-                                        transition = dolly.deepClone(query.get(0));
-
-                                        // mensagem de log
-                                        logger.debug(new TransitionMessage(transition, "[Thread %d] É apenas uma chamada de submáquina.", identifier));
-
-                                    } else {
-
-                                        // são várias chamadas de submáquinas
-                                        
-                                        // mensagem
-                                        logger.debug(new SimpleMessage("[Thread %d] São várias chamadas de submáquinas.", identifier));
-
-                                        
-                                        // situação de não-determinismo, com várias
-                                        // chamadas de submáquinas
-                                        for (Transition t : query) {
-
-                                            // para cada transição da consulta, criar uma nova thread
-                                            Kernel k = new Kernel(threads, removals, paths);
-                                            k.setStack(stack);
-                                            k.setActions(actions);
-                                            k.setTransitions(transitions);
-                                            k.setSubmachines(submachines);
-                                            k.setCurrentSubmachine(currentSubmachine);
-                                            k.setMainSubmachine(mainSubmachine);
-                                            k.setInput(input);
-                                            k.setCursor(cursor);
-                                            k.setEnablePriorAction(false);
-                                            k.setTransition(t);
-
-                                            // adiciona a transição no caminho de reconhecimento
-                                            // para cada nova thread
-                                            paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                            paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                            threads.add(k);
-
-                                            // mensagem de log
-                                            logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                        }
-                                        
-                                        // adiciona a thread para remoção
-                                        removals.add(identifier);
-
-                                        // e retorna, encerrando a execução da thread
-                                        return;
-
-                                    }
-                                } else {
-
-                                    // a consulta tem transições em vazio
-                                    // (e, por tabela, não tem chamadas de
-                                    // submáquinas!)
-                                    
-                                    // mensagem de log
-                                    logger.debug(new SimpleMessage("[Thread %d] A consulta tem transições em vazio.", identifier));
-                                    
-                                    // o estado corrente não é final no contexto
-                                    // da submáquina corrente?
-                                    if (!submachines.getFromName(currentSubmachine).getAcceptingStates().contains(currentState)) {
-
-                                        // sim, o estado é comum, não final
-                                        
-                                        // mensagem de log
-                                        logger.debug(new SimpleMessage("[Thread %d] O estado corrente não é final no contexto da submáquina corrente.", identifier));
-
-                                        // é uma transição só?
-                                        if (query.size() == 1) {
-
-                                            // sim, portanto a transição
-                                            // é determinística
-                                            
-                                            // define a transição corrente
-                                            // como resultado da consulta
-                                            transition = dolly.deepClone(query.get(0));
-
-                                            // mensagem de log
-                                            logger.debug(new TransitionMessage(transition, "[Thread %d] É apenas uma transição em vazio.", identifier));
-
-                                        } else {
-                                            
-                                            // são várias transições em vazio
-
-                                            // mensagem de log
-                                            logger.debug(new TransitionMessage(transition, "[Thread %d] São várias transições em vazio.", identifier));
-
-                                            // situação de não-determinismo, com várias
-                                            // transições em vazio
-                                            for (Transition t : query) {
-
-                                                // para cada transição da consulta, criar uma nova thread
-                                                Kernel k = new Kernel(threads, removals, paths);
-                                                k.setStack(stack);
-                                                k.setActions(actions);
-                                                k.setTransitions(transitions);
-                                                k.setSubmachines(submachines);
-                                                k.setCurrentSubmachine(currentSubmachine);
-                                                k.setMainSubmachine(mainSubmachine);
-                                                k.setInput(input);
-                                                k.setCursor(cursor);
-                                                k.setEnablePriorAction(false);
-                                                k.setTransition(t);
-
-                                                // adiciona o caminho de reconhecimento
-                                                // para as novas threads
-                                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                threads.add(k);
-
-                                                // mensagem de log
-                                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                            }
-                                            
-                                            // adiciona a thread corrente
-                                            // na lista de remoções
-                                            removals.add(identifier);
-
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                            // e retorna, encerrando a execução
-                                            // da thread corrente
-                                            return;
-
-                                        }
-                                    } else {
-
-                                        // o estado corrente é final e existem
-                                        // transições em vazio
-                                        
-                                        // mensagem de log
-                                        logger.debug(new SimpleMessage("[Thread %d] O estado corrente é final no contexto da submáquina corrente.", identifier));
-
-                                        // a pilha está vazia?
-                                        if (stack.isEmpty()) {
-                                            
-                                            // sim, pilha vazia
-
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] A pilha está vazia.", identifier));
-
-                                            // a submáquina corrente é a principal?
-                                            if (currentSubmachine.equals(mainSubmachine)) {
-
-                                                // sim, é a submáquina principal
-                                                
-                                                // mensagem de log
-                                                logger.debug(new SimpleMessage("[Thread %d] A submáquina corrente é a principal.", identifier));
-                                                
-                                                // situação de não-determinismo, pois o autômato
-                                                // pode prosseguir o reconhecimento ou encerrar
-                                                for (Transition t : query) {
-
-                                                    // para cada transição da consulta, criar uma nova thread
-                                                    Kernel k = new Kernel(threads, removals, paths);
-                                                    k.setStack(stack);
-                                                    k.setActions(actions);
-                                                    k.setTransitions(transitions);
-                                                    k.setSubmachines(submachines);
-                                                    k.setCurrentSubmachine(currentSubmachine);
-                                                    k.setMainSubmachine(mainSubmachine);
-                                                    k.setInput(input);
-                                                    k.setCursor(cursor);
-                                                    k.setEnablePriorAction(false);
-                                                    k.setTransition(t);
-
-                                                    // adiciona o caminho de reconhecimento
-                                                    // para as novas threads
-                                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                    threads.add(k);
-
-                                                    // mensagem de log
-                                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                                }
-
-                                                // adiciona um caminho adicional informando
-                                                // que o autômato reconheceu a cadeia de
-                                                // entrada
-                                                paths.get(identifier).setResult(true);
-                                                
-                                                // define a posição final do cursor da
-                                                // cadeia de entrada
-                                                paths.get(identifier).setCursor(cursor);
-                                                
-                                                // define o estado final do processo
-                                                // de reconhecimento
-                                                paths.get(identifier).setState(dolly.deepClone(currentState));
-
-                                                // mensagem de log
-                                                logger.debug(new SimpleMessage("[Thread %d] A cadeia foi aceita.", identifier));
-
-                                                // adiciona a thread corrente
-                                                // na lista de remoções
-                                                removals.add(identifier);
-
-                                                // mensagem de log
-                                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                                // e retorna, encerrando
-                                                // a thread corrente
-                                                return;
-
-                                            } else {
-
-                                                // a submáquina corrente não
-                                                // é a submáquina principal
-                                                
-                                                // mensagem de log
-                                                logger.debug(new SimpleMessage("[Thread %d] A submáquina corrente não é a principal.", identifier));
-                                                
-                                                // situação de não-determinismo, pois a submáquina não é
-                                                // a principal, a pilha está vazia e não é possível
-                                                // retornar (cadeia rejeitada), mas o autômato pode
-                                                // seguir as transições em vazio
-                                                for (Transition t : query) {
-
-                                                    // para cada transição da consulta, criar uma nova thread
-                                                    Kernel k = new Kernel(threads, removals, paths);
-                                                    k.setStack(stack);
-                                                    k.setActions(actions);
-                                                    k.setTransitions(transitions);
-                                                    k.setSubmachines(submachines);
-                                                    k.setCurrentSubmachine(currentSubmachine);
-                                                    k.setMainSubmachine(mainSubmachine);
-                                                    k.setInput(input);
-                                                    k.setCursor(cursor);
-                                                    k.setEnablePriorAction(false);
-                                                    k.setTransition(t);
-
-                                                    // adiciona o caminho de reconhecimento
-                                                    // para as novas threads
-                                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                    threads.add(k);
-
-                                                    // mensagem de log
-                                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                                }
-
-                                                // informa que o caminho de reconhecimento
-                                                // corrente resultou na rejeição da cadeia
-                                                // de entrada
-                                                paths.get(identifier).setResult(false);
-                                                
-                                                // define a posição final do cursor da
-                                                // cadeia de entrada
-                                                paths.get(identifier).setCursor(cursor);
-                                                
-                                                // define o estado final do processo
-                                                // de reconhecimento
-                                                paths.get(identifier).setState(dolly.deepClone(currentState));
-
-                                                // mensagem de log
-                                                logger.debug(new SimpleMessage("[Thread %d] A cadeia foi rejeitada.", identifier));
-
-                                                // adiciona thread corrente
-                                                // na lista de remoções
-                                                removals.add(identifier);
-
-                                                // mensagem de log
-                                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                                // e retorna!
-                                                return;
-
-                                            }
-                                        } else {
-
-                                            // a pilha não está vazia, então
-                                            // existem operações de desempilhamento,
-                                            // isto é, de retorno de submáquinas
-                                            
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] A pilha não está vazia.", identifier));
-
-                                            // situação de não-determinismo, com
-                                            // retorno de submáquinas e transições
-                                            // em vazio
-                                            for (Transition t : query) {
-
-                                                // para cada transição da consulta, criar uma nova thread
-                                                Kernel k = new Kernel(threads, removals, paths);
-                                                k.setStack(stack);
-                                                k.setActions(actions);
-                                                k.setTransitions(transitions);
-                                                k.setSubmachines(submachines);
-                                                k.setCurrentSubmachine(currentSubmachine);
-                                                k.setMainSubmachine(mainSubmachine);
-                                                k.setInput(input);
-                                                k.setCursor(cursor);
-                                                k.setEnablePriorAction(false);
-                                                k.setTransition(t);
-
-                                                // adiciona o caminho de reconhecimento
-                                                // para as novas threads
-                                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                threads.add(k);
-
-                                                // mensagem de log
-                                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                            }
-
-                                            // cria uma thread adicional que fará
-                                            // o desempilhamento, isto é, retorno
-                                            // de submáquina
-                                            Kernel k = new Kernel(threads, removals, paths);
-                                            k.setStack(stack);
-                                            k.setActions(actions);
-                                            k.setTransitions(transitions);
-                                            k.setSubmachines(submachines);
-                                            k.setCurrentSubmachine(currentSubmachine);
-                                            k.setMainSubmachine(mainSubmachine);
-                                            k.setInput(input);
-                                            k.setCursor(cursor);
-                                            k.setEnablePriorAction(false);
-                                            Transition t = new Transition();
-                                            t.setSubmachineReturn(true);
-                                            k.setTransition(t);
-
-                                            // adiciona o caminho de reconhecimento
-                                            // para a nova thread
-                                            paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                            paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                            threads.add(k);
-
-                                            // mensagem de log
-                                            logger.debug(new TransitionMessage(t, "[Thread %d] A pilha não está vazia. A nova transição %d é um retorno de submáquina.", identifier, t.getIdentifier()));
-
-                                            // adiciona a thread corrente
-                                            // na lista de remoções
-                                            removals.add(identifier);
-
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                            // e retorna, encerrando
-                                            // a thread corrente
-                                            return;
-
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    } else {
-
-                        // ainda existem símbolos a serem lidos
-                        // na cadeia de entrada
-                        
-                        // lê símbolo apontado pelo cursor
-                        Symbol currentSymbol = input.get(cursor);
-
-                        // mensagem de log
-                        logger.debug(new SimpleMessage("[Thread %d] Ainda existem símbolos para consumir.", identifier));
-
-                        // todas as transições que, partindo do estado corrente, consomem
-                        // o símbolo corrente, transitam em vazio ou chamam submáquinas
-                        query = transitions.withSymbolEpsilonOrSubmachineFromSourceState(currentState, currentSymbol);
-
-                        // a consulta está vazia?
-                        if (query.isEmpty()) {
-
-                            // sim, vazia
-                            
-                            // mensagem de log
-                            logger.debug(new SimpleMessage("[Thread %d] Não existem transições com consumo de símbolo, em vazio ou chamadas de submáquinas.", identifier));
-
-                            // a pilha está vazia?
-                            if (stack.isEmpty()) {
-                                
-                                // sim, a pilha está vazia
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] A pilha está vazia.", identifier));
-
-                                // não há para onde ir, a cadeia
-                                // está rejeitada
-                                paths.get(identifier).setResult(false);
-                                
-                                // define a posição final do cursor da
-                                // cadeia de entrada
-                                paths.get(identifier).setCursor(cursor);
-                                
-                                // define o estado final do processo
-                                // de reconhecimento
-                                paths.get(identifier).setState(dolly.deepClone(currentState));
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] A cadeia foi rejeitada.", identifier));
-
-                                // informa que a thread pode ser removida
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // retorna, encerrando a execução
-                                // da thread corrente
-                                return;
-
-                            } else {
-
-                                // a pilha não está vazia
-                                
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] A pilha não está vazia.", identifier));
-
-                                // o estado corrente é final no contexto da submáquina corrente?
-                                if (submachines.getFromName(currentSubmachine).getAcceptingStates().contains(currentState)) {
-                                    
-                                    // sim, o estado é final no contexto
-                                    // da submáquina corrente
-
-                                    // mensagem de log
-                                    logger.debug(new SimpleMessage("[Thread %d] O estado corrente é final na submáquina corrente.", identifier));
-
-                                    // define a transição corrente como uma operação
-                                    // de desempilhamento, isto é, retorno de submáquina
-                                    transition = new Transition();
-                                    transition.setSubmachineReturn(true);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(transition, "[Thread %d] A pilha não está vazia. A nova transição %d é um retorno de submáquina.", identifier, transition.getIdentifier()));
-
-                                } else {
-
-                                    // o estado não é final no contexto da
-                                    // submáquina corrente
-                                    
-                                    // mensagem de log
-                                    logger.debug(new SimpleMessage("[Thread %d] O estado corrente não é final na submáquina corrente.", identifier));
-
-                                    // não há para onde ir e a cadeia é,
-                                    // portanto, rejeitada
-                                    paths.get(identifier).setResult(false);
-                                    
-                                    // define a posição final do cursor da
-                                    // cadeia de entrada
-                                    paths.get(identifier).setCursor(cursor);
-                                    
-                                    // define o estado final do processo
-                                    // de reconhecimento
-                                    paths.get(identifier).setState(dolly.deepClone(currentState));
-
-                                    // mensagem de log
-                                    logger.debug(new SimpleMessage("[Thread %d] A cadeia foi rejeitada.", identifier));
-
-                                    // informa que a thread pode ser removida
-                                    removals.add(identifier);
-
-                                    // mensagem de log
-                                    logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                    // retorna, encerrando a
-                                    // thread corrente
-                                    return;
-
-                                }
-                            }
-                        } else {
-
-                            // a consulta não está vazia, existem transições
-                            
-                            // a consulta tem transições com
-                            // consumo de símbolos?
-                            if (hasSymbolTransitions(query)) {
-
-                                // sim, existem transições com
-                                // consumo de símbolos
-                                
-                                // é uma só transição?
-                                if (getSymbolTransitions(query).size() == 1) {
-
-                                    // a consulta tem transições em vazio?
-                                    if (hasEpsilonTransitions(query)) {
-
-                                        // sim, tem transições em vazio
-                                        
-                                        // a consulta tem chamadas de submáquinas?
-                                        if (hasSubmachineCalls(query)) {
-
-                                            // sim, tem chamadas de submáquinas
-                                            
-                                            // não-determinismo com um consumo de símbolo,
-                                            // transições em vazio e chamadas de submáquinas
-                                            
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com uma transição de consumo de símbolo, transições em vazio e chamadas de submáquinas.", identifier));
-
-                                            // situação de não-determinismo
-                                            for (Transition t : query) {
-
-                                                // para cada transição da consulta, criar uma nova thread
-                                                Kernel k = new Kernel(threads, removals, paths);
-                                                k.setStack(stack);
-                                                k.setActions(actions);
-                                                k.setTransitions(transitions);
-                                                k.setSubmachines(submachines);
-                                                k.setCurrentSubmachine(currentSubmachine);
-                                                k.setMainSubmachine(mainSubmachine);
-                                                k.setInput(input);
-                                                k.setCursor(cursor);
-                                                k.setEnablePriorAction(false);
-                                                k.setTransition(t);
-
-                                                // adiciona o caminho de reconhecimento
-                                                // para as novas threads
-                                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                threads.add(k);
-
-                                                // mensagem de log
-                                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                            }
-                                            
-                                            // adiciona thread corrente
-                                            // na lista de remoções
-                                            removals.add(identifier);
-
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                            // e retorna, encerrando a
-                                            // execução da thread corrente
-                                            return;
-
-                                        } else {
-
-                                            // não há chamadas de submáquinas,
-                                            // apenas consumo de símbolo e
-                                            // transições em vazio
-                                            
-                                            // não-determinismo, com uma transição
-                                            // de consumo de símbolo e transições
-                                            // em vazio
-                                            
-                                            // mensagem
-                                            logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com uma transição de consumo de símbolo e transições em vazio.", identifier));
-
-                                            // situação de não-determinismo
-                                            for (Transition t : query) {
-
-                                                // para cada transição da consulta, criar uma nova thread
-                                                Kernel k = new Kernel(threads, removals, paths);
-                                                k.setStack(stack);
-                                                k.setActions(actions);
-                                                k.setTransitions(transitions);
-                                                k.setSubmachines(submachines);
-                                                k.setCurrentSubmachine(currentSubmachine);
-                                                k.setMainSubmachine(mainSubmachine);
-                                                k.setInput(input);
-                                                k.setCursor(cursor);
-                                                k.setEnablePriorAction(false);
-                                                k.setTransition(t);
-
-                                                // adiciona o caminho de reconhecimento
-                                                // para as novas threads
-                                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                threads.add(k);
-                                                
-                                                // mensagem de log
-                                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                            }
-                                            
-                                            // adiciona thread corrente
-                                            // na lista de remoções
-                                            removals.add(identifier);
-
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                            // e retorna, encerrando a execução
-                                            // da thread corrente
-                                            return;
-
-                                        }
-                                    } else {
-
-                                        // a consulta não tem transições em vazio
-                                        
-                                        // a consulta tem chamadas de submáquinas?
-                                        if (hasSubmachineCalls(query)) {
-
-                                            // sim, tem chamadas de submáquinas
-                                            
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com uma transição de consumo de símbolo e chamadas de submáquinas.", identifier));
-
-                                            // não-determinismo com chamadas de
-                                            // submáquinas e uma transição de
-                                            // consumo de símbolo
-                                            
-                                            // situação de não-determinismo
-                                            for (Transition t : query) {
-
-                                                // para cada transição da consulta, criar uma nova thread
-                                                Kernel k = new Kernel(threads, removals, paths);
-                                                k.setStack(stack);
-                                                k.setActions(actions);
-                                                k.setTransitions(transitions);
-                                                k.setSubmachines(submachines);
-                                                k.setCurrentSubmachine(currentSubmachine);
-                                                k.setMainSubmachine(mainSubmachine);
-                                                k.setInput(input);
-                                                k.setCursor(cursor);
-                                                k.setEnablePriorAction(false);
-                                                k.setTransition(t);
-                                                
-                                                // adiciona o caminho de reconhecimento
-                                                // para as novas threads
-                                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                threads.add(k);
-
-                                                // mensagem de log
-                                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                            }
-                                            
-                                            // adiciona a thread corrente
-                                            // na lista de remoções
-                                            removals.add(identifier);
-
-                                            // mensagem de erro
-                                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                            // e retorna, encerrando a
-                                            // execução da thread
-                                            return;
-
-                                        } else {
-
-                                            // existe apenas uma transição de
-                                            // consumo de símbolo, portanto,
-                                            // determinística
-                                            transition = dolly.deepClone(query.get(0));
-
-                                            // mensagem de log
-                                            logger.debug(new TransitionMessage(transition, "[Thread %d] É apenas uma transição de consumo de símbolo.", identifier));
-
-                                        }
-                                    }
-                                } else {
-
-                                    // existem várias transições de consumo de
-                                    // símbolo, portanto, já é não-determinístico
-                                    
-                                    // a consulta tem transições em vazio?
-                                    if (hasEpsilonTransitions(query)) {
-
-                                        // sim, tem transições em vazio
-                                        
-                                        // a consulta tem chamadas de submáquinas?
-                                        if (hasSubmachineCalls(query)) {
-
-                                            // sim, tem chamadas de submáquinas
-                                            
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com transições de consumo de símbolo, transições em vazio e chamadas de submáquinas.", identifier));
-
-                                            // não-determinismo com transições com
-                                            // consumo de símbolos, transições em
-                                            // vazio e chamadas de submáquinas
-                                            
-                                            // situação de não-determinismo
-                                            for (Transition t : query) {
-
-                                                // para cada transição da consulta, criar uma nova thread
-                                                Kernel k = new Kernel(threads, removals, paths);
-                                                k.setStack(stack);
-                                                k.setActions(actions);
-                                                k.setTransitions(transitions);
-                                                k.setSubmachines(submachines);
-                                                k.setCurrentSubmachine(currentSubmachine);
-                                                k.setMainSubmachine(mainSubmachine);
-                                                k.setInput(input);
-                                                k.setCursor(cursor);
-                                                k.setEnablePriorAction(false);
-                                                k.setTransition(t);
-
-                                                // adiciona o caminho de reconhecimento
-                                                // para as novas threads
-                                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                threads.add(k);
-
-                                                // mensagem de log
-                                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                            }
-                                            
-                                            // adiciona thread corrente
-                                            // na lista de remoções
-                                            removals.add(identifier);
-
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                            // e retorna, encerrando
-                                            // a thread corrente
-                                            return;
-                                            
-                                        } else {
-
-                                            // não há chamadas de submáquinas,
-                                            // apenas transições com consumo
-                                            // de símbolo e transições em vazio
-                                            
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com transições de consumo de símbolo e transições em vazio.", identifier));
-
-                                            // não-determinismo com transições de consumo
-                                            // de símbolo e transição em vazio
-                                            
-                                            // situação de não-determinismo
-                                            for (Transition t : query) {
-
-                                                // para cada transição da consulta, criar uma nova thread
-                                                Kernel k = new Kernel(threads, removals, paths);
-                                                k.setStack(stack);
-                                                k.setActions(actions);
-                                                k.setTransitions(transitions);
-                                                k.setSubmachines(submachines);
-                                                k.setCurrentSubmachine(currentSubmachine);
-                                                k.setMainSubmachine(mainSubmachine);
-                                                k.setInput(input);
-                                                k.setCursor(cursor);
-                                                k.setEnablePriorAction(false);
-                                                k.setTransition(t);
-                                                
-                                                // adiciona o caminho de reconhecimento
-                                                // para as novas threads
-                                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                threads.add(k);
-
-                                                // mensagem de log
-                                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                            }
-                                            
-                                            // adiciona a thread corrente
-                                            // na lista de remoções
-                                            removals.add(identifier);
-
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                            // e retorna, encerrando
-                                            // a thread corrente
-                                            return;
-
-                                        }
-                                    } else {
-
-                                        // não há transições em vazio
-                                        
-                                        // a consulta tem chamadas de submáquinas?
-                                        if (hasSubmachineCalls(query)) {
-
-                                            // sim, tem chamadas de submáquinas
-                                            
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com transições de consumo de símbolo e chamadas de submáquinas.", identifier));
-
-                                            // não-determinismo com transições de
-                                            // consumo de símbolo e chamadas de
-                                            // submáquinas
-                                            
-                                            // situação de não-determinismo
-                                            for (Transition t : query) {
-
-                                                // para cada transição da consulta, criar uma nova thread
-                                                Kernel k = new Kernel(threads, removals, paths);
-                                                k.setStack(stack);
-                                                k.setActions(actions);
-                                                k.setTransitions(transitions);
-                                                k.setSubmachines(submachines);
-                                                k.setCurrentSubmachine(currentSubmachine);
-                                                k.setMainSubmachine(mainSubmachine);
-                                                k.setInput(input);
-                                                k.setCursor(cursor);
-                                                k.setEnablePriorAction(false);
-                                                k.setTransition(t);
-                                                
-                                                // adiciona o caminho de reconhecimento
-                                                // para as novas threads
-                                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                threads.add(k);
-
-                                                // mensagem de log
-                                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                            }
-                                            
-                                            // adiciona a thread corrente
-                                            // na lista de remoções
-                                            removals.add(identifier);
-
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                            // e retorna, encerrando a
-                                            // thread corrente
-                                            return;
-
-                                        } else {
-
-                                            // não há chamadas de submáquinas,
-                                            // portanto, apenas transições com
-                                            // consumo de símbolo
-
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com transições de consumo de símbolo.", identifier));
-
-                                            // não-determinismo com transições
-                                            // com consumo de símbolo
-                                            
-                                            // situação de não-determinismo
-                                            for (Transition t : query) {
-
-                                                // para cada transição da consulta, criar uma nova thread
-                                                Kernel k = new Kernel(threads, removals, paths);
-                                                k.setStack(stack);
-                                                k.setActions(actions);
-                                                k.setTransitions(transitions);
-                                                k.setSubmachines(submachines);
-                                                k.setCurrentSubmachine(currentSubmachine);
-                                                k.setMainSubmachine(mainSubmachine);
-                                                k.setInput(input);
-                                                k.setCursor(cursor);
-                                                k.setEnablePriorAction(false);
-                                                k.setTransition(t);
-
-                                                // adiciona o caminho de reconhecimento
-                                                // para as novas threads
-                                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                threads.add(k);
-
-                                                // mensagem de log
-                                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                            }
-                                            
-                                            // adiciona a thread corrente na
-                                            // lista de remoções
-                                            removals.add(identifier);
-
-                                            // mensagem de erro
-                                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                            // e retorna, encerrando
-                                            // a thread corrente
-                                            return;
-
-                                        }
-                                    }
-                                }
-                            } else {
-
-                                // a consulta não tem transições com consumo
-                                // de símbolo, apenas transições em vazio ou
-                                // chamadas de submáquinas
-                                
-                                // a consulta tem chamadas de submáquinas?
-                                if (hasSubmachineCalls(query)) {
-
-                                    // sim, tem chamadas de submáquina
-                                    
-                                    // é uma só?
-                                    if (getSubmachineCalls(query).size() == 1) {
-
-                                        // sim, é uma só chamada
-                                        
-                                        // a consulta tem transições em vazio?
-                                        if (hasEpsilonTransitions(query)) {
-
-                                            // sim, existem transições em vazio
-                                            
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com uma chamada de submáquina e transições em vazio.", identifier));
-
-                                            // não-determinismo com uma chamada de
-                                            // submáquina e transições em vazio
-                                            
-                                            // situação de não-determinismo
-                                            for (Transition t : query) {
-
-                                                // para cada transição da consulta, criar uma nova thread
-                                                Kernel k = new Kernel(threads, removals, paths);
-                                                k.setStack(stack);
-                                                k.setActions(actions);
-                                                k.setTransitions(transitions);
-                                                k.setSubmachines(submachines);
-                                                k.setCurrentSubmachine(currentSubmachine);
-                                                k.setMainSubmachine(mainSubmachine);
-                                                k.setInput(input);
-                                                k.setCursor(cursor);
-                                                k.setEnablePriorAction(false);
-                                                k.setTransition(t);
-
-                                                // adiciona o caminho de reconhecimento
-                                                // para as novas threads
-                                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                threads.add(k);
-
-                                                // mensagem de log
-                                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                            }
-                                            
-                                            // adiciona thread na lista
-                                            // de remoções
-                                            removals.add(identifier);
-
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                            // e retorna, encerrando
-                                            // a execução da thread
-                                            return;
-
-                                        } else {
-
-                                            // só existe uma chamada de submáquina, portanto,
-                                            // o passo é determinístico
-                                            
-                                            // a transição corrente passa a ser
-                                            // a chamada de submáquina
-                                            transition = dolly.deepClone(query.get(0));
-
-                                            // mensagem de log
-                                            logger.debug(new TransitionMessage(transition, "[Thread %d] É apenas uma chamada de submáquina.", identifier));
-
-                                        }
-                                    } else {
-
-                                        // são várias chamadas de submáquinas,
-                                        // portanto, o passo será não-determinístico
-                                        
-                                        // a consulta tem transições em vazio?
-                                        if (hasEpsilonTransitions(query)) {
-
-                                            // sim, tem transições em vazio
-                                            
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com chamadas de submáquinas e transições em vazio.", identifier));
-
-                                            // não-determinismo com chamadas de submáquinas
-                                            // e transições em vazio
-                                            
-                                            // situação de não-determinismo
-                                            for (Transition t : query) {
-
-                                                // para cada transição da consulta, criar uma nova thread
-                                                Kernel k = new Kernel(threads, removals, paths);
-                                                k.setStack(stack);
-                                                k.setActions(actions);
-                                                k.setTransitions(transitions);
-                                                k.setSubmachines(submachines);
-                                                k.setCurrentSubmachine(currentSubmachine);
-                                                k.setMainSubmachine(mainSubmachine);
-                                                k.setInput(input);
-                                                k.setCursor(cursor);
-                                                k.setEnablePriorAction(false);
-                                                k.setTransition(t);
-
-                                                // adiciona o caminho de reconhecimento
-                                                // para as novas threads
-                                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                threads.add(k);
-
-                                                // mensagem de log
-                                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                            }
-                                            
-                                            // adiciona a thread corrente
-                                            // na lista de remoções
-                                            removals.add(identifier);
-
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                            // e retorna, encerrando
-                                            // a thread corrente
-                                            return;
-
-                                        } else {
-                                            // não tem transições em vazio,
-                                            // apenas várias chamadas de
-                                            // submáquinas
-
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com chamadas de submáquinas.", identifier));
-
-                                            // não-determinismo, com chamadas
-                                            // de submáquinas
-                                            
-                                            // situação de não-determinismo
-                                            for (Transition t : query) {
-
-                                                // para cada transição da consulta, criar uma nova thread
-                                                Kernel k = new Kernel(threads, removals, paths);
-                                                k.setStack(stack);
-                                                k.setActions(actions);
-                                                k.setTransitions(transitions);
-                                                k.setSubmachines(submachines);
-                                                k.setCurrentSubmachine(currentSubmachine);
-                                                k.setMainSubmachine(mainSubmachine);
-                                                k.setInput(input);
-                                                k.setCursor(cursor);
-                                                k.setEnablePriorAction(false);
-                                                k.setTransition(t);
-
-                                                // adiciona o caminho de reconhecimento
-                                                // para as novas threads
-                                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                                threads.add(k);
-
-                                                // mensagem de log
-                                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                            }
-                                            
-                                            // adiciona a thread na
-                                            // lista de remoções
-                                            removals.add(identifier);
-
-                                            // mensagem de log
-                                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                            // e retorna, encerrando a
-                                            // execução da thread corrente
-                                            return;
-
-                                        }
-                                    }
-                                } else {
-
-                                    // existem apenas transições em vazio
-                                    
-                                    // só tem uma transição?
-                                    if (query.size() == 1) {
-
-                                        // sim, uma única transição em
-                                        // vazio, portanto, o passo é
-                                        // determinístico
-                                        transition = dolly.deepClone(query.get(0));
-
-                                        // mensagem de log
-                                        logger.debug(new TransitionMessage(transition, "[Thread %d] É apenas uma transição em vazio.", identifier));
-
-                                    } else {
-                                        
-                                        // existem várias transições em vazio
-
-                                        // mensagem de log
-                                        logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com transições em vazio.", identifier));
-
-                                        // situação de não-determinismo
-                                        for (Transition t : query) {
-
-                                            // para cada transição da consulta, criar uma nova thread
-                                            Kernel k = new Kernel(threads, removals, paths);
-                                            k.setStack(stack);
-                                            k.setActions(actions);
-                                            k.setTransitions(transitions);
-                                            k.setSubmachines(submachines);
-                                            k.setCurrentSubmachine(currentSubmachine);
-                                            k.setMainSubmachine(mainSubmachine);
-                                            k.setInput(input);
-                                            k.setCursor(cursor);
-                                            k.setEnablePriorAction(false);
-                                            k.setTransition(t);
-
-                                            // adiciona o caminho de reconhecimento
-                                            // para as novas threads
-                                            paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                            paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                            threads.add(k);
-
-                                            // mensagem de log
-                                            logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                        }
-                                        
-                                        // adiciona a thread na
-                                        // lista de remoções
-                                        removals.add(identifier);
-
-                                        // mensagem de log
-                                        logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                        // e retorna, encerrando a
-                                        // thread corrente
-                                        return;
-
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
+    /**
+     * Define se o modo de isolamento das ramificações está habilitado.
+     * @param isolatedBranches Valor lógico indicando se o modo de isolamento
+     * das ramificações está habilitado.
+     */
+    public void setIsolatedBranches(boolean isolatedBranches) {
+        this.isolatedBranches = isolatedBranches;
+    }
 
-        // fim do tratamento da ação anterior
-        
-        // início da execução da transição
-        // propriamente dita
-        
-        // o estado corrente passa
-        // a ser nulo
-        br.usp.poli.lta.cereda.aa.model.State currentState = null;
+    /**
+     * Verifica se o modo de busca em profundidade está habilitado.
+     * @return Valor lógico indicando se o modo de busca em profundidade está
+     * habilitado.
+     */
+    public boolean isDepthFirst() {
+        return depthFirst;
+    }
 
-        // a transição corrente é de desempilhamento,
-        // ou seja, é de retorno de submáquina?
-        if (transition.isSubmachineReturn()) {
+    /**
+     * Define se o modo de busca em profundidade está habilitado.
+     * @param depthFirst Valor lógico indicando se o modo de busca em
+     * profundidade está habilitado.
+     */
+    public void setDepthFirst(boolean depthFirst) {
+        this.depthFirst = depthFirst;
+    }
 
-            // sim, é uma transição de retorno
-            // de submáquina
+    /**
+     * Verifica se o modo de antecipação está habilitado.
+     * @return Valor lógico indicando se o modo de antecipação está
+     * habilitado.
+     */
+    public boolean isLookahead() {
+        return lookahead;
+    }
 
-            // mensagem de log
-            logger.debug(new SimpleMessage("[Thread %d] A transição é de retorno de submáquina. Conteúdo da pilha: %s", identifier, stack));
+    /**
+     * Define se o modo de antecipação está habilitado.
+     * @param lookahead Valor lógico indicando se o modo de antecipação está
+     * habilitado.
+     */
+    public void setLookahead(boolean lookahead) {
+        this.lookahead = lookahead;
+    }
 
-            // a pilha não está vazia?
-            if (!stack.isEmpty()) {
-                
-                // sim, a pilha não está vazia
+    /**
+     * Verifica se o modo de co-alcançabilidade está habilitado.
+     * @return Valor lógico indicando se o modo de co-alcançabilidade está
+     * habilitado.
+     */
+    public boolean isCoReachability() {
+        return coReachability;
+    }
 
-                // o estado corrente recebe o topo da pilha
-                // e a submáquina corrente é atualizada
-                currentState = stack.pop();
-                currentSubmachine = submachines.getFromState(currentState).getName();
+    /**
+     * Define se o modo de co-alcançabilidade está habilitado.
+     * @param coReachability Valor lógico indicando se o modo de
+     * co-alcançabilidade está habilitado.
+     */
+    public void setCoReachability(boolean coReachability) {
+        this.coReachability = coReachability;
+    }
 
-                // mensagem de log
-                logger.debug(new SimpleMessage("[Thread %d] Submáquina corrente: %s", identifier, submachines.getFromState(currentState)));
+    /**
+     * Verifica se o modo de limite de comprimento está habilitado.
+     * @return Valor lógico indicando se o modo de limite de comprimento está
+     * habilitado.
+     */
+    public boolean isLengthBound() {
+        return lengthBound;
+    }
 
-            } else {
+    /**
+     * Define se o modo de limite de comprimento está habilitado.
+     * @param lengthBound Valor lógico indicando se o modo de limite de
+     * comprimento está habilitado.
+     */
+    public void setLengthBound(boolean lengthBound) {
+        this.lengthBound = lengthBound;
+    }
 
-                // retorno de submáquina com a pilha vazia,
-                // de alguma forma, ocorreu algum erro grave
-                // de conceito
+    /**
+     * Verifica se o modo de detecção de ciclos está habilitado.
+     * @return Valor lógico indicando se o modo de detecção de ciclos está
+     * habilitado.
+     */
+    public boolean isCycleDetection() {
+        return cycleDetection;
+    }
 
-                // lança exceção
-                Validate.isTrue(false, "Não posso retornar com uma pilha vazia.");
-            }
-        } else {
+    /**
+     * Define se o modo de detecção de ciclos está habilitado.
+     * @param cycleDetection Valor lógico indicando se o modo de detecção de
+     * ciclos está habilitado.
+     */
+    public void setCycleDetection(boolean cycleDetection) {
+        this.cycleDetection = cycleDetection;
+    }
+
+    /**
+     * Define a trilha das configurações visitadas a partir do cursor
+     * informado. A trilha é imutável e, portanto, compartilhada.
+     * @param visits Trilha das configurações visitadas, ou nulo.
+     * @param visitsCursor Cursor a partir do qual as configurações foram
+     * visitadas.
+     */
+    public void setVisits(CycleTrail visits, int visitsCursor) {
+        this.visits = visits;
+        this.visitsCursor = visitsCursor;
+    }
+
+    /**
+     * Obtém a tabela de memorização das chamadas de submáquina.
+     * @return Tabela de memorização, ou nulo caso a memorização esteja
+     * desabilitada.
+     */
+    public CallTable getCalls() {
+        return calls;
+    }
+
+    /**
+     * Define a tabela de memorização das chamadas de submáquina.
+     * @param calls Tabela de memorização, ou nulo para desabilitar a
+     * memorização.
+     */
+    public void setCalls(CallTable calls) {
+        this.calls = calls;
+    }
+
+    /**
+     * Obtém os registros das chamadas de submáquina em andamento.
+     * @return Lista de registros, paralela à pilha.
+     */
+    public List<CallFrame> getFrames() {
+        return frames;
+    }
+
+    /**
+     * Define os registros das chamadas de submáquina em andamento. A lista
+     * é copiada, mas os registros são compartilhados.
+     * @param frames Lista de registros, paralela à pilha.
+     */
+    public void setFrames(List<CallFrame> frames) {
+        this.frames = new ArrayList<>(frames);
+    }
+
+    /**
+     * Obtém as estatísticas do reconhecimento.
+     * @return Estatísticas do reconhecimento, ou nulo caso não sejam
+     * contabilizadas.
+     */
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Define as estatísticas do reconhecimento, compartilhadas por todas as
+     * threads.
+     * @param statistics Estatísticas do reconhecimento, ou nulo.
+     */
+    public void setStatistics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Obtém o escalonador das threads pendentes.
+     * @return Escalonador das threads pendentes, ou nulo caso as threads
+     * pendentes sejam mantidas na lista de threads.
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Define o escalonador das threads pendentes. A thread não adiciona
+     * threads ao escalonador, apenas o consulta para decidir se é a única
+     * thread ativa.
+     * @param scheduler Escalonador das threads pendentes, ou nulo.
+     */
+    public void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Verifica se o modo de escolha ordenada está habilitado.
+     * @return Valor lógico indicando se o modo de escolha ordenada está
+     * habilitado.
+     */
+    public boolean isOrderedChoice() {
+        return orderedChoice;
+    }
+
+    /**
+     * Define se o modo de escolha ordenada está habilitado.
+     * @param orderedChoice Valor lógico indicando se o modo de escolha
+     * ordenada está habilitado.
+     */
+    public void setOrderedChoice(boolean orderedChoice) {
+        this.orderedChoice = orderedChoice;
+    }
 
-            // não é uma operação de desempilhamento, isto é, de retorno
-            // de submáquina, portanto, a transição pode ser de consumo
-            // de símbolo, transição em vazio ou chamada de submáquina
+    /**
+     * Define as alturas da lista de threads no início de cada chamada de
+     * submáquina em andamento. A lista é copiada.
+     * @param scopes Lista de alturas, paralela à pilha.
+     */
+    public void setScopes(List<Integer> scopes) {
+        this.scopes = new ArrayList<>(scopes);
+    }
+
+    /**
+     * Define o ouvinte do reconhecimento, compartilhado por todas as threads.
+     * @param listener Ouvinte do reconhecimento, ou nulo.
+     */
+    public void setListener(RecognitionListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Descarta a thread pendente sem executá-la, registrando o descarte nas
+     * estatísticas do reconhecimento. Os registros das chamadas em andamento
+     * são invalidados, pois suas saídas podem ter sido descartadas.
+     */
+    public void discard() {
+        
+        // mensagem de log
+        logger.debug(new SimpleMessage("[Thread %d] A thread foi descartada pelo escalonador.", identifier));
+        
+        if (statistics != null) {
+            statistics.prune();
+        }
+        cancel();
+    }
+
+    /**
+     * Cancela a thread pendente sem executá-la. Os registros das chamadas em
+     * andamento são invalidados, pois suas saídas podem ter sido
+     * descartadas.
+     */
+    public void cancel() {
+        taint();
+        retire();
+    }
+
+    /**
+     * Executa a ação da thread, que representa um passo computacional do
+     * autômato adaptativo. Enquanto o passo computacional resultar em uma
+     * única transição e não houver outras threads ativas, os passos seguintes
+     * são executados na própria thread. Após a execução deste método, a thread
+     * encerra-se.
+     */
+    @Override
+    public void run() {
+        while (step()) {
             
-            // a transição é de consumo de símbolo?
-            if (transition.isSymbolConsumptionTransition()) {
+            // mensagem de log
+            logger.debug(new SimpleMessage("[Thread %d] Prosseguindo para o próximo passo computacional.", identifier));
+        }
+    }
 
-                // sim, consumo de símbolo
-                
-                // mensagem de log
-                logger.debug(new SimpleMessage("[Thread %d] A transição é de consumo do símbolo '%s'.", identifier, String.valueOf(transition.getSymbol())));
-                
-                // o estado corrente recebe estado de destino da
-                // transição e cursor é incrementado
-                currentState = transition.getTargetState();
-                cursor++;
-                
-                // mensagem de log
-                logger.debug(new SimpleMessage("[Thread %d] O novo estado é '%s' (cursor na posição %d).", identifier, String.valueOf(currentState), cursor));
+    /**
+     * Executa um passo computacional do autômato adaptativo, composto pela
+     * eventual ação anterior, pela aplicação da transição corrente, pela
+     * eventual ação posterior e pelo cálculo da nova transição.
+     * @return Valor lógico indicando se a thread corrente deve prosseguir
+     * com o próximo passo computacional, o que ocorre apenas quando o passo
+     * resultou em uma única transição e não há outras threads ativas.
+     */
+    private boolean step() {
+
+        // a transição corrente não pode ser nula; a verificação precede
+        // qualquer uso da transição
+        if (transition == null) {
+            throw new NullPointerException("A transição não pode ser nula.");
+        }
+        
+        // mensagem de log
+        logger.debug(new TransitionMessage(transition, "A thread %d iniciou #run() com a transição %d.", identifier, transition.getIdentifier()));
+        
+        // o cancelamento solicitado pelo ouvinte interrompe o reconhecimento
+        // tal como o esgotamento de um limite de recursos
+        if (listener != null && statistics != null && listener.isCancelled()) {
+            statistics.cancel();
+        }
+        
+        // contabiliza o passo computacional; caso algum limite de recursos
+        // tenha sido esgotado, a thread é encerrada sem resultado, e os
+        // registros das chamadas em andamento são invalidados
+        if (statistics != null && !statistics.step(stack.size())) {
+            
+            // mensagem de log
+            logger.debug(new SimpleMessage("[Thread %d] Um limite de recursos foi esgotado.", identifier));
+            
+            taint();
+            return retire();
+        }
+        
+        // executa a ação anterior, caso exista e esteja habilitada; se a
+        // ação remover a transição corrente, uma nova transição é calculada
+        // a partir do estado de origem, e a thread pode ser encerrada
+        if (transition.hasPriorActionCall() && enablePriorAction) {
+            if (!prior()) {
+                return false;
+            }
+        }
+        
+        // caso a memorização esteja habilitada e a transição corrente seja
+        // uma chamada de submáquina sem ações, consulta a tabela; uma chamada
+        // já concluída é reaproveitada sem simular a submáquina novamente
+        CallFrame frame = null;
+        if (calls != null && transition.isSubmachineCall() &&
+                !transition.hasPriorActionCall() &&
+                !transition.hasPostActionCall()) {
+            frame = calls.get(transition.getSubmachineCall(), cursor, transitions);
+            if (frame.isComplete()) {
+                return recall(frame);
+            }
+        }
+        
+        // aplica a transição corrente e executa a ação posterior
+        br.usp.poli.lta.cereda.aa.model.State currentState = apply(frame);
+        
+        // define o passo computacional como verdadeiro, uma vez que
+        // a transição pôde ser completada com sucesso
+        enablePriorAction = true;
+        
+        // caso o modo esteja habilitado, a configuração é rejeitada quando
+        // os símbolos restantes não bastam para alcançar um estado final
+        if (lengthBound && isShort(currentState)) {
+            return finish(false, currentState);
+        }
+        
+        // caso o modo esteja habilitado, a configuração é rejeitada quando
+        // o caminho corrente a revisitou sem consumir símbolos mais vezes do
+        // que o permitido; os registros das chamadas em andamento são
+        // invalidados, pois suas saídas podem ter sido descartadas
+        if (cycleDetection && isCyclic(currentState)) {
+            taint();
+            return finish(false, currentState);
+        }
+        
+        // caso o modo esteja habilitado, tenta consumir a cadeia de entrada
+        // através do cache de subconjuntos determinísticos, o que só é
+        // possível com a pilha vazia e a partir de estados livres de ações
+        if (deterministicCache && stack.isEmpty() &&
+                cursor < input.size() && simulate(currentState)) {
+            return false;
+        }
+        
+        // calcula a nova transição; caso a thread tenha sido encerrada,
+        // não há mais nada a fazer
+        if (!select(currentState, true)) {
+            return false;
+        }
+        
+        // caso a thread corrente seja a única ainda ativa, o próximo passo
+        // seria executado imediatamente após o término deste, portanto é
+        // possível prosseguir na própria thread, sem criar uma nova thread e
+        // sem copiar o caminho de reconhecimento; na busca em profundidade,
+        // o próximo passo é sempre o da própria thread, e, com um
+        // escalonador, as demais threads ativas são as pendentes
+        boolean alone = (scheduler != null ? scheduler.isEmpty() :
+                threads.size() - removals.size() == 1);
+        if (depthFirst || alone) {
+            
+            // adiciona a transição ao caminho de reconhecimento
+            paths.get(identifier).addPath(String.valueOf(transition));
+            transition = CopyUtils.copy(transition);
+            
+            // mensagem de log
+            logger.debug(new TransitionMessage(transition, "[Thread %d] Esta é a única thread ativa, prosseguindo com a transição %d.", identifier, transition.getIdentifier()));
+            
+            return true;
+        }
+        
+        // há outras threads ativas, portanto é necessário criar uma nova
+        // thread para tratar do próximo passo computacional
+        spawn(transition, true);
+        return retire();
+    }
 
-            } else {
+    /**
+     * Executa a ação anterior da transição corrente. Caso a transição
+     * corrente tenha sido removida do conjunto de transições pela ação, uma
+     * nova transição é calculada a partir do estado de origem, sem que sua
+     * ação anterior seja executada.
+     * @return Valor lógico indicando se a thread corrente deve prosseguir com
+     * a aplicação da transição corrente.
+     */
+    private boolean prior() {
 
-                // a transição pode ser uma chamada de submáquina
-                // ou transição em vazio
-                
-                // a transição é uma chamada de submáquina?
-                if (transition.isSubmachineCall()) {
-
-                    // sim, chamada de submáquina
-                    
-                    // empilha o estado de retorno, define estado o corrente
-                    // de acordo com o estado inicial da submáquina chamada e
-                    // atualiza a referência à submáquina corrente
-                    stack.push(transition.getTargetState());
-                    currentSubmachine = transition.getSubmachineCall();
-                    currentState = submachines.getFromName(currentSubmachine).getInitialState();
-
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] A transição é de chamada da submáquina '%s'. Novo conteúdo da pilha: %s", identifier, String.valueOf(transition.getSubmachineCall()), stack));
-                    logger.debug(new SimpleMessage("[Thread %d] Submáquina corrente: %s", identifier, submachines.getFromName(currentSubmachine)));
-
-                } else {
-
-                    // só nos resta transição em vazio
-                    
-                    // o estado corrente passa a ser o estado
-                    // de destino da transição, e não há consumo
-                    // de símbolo
-                    currentState = transition.getTargetState();
-
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] A transição é em vazio.", identifier));
+        // mensagem de log
+        logger.debug(new TransitionMessage(transition, "[Thread %d] Executando a ação anterior da transição %d.", identifier, transition.getIdentifier()));
 
+        // executa a ação anterior e desabilita novas execuções
+        actions.fromName(transition.getPriorActionCall()).execute(transitions, transition, transition.getPriorActionArguments());
+        enablePriorAction = false;
+        taint();
+        
+        // a transição corrente ainda existe?
+        if (transitions.hasIdentifier(transition.getIdentifier())) {
+            return true;
+        }
+        
+        // mensagem de log
+        logger.debug(new TransitionMessage(transition, "[Thread %d] A transição %d não existe mais no conjunto de transições.", identifier, transition.getIdentifier()));
+        
+        // calcula a nova transição a partir do estado de origem, com as
+        // novas threads tendo a ação anterior desabilitada
+        return select(transition.getSourceState(), false);
+    }
+
+    /**
+     * Aplica a transição corrente, atualizando o estado corrente, o cursor, a
+     * pilha e a submáquina corrente, e executa a ação posterior, caso exista.
+     * @param frame Registro da chamada de submáquina a ser iniciada, ou nulo
+     * caso a chamada não seja memorizada.
+     * @return Estado corrente após a aplicação da transição.
+     */
+    private br.usp.poli.lta.cereda.aa.model.State apply(CallFrame frame) {
+        
+        // o estado de destino terá seu fecho em vazio já expandido
+        // caso a transição corrente seja um atalho do fecho
+        closed = epsilonClosures && transition.isEpsilonTransition() &&
+                transitions.getEpsilonClosures().isShortcut(transition);
+        
+        br.usp.poli.lta.cereda.aa.model.State currentState;
+        if (transition.isSubmachineReturn()) {
+            
+            // retorno de submáquina, o estado corrente é desempilhado
+            Validate.isTrue(!stack.isEmpty(), "Não posso retornar com uma pilha vazia.");
+            currentState = stack.pop();
+            currentSubmachine = submachines.getFromState(currentState).getName();
+            
+            // registra o cursor de saída na chamada memorizada; elementos
+            // empilhados antes do reconhecimento não possuem registro
+            if (frames.size() > stack.size()) {
+                CallFrame exit = frames.remove(frames.size() - 1);
+                if (exit != null) {
+                    exit.exit(cursor);
+                    exit.leave();
                 }
             }
+            
+            // na escolha ordenada, o retorno efetiva a chamada, e as
+            // alternativas pendentes criadas dentro dela são canceladas
+            if (scopes.size() > stack.size()) {
+                commit(scopes.remove(scopes.size() - 1));
+            }
+            
+            // mensagem de log
+            logger.debug(new SimpleMessage("[Thread %d] A transição é um retorno de submáquina, retornando à submáquina %s.", identifier, currentSubmachine));
+        }
+        else if (transition.isSymbolConsumptionTransition()) {
+            
+            // consumo de símbolo, o cursor avança
+            currentState = transition.getTargetState();
+            cursor++;
+            
+            // mensagem de log
+            logger.debug(new SimpleMessage("[Thread %d] A transição consome o símbolo %s.", identifier, transition.getSymbol()));
+        }
+        else if (transition.isSubmachineCall()) {
+            
+            // chamada de submáquina, o estado de retorno é empilhado e o
+            // estado corrente passa a ser o inicial da submáquina chamada
+            stack.push(transition.getTargetState());
+            frames.add(frame);
+            if (orderedChoice) {
+                scopes.add(threads.size() - 1);
+            }
+            if (frame != null) {
+                frame.join();
+            }
+            currentSubmachine = transition.getSubmachineCall();
+            currentState = submachines.getFromName(currentSubmachine).getInitialState();
+            
+            // mensagem de log
+            logger.debug(new SimpleMessage("[Thread %d] A transição é uma chamada da submáquina %s.", identifier, currentSubmachine));
+        }
+        else {
+            
+            // transição em vazio, não há consumo de símbolo
+            currentState = transition.getTargetState();
+            
+            // mensagem de log
+            logger.debug(new SimpleMessage("[Thread %d] A transição é em vazio.", identifier));
         }
 
         // existe ação posterior associada à transição corrente?
         if (transition.hasPostActionCall()) {
-            
-            // sim, existe
 
             // mensagem de log
             logger.debug(new TransitionMessage(transition, "[Thread %d] Executando a ação posterior da transição %d.", identifier, transition.getIdentifier()));
 
             // executa a ação posterior após a efetivação da transição
             actions.fromName(transition.getPostActionCall()).execute(transitions, transition, transition.getPostActionArguments());
+            taint();
         }
+        return currentState;
+    }
 
-        // define o passo computacional como verdadeiro, uma vez que
-        // a transição pôde ser completada com sucesso
-        enablePriorAction = true;
-
-        // fim do tratamento da aplicação da transição corrente e
-        // eventual execução da ação posterior
-        
-        // início do cálculo da nova transição
-        
-        // o valor do cursor é igual ao tamanho da cadeia?
+    /**
+     * Calcula a nova transição a partir do estado informado. Em uma situação
+     * determinística, a transição escolhida passa a ser a transição corrente;
+     * nas demais situações, novas threads são criadas ou o resultado do
+     * reconhecimento é registrado, e a thread corrente é encerrada.
+     * @param state Estado corrente.
+     * @param enable Valor lógico indicando se as novas threads devem executar
+     * a ação anterior de suas transições.
+     * @return Valor lógico indicando se uma nova transição corrente foi
+     * escolhida; caso contrário, a thread corrente foi encerrada.
+     */
+    private boolean select(br.usp.poli.lta.cereda.aa.model.State state,
+            boolean enable) {
         if (cursor == input.size()) {
-
-            // sim, são iguais, portanto não
-            // há mais nada para consumir
             
             // mensagem de log
             logger.debug(new SimpleMessage("[Thread %d] Não há mais símbolos para consumir.", identifier));
             
-            // consulta quais transições partem do estado corrente
-            // transitando em vazio ou fazendo chamadas de submáquinas
-            query = transitions.withEpsilonOrSubmachineFromSourceState(currentState);
+            return selectAtEnd(state, enable);
+        }
+        
+        // mensagem de log
+        logger.debug(new SimpleMessage("[Thread %d] Ainda existem símbolos para consumir.", identifier));
+        
+        return selectWithInput(state, enable);
+    }
 
-            // a consulta está vazia?
-            if (query.isEmpty()) {
+    /**
+     * Calcula a nova transição quando não há mais símbolos a consumir, isto
+     * é, considerando apenas transições em vazio e chamadas de submáquina.
+     * @param state Estado corrente.
+     * @param enable Valor lógico indicando se as novas threads devem executar
+     * a ação anterior de suas transições.
+     * @return Valor lógico indicando se uma nova transição corrente foi
+     * escolhida; caso contrário, a thread corrente foi encerrada.
+     */
+    private boolean selectAtEnd(br.usp.poli.lta.cereda.aa.model.State state,
+            boolean enable) {
+        List<Transition> query = shortcut(transitions.withEpsilonOrSubmachineFromSourceState(state), state);
+        if (query == null) {
+            return retire();
+        }
+        
+        // não há para onde ir: a cadeia é aceita ou rejeitada, exceto
+        // quando ainda há submáquinas na pilha
+        if (query.isEmpty()) {
+            if (!isAccepting(state)) {
+                return finish(false, state);
+            }
+            if (stack.isEmpty()) {
+                return finish(currentSubmachine.equals(mainSubmachine), state);
+            }
+            return choose(submachineReturn());
+        }
+        
+        // transições que conduzem a configurações condenadas são descartadas;
+        // a decisão entre escolha e bifurcação continua sendo tomada a partir
+        // da consulta original, de modo que o descarte não altere o
+        // tratamento da thread corrente
+        List<Transition> candidates = query;
+        if (coReachability) {
+            candidates = strand(query);
+        }
+        
+        // chamadas de submáquina: apenas uma única chamada, sem transições
+        // em vazio, é uma situação determinística
+        if (hasSubmachineCalls(query)) {
+            if (candidates.isEmpty()) {
+                return finish(false, state);
+            }
+            if (!hasEpsilonTransitions(query) && query.size() == 1) {
+                return choose(CopyUtils.copy(candidates.get(0)));
+            }
+            return fork(candidates, enable);
+        }
+        
+        // apenas transições em vazio, a partir de um estado que não é final
+        if (!isAccepting(state)) {
+            if (candidates.isEmpty()) {
+                return finish(false, state);
+            }
+            if (query.size() == 1) {
+                return choose(CopyUtils.copy(candidates.get(0)));
+            }
+            return fork(candidates, enable);
+        }
+        
+        // apenas transições em vazio, a partir de um estado final: as
+        // transições são tratadas por novas threads e a thread corrente
+        // registra o resultado ou retorna da submáquina corrente
+        for (Transition t : prioritize(candidates)) {
+            spawn(t, enable);
+        }
+        if (stack.isEmpty()) {
+            return finish(currentSubmachine.equals(mainSubmachine), state);
+        }
+        spawn(submachineReturn(), enable);
+        return retire();
+    }
+
+    /**
+     * Calcula a nova transição quando ainda há símbolos a consumir,
+     * considerando transições de consumo do símbolo corrente, transições em
+     * vazio e chamadas de submáquina.
+     * @param state Estado corrente.
+     * @param enable Valor lógico indicando se as novas threads devem executar
+     * a ação anterior de suas transições.
+     * @return Valor lógico indicando se uma nova transição corrente foi
+     * escolhida; caso contrário, a thread corrente foi encerrada.
+     */
+    private boolean selectWithInput(br.usp.poli.lta.cereda.aa.model.State state,
+            boolean enable) {
+        Symbol symbol = input.get(cursor);
+        List<Transition> query = shortcut(transitions.withSymbolEpsilonOrSubmachineFromSourceState(state, symbol), state);
+        if (query == null) {
+            return retire();
+        }
+        
+        // não há para onde ir: a cadeia é rejeitada, exceto quando ainda há
+        // submáquinas na pilha e o estado corrente é final
+        if (query.isEmpty()) {
+            if (stack.isEmpty() || !isAccepting(state)) {
+                return finish(false, state);
+            }
+            return choose(submachineReturn());
+        }
+        
+        // mensagem de log
+        logger.debug(new SimpleMessage("[Thread %d] A consulta não está vazia.", identifier));
+        
+        // descarta as transições incapazes de consumir o símbolo corrente e
+        // as que conduzem a configurações condenadas; caso nenhuma transição
+        // reste, todas as ramificações seriam rejeitadas, e a cadeia é
+        // rejeitada pela thread corrente
+        if (lookahead) {
+            query = anticipate(query, symbol);
+        }
+        if (coReachability) {
+            query = strand(query);
+        }
+        if (query.isEmpty()) {
+            return finish(false, state);
+        }
+        
+        // a situação é determinística apenas quando há uma única transição
+        // do tipo de maior precedência (consumo de símbolo, chamada de
+        // submáquina e transição em vazio, nesta ordem) e nenhuma transição
+        // dos demais tipos
+        boolean epsilon = hasEpsilonTransitions(query);
+        boolean calls = hasSubmachineCalls(query);
+        boolean single;
+        if (hasSymbolTransitions(query)) {
+            single = !epsilon && !calls && getSymbolTransitions(query).size() == 1;
+        }
+        else if (calls) {
+            single = !epsilon && getSubmachineCalls(query).size() == 1;
+        }
+        else {
+            single = query.size() == 1;
+        }
+        if (single) {
+            return choose(CopyUtils.copy(query.get(0)));
+        }
+        return fork(query, enable);
+    }
 
-                // sim, a consulta está vazia,
-                // não temos para onde ir
+    /**
+     * Remove da consulta as transições em vazio e chamadas de submáquina
+     * cujo prosseguimento certamente não consome o símbolo informado, de
+     * acordo com os conjuntos primeiro dos estados. Quando as ramificações
+     * compartilham o conjunto de transições, as ações de uma ramificação
+     * podem alterar o futuro das demais, portanto as transições só são
+     * descartadas se o conjunto for estável.
+     * @param query Consulta.
+     * @param symbol Símbolo corrente.
+     * @return Consulta sem as transições descartadas.
+     */
+    private List<Transition> anticipate(List<Transition> query, Symbol symbol) {
+        FirstSets sets = transitions.getFirstSets(submachines);
+        if (!isolatedBranches && !depthFirst && !sets.isStable()) {
+            return query;
+        }
+        List<Transition> result = new ArrayList<>();
+        for (Transition t : query) {
+            if (sets.excludes(t, symbol)) {
                 
                 // mensagem de log
-                logger.debug(new SimpleMessage("[Thread %d] Não existem transições em vazio ou chamadas de submáquinas.", identifier));
-                
-                // o estado corrente é final no contexto da submáquina corrente?
-                if (submachines.getFromName(currentSubmachine).getAcceptingStates().contains(currentState)) {
-                    
-                    // sim, o estado corrente é final no
-                    // contexto da submáquina corrente
-
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] O estado corrente é final na submáquina corrente.", identifier));
-
-                    // a pilha está vazia?
-                    if (stack.isEmpty()) {
-
-                        // sim, pilha vazia
-                        
-                        // mensagem de log
-                        logger.debug(new SimpleMessage("[Thread %d] A pilha está vazia.", identifier));
-                        
-                        // a submáquina corrente é a principal?
-                        if (currentSubmachine.equals(mainSubmachine)) {                          
-
-                            // sim, indicando que a cadeia foi aceita
-                            // pelo autômato adaptativo
-                            
-                            // mensagem de log
-                            logger.debug(new SimpleMessage("[Thread %d] A submáquina corrente é a principal.", identifier));
-                            
-                            // adiciona o resultado do reconhecimento
-                            // no caminho de reconhecimento
-                            paths.get(identifier).setResult(true);
-                            
-                            // define a posição final do cursor da
-                            // cadeia de entrada
-                            paths.get(identifier).setCursor(cursor);
-                            
-                            // define o estado final do processo
-                            // de reconhecimento
-                            paths.get(identifier).setState(dolly.deepClone(currentState));
-
-                            // mensagem de log
-                            logger.debug(new SimpleMessage("[Thread %d] A cadeia foi aceita.", identifier));
-
-                            // informa que a thread pode ser removida,
-                            // uma vez que o reconhecimento acabou
-                            removals.add(identifier);
-
-                            // mensagem de log
-                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                            // retorna, encerrando a thread corrente,
-                            // uma vez que a cadeia já foi aceita
-                            return;
-
-                        } else {
-
-                            // submáquina corrente não é a principal,
-                            // portanto a cadeia deve ser rejeitada
-                            
-                            // mensagem de log
-                            logger.debug(new SimpleMessage("[Thread %d] A submáquina corrente não é a principal.", identifier));
-
-                            // adiciona o resultado do reconhecimento
-                            // no caminho de reconhecimento
-                            paths.get(identifier).setResult(false);
-                            
-                            // define a posição final do cursor da
-                            // cadeia de entrada
-                            paths.get(identifier).setCursor(cursor);
-                            
-                            // define o estado final do processo
-                            // de reconhecimento
-                            paths.get(identifier).setState(dolly.deepClone(currentState));
-
-                            // mensagem de log
-                            logger.debug(new SimpleMessage("[Thread %d] A cadeia foi rejeitada.", identifier));
-
-                            // informa que a thread
-                            // corrente pode ser removida
-                            removals.add(identifier);
-
-                            // mensagem de log
-                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                            // retorna, encerrando a thread corrente,
-                            // uma vez que a cadeia já foi rejeitada
-                            return;
-
-                        }
-                    } else {
-
-                        // a pilha não está vazia, portanto, define a transição
-                        // corrente como uma operação de desempilhamento, isto é,
-                        // uma operação de retorno de submáquina
-                        transition = new Transition();
-                        transition.setSubmachineReturn(true);
-
-                        // mensagem de log
-                        logger.debug(new TransitionMessage(transition, "[Thread %d] A pilha não está vazia. A nova transição %d é um retorno de submáquina.", identifier, transition.getIdentifier()));
-
-                    }
-                } else {
-                    
-                    // o estado corrente não é final no contexto da
-                    // submáquina corrente, portanto, a cadeia deve
-                    // ser rejeitada
-
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] O estado corrente não é final na submáquina corrente.", identifier));
-
-                    // adiciona o resultado de reconhecimento
-                    // no caminho de reconhecimento
-                    paths.get(identifier).setResult(false);
-                    
-                    // define a posição final do cursor da
-                    // cadeia de entrada
-                    paths.get(identifier).setCursor(cursor);
-                    
-                    // define o estado final do processo
-                    // de reconhecimento
-                    paths.get(identifier).setState(dolly.deepClone(currentState));
-
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] A cadeia foi rejeitada.", identifier));
-
-                    // informa que a thread pode ser removida
-                    removals.add(identifier);
-
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                    // retorna, encerrando a thread, uma vez
-                    // que a cadeia já foi rejeitada
-                    return;
+                logger.debug(new TransitionMessage(t, "[Thread %d] A transição %d foi descartada pela antecipação.", identifier, t.getIdentifier()));
+            }
+            else {
+                result.add(t);
+            }
+        }
+        return result;
+    }
 
-                }
+    /**
+     * Verifica se a cadeia de entrada restante é mais curta do que a
+     * quantidade mínima de símbolos necessária para alcançar um estado final
+     * a partir do estado informado e, em seguida, a partir de cada estado de
+     * retorno empilhado. Com a memorização de chamadas habilitada, apenas o
+     * estado informado é considerado, uma vez que as saídas de uma chamada
+     * memorizada não podem depender da pilha. Assim como na antecipação, a
+     * verificação só ocorre se as ramificações não compartilharem um
+     * conjunto de transições passível de alteração.
+     * @param state Estado corrente.
+     * @return Valor lógico indicando se a cadeia restante é insuficiente.
+     */
+    private boolean isShort(br.usp.poli.lta.cereda.aa.model.State state) {
+        LengthBounds bounds = transitions.getLengthBounds(submachines);
+        if (!isolatedBranches && !depthFirst && !bounds.isStable()) {
+            return false;
+        }
+        long bound = bounds.getBound(state);
+        if (calls == null) {
+            for (br.usp.poli.lta.cereda.aa.model.State entry : stack) {
+                bound = bound + bounds.getBound(entry);
+            }
+        }
+        if (bound <= input.size() - cursor) {
+            return false;
+        }
+        
+        // mensagem de log
+        logger.debug(new SimpleMessage("[Thread %d] A cadeia restante é mais curta do que o limite %d.", identifier, bound));
+        
+        return true;
+    }
 
-            } else {
+    /**
+     * Registra a visita à configuração corrente e verifica se o caminho
+     * corrente entrou em um ciclo sem consumo de símbolos. A trilha é
+     * reiniciada sempre que o cursor avança. Uma configuração idêntica a uma
+     * já visitada no mesmo cursor, com a mesma pilha, é descartada na
+     * primeira revisita, pois não há nada a ganhar repetindo-a. Uma
+     * configuração revisitada com a pilha mais alta pode ser revisitada no
+     * máximo tantas vezes quanto a quantidade de símbolos restantes, de modo
+     * que chamadas recursivas à esquerda que, a cada nível, consomem ao menos
+     * um símbolo continuam sendo reconhecidas.
+     * @param state Estado corrente.
+     * @return Valor lógico indicando se a configuração deve ser descartada.
+     */
+    private boolean isCyclic(br.usp.poli.lta.cereda.aa.model.State state) {
+        if (visitsCursor != cursor) {
+            visits = null;
+            visitsCursor = cursor;
+        }
+        br.usp.poli.lta.cereda.aa.model.State top = stack.isEmpty() ? null : stack.top();
+        int depth = stack.size();
+        long version = transitions.getVersion();
+        boolean repeated = CycleTrail.repeats(visits, state, top, depth, version);
+        int count = (repeated ? 0 : CycleTrail.count(visits, state, top, depth, version));
+        visits = new CycleTrail(state, top, depth, version, visits);
+        if (repeated) {
+            
+            // mensagem de log
+            logger.debug(new SimpleMessage("[Thread %d] A configuração foi revisitada sem consumo de símbolos.", identifier));
+            
+            return true;
+        }
+        if (count <= input.size() - cursor) {
+            return false;
+        }
+        
+        // mensagem de log
+        logger.debug(new SimpleMessage("[Thread %d] A configuração foi revisitada %d vezes com crescimento da pilha sem consumo de símbolos.", identifier, count));
+        
+        return true;
+    }
 
-                // a consulta não está vazia, existem transições
-                // em vazio ou chamadas de submáquinas
+    /**
+     * Remove da consulta as transições que conduzem a configurações
+     * condenadas, isto é, a estados a partir dos quais nenhum estado final
+     * de sua submáquina é alcançável, ou a chamadas de submáquina que nunca
+     * retornam. Assim como na antecipação, as transições só são descartadas
+     * se as ramificações não compartilharem um conjunto de transições
+     * passível de alteração.
+     * @param query Consulta.
+     * @return Consulta sem as transições descartadas.
+     */
+    private List<Transition> strand(List<Transition> query) {
+        CoReachableSets sets = transitions.getCoReachableSets(submachines);
+        if (!isolatedBranches && !depthFirst && !sets.isStable()) {
+            return query;
+        }
+        List<Transition> result = new ArrayList<>();
+        for (Transition t : query) {
+            if (sets.isDoomed(t)) {
                 
                 // mensagem de log
-                logger.debug(new SimpleMessage("[Thread %d] A consulta não está vazia.", identifier));
-
-                // a consulta tem transições em vazio e
-                // chamadas de submáquinas?
-                if (hasEpsilonTransitions(query) && hasSubmachineCalls(query)) {
-                    
-                    // sim, a consulta tem transições em
-                    // vazio e chamadas de submáquinas
-
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] Existem transições em vazio e chamadas de submáquina.", identifier));
-
-                    // situação de não-determinismo
-                    for (Transition t : query) {
-
-                        // para cada transição da consulta, criar uma nova thread
-                        Kernel k = new Kernel(threads, removals, paths);
-                        k.setStack(stack);
-                        k.setActions(actions);
-                        k.setTransitions(transitions);
-                        k.setSubmachines(submachines);
-                        k.setCurrentSubmachine(currentSubmachine);
-                        k.setMainSubmachine(mainSubmachine);
-                        k.setInput(input);
-                        k.setCursor(cursor);
-                        k.setEnablePriorAction(true);
-                        k.setTransition(t);
-
-                        // adiciona o caminho de reconhecimento
-                        // para as novas threads
-                        paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                        paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                        threads.add(k);
-
-                        // mensagem de log
-                        logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                    }
-                    
-                    // adiciona a thread corrente
-                    // na lista de remoções
-                    removals.add(identifier);
-
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                    // e retorna, encerrando a
-                    // thread corrente
-                    return;
-
-                } else {
-                    
-                    // existem chamadas de submáquinas ou
-                    // transições em vazio (de forma
-                    // exclusiva)
-
-                    // a consulta tem chamadas de
-                    // submáquinas?
-                    if (hasSubmachineCalls(query)) {
-
-                        // sim, tem chamadas de submáquinas
-                        
-                        // é uma transição só?
-                        if (query.size() == 1) {
-
-                            // sim, define a transição corrente
-                            // como resultado da consulta
-                            transition = dolly.deepClone(query.get(0));
-
-                            // mensagem de log
-                            logger.debug(new TransitionMessage(transition, "[Thread %d] É apenas uma chamada de submáquina.", identifier));
-
-                        } else {
-
-                            // são várias chamadas de submáquinas
-                            
-                            // mensagem de log
-                            logger.debug(new TransitionMessage(transition, "[Thread %d] São várias chamadas de submáquina.", identifier));
-
-                            // situação de não-determinismo
-                            for (Transition t : query) {
-
-                                // para cada transição da consulta, criar uma nova thread
-                                Kernel k = new Kernel(threads, removals, paths);
-                                k.setStack(stack);
-                                k.setActions(actions);
-                                k.setTransitions(transitions);
-                                k.setSubmachines(submachines);
-                                k.setCurrentSubmachine(currentSubmachine);
-                                k.setMainSubmachine(mainSubmachine);
-                                k.setInput(input);
-                                k.setCursor(cursor);
-                                k.setEnablePriorAction(true);
-                                k.setTransition(t);
-
-                                // adiciona o caminho de reconhecimento
-                                // para as novas threads
-                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                threads.add(k);
-
-                                // mensagem de log
-                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                            }
-                            
-                            // adiciona a thread corrente
-                            // na lista de remoção
-                            removals.add(identifier);
-
-                            // mensagem de log
-                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                            // e retorna, encerrando a
-                            // execução da thread corrente
-                            return;
-
-                        }
-                    } else {
-
-                        // a consulta tem transições em vazio
-                        // (mas não tem chamadas de submáquinas)
-                        
-                        // mensagem de log
-                        logger.debug(new SimpleMessage("[Thread %d] A consulta tem transições em vazio.", identifier));
-
-                        // o estado corrente não é final no contexto da
-                        // submáquina corrente?
-                        if (!submachines.getFromName(currentSubmachine).getAcceptingStates().contains(currentState)) {
-
-                            // sim, o estado é comum, não final, no
-                            // contexto da submáquina corrente
-                            
-                            // mensagem de log
-                            logger.debug(new SimpleMessage("[Thread %d] O estado corrente não é final no contexto da submáquina corrente.", identifier));
-
-                            // é uma transição só?
-                            if (query.size() == 1) {
-
-                                // sim, portanto a transição é determinística
-                                
-                                // define o transição corrente como
-                                // o resultado da consulta
-                                transition = dolly.deepClone(query.get(0));
-
-                                // mensagem de log
-                                logger.debug(new TransitionMessage(transition, "[Thread %d] É apenas uma transição em vazio.", identifier));
-
-                            } else {
-
-                                // várias transições em vazio, passo
-                                // não-determinístico
-                                logger.debug(new TransitionMessage(transition, "[Thread %d] São várias transições em vazio.", identifier));
-
-                                // situação de não-determinismo
-                                for (Transition t : query) {
-
-                                    // para cada transição da consulta, criar uma nova thread
-                                    Kernel k = new Kernel(threads, removals, paths);
-                                    k.setStack(stack);
-                                    k.setActions(actions);
-                                    k.setTransitions(transitions);
-                                    k.setSubmachines(submachines);
-                                    k.setCurrentSubmachine(currentSubmachine);
-                                    k.setMainSubmachine(mainSubmachine);
-                                    k.setInput(input);
-                                    k.setCursor(cursor);
-                                    k.setEnablePriorAction(true);
-                                    k.setTransition(t);
-
-                                    // adiciona o caminho de reconhecimento
-                                    // para as novas threads
-                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                    threads.add(k);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                }
-                                
-                                // adiciona a thread corrente
-                                // na lista de remoções
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // e retorna, encerrando
-                                // a thread corrente
-                                return;
-
-                            }
-                        } else {
-
-                            // o estado corrente é final no contexto da
-                            // submáquina corrente e existem transições em vazio
-                            
-                            // mensagem de log
-                            logger.debug(new SimpleMessage("[Thread %d] O estado corrente é final na submáquina corrente.", identifier));
-
-                            // a pilha está vazia?
-                            if (stack.isEmpty()) {
-
-                                // sim, pilha vazia
-                                logger.debug(new SimpleMessage("[Thread %d] A pilha está vazia.", identifier));
-
-                                // a submáquina corrente é a principal?
-                                if (currentSubmachine.equals(mainSubmachine)) {
-
-                                    // sim, é a submáquina principal
-                                    
-                                    // o passo é não-determinístico, pois o autômato
-                                    // pode encerrar o reconhecimento aceitando a
-                                    // cadeia ou continuar na transição em vazio
-                                    
-                                    // mensagem de log
-                                    logger.debug(new SimpleMessage("[Thread %d] A submáquina corrente é a principal.", identifier));
-                                    
-                                    // situação de não-determinismo
-                                    for (Transition t : query) {
-
-                                        // para cada transição da consulta, criar uma nova thread
-                                        Kernel k = new Kernel(threads, removals, paths);
-                                        k.setStack(stack);
-                                        k.setActions(actions);
-                                        k.setTransitions(transitions);
-                                        k.setSubmachines(submachines);
-                                        k.setCurrentSubmachine(currentSubmachine);
-                                        k.setMainSubmachine(mainSubmachine);
-                                        k.setInput(input);
-                                        k.setCursor(cursor);
-                                        k.setEnablePriorAction(true);
-                                        k.setTransition(t);
-
-                                        // adiciona o caminho de reconhecimento
-                                        // para as novas threads
-                                        paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                        paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                        threads.add(k);
-
-                                        // mensagem de log
-                                        logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                    }
-
-                                    // adiciona um caminho adicional informando
-                                    // que a cadeia foi aceita pelo autômato
-                                    paths.get(identifier).setResult(true);
-                                    
-                                    // define a posição final do cursor da
-                                    // cadeia de entrada
-                                    paths.get(identifier).setCursor(cursor);
-                                    
-                                    // define o estado final do processo
-                                    // de reconhecimento
-                                    paths.get(identifier).setState(dolly.deepClone(currentState));
-
-                                    // mensagem de log
-                                    logger.debug(new SimpleMessage("[Thread %d] A cadeia foi aceita.", identifier));
-
-                                    // adiciona a thread na
-                                    // lista de remoção
-                                    removals.add(identifier);
-
-                                    // mensagem de log
-                                    logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                    // e retorna, encerrando a thread
-                                    return;
-
-                                } else {
-
-                                    // a submáquina corrente não
-                                    // é a principal
-                                    
-                                    // não-determinismo, pois o autômato
-                                    // pode prosseguir com o reconhecimento
-                                    // ou rejeitar a cadeia
-                                    
-                                    // mensagem de log
-                                    logger.debug(new SimpleMessage("[Thread %d] A submáquina corrente não é a principal.", identifier));
-
-                                    // situação de não-determinismo
-                                    for (Transition t : query) {
-
-                                        // para cada transição da consulta, criar uma nova thread
-                                        Kernel k = new Kernel(threads, removals, paths);
-                                        k.setStack(stack);
-                                        k.setActions(actions);
-                                        k.setTransitions(transitions);
-                                        k.setSubmachines(submachines);
-                                        k.setCurrentSubmachine(currentSubmachine);
-                                        k.setMainSubmachine(mainSubmachine);
-                                        k.setInput(input);
-                                        k.setCursor(cursor);
-                                        k.setEnablePriorAction(true);
-                                        k.setTransition(t);
-
-                                        // adiciona o caminho de reconhecimento
-                                        // para as novas threads
-                                        paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                        paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                        threads.add(k);
-
-                                        // mensagem de log
-                                        logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                    }
-
-                                    // informa que a cadeia foi
-                                    // rejeitada
-                                    paths.get(identifier).setResult(false);
-                                    
-                                    // define a posição final do cursor da
-                                    // cadeia de entrada
-                                    paths.get(identifier).setCursor(cursor);
-                                    
-                                    // define o estado final do processo
-                                    // de reconhecimento
-                                    paths.get(identifier).setState(dolly.deepClone(currentState));
-
-                                    // mensagem de log
-                                    logger.debug(new SimpleMessage("[Thread %d] A cadeia foi rejeitada.", identifier));
-
-                                    // adiciona a thread corrente
-                                    // na lista de remoção
-                                    removals.add(identifier);
-
-                                    // mensagem de log
-                                    logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                    // e retorna, encerrando
-                                    // a thread corrente
-                                    return;
-
-                                }
-                            } else {
-
-                                // a pilha não está vazia, portanto,
-                                // existe uma operação de desempilhamento,
-                                // isto é, de retorno de submáquina
-                                
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] A pilha não está vazia.", identifier));
-
-                                // situação de não-determinismo
-                                for (Transition t : query) {
-
-                                    // para cada transição da consulta, criar uma nova thread
-                                    Kernel k = new Kernel(threads, removals, paths);
-                                    k.setStack(stack);
-                                    k.setActions(actions);
-                                    k.setTransitions(transitions);
-                                    k.setSubmachines(submachines);
-                                    k.setCurrentSubmachine(currentSubmachine);
-                                    k.setMainSubmachine(mainSubmachine);
-                                    k.setInput(input);
-                                    k.setCursor(cursor);
-                                    k.setEnablePriorAction(true);
-                                    k.setTransition(t);
-
-                                    // adiciona o caminho de reconhecimento
-                                    // para as novas threads
-                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                    threads.add(k);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                }
-
-                                // cria uma thread adicional para tratar
-                                // do retorno de submáquina (operação de
-                                // desempilhamento)
-                                Kernel k = new Kernel(threads, removals, paths);
-                                k.setStack(stack);
-                                k.setActions(actions);
-                                k.setTransitions(transitions);
-                                k.setSubmachines(submachines);
-                                k.setCurrentSubmachine(currentSubmachine);
-                                k.setMainSubmachine(mainSubmachine);
-                                k.setInput(input);
-                                k.setCursor(cursor);
-                                k.setEnablePriorAction(true);
-                                Transition t = new Transition();
-                                t.setSubmachineReturn(true);
-                                k.setTransition(t);
-
-                                // adiciona o caminho de reconhecimento
-                                // para a nova thread
-                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                threads.add(k);
-
-                                // mensagem de log
-                                logger.debug(new TransitionMessage(t, "[Thread %d] A pilha não está vazia. A nova transição %d é um retorno de submáquina.", identifier, t.getIdentifier()));
-
-                                // adiciona thread corrente
-                                // na lista de remoções
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // e retorna, encerrando
-                                // a thread corrente
-                                return;
-
-                            }
-                        }
-                    }
-                }
+                logger.debug(new TransitionMessage(t, "[Thread %d] A transição %d conduz a uma configuração condenada.", identifier, t.getIdentifier()));
+            }
+            else {
+                result.add(t);
             }
-        } else {
+        }
+        return result;
+    }
 
-            // ainda existem símbolos a serem lidos
-            
-            // lê símbolo apontado pelo cursor
-            Symbol currentSymbol = input.get(cursor);
+    /**
+     * Define a transição informada como a nova transição corrente, em uma
+     * situação determinística.
+     * @param t Transição.
+     * @return Valor lógico verdadeiro, indicando que a thread corrente
+     * prossegue.
+     */
+    private boolean choose(Transition t) {
+        transition = t;
+        
+        // mensagem de log
+        logger.debug(new TransitionMessage(transition, "[Thread %d] Situação determinística, a nova transição é %d.", identifier, transition.getIdentifier()));
+        
+        return true;
+    }
 
-            // todas as transições que, partindo do estado corrente, consomem
-            // o símbolo corrente, transitam em vazio ou chamam submáquinas
-            query = transitions.withSymbolEpsilonOrSubmachineFromSourceState(currentState, currentSymbol);
+    /**
+     * Cria uma nova transição de retorno de submáquina.
+     * @return Transição de retorno de submáquina.
+     */
+    private Transition submachineReturn() {
+        Transition t = new Transition();
+        t.setSubmachineReturn(true);
+        return t;
+    }
 
-            // a consulta está vazia?
-            if (query.isEmpty()) {
-                
-                // sim, consulta vazia
+    /**
+     * Verifica se o estado informado é final no contexto da submáquina
+     * corrente.
+     * @param state Estado.
+     * @return Valor lógico indicando se o estado é final.
+     */
+    private boolean isAccepting(br.usp.poli.lta.cereda.aa.model.State state) {
+        return submachines.getFromName(currentSubmachine).getAcceptingStates().contains(state);
+    }
 
-                // mensagem de log
-                logger.debug(new SimpleMessage("[Thread %d] Não existem transições com consumo de símbolo, em vazio ou chamadas de submáquinas.", identifier));
-
-                // a pilha está vazia?
-                if (stack.isEmpty()) {
-                    
-                    // sim, pilha vazia
-
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] A pilha está vazia.", identifier));
-                   
-                    // não há para onde ir, a cadeia
-                    // foi rejeitada
-                    paths.get(identifier).setResult(false);
-                    
-                    // define a posição final do cursor da
-                    // cadeia de entrada
-                    paths.get(identifier).setCursor(cursor);
-                    
-                    // define o estado final do processo
-                    // de reconhecimento
-                    paths.get(identifier).setState(dolly.deepClone(currentState));
-                    
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] A cadeia foi rejeitada.", identifier));
-
-                    // informa que a thread
-                    // corrente pode ser removida
-                    removals.add(identifier);
-
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                    // retorna, encerrando
-                    // a thread corrente
-                    return;
-
-                } else {
-
-                    // a pilha não está vazia
-                    
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] A pilha não está vazia.", identifier));
-
-                    // o estado corrente é final no contexto da submáquina corrente?
-                    if (submachines.getFromName(currentSubmachine).getAcceptingStates().contains(currentState)) {
-                        
-                        // sim, o estado é final no contexto da
-                        // submáquina corrente
-
-                        // mensagem de log
-                        logger.debug(new SimpleMessage("[Thread %d] O estado corrente é final na submáquina corrente.", identifier));
-
-                        // sim, o estado é final no contexto
-                        // da submáquina corrente                        
-                        
-                        // define a transição corrente como uma operação
-                        // de desempilhamento, isto é, de retorno de
-                        // submáquina
-                        transition = new Transition();
-                        transition.setSubmachineReturn(true);
-
-                        // mensagem de log
-                        logger.debug(new TransitionMessage(transition, "[Thread %d] A pilha não está vazia. A nova transição %d é um retorno de submáquina.", identifier, transition.getIdentifier()));
-
-                    } else {
-
-                        // o estado corrente não é final no contexto
-                        // da submáquina corrente
-                        
-                        // mensagem de log
-                        logger.debug(new SimpleMessage("[Thread %d] O estado corrente não é final na submáquina corrente.", identifier));
-
-                        // não há para onde ir, a cadeia é
-                        // então rejeitada
-                        paths.get(identifier).setResult(false);
-                        
-                        // define a posição final do cursor da
-                        // cadeia de entrada
-                        paths.get(identifier).setCursor(cursor);
-                        
-                        // define o estado final do processo
-                        // de reconhecimento
-                        paths.get(identifier).setState(dolly.deepClone(currentState));
-
-                        // mensagem de log
-                        logger.debug(new SimpleMessage("[Thread %d] A cadeia foi rejeitada.", identifier));
-
-                        // informa que a thread pode ser removida
-                        removals.add(identifier);
-
-                        // mensagem de log
-                        logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                        // retorna, encerrando a operação
-                        // da thread corrente
-                        return;
+    /**
+     * Trata uma situação de não-determinismo, criando uma nova thread para
+     * cada transição da consulta e encerrando a thread corrente.
+     * @param query Consulta.
+     * @param enable Valor lógico indicando se as novas threads devem executar
+     * a ação anterior de suas transições.
+     * @return Valor lógico falso, indicando que a thread corrente foi
+     * encerrada.
+     */
+    private boolean fork(List<Transition> query, boolean enable) {
+        
+        // mensagem de log
+        logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo.", identifier));
+        
+        for (Transition t : prioritize(query)) {
+            spawn(t, enable);
+        }
+        return retire();
+    }
 
-                    }
-                }
-            } else {
+    /**
+     * Ordena a consulta por prioridade decrescente no modo de escolha
+     * ordenada, preservando a ordem original entre transições de mesma
+     * prioridade. Nos demais modos, a consulta não é alterada.
+     * @param query Consulta.
+     * @return Consulta ordenada.
+     */
+    private List<Transition> prioritize(List<Transition> query) {
+        if (!orderedChoice) {
+            return query;
+        }
+        List<Transition> result = new ArrayList<>(query);
+        Collections.sort(result, new Comparator<Transition>() {
+            
+            @Override
+            public int compare(Transition a, Transition b) {
+                return Integer.compare(b.getPriority(), a.getPriority());
+            }
+        });
+        return result;
+    }
 
-                // a consulta não está vazia, portanto
-                // existem transições
+    /**
+     * Efetiva a escolha corrente no modo de escolha ordenada, cancelando as
+     * threads pendentes a partir da altura informada da lista de threads,
+     * isto é, as alternativas de menor prioridade criadas após o início da
+     * chamada ou do reconhecimento.
+     * @param height Altura da lista de threads.
+     */
+    private void commit(int height) {
+        for (int i = height; i < threads.size(); i++) {
+            Kernel k = threads.get(i);
+            if (k != this && !removals.contains(k.getIdentifier())) {
                 
                 // mensagem de log
-                logger.debug(new SimpleMessage("[Thread %d] A consulta não está vazia.", identifier));
-
-                // a consulta tem consumo de símbolos?
-                if (hasSymbolTransitions(query)) {
-                    
-                    // sim, a consulta tem consumo de símbolos
-
-                    // mensagem de log
-                    logger.debug(new SimpleMessage("[Thread %d] A consulta possui transições com consumo de símbolo.", identifier));
-
-                    // apenas uma transição de consumo de símbolos?
-                    if (getSymbolTransitions(query).size() == 1) {
-                        
-                        // sim, apenas uma transição de consumo
-                        // de símbolo
-
-                        // a consulta tem transições em vazio?
-                        if (hasEpsilonTransitions(query)) {
-
-                            // sim, tem transições em vazio
-                            
-                            // a consulta tem chamadas de submáquinas?
-                            if (hasSubmachineCalls(query)) {
-
-                                // sim, tem chamadas de submáquinas
-                                
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com uma transição de consumo de símbolo, transições em vazio e chamadas de submáquinas.", identifier));
-
-                                // não-determinismo, com uma transição de consumo
-                                // de símbolo, transições em vazio e chamadas de
-                                // submáquinas
-                                
-                                // situação de não-determinismo
-                                for (Transition t : query) {
-
-                                    // para cada transição da consulta, criar uma nova thread
-                                    Kernel k = new Kernel(threads, removals, paths);
-                                    k.setStack(stack);
-                                    k.setActions(actions);
-                                    k.setTransitions(transitions);
-                                    k.setSubmachines(submachines);
-                                    k.setCurrentSubmachine(currentSubmachine);
-                                    k.setMainSubmachine(mainSubmachine);
-                                    k.setInput(input);
-                                    k.setCursor(cursor);
-                                    k.setEnablePriorAction(true);
-                                    k.setTransition(t);
-
-                                    // adiciona o caminho de reconhecimento
-                                    // para as novas threads
-                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                    threads.add(k);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                }
-                                
-                                // adiciona thread corrente
-                                // na lista de remoções
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // e retorna, encerrando
-                                // a thread corrente
-                                return;
-
-                            } else {
-
-                                // não há chamadas de submáquinas
-                                
-                                // não-determinismo, com uma transição de consumo
-                                // de símbolo e transições em vazio
-                                
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com uma transição de consumo de símbolo e transições em vazio.", identifier));
-
-                                // situação de não-determinismo
-                                for (Transition t : query) {
-
-                                    // para cada transição da consulta, criar uma nova thread
-                                    Kernel k = new Kernel(threads, removals, paths);
-                                    k.setStack(stack);
-                                    k.setActions(actions);
-                                    k.setTransitions(transitions);
-                                    k.setSubmachines(submachines);
-                                    k.setCurrentSubmachine(currentSubmachine);
-                                    k.setMainSubmachine(mainSubmachine);
-                                    k.setInput(input);
-                                    k.setCursor(cursor);
-                                    k.setEnablePriorAction(true);
-                                    k.setTransition(t);
-
-                                    // adiciona o caminho de reconhecimento
-                                    // para as novas threads
-                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                    threads.add(k);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                }
-                                
-                                // adiciona thread corrente
-                                // na lista de remoções
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // e retorna, encerrando
-                                // a thread corrente
-                                return;
-
-                            }
-                        } else {
-
-                            // a consulta tem uma transição de consumo de
-                            // símbolo, mas não tem transições em vazio
-                            
-                            // a consulta tem chamadas de submáquinas?
-                            if (hasSubmachineCalls(query)) {
-
-                                // sim, tem chamadas de submáquinas
-                                
-                                // mensagem
-                                logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com uma transição de consumo de símbolo e chamadas de submáquinas.", identifier));
-
-                                // não-determinismo, com uma transição de consumo
-                                // de símbolo e chamadas de submáquinas
-                                
-                                // situação de não-determinismo
-                                for (Transition t : query) {
-
-                                    // para cada transição da consulta, criar uma nova thread
-                                    Kernel k = new Kernel(threads, removals, paths);
-                                    k.setStack(stack);
-                                    k.setActions(actions);
-                                    k.setTransitions(transitions);
-                                    k.setSubmachines(submachines);
-                                    k.setCurrentSubmachine(currentSubmachine);
-                                    k.setMainSubmachine(mainSubmachine);
-                                    k.setInput(input);
-                                    k.setCursor(cursor);
-                                    k.setEnablePriorAction(true);
-                                    k.setTransition(t);
-
-                                    // adiciona o caminho de reconhecimento
-                                    // para as novas threads
-                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                    threads.add(k);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                }
-                                
-                                // adiciona a thread corrente
-                                // na lista de remoções
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // e retorna, encerrando
-                                // a thread corrente
-                                return;
-
-                            } else {
-                                
-                                // não existem transições com chamadas
-                                // de submáquinas, existe apenas uma
-                                // transição com consumo de símbolo,
-                                // portanto, é determinístico
-                                transition = dolly.deepClone(query.get(0));
-
-                                // mensagem de log
-                                logger.debug(new TransitionMessage(transition, "[Thread %d] É apenas uma transição de consumo de símbolo.", identifier));
-
-                            }
-                        }
-                    } else {
-
-                        // existem várias transições de consumo de símbolo,
-                        // portanto o passo já será não-determinístico
-                        
-                        // a consulta tem transições em vazio?
-                        if (hasEpsilonTransitions(query)) {
-
-                            // sim, tem transições em vazio
-                            
-                            // a consulta tem chamadas de submáquinas?
-                            if (hasSubmachineCalls(query)) {
-
-                                // sim, a consulta tem
-                                // chamadas de submáquinas
-                                
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com transições de consumo de símbolo, transições em vazio e chamadas de submáquinas.", identifier));
-
-                                // não-determinismo com transições de consumo
-                                // de símbolo, transições em vazio e chamadas
-                                // de submáquinas
-                                
-                                // situação de não-determinismo
-                                for (Transition t : query) {
-
-                                    // para cada transição da consulta, criar uma nova thread
-                                    Kernel k = new Kernel(threads, removals, paths);
-                                    k.setStack(stack);
-                                    k.setActions(actions);
-                                    k.setTransitions(transitions);
-                                    k.setSubmachines(submachines);
-                                    k.setCurrentSubmachine(currentSubmachine);
-                                    k.setMainSubmachine(mainSubmachine);
-                                    k.setInput(input);
-                                    k.setCursor(cursor);
-                                    k.setEnablePriorAction(true);
-                                    k.setTransition(t);
-
-                                    // adiciona o caminho de reconhecimento
-                                    // para as novas threads
-                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                    threads.add(k);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                }
-                                
-                                // adiciona a thread corrente
-                                // na lista de remoções
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // e retorna, encerrando
-                                // a thread corrente
-                                return;
-                                
-                            } else {
-
-                                // não existem chamadas de submáquina,
-                                // apenas transições em vazio e com
-                                // consumo de símbolo
-                                
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com transições de consumo de símbolo e transições em vazio.", identifier));
-
-                                // não-determinismo com transições de consumo
-                                // de símbolo e transições em vazio
-                                
-                                // situação de não-determinismo
-                                for (Transition t : query) {
-
-                                    // para cada transição da consulta, criar uma nova thread
-                                    Kernel k = new Kernel(threads, removals, paths);
-                                    k.setStack(stack);
-                                    k.setActions(actions);
-                                    k.setTransitions(transitions);
-                                    k.setSubmachines(submachines);
-                                    k.setCurrentSubmachine(currentSubmachine);
-                                    k.setMainSubmachine(mainSubmachine);
-                                    k.setInput(input);
-                                    k.setCursor(cursor);
-                                    k.setEnablePriorAction(true);
-                                    k.setTransition(t);
-
-                                    // adiciona o caminho de reconhecimento
-                                    // para as novas threads
-                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                    threads.add(k);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                }
-                                
-                                // adiciona a thread corrente
-                                // na lista de remoções
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // e retorna, encerrando
-                                // a thread corrente
-                                return;
-
-                            }
-                        } else {
-
-                            // não há transições em vazio
-                            
-                            // a consulta tem chamadas de submáquinas?
-                            if (hasSubmachineCalls(query)) {
-
-                                // sim, tem chamadas de submáquinas
-                                
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com transições de consumo de símbolo e chamadas de submáquinas.", identifier));
-
-                                // não-determinismo com transições com consumo
-                                // de símbolo e chamadas de submáquinas
-                                
-                                // situação de não-determinismo
-                                for (Transition t : query) {
-
-                                    // para cada transição da consulta, criar uma nova thread
-                                    Kernel k = new Kernel(threads, removals, paths);
-                                    k.setStack(stack);
-                                    k.setActions(actions);
-                                    k.setTransitions(transitions);
-                                    k.setSubmachines(submachines);
-                                    k.setCurrentSubmachine(currentSubmachine);
-                                    k.setMainSubmachine(mainSubmachine);
-                                    k.setInput(input);
-                                    k.setCursor(cursor);
-                                    k.setEnablePriorAction(true);
-                                    k.setTransition(t);
-
-                                    // adiciona o caminho de reconhecimento
-                                    // para as novas threads
-                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                    threads.add(k);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                }
-                                
-                                // adiciona a thread corrente
-                                // na lista de remoções
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // e retorna, encerrando a
-                                // thread corrente
-                                return;
-
-                            } else {
-
-                                // não há chamadas de submáquinas,
-                                // apenas transições com consumo
-                                // de símbolo
-                                
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com transições de consumo de símbolo.", identifier));
-
-                                // não determinismo com transições com
-                                // consumo de símbolo
-                                
-                                // situação de não-determinismo
-                                for (Transition t : query) {
-
-                                    // para cada transição da consulta, criar uma nova thread
-                                    Kernel k = new Kernel(threads, removals, paths);
-                                    k.setStack(stack);
-                                    k.setActions(actions);
-                                    k.setTransitions(transitions);
-                                    k.setSubmachines(submachines);
-                                    k.setCurrentSubmachine(currentSubmachine);
-                                    k.setMainSubmachine(mainSubmachine);
-                                    k.setInput(input);
-                                    k.setCursor(cursor);
-                                    k.setEnablePriorAction(true);
-                                    k.setTransition(t);
-
-                                    // adiciona o caminho de reconhecimento
-                                    // para as novas threads
-                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                    threads.add(k);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                }
-                                
-                                // adiciona thread corrente
-                                // na lista de remoções
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // e retorna, encerrando a
-                                // thread corrente
-                                return;
-
-                            }
-                        }
-                    }
-                } else {
-
-                    // a consulta não tem transições com consumo
-                    // de símbolos, apenas transições em vazio ou
-                    // chamadas de submáquinas
-                    
-                    // a consulta tem chamadas de submáquinas?
-                    if (hasSubmachineCalls(query)) {
-
-                        // sim, tem chamadas de submáquinas
-                        
-                        // é uma transição só?
-                        if (getSubmachineCalls(query).size() == 1) {
-
-                            // sim é uma só chamada de submáquina
-                            
-                            // a consulta tem transições em vazio?
-                            if (hasEpsilonTransitions(query)) {
-
-                                // sim, tem transições em vazio
-                                
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com uma chamada de submáquina e transições em vazio.", identifier));
-
-                                // não-determinismo com uma chamada de
-                                // submáquina e transições em vazio
-                                
-                                // situação de não-determinismo
-                                for (Transition t : query) {
-
-                                    // para cada transição da consulta, criar uma nova thread
-                                    Kernel k = new Kernel(threads, removals, paths);
-                                    k.setStack(stack);
-                                    k.setActions(actions);
-                                    k.setTransitions(transitions);
-                                    k.setSubmachines(submachines);
-                                    k.setCurrentSubmachine(currentSubmachine);
-                                    k.setMainSubmachine(mainSubmachine);
-                                    k.setInput(input);
-                                    k.setCursor(cursor);
-                                    k.setEnablePriorAction(true);
-                                    k.setTransition(t);
-
-                                    // adiciona o caminho de reconhecimento
-                                    // para as novas threads
-                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                    threads.add(k);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                }
-                                
-                                // adiciona a thread corrente
-                                // na lista de remoção
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // e retorna, encerrando
-                                // a thread corrente
-                                return;
-
-                            } else {
-                                
-                                // não há transições em vazio
-
-                                // só existe uma chamada de submáquina, portanto
-                                // o passo é determinístico
-                                transition = dolly.deepClone(query.get(0));
-
-                                // mensagem de log
-                                logger.debug(new TransitionMessage(transition, "[Thread %d] É apenas uma chamada de submáquina.", identifier));
-
-                            }
-                        } else {
-
-                            // são várias chamadas de submáquinas, portanto o
-                            // passo já será não-determinístico
-                            
-                            // a consulta tem transições em vazio?
-                            if (hasEpsilonTransitions(query)) {
-
-                                // sim, tem transições em vazio
-                                
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Situação de não-determinismo, com chamadas de submáquinas e transições em vazio.", identifier));
-
-                                // não-determinismo com chamadas de submáquinas
-                                // e transições em vazio
-                                
-                                // situação de não-determinismo
-                                for (Transition t : query) {
-
-                                    // para cada transição da consulta, criar uma nova thread
-                                    Kernel k = new Kernel(threads, removals, paths);
-                                    k.setStack(stack);
-                                    k.setActions(actions);
-                                    k.setTransitions(transitions);
-                                    k.setSubmachines(submachines);
-                                    k.setCurrentSubmachine(currentSubmachine);
-                                    k.setMainSubmachine(mainSubmachine);
-                                    k.setInput(input);
-                                    k.setCursor(cursor);
-                                    k.setEnablePriorAction(true);
-                                    k.setTransition(t);
-
-                                    // adiciona o caminho de reconhecimento
-                                    // para as novas threads
-                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                    threads.add(k);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                }
-                                
-                                // adiciona a thread corrente
-                                // na lista de remoções
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // e retorna, encerrando
-                                // a thread corrente
-                                return;
-
-                            } else {
-                                
-                                // não tem transições em vazio
-
-                                // não-determinismo, com chamadas de submáquinas
-                                
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] São várias chamadas de submáquinas.", identifier));
-
-                                // situação de não-determinismo
-                                for (Transition t : query) {
-
-                                    // para cada transição da consulta, criar uma nova thread
-                                    Kernel k = new Kernel(threads, removals, paths);
-                                    k.setStack(stack);
-                                    k.setActions(actions);
-                                    k.setTransitions(transitions);
-                                    k.setSubmachines(submachines);
-                                    k.setCurrentSubmachine(currentSubmachine);
-                                    k.setMainSubmachine(mainSubmachine);
-                                    k.setInput(input);
-                                    k.setCursor(cursor);
-                                    k.setEnablePriorAction(true);
-                                    k.setTransition(t);
-
-                                    // adiciona o caminho de reconhecimento
-                                    // para as novas threads
-                                    paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                    paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                    threads.add(k);
-
-                                    // mensagem de log
-                                    logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                                }
-                                
-                                // adiciona a thread corrente
-                                // na lista de remoções
-                                removals.add(identifier);
-
-                                // mensagem de log
-                                logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                                // e retorna, encerrando a
-                                // thread corrente
-                                return;
-
-                            }
-                        }
-                    } else {
-
-                        // existem apenas transições em vazio
-                        
-                        // só tem uma transição?
-                        if (query.size() == 1) {
-
-                            // sim, uma única transição em vazio, portanto o
-                            // passo é determinístico
-                            transition = dolly.deepClone(query.get(0));
-
-                            // mensagem de log
-                            logger.debug(new TransitionMessage(transition, "[Thread %d] É apenas uma transição em vazio.", identifier));
-
-                        } else {
-
-                            // existem várias transições em vazio
-                            
-                            // mensagem de log
-                            logger.debug(new TransitionMessage(transition, "[Thread %d] São várias transições em vazio.", identifier));
-
-                            // situação de não-determinismo
-                            for (Transition t : query) {
-
-                                // para cada transição da consulta, criar uma nova thread
-                                Kernel k = new Kernel(threads, removals, paths);
-                                k.setStack(stack);
-                                k.setActions(actions);
-                                k.setTransitions(transitions);
-                                k.setSubmachines(submachines);
-                                k.setCurrentSubmachine(currentSubmachine);
-                                k.setMainSubmachine(mainSubmachine);
-                                k.setInput(input);
-                                k.setCursor(cursor);
-                                k.setEnablePriorAction(true);
-                                k.setTransition(t);
-
-                                // adiciona o caminho de reconhecimento
-                                // para as novas threads
-                                paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-                                paths.get(k.getIdentifier()).addPath(String.valueOf(t));
-                                threads.add(k);
-
-                                // mensagem de log
-                                logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
-
-                            }
-                            
-                            // adiciona a thread corrente
-                            // na lista de remoções
-                            removals.add(identifier);
-
-                            // mensagem de log
-                            logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
-
-                            // e retorna, encerrando
-                            // a thread corrente
-                            return;
-
-                        }
-                    }
-                }
+                logger.debug(new SimpleMessage("[Thread %d] A escolha foi efetivada, cancelando a alternativa %d.", identifier, k.getIdentifier()));
+                
+                k.cancel();
             }
         }
+    }
 
-        // fim do cálculo da nova transição
-        
-        // uma vez que a thread corrente chegou ao fim e esta será encerrada,
-        // é necessário criar uma nova thread para tratar do próximo passo
-        // computacional
-        
-        // cria uma nova thread
+    /**
+     * Cria uma nova thread para tratar da transição informada, a partir da
+     * configuração corrente, com uma cópia do caminho de reconhecimento.
+     * @param t Transição.
+     * @param enable Valor lógico indicando se a nova thread deve executar a
+     * ação anterior da transição.
+     */
+    private void spawn(Transition t, boolean enable) {
         Kernel k = new Kernel(threads, removals, paths);
         k.setStack(stack);
         k.setActions(actions);
-        k.setTransitions(transitions);
+        k.setTransitions(isolatedBranches ? transitions.fork() : transitions);
         k.setSubmachines(submachines);
         k.setCurrentSubmachine(currentSubmachine);
         k.setMainSubmachine(mainSubmachine);
         k.setInput(input);
         k.setCursor(cursor);
-        k.setEnablePriorAction(true);
-        k.setTransition(transition);
+        k.setEnablePriorAction(enable);
+        k.setEpsilonClosures(epsilonClosures);
+        k.setClosed(closed);
+        k.setDeterministicCache(deterministicCache);
+        k.setIsolatedBranches(isolatedBranches);
+        k.setDepthFirst(depthFirst);
+        k.setLookahead(lookahead);
+        k.setCoReachability(coReachability);
+        k.setLengthBound(lengthBound);
+        k.setCycleDetection(cycleDetection);
+        k.setVisits(visits, visitsCursor);
+        k.setCalls(calls);
+        k.setFrames(frames);
+        k.setStatistics(statistics);
+        k.setScheduler(scheduler);
+        k.setOrderedChoice(orderedChoice);
+        k.setScopes(scopes);
+        k.setListener(listener);
+        for (CallFrame frame : frames) {
+            if (frame != null) {
+                frame.join();
+            }
+        }
+        k.setTransition(t);
 
-        // adiciona o caminho de reconhecimento para a nova thread
-        paths.put(k.getIdentifier(), dolly.deepClone(paths.get(identifier)));
-        paths.get(k.getIdentifier()).addPath(String.valueOf(transition));
+        // adiciona o caminho de reconhecimento
+        // para a nova thread
+        paths.put(k.getIdentifier(), CopyUtils.copy(paths.get(identifier)));
+        paths.get(k.getIdentifier()).addPath(String.valueOf(t));
         threads.add(k);
 
         // mensagem de log
-        logger.debug(new TransitionMessage(transition, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), transition.getIdentifier()));
+        logger.debug(new TransitionMessage(t, "[Thread %d] Adicionando uma nova thread %d para tratar da transição %d.", identifier, k.getIdentifier(), t.getIdentifier()));
+    }
 
-        // adiciona a thread corrente
-        // na lista de remoções
-        removals.add(identifier);
+    /**
+     * Reaproveita o registro concluído de uma chamada de submáquina. Para
+     * cada cursor com o qual a submáquina retornou, uma nova thread é criada
+     * diretamente no retorno da chamada, com o cursor correspondente; a
+     * submáquina não é simulada novamente e a thread corrente é encerrada.
+     * @param frame Registro concluído da chamada.
+     * @return Valor lógico falso, indicando que a thread corrente foi
+     * encerrada.
+     */
+    private boolean recall(CallFrame frame) {
+        
+        // mensagem de log
+        logger.debug(new TransitionMessage(transition, "[Thread %d] A chamada da submáquina %s a partir do cursor %d já foi memorizada.", identifier, transition.getSubmachineCall(), cursor));
+        
+        paths.get(identifier).addPath(String.format("Chamada memorizada: { Submáquina: %s :: Cursor de entrada: %d :: Cursores de saída: %s }", transition.getSubmachineCall(), cursor, frame.getExits()));
+        stack.push(transition.getTargetState());
+        frames.add(null);
+        if (orderedChoice) {
+            scopes.add(threads.size() - 1);
+        }
+        for (int exit : frame.getExits()) {
+            cursor = exit;
+            spawn(submachineReturn(), true);
+        }
+        return retire();
+    }
+
+    /**
+     * Invalida os registros das chamadas memorizadas em andamento, uma vez
+     * que uma ação foi executada dentro delas.
+     */
+    private void taint() {
+        for (CallFrame frame : frames) {
+            if (frame != null) {
+                frame.taint();
+            }
+        }
+    }
 
+    /**
+     * Marca a thread corrente para remoção.
+     * @return Valor lógico falso, indicando que a thread corrente foi
+     * encerrada.
+     */
+    private boolean retire() {
+        removals.add(identifier);
+        
+        // a thread deixa todas as chamadas memorizadas em andamento
+        for (CallFrame frame : frames) {
+            if (frame != null) {
+                frame.leave();
+            }
+        }
+        frames.clear();
+        
         // mensagem de log
         logger.debug(new SimpleMessage("[Thread %d] Esta thread foi marcada para remoção.", identifier));
         
-        // término da execução do passo computacional
+        return false;
+    }
+
+    /**
+     * Substitui as transições em vazio puras da consulta pelos atalhos do
+     * fecho em vazio do estado informado, caso o modo de fechos em vazio
+     * esteja habilitado. Se o fecho do estado já foi expandido, as transições
+     * em vazio puras são apenas descartadas, pois os estados alcançados por
+     * elas já são tratados por outras threads.
+     * @param query Consulta.
+     * @param state Estado corrente.
+     * @return Consulta com os atalhos do fecho em vazio, ou nulo caso a
+     * configuração corrente esteja coberta pelas demais threads e não tenha
+     * mais nada a fazer.
+     */
+    private List<Transition> shortcut(List<Transition> query,
+            br.usp.poli.lta.cereda.aa.model.State state) {
+        if (!epsilonClosures) {
+            return query;
+        }
+        List<Transition> result = new ArrayList<>();
+        boolean pure = false;
+        for (Transition t : query) {
+            if (EpsilonClosures.isPure(t)) {
+                pure = true;
+            }
+            else {
+                result.add(t);
+            }
+        }
+        if (!pure) {
+            return query;
+        }
+        if (!closed) {
+            result.addAll(transitions.getEpsilonClosures().getShortcuts(state));
+        }
+        
+        // sem transições restantes, apenas um estado final sem símbolos a
+        // consumir ainda tem decisões a tomar (aceitação, rejeição ou retorno
+        // de submáquina); nos demais casos, a configuração está coberta
+        if (result.isEmpty() && (cursor != input.size() ||
+                !submachines.getFromName(currentSubmachine).
+                        getAcceptingStates().contains(state))) {
+            logger.debug(new SimpleMessage("[Thread %d] A configuração está coberta pelo fecho em vazio.", identifier));
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * Consome a cadeia de entrada através do cache de subconjuntos
+     * determinísticos, a partir do estado informado. A simulação prossegue
+     * enquanto os estados alcançados estiverem livres de ações e chamadas de
+     * submáquina; ao encontrar um conjunto que não esteja, novas threads são
+     * criadas para as transições de consumo do símbolo corrente, retomando o
+     * processamento convencional. Os passos determinísticos são registrados
+     * no caminho de reconhecimento.
+     * @param state Estado corrente.
+     * @return Valor lógico indicando se a thread corrente foi encerrada pela
+     * simulação; caso o fecho do estado informado não esteja livre de ações,
+     * nada é feito e o valor retornado é falso.
+     */
+    private boolean simulate(br.usp.poli.lta.cereda.aa.model.State state) {
+        DeterministicCache cache = transitions.getDeterministicCache();
+        DeterministicState current = cache.getInitialState(state);
+        if (!current.isActionFree()) {
+            return false;
+        }
+        
+        // mensagem de log
+        logger.debug(new SimpleMessage("[Thread %d] Iniciando a simulação determinística a partir de %s.", identifier, current));
+        
+        while (cursor < input.size()) {
+            DeterministicState next = cache.getSuccessor(current, input.get(cursor));
+            
+            // o conjunto sucessor é vazio, portanto não há
+            // transições para o símbolo corrente
+            if (next.isEmpty()) {
+                finish(false, state);
+                return true;
+            }
+            
+            // o conjunto sucessor não está livre de ações, portanto as
+            // transições de consumo do símbolo corrente são tratadas por
+            // novas threads, uma para cada estado de destino distinto
+            if (!next.isActionFree()) {
+                Set<br.usp.poli.lta.cereda.aa.model.State> targets = new HashSet<>();
+                for (br.usp.poli.lta.cereda.aa.model.State source : current.getStates()) {
+                    for (Transition t : transitions.withSourceStateAndSymbol(source, input.get(cursor))) {
+                        if (targets.add(t.getTargetState())) {
+                            spawn(t, true);
+                        }
+                    }
+                }
+                retire();
+                return true;
+            }
+            
+            // registra o passo determinístico no caminho de reconhecimento
+            paths.get(identifier).addPath(String.format("Passo determinístico: { Origem: %s :: Símbolo: %s :: Destino: %s }", current, input.get(cursor), next));
+            current = next;
+            cursor++;
+            for (br.usp.poli.lta.cereda.aa.model.State candidate : current.getStates()) {
+                state = candidate;
+                break;
+            }
+        }
+        
+        // a cadeia foi consumida por completo e a pilha está vazia, portanto
+        // basta verificar se algum estado do conjunto é final
+        Set<br.usp.poli.lta.cereda.aa.model.State> accepting = submachines.getFromName(currentSubmachine).getAcceptingStates();
+        for (br.usp.poli.lta.cereda.aa.model.State candidate : current.getStates()) {
+            if (accepting.contains(candidate)) {
+                finish(currentSubmachine.equals(mainSubmachine), candidate);
+                return true;
+            }
+        }
+        finish(false, state);
+        return true;
+    }
+
+    /**
+     * Registra o resultado do reconhecimento no caminho da thread corrente e
+     * marca a thread para remoção.
+     * @param result Resultado do reconhecimento.
+     * @param state Estado final.
+     * @return Valor lógico falso, indicando que a thread corrente foi
+     * encerrada.
+     */
+    private boolean finish(boolean result, br.usp.poli.lta.cereda.aa.model.State state) {
+        
+        // na escolha ordenada, a aceitação efetiva todo o reconhecimento
+        if (orderedChoice && result) {
+            commit(0);
+        }
+        
+        paths.get(identifier).setResult(result);
+        paths.get(identifier).setCursor(cursor);
+        paths.get(identifier).setState(CopyUtils.copy(state));
+        
+        // mensagem de log
+        logger.debug(new SimpleMessage(result ? "[Thread %d] A cadeia foi aceita." : "[Thread %d] A cadeia foi rejeitada.", identifier));
+        
+        // o caminho aceito é disponibilizado ao ouvinte imediatamente
+        if (listener != null && result) {
+            listener.accepted(paths.get(identifier));
+        }
+        
+        return retire();
     }
 
     /**
@@ -0,0 +1,68 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+/**
+ * Desfecho de um reconhecimento. Além da aceitação e da rejeição da cadeia
+ * de entrada, o reconhecimento pode ser interrompido pelo esgotamento de um
+ * dos limites de recursos do autômato adaptativo ou cancelado, casos em que
+ * a cadeia não foi nem aceita nem rejeitada.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public enum Outcome {
+
+    /**
+     * A cadeia de entrada foi aceita.
+     */
+    ACCEPTED,
+
+    /**
+     * A cadeia de entrada foi rejeitada.
+     */
+    REJECTED,
+
+    /**
+     * O limite de passos computacionais foi esgotado.
+     */
+    STEP_LIMIT_EXCEEDED,
+
+    /**
+     * O limite de threads simultâneas foi esgotado.
+     */
+    THREAD_LIMIT_EXCEEDED,
+
+    /**
+     * O limite de profundidade da pilha foi esgotado.
+     */
+    STACK_LIMIT_EXCEEDED,
+
+    /**
+     * O limite de tempo foi esgotado.
+     */
+    TIME_LIMIT_EXCEEDED,
+
+    /**
+     * O reconhecimento foi cancelado antes do seu término.
+     */
+    CANCELLED
+
+}
@@ -0,0 +1,165 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Iterador sobre os caminhos aceitos de um reconhecimento executado em
+ * segundo plano. Cada caminho é disponibilizado assim que a thread
+ * correspondente aceita a cadeia de entrada, enquanto o reconhecimento
+ * prossegue; as consultas ao iterador bloqueiam até que um novo caminho seja
+ * aceito ou o reconhecimento termine. O iterador pode ser fechado antes do
+ * término, o que cancela o reconhecimento no próximo passo computacional.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class RecognitionIterator implements Iterator<RecognitionPath>,
+        RecognitionListener {
+
+    // marcador de término do reconhecimento na fila
+    private static final Object END = new Object();
+
+    // fila de caminhos aceitos, próximo elemento já retirado da fila,
+    // sinalizador de cancelamento, resultado e eventual erro do
+    // reconhecimento
+    private final BlockingQueue<Object> queue;
+    private Object next;
+    private volatile boolean cancelled;
+    private volatile RecognitionResult result;
+    private volatile RuntimeException error;
+
+    /**
+     * Construtor.
+     */
+    public RecognitionIterator() {
+        queue = new LinkedBlockingQueue<>();
+        next = null;
+        cancelled = false;
+        result = null;
+        error = null;
+    }
+
+    /**
+     * Disponibiliza o caminho aceito para o consumidor.
+     * @param path Caminho de reconhecimento aceito.
+     */
+    @Override
+    public void accepted(RecognitionPath path) {
+        queue.add(path);
+    }
+
+    /**
+     * Verifica se o iterador foi fechado.
+     * @return Valor lógico indicando se o reconhecimento deve ser
+     * interrompido.
+     */
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Registra o término do reconhecimento, com o seu resultado ou o eventual
+     * erro ocorrido.
+     * @param recognition Resultado do reconhecimento, ou nulo.
+     * @param exception Erro do reconhecimento, ou nulo.
+     */
+    void end(RecognitionResult recognition, RuntimeException exception) {
+        result = recognition;
+        error = exception;
+        queue.add(END);
+    }
+
+    /**
+     * Obtém o resultado completo do reconhecimento, disponível após o término
+     * da iteração.
+     * @return Resultado do reconhecimento, ou nulo caso o reconhecimento
+     * ainda esteja em andamento ou tenha falhado.
+     */
+    public RecognitionResult getResult() {
+        return result;
+    }
+
+    /**
+     * Fecha o iterador, cancelando o reconhecimento em segundo plano. Os
+     * caminhos já aceitos continuam disponíveis.
+     */
+    public void close() {
+        cancelled = true;
+    }
+
+    /**
+     * Verifica se há mais caminhos aceitos, bloqueando até que um novo
+     * caminho seja aceito ou o reconhecimento termine.
+     * @return Valor lógico informando se há mais caminhos aceitos.
+     */
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = queue.take();
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IllegalStateException("A espera pelo próximo caminho foi interrompida.", exception);
+            }
+            if (next == END) {
+                queue.add(END);
+            }
+        }
+        if (next == END) {
+            if (error != null) {
+                throw error;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Obtém o próximo caminho aceito, bloqueando até que esteja disponível.
+     * @return Próximo caminho aceito.
+     */
+    @Override
+    public RecognitionPath next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Não há mais caminhos aceitos.");
+        }
+        RecognitionPath result = (RecognitionPath) next;
+        next = null;
+        return result;
+    }
+
+    /**
+     * Lança uma exceção, uma vez que os caminhos não podem ser removidos.
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Os caminhos aceitos não podem ser removidos.");
+    }
+
+}
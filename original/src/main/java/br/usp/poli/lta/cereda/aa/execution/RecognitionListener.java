@@ -0,0 +1,50 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
+
+/**
+ * Ouvinte de um reconhecimento em andamento. O ouvinte é notificado de cada
+ * caminho aceito assim que a thread correspondente aceita a cadeia de
+ * entrada, e é consultado a cada passo computacional sobre o cancelamento
+ * do reconhecimento. Os métodos são invocados pela thread que executa o
+ * reconhecimento.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public interface RecognitionListener {
+
+    /**
+     * Notifica a aceitação de um caminho de reconhecimento. O caminho está
+     * encerrado e não é mais alterado pelo autômato adaptativo.
+     * @param path Caminho de reconhecimento aceito.
+     */
+    void accepted(RecognitionPath path);
+
+    /**
+     * Verifica se o reconhecimento foi cancelado.
+     * @return Valor lógico indicando se o reconhecimento deve ser
+     * interrompido.
+     */
+    boolean isCancelled();
+
+}
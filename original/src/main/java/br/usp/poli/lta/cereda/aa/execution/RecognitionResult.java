@@ -0,0 +1,123 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import br.usp.poli.lta.cereda.aa.utils.Copyable;
+import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de um reconhecimento, contendo a aceitação da cadeia de entrada,
+ * os caminhos de reconhecimento e as estatísticas do reconhecimento. O
+ * resultado é independente do autômato adaptativo que o produziu, de modo
+ * que não é afetado por reconhecimentos posteriores; o mapa de caminhos
+ * pertence ao resultado e pode ser alterado por quem o obteve.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class RecognitionResult implements Copyable<RecognitionResult> {
+
+    // valor lógico da aceitação, mapa de caminhos de reconhecimento e
+    // estatísticas
+    private final boolean accepted;
+    private final Map<Integer, RecognitionPath> map;
+    private final Statistics statistics;
+
+    /**
+     * Construtor.
+     * @param accepted Valor lógico indicando se a cadeia foi aceita.
+     * @param map Mapa contendo os caminhos de reconhecimento; o mapa é
+     * copiado, mantendo a ordem de iteração.
+     * @param statistics Estatísticas do reconhecimento.
+     */
+    public RecognitionResult(boolean accepted,
+            Map<Integer, RecognitionPath> map, Statistics statistics) {
+        this.accepted = accepted;
+        this.map = new LinkedHashMap<>(map);
+        this.statistics = statistics;
+    }
+
+    /**
+     * Cria uma cópia do resultado corrente, copiando também os caminhos de
+     * reconhecimento e as estatísticas, de modo que as alterações feitas em
+     * uma cópia não afetem as demais.
+     * @return Cópia do resultado corrente.
+     */
+    @Override
+    public RecognitionResult copy() {
+        Map<Integer, RecognitionPath> result = new LinkedHashMap<>();
+        for (Map.Entry<Integer, RecognitionPath> entry : map.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().copy());
+        }
+        return new RecognitionResult(accepted, result, statistics.copy());
+    }
+
+    /**
+     * Verifica se a cadeia de entrada foi aceita.
+     * @return Valor lógico indicando se a cadeia de entrada foi aceita.
+     */
+    public boolean isAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Obtém o mapa contendo os caminhos de reconhecimento.
+     * @return Mapa contendo os caminhos de reconhecimento.
+     */
+    public Map<Integer, RecognitionPath> getRecognitionMap() {
+        return map;
+    }
+
+    /**
+     * Obtém a lista de caminhos de reconhecimento, na ordem do mapa.
+     * @return Nova lista contendo os caminhos de reconhecimento.
+     */
+    public List<RecognitionPath> getRecognitionPaths() {
+        return new ArrayList<>(map.values());
+    }
+
+    /**
+     * Obtém as estatísticas do reconhecimento, incluindo o seu desfecho.
+     * @return Estatísticas do reconhecimento.
+     */
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Retorna uma representação textual do resultado.
+     * @return Representação textual do resultado.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Resultado: { ");
+        sb.append("Aceita? ").append(accepted ? "sim" : "não");
+        sb.append(" :: Caminhos: ").append(map.size());
+        sb.append(" :: ").append(statistics);
+        sb.append(" }");
+        return sb.toString();
+    }
+
+}
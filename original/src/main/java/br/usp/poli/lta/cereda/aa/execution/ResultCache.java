@@ -0,0 +1,157 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import br.usp.poli.lta.cereda.aa.model.Symbol;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Cache de resultados de reconhecimento, indexado pela sequência de símbolos
+ * da cadeia de entrada. O cache tem capacidade limitada; quando a capacidade
+ * é excedida, o resultado utilizado há mais tempo é descartado. Apenas
+ * reconhecimentos concluídos, isto é, aceitos ou rejeitados, e exatos são
+ * armazenados. O cache guarda e devolve cópias dos resultados, de modo que
+ * alterações feitas por quem obteve um resultado não afetem o cache nem as
+ * demais consultas. O cache é compartilhado por todas as threads que
+ * utilizam o autômato adaptativo, e seus métodos são sincronizados.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class ResultCache {
+
+    // capacidade do cache, mapa de resultados em ordem de acesso e
+    // contadores de acertos e falhas
+    private final int capacity;
+    private final Map<List<Symbol>, RecognitionResult> results;
+    private long hits;
+    private long misses;
+
+    /**
+     * Construtor.
+     * @param capacity Quantidade máxima de resultados armazenados.
+     */
+    public ResultCache(final int capacity) {
+        Validate.isTrue(capacity > 0, "A capacidade do cache deve ser positiva.");
+        this.capacity = capacity;
+        this.results = new LinkedHashMap<List<Symbol>, RecognitionResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Symbol>, RecognitionResult> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    /**
+     * Obtém uma cópia do resultado armazenado para a cadeia de entrada
+     * informada, contabilizando o acerto ou a falha.
+     * @param input Lista de símbolos representando a cadeia de entrada.
+     * @return Cópia do resultado armazenado, ou nulo caso não exista.
+     */
+    public synchronized RecognitionResult get(List<Symbol> input) {
+        RecognitionResult result = results.get(input);
+        if (result == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return result.copy();
+    }
+
+    /**
+     * Armazena uma cópia do resultado do reconhecimento da cadeia de entrada
+     * informada, caso o reconhecimento tenha sido concluído e o resultado
+     * não seja aproximado, isto é, nenhuma thread tenha sido descartada pelo
+     * escalonador. A lista de símbolos também é copiada.
+     * @param input Lista de símbolos representando a cadeia de entrada.
+     * @param result Resultado do reconhecimento.
+     */
+    public synchronized void put(List<Symbol> input, RecognitionResult result) {
+        Statistics statistics = result.getStatistics();
+        Outcome outcome = statistics.getOutcome();
+        if ((outcome == Outcome.ACCEPTED || outcome == Outcome.REJECTED) &&
+                !statistics.isApproximate()) {
+            results.put(new ArrayList<>(input), result.copy());
+        }
+    }
+
+    /**
+     * Descarta todos os resultados armazenados, mantendo os contadores.
+     */
+    public synchronized void clear() {
+        results.clear();
+    }
+
+    /**
+     * Obtém a quantidade de resultados armazenados.
+     * @return Quantidade de resultados armazenados.
+     */
+    public synchronized int size() {
+        return results.size();
+    }
+
+    /**
+     * Obtém a capacidade do cache.
+     * @return Quantidade máxima de resultados armazenados.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Obtém a quantidade de consultas atendidas pelo cache.
+     * @return Quantidade de acertos.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Obtém a quantidade de consultas não atendidas pelo cache.
+     * @return Quantidade de falhas.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Retorna uma representação textual do cache.
+     * @return Representação textual do cache.
+     */
+    @Override
+    public synchronized String toString() {
+        String div = " :: ";
+        StringBuilder sb = new StringBuilder();
+        sb.append("Cache de resultados: { ");
+        sb.append("Capacidade: ").append(capacity);
+        sb.append(div).append("Resultados: ").append(results.size());
+        sb.append(div).append("Acertos: ").append(hits);
+        sb.append(div).append("Falhas: ").append(misses);
+        sb.append(" }");
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,211 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
+import java.util.Map;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Política de retenção dos caminhos de reconhecimento encerrados. Por
+ * padrão, todos os caminhos encerrados, aceitos ou rejeitados, são mantidos
+ * até o término do reconhecimento; as demais políticas liberam os caminhos
+ * descartados assim que são encerrados, o que reduz o consumo de memória em
+ * reconhecimentos altamente não-determinísticos. O resultado do
+ * reconhecimento não depende da política.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class RetentionPolicy {
+
+    /**
+     * Modos de retenção.
+     */
+    public enum Mode {
+
+        /**
+         * Todos os caminhos encerrados.
+         */
+        ALL,
+
+        /**
+         * Apenas os caminhos aceitos.
+         */
+        ACCEPTING,
+
+        /**
+         * Os primeiros caminhos encerrados, até a quantidade máxima.
+         */
+        FIRST,
+
+        /**
+         * Os caminhos aceitos e a rejeição mais avançada.
+         */
+        FURTHEST
+    }
+
+    // modo de retenção e quantidade máxima de caminhos retidos no modo dos
+    // primeiros caminhos
+    private final Mode mode;
+    private final int limit;
+
+    /**
+     * Construtor.
+     * @param mode Modo de retenção.
+     * @param limit Quantidade máxima de caminhos retidos.
+     */
+    private RetentionPolicy(Mode mode, int limit) {
+        this.mode = mode;
+        this.limit = limit;
+    }
+
+    /**
+     * Cria a política que mantém todos os caminhos encerrados.
+     * @return Política de retenção.
+     */
+    public static RetentionPolicy all() {
+        return new RetentionPolicy(Mode.ALL, 0);
+    }
+
+    /**
+     * Cria a política que mantém apenas os caminhos aceitos.
+     * @return Política de retenção.
+     */
+    public static RetentionPolicy accepting() {
+        return new RetentionPolicy(Mode.ACCEPTING, 0);
+    }
+
+    /**
+     * Cria a política que mantém apenas os primeiros caminhos encerrados,
+     * aceitos ou rejeitados, até a quantidade informada.
+     * @param limit Quantidade máxima de caminhos retidos.
+     * @return Política de retenção.
+     */
+    public static RetentionPolicy first(int limit) {
+        Validate.isTrue(limit > 0, "A quantidade de caminhos deve ser positiva.");
+        return new RetentionPolicy(Mode.FIRST, limit);
+    }
+
+    /**
+     * Cria a política que mantém os caminhos aceitos e, para diagnóstico,
+     * apenas a rejeição que avançou mais na cadeia de entrada; em caso de
+     * empate, a primeira rejeição é mantida.
+     * @return Política de retenção.
+     */
+    public static RetentionPolicy furthest() {
+        return new RetentionPolicy(Mode.FURTHEST, 0);
+    }
+
+    /**
+     * Obtém o modo de retenção.
+     * @return Modo de retenção.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Obtém a quantidade máxima de caminhos retidos no modo dos primeiros
+     * caminhos.
+     * @return Quantidade máxima de caminhos retidos, ou zero nos demais
+     * modos.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Inicia a aplicação da política a um novo reconhecimento. A política em
+     * si não guarda estado, de modo que pode ser compartilhada entre
+     * autômatos e reconhecimentos concorrentes; o estado de cada
+     * reconhecimento fica no objeto retornado.
+     * @return Aplicação da política ao reconhecimento.
+     */
+    Run start() {
+        return new Run();
+    }
+
+    /**
+     * Aplicação da política a um único reconhecimento, com a quantidade de
+     * caminhos retidos e a rejeição mais avançada retida até o momento.
+     */
+    final class Run {
+
+        // quantidade de caminhos retidos e chave da rejeição mais avançada
+        // retida
+        private int retained;
+        private Integer rejection;
+
+        /**
+         * Construtor.
+         */
+        private Run() {
+            this.retained = 0;
+            this.rejection = null;
+        }
+
+        /**
+         * Aplica a política a um caminho recém-encerrado, que pode ser
+         * removido do mapa de caminhos, assim como um caminho anteriormente
+         * retido.
+         * @param key Chave do caminho encerrado no mapa.
+         * @param paths Mapa de caminhos de reconhecimento.
+         */
+        void apply(int key, Map<Integer, RecognitionPath> paths) {
+            RecognitionPath path = paths.get(key);
+            switch (mode) {
+                case ALL:
+                    break;
+                case ACCEPTING:
+                    if (!path.getResult()) {
+                        paths.remove(key);
+                    }
+                    break;
+                case FIRST:
+                    if (retained < limit) {
+                        retained++;
+                    }
+                    else {
+                        paths.remove(key);
+                    }
+                    break;
+                case FURTHEST:
+                    if (!path.getResult()) {
+                        if (rejection == null || path.getCursor() >
+                                paths.get(rejection).getCursor()) {
+                            if (rejection != null) {
+                                paths.remove(rejection);
+                            }
+                            rejection = key;
+                        }
+                        else {
+                            paths.remove(key);
+                        }
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException(
+                            "Modo de retenção desconhecido: " + mode + ".");
+            }
+        }
+    }
+
+}
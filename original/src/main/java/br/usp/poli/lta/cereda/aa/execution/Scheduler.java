@@ -0,0 +1,63 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+/**
+ * Define a política de escalonamento das threads pendentes do autômato
+ * adaptativo, isto é, a ordem em que as configurações da fronteira de
+ * reconhecimento são exploradas. Cada thread retirada do escalonador executa
+ * até encerrar-se ou bifurcar-se; as threads criadas por ela são então
+ * entregues ao escalonador, na ordem de criação.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public interface Scheduler {
+
+    /**
+     * Adiciona uma thread pendente ao escalonador.
+     * @param kernel Thread pendente.
+     */
+    void offer(Kernel kernel);
+
+    /**
+     * Remove e retorna a próxima thread a ser executada.
+     * @return Próxima thread a ser executada.
+     */
+    Kernel poll();
+
+    /**
+     * Verifica se não há threads pendentes.
+     * @return Valor lógico informando se não há threads pendentes.
+     */
+    boolean isEmpty();
+
+    /**
+     * Obtém a quantidade de threads pendentes.
+     * @return Quantidade de threads pendentes.
+     */
+    int size();
+
+    /**
+     * Remove todas as threads pendentes.
+     */
+    void clear();
+
+}
@@ -0,0 +1,281 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import br.usp.poli.lta.cereda.aa.utils.Copyable;
+
+/**
+ * Estatísticas de um reconhecimento e verificação dos limites de recursos
+ * correspondentes. O objeto é compartilhado por todas as threads de um mesmo
+ * reconhecimento; cada passo computacional é contabilizado e confrontado com
+ * os limites de passos, de profundidade da pilha e de tempo, enquanto o
+ * limite de threads simultâneas é verificado pelo laço de reconhecimento.
+ * Limites nulos não são verificados. Quando um limite é esgotado, o desfecho
+ * correspondente é registrado e as estatísticas parciais permanecem
+ * disponíveis.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class Statistics implements Copyable<Statistics> {
+
+    // limites de passos, de threads simultâneas, de profundidade da pilha e
+    // de tempo, em milissegundos, e o instante de início do reconhecimento
+    private final long maximumSteps;
+    private final int maximumThreads;
+    private final int maximumStackDepth;
+    private final long timeLimit;
+    private final long start;
+
+    // passos contabilizados, threads descartadas, maiores quantidades de threads simultâneas e de
+    // elementos na pilha observadas, instante de término e desfecho
+    private long steps;
+    private long pruned;
+    private int peakThreads;
+    private int peakStackDepth;
+    private long end;
+    private Outcome outcome;
+
+    /**
+     * Construtor. O reconhecimento é considerado iniciado no momento da
+     * criação do objeto.
+     * @param maximumSteps Quantidade máxima de passos computacionais.
+     * @param maximumThreads Quantidade máxima de threads simultâneas.
+     * @param maximumStackDepth Profundidade máxima da pilha.
+     * @param timeLimit Tempo máximo de reconhecimento, em milissegundos.
+     */
+    public Statistics(long maximumSteps, int maximumThreads,
+            int maximumStackDepth, long timeLimit) {
+        this.maximumSteps = maximumSteps;
+        this.maximumThreads = maximumThreads;
+        this.maximumStackDepth = maximumStackDepth;
+        this.timeLimit = timeLimit;
+        this.start = System.nanoTime();
+        this.steps = 0;
+        this.pruned = 0;
+        this.peakThreads = 0;
+        this.peakStackDepth = 0;
+        this.end = -1;
+        this.outcome = null;
+    }
+
+    /**
+     * Construtor de cópia. Copia os limites, os contadores e o desfecho das
+     * estatísticas informadas.
+     * @param statistics Estatísticas a serem copiadas.
+     */
+    private Statistics(Statistics statistics) {
+        this.maximumSteps = statistics.maximumSteps;
+        this.maximumThreads = statistics.maximumThreads;
+        this.maximumStackDepth = statistics.maximumStackDepth;
+        this.timeLimit = statistics.timeLimit;
+        this.start = statistics.start;
+        this.steps = statistics.steps;
+        this.pruned = statistics.pruned;
+        this.peakThreads = statistics.peakThreads;
+        this.peakStackDepth = statistics.peakStackDepth;
+        this.end = statistics.end;
+        this.outcome = statistics.outcome;
+    }
+
+    /**
+     * Cria uma cópia das estatísticas correntes.
+     * @return Cópia das estatísticas correntes.
+     */
+    @Override
+    public Statistics copy() {
+        return new Statistics(this);
+    }
+
+    /**
+     * Contabiliza um passo computacional e verifica os limites de passos, de
+     * profundidade da pilha e de tempo.
+     * @param depth Quantidade de elementos na pilha da thread corrente.
+     * @return Valor lógico indicando se o passo pode ser executado; caso
+     * contrário, algum limite foi esgotado.
+     */
+    public boolean step(int depth) {
+        if (outcome != null) {
+            return false;
+        }
+        steps++;
+        peakStackDepth = Math.max(peakStackDepth, depth);
+        if (maximumSteps > 0 && steps > maximumSteps) {
+            return interrupt(Outcome.STEP_LIMIT_EXCEEDED);
+        }
+        if (maximumStackDepth > 0 && depth > maximumStackDepth) {
+            return interrupt(Outcome.STACK_LIMIT_EXCEEDED);
+        }
+        if (timeLimit > 0 && getElapsedTime() > timeLimit) {
+            return interrupt(Outcome.TIME_LIMIT_EXCEEDED);
+        }
+        return true;
+    }
+
+    /**
+     * Registra a quantidade de threads ativas e verifica o limite de threads
+     * simultâneas.
+     * @param count Quantidade de threads ativas.
+     * @return Valor lógico indicando se o reconhecimento pode prosseguir;
+     * caso contrário, algum limite foi esgotado.
+     */
+    public boolean threads(int count) {
+        if (outcome != null) {
+            return false;
+        }
+        peakThreads = Math.max(peakThreads, count);
+        if (maximumThreads > 0 && count > maximumThreads) {
+            return interrupt(Outcome.THREAD_LIMIT_EXCEEDED);
+        }
+        return true;
+    }
+
+    /**
+     * Registra o descarte de uma thread pendente sem sua execução, o que
+     * torna o resultado do reconhecimento aproximado.
+     */
+    public void prune() {
+        pruned++;
+    }
+
+    /**
+     * Registra o cancelamento do reconhecimento, caso ainda esteja em
+     * andamento. O cancelamento é tratado como o esgotamento de um limite.
+     */
+    public void cancel() {
+        if (outcome == null) {
+            interrupt(Outcome.CANCELLED);
+        }
+    }
+
+    /**
+     * Registra o término do reconhecimento com o resultado informado, caso
+     * nenhum limite tenha sido esgotado. Uma cadeia aceita antes do
+     * esgotamento de um limite é considerada aceita.
+     * @param result Resultado do reconhecimento.
+     */
+    public void finish(boolean result) {
+        if (result || outcome == null) {
+            outcome = (result ? Outcome.ACCEPTED : Outcome.REJECTED);
+        }
+        end = System.nanoTime();
+    }
+
+    /**
+     * Verifica se algum limite foi esgotado ou se o reconhecimento foi
+     * cancelado.
+     * @return Valor lógico indicando se o reconhecimento foi interrompido.
+     */
+    public boolean isExceeded() {
+        return outcome != null && outcome != Outcome.ACCEPTED &&
+                outcome != Outcome.REJECTED;
+    }
+
+    /**
+     * Obtém o desfecho do reconhecimento.
+     * @return Desfecho do reconhecimento, ou nulo caso o reconhecimento ainda
+     * esteja em andamento.
+     */
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Obtém a quantidade de passos computacionais executados.
+     * @return Quantidade de passos computacionais.
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * Obtém a quantidade de threads pendentes descartadas sem execução.
+     * @return Quantidade de threads descartadas.
+     */
+    public long getPruned() {
+        return pruned;
+    }
+
+    /**
+     * Verifica se o resultado do reconhecimento é aproximado, isto é, se
+     * alguma thread pendente foi descartada sem execução. Uma aceitação
+     * continua válida, mas uma rejeição pode não ser definitiva.
+     * @return Valor lógico informando se o resultado é aproximado.
+     */
+    public boolean isApproximate() {
+        return pruned > 0;
+    }
+
+    /**
+     * Obtém a maior quantidade de threads simultâneas observada.
+     * @return Maior quantidade de threads simultâneas.
+     */
+    public int getPeakThreads() {
+        return peakThreads;
+    }
+
+    /**
+     * Obtém a maior quantidade de elementos na pilha observada.
+     * @return Maior profundidade da pilha.
+     */
+    public int getPeakStackDepth() {
+        return peakStackDepth;
+    }
+
+    /**
+     * Obtém o tempo decorrido desde o início do reconhecimento até o seu
+     * término ou, caso ainda esteja em andamento, até o momento corrente.
+     * @return Tempo decorrido, em milissegundos.
+     */
+    public long getElapsedTime() {
+        return ((end < 0 ? System.nanoTime() : end) - start) / 1000000;
+    }
+
+    /**
+     * Registra o esgotamento de um limite.
+     * @param exceeded Desfecho correspondente ao limite esgotado.
+     * @return Valor lógico falso, indicando que o reconhecimento deve ser
+     * interrompido.
+     */
+    private boolean interrupt(Outcome exceeded) {
+        outcome = exceeded;
+        return false;
+    }
+
+    /**
+     * Retorna uma representação textual das estatísticas.
+     * @return Representação textual das estatísticas.
+     */
+    @Override
+    public String toString() {
+        String div = " :: ";
+        StringBuilder sb = new StringBuilder();
+        sb.append("Estatísticas: { ");
+        sb.append("Desfecho: ").append(outcome != null ? outcome : "em andamento");
+        sb.append(div).append("Passos: ").append(steps);
+        sb.append(div).append("Threads descartadas: ").append(pruned);
+        sb.append(div).append("Threads simultâneas: ").append(peakThreads);
+        sb.append(div).append("Profundidade da pilha: ").append(peakStackDepth);
+        sb.append(div).append("Tempo decorrido: ").append(getElapsedTime()).append(" ms");
+        sb.append(" }");
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,223 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model;
+
+import br.usp.poli.lta.cereda.aa.utils.Immutable;
+
+/**
+ * Representação imutável de uma transição. Uma transição imutável é criada a
+ * partir de uma transição comum, mantendo o seu identificador unívoco, e pode
+ * ser compartilhada por referência entre o conjunto de transições e as
+ * threads de execução, sem cópias a cada passo computacional. A alteração de
+ * uma transição imutável consiste na sua substituição por outra transição com
+ * o mesmo identificador; os métodos de alteração lançam uma exceção.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ImmutableTransition extends Transition implements Immutable {
+
+    // mensagem de erro para tentativas de alteração
+    private static final String MESSAGE = "A transição %d é imutável.";
+
+    /**
+     * Construtor. Copia os atributos da transição informada, incluindo o
+     * identificador unívoco.
+     * @param transition Transição a ser copiada.
+     */
+    public ImmutableTransition(Transition transition) {
+        super(transition);
+    }
+
+    /**
+     * Obtém uma representação imutável da transição informada. Caso a
+     * transição já seja imutável, a própria transição é retornada.
+     * @param transition Transição.
+     * @return Representação imutável da transição.
+     */
+    public static Transition of(Transition transition) {
+        if (transition == null || transition instanceof Immutable) {
+            return transition;
+        }
+        return new ImmutableTransition(transition);
+    }
+
+    /**
+     * Retorna a própria transição, uma vez que ela é imutável.
+     * @return A transição corrente.
+     */
+    @Override
+    public Transition copy() {
+        return this;
+    }
+
+    /**
+     * Obtém uma cópia do vetor de parâmetros da ação anterior.
+     * @return Cópia do vetor de parâmetros da ação anterior.
+     */
+    @Override
+    public Object[] getPriorActionArguments() {
+        Object[] result = super.getPriorActionArguments();
+        return (result == null ? null : result.clone());
+    }
+
+    /**
+     * Obtém uma cópia do vetor de parâmetros da ação posterior.
+     * @return Cópia do vetor de parâmetros da ação posterior.
+     */
+    @Override
+    public Object[] getPostActionArguments() {
+        Object[] result = super.getPostActionArguments();
+        return (result == null ? null : result.clone());
+    }
+
+    /**
+     * Lança uma exceção, uma vez que a transição é imutável.
+     * @param identifier Identificador.
+     */
+    @Override
+    public void setIdentifier(int identifier) {
+        fail();
+    }
+
+    /**
+     * Lança uma exceção, uma vez que a transição é imutável.
+     * @param sourceState Estado de origem.
+     */
+    @Override
+    public void setSourceState(State sourceState) {
+        fail();
+    }
+
+    /**
+     * Lança uma exceção, uma vez que a transição é imutável.
+     * @param symbol Símbolo.
+     */
+    @Override
+    public void setSymbol(Symbol symbol) {
+        fail();
+    }
+
+    /**
+     * Lança uma exceção, uma vez que a transição é imutável.
+     * @param targetState Estado de destino.
+     */
+    @Override
+    public void setTargetState(State targetState) {
+        fail();
+    }
+
+    /**
+     * Lança uma exceção, uma vez que a transição é imutável.
+     * @param submachineCall Nome da submáquina.
+     */
+    @Override
+    public void setSubmachineCall(String submachineCall) {
+        fail();
+    }
+
+    /**
+     * Lança uma exceção, uma vez que a transição é imutável.
+     * @param priorActionCall Nome da ação anterior.
+     */
+    @Override
+    public void setPriorActionCall(String priorActionCall) {
+        fail();
+    }
+
+    /**
+     * Lança uma exceção, uma vez que a transição é imutável.
+     * @param priorActionArguments Parâmetros da ação anterior.
+     */
+    @Override
+    public void setPriorActionArguments(Object[] priorActionArguments) {
+        fail();
+    }
+
+    /**
+     * Lança uma exceção, uma vez que a transição é imutável.
+     * @param postActionCall Nome da ação posterior.
+     */
+    @Override
+    public void setPostActionCall(String postActionCall) {
+        fail();
+    }
+
+    /**
+     * Lança uma exceção, uma vez que a transição é imutável.
+     * @param postActionArguments Parâmetros da ação posterior.
+     */
+    @Override
+    public void setPostActionArguments(Object[] postActionArguments) {
+        fail();
+    }
+
+    /**
+     * Lança uma exceção, uma vez que a transição é imutável.
+     * @param sourceState Estado de origem.
+     * @param symbol Símbolo.
+     * @param targetState Estado de destino.
+     */
+    @Override
+    public void setTransition(State sourceState, Symbol symbol,
+            State targetState) {
+        fail();
+    }
+
+    /**
+     * Lança uma exceção, uma vez que a transição é imutável.
+     * @param sourceState Estado de origem.
+     * @param submachineCall Nome da submáquina.
+     * @param targetState Estado de retorno.
+     */
+    @Override
+    public void setSubmachineCall(State sourceState, String submachineCall,
+            State targetState) {
+        fail();
+    }
+
+    /**
+     * Lança uma exceção, uma vez que a transição é imutável.
+     * @param submachineReturn Valor lógico.
+     */
+    @Override
+    public void setSubmachineReturn(boolean submachineReturn) {
+        fail();
+    }
+
+    /**
+     * Lança uma exceção, uma vez que a transição é imutável.
+     * @param priority Prioridade.
+     */
+    @Override
+    public void setPriority(int priority) {
+        fail();
+    }
+
+    /**
+     * Lança a exceção de alteração de uma transição imutável.
+     */
+    private void fail() {
+        throw new UnsupportedOperationException(
+                String.format(MESSAGE, getIdentifier())
+        );
+    }
+
+}
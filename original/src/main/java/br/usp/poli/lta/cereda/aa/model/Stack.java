@@ -19,8 +19,12 @@
 **/
 package br.usp.poli.lta.cereda.aa.model;
 
+import br.usp.poli.lta.cereda.aa.utils.CopyUtils;
+import br.usp.poli.lta.cereda.aa.utils.Copyable;
 import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.Iterator;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -31,7 +35,7 @@ import org.apache.commons.lang3.StringUtils;
  * @version 1.0
  * @since 1.0
  */
-public class Stack {
+public class Stack implements Copyable<Stack>, Iterable<State> {
 
     // atributo da classe, que é a pilha
     private final Deque<State> stack;
@@ -43,6 +47,19 @@ public class Stack {
         stack = new ArrayDeque<>();
     }
 
+    /**
+     * Cria uma cópia da pilha corrente, copiando também seus elementos.
+     * @return Cópia da pilha.
+     */
+    @Override
+    public Stack copy() {
+        Stack result = new Stack();
+        for (State entry : stack) {
+            result.stack.addLast(CopyUtils.copy(entry));
+        }
+        return result;
+    }
+
     /**
      * Adiciona o estado informado no topo da pilha.
      * @param entry Estado a ser adicionado no topo da pilha.
@@ -77,6 +94,24 @@ public class Stack {
         return stack.isEmpty();
     }
 
+    /**
+     * Obtém a quantidade de elementos da pilha.
+     * @return Valor inteiro representando a quantidade de elementos da pilha.
+     */
+    public int size() {
+        return stack.size();
+    }
+
+    /**
+     * Obtém um iterador sobre os elementos da pilha, do topo para a base. O
+     * iterador não permite a remoção de elementos.
+     * @return Iterador sobre os elementos da pilha.
+     */
+    @Override
+    public Iterator<State> iterator() {
+        return Collections.unmodifiableCollection(stack).iterator();
+    }
+
     /**
      * Limpa a pilha, removendo todos os elementos existentes.
      */
@@ -21,7 +21,10 @@ package br.usp.poli.lta.cereda.aa.model;
 
 /**
  * Class abstrata para representação de um estado pertencente ao conjunto de
- * estados na definição formal do autômato adaptativo.
+ * estados na definição formal do autômato adaptativo. Implementações podem
+ * declarar-se imutáveis, através da interface Immutable, ou fornecer
+ * suas próprias cópias, através da interface Copyable; nos demais
+ * casos, as cópias são feitas por clonagem profunda.
  * @author Paulo Roberto Massa Cereda
  * @version 1.0
  * @since 1.0
@@ -19,7 +19,10 @@
 **/
 package br.usp.poli.lta.cereda.aa.model;
 
+import br.usp.poli.lta.cereda.aa.utils.CopyUtils;
+import br.usp.poli.lta.cereda.aa.utils.Copyable;
 import br.usp.poli.lta.cereda.aa.utils.IdentifierUtils;
+import java.util.HashSet;
 import java.util.Set;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
@@ -31,7 +34,7 @@ import org.apache.commons.lang3.Validate;
  * @version 1.0
  * @since 1.0
  */
-public class Submachine {
+public class Submachine implements Copyable<Submachine> {
     
     // atributos da classe, incluindo um identificador unívoco que representa
     // a submáquina corrente, um nome no qual a submáquina é referenciada
@@ -67,6 +70,44 @@ public class Submachine {
                         .concat(String.valueOf(name).concat("'."))
         );
     }
+
+    /**
+     * Construtor de cópia. Mantém o identificador unívoco da submáquina
+     * informada e copia os seus estados.
+     * @param submachine Submáquina a ser copiada.
+     */
+    private Submachine(Submachine submachine) {
+        this.identifier = submachine.identifier;
+        this.name = submachine.name;
+        this.initialState = CopyUtils.copy(submachine.initialState);
+        this.acceptingStates = copy(submachine.acceptingStates);
+        this.states = copy(submachine.states);
+    }
+
+    /**
+     * Cria uma cópia da submáquina corrente, com o mesmo identificador.
+     * @return Cópia da submáquina corrente.
+     */
+    @Override
+    public Submachine copy() {
+        return new Submachine(this);
+    }
+
+    /**
+     * Copia o conjunto de estados informado, copiando também seus elementos.
+     * @param set Conjunto de estados.
+     * @return Cópia do conjunto de estados, ou nulo caso o conjunto seja nulo.
+     */
+    private static Set<State> copy(Set<State> set) {
+        if (set == null) {
+            return null;
+        }
+        Set<State> result = new HashSet<>();
+        for (State state : set) {
+            result.add(CopyUtils.copy(state));
+        }
+        return result;
+    }
     
     /**
      * Obtém o identificador unívoco da submáquina.
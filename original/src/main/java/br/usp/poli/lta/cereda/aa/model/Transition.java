@@ -19,6 +19,8 @@
 **/
 package br.usp.poli.lta.cereda.aa.model;
 
+import br.usp.poli.lta.cereda.aa.utils.CopyUtils;
+import br.usp.poli.lta.cereda.aa.utils.Copyable;
 import br.usp.poli.lta.cereda.aa.utils.IdentifierUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -32,13 +34,13 @@ import org.apache.commons.lang3.StringUtils;
  * @version 1.0
  * @since 1.0
  */
-public class Transition {
+public class Transition implements Copyable<Transition> {
 
     // variáveis que definem a classe de transição, contendo os estados de
     // origem e destino, o símbolo a ser consumido, a submáquina a ser chamada,
     // um valor lógico representando uma operação de retorno de submáquina,
-    // as ações que podem ser associadas, seus respectivos parâmetros, e um
-    // identificador unívoco.
+    // as ações que podem ser associadas, seus respectivos parâmetros, a
+    // prioridade da transição na escolha ordenada e um identificador unívoco.
     private int identifier;
     private State sourceState;
     private Symbol symbol;
@@ -49,6 +51,7 @@ public class Transition {
     private String postActionCall;
     private Object[] postActionArguments;
     private boolean submachineReturn;
+    private int priority;
 
     /**
      * Construtor. Obtém o identificador unívoco da transição corrente e
@@ -65,6 +68,52 @@ public class Transition {
         postActionCall = null;
         postActionArguments = null;
         submachineReturn = false;
+        priority = 0;
+    }
+
+    /**
+     * Construtor de cópia. Mantém o identificador unívoco da transição
+     * informada e copia os demais atributos.
+     * @param transition Transição a ser copiada.
+     */
+    protected Transition(Transition transition) {
+        identifier = transition.identifier;
+        sourceState = CopyUtils.copy(transition.sourceState);
+        symbol = CopyUtils.copy(transition.symbol);
+        targetState = CopyUtils.copy(transition.targetState);
+        submachineCall = transition.submachineCall;
+        priorActionCall = transition.priorActionCall;
+        priorActionArguments = copy(transition.priorActionArguments);
+        postActionCall = transition.postActionCall;
+        postActionArguments = copy(transition.postActionArguments);
+        submachineReturn = transition.submachineReturn;
+        priority = transition.priority;
+    }
+
+    /**
+     * Cria uma cópia da transição corrente, com o mesmo identificador.
+     * @return Cópia da transição corrente.
+     */
+    @Override
+    public Transition copy() {
+        return new Transition(this);
+    }
+
+    /**
+     * Copia o vetor de parâmetros de uma ação, copiando também cada um de
+     * seus elementos.
+     * @param arguments Vetor de parâmetros.
+     * @return Cópia do vetor, ou nulo caso o vetor seja nulo.
+     */
+    private static Object[] copy(Object[] arguments) {
+        if (arguments == null) {
+            return null;
+        }
+        Object[] result = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            result[i] = CopyUtils.copy(arguments[i]);
+        }
+        return result;
     }
 
     /**
@@ -314,6 +363,24 @@ public class Transition {
         this.submachineReturn = submachineReturn;
     }
 
+    /**
+     * Obtém a prioridade da transição corrente. No modo de escolha ordenada,
+     * as alternativas de maior prioridade são tentadas primeiro.
+     * @return Valor inteiro representando a prioridade da transição.
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Define a prioridade da transição corrente.
+     * @param priority Valor inteiro representando a prioridade da transição;
+     * o valor padrão é zero.
+     */
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
     /**
      * Fornece uma representação textual da transição corrente.
      * @return Representação textual da transição corrente.
@@ -368,6 +435,9 @@ public class Transition {
                         append(printArguments(postActionArguments, div));
             }
         }
+        if (priority != 0) {
+            sb.append(div).append("Prioridade: ").append(priority);
+        }
         sb.append(" }"); 
         return sb.toString();
     }
@@ -20,7 +20,11 @@
 package br.usp.poli.lta.cereda.aa.model.sets;
 
 import br.usp.poli.lta.cereda.aa.model.Action;
+import java.util.AbstractSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.Validate;
 
@@ -34,11 +38,104 @@ public class ActionsSet {
     // no modelo
     private Set<Action> actions;
 
+    // índice que resolve o nome de uma ação diretamente para a sua referência,
+    // evitando a varredura do conjunto a cada chamada de ação
+    private Map<String, Action> names;
+
+    // visão do conjunto de ações exposta aos usuários, que mantém o índice de
+    // nomes atualizado quando ações são adicionadas ou removidas através dela
+    private final Set<Action> view;
+
+    /**
+     * Visão do conjunto de ações que mantém o índice de nomes atualizado.
+     */
+    private final class View extends AbstractSet<Action> {
+
+        /**
+         * Obtém um iterador sobre as ações. A remoção através do iterador
+         * também remove a ação do índice de nomes.
+         * @return Iterador sobre as ações.
+         */
+        @Override
+        public Iterator<Action> iterator() {
+            final Iterator<Action> iterator = actions.iterator();
+            return new Iterator<Action>() {
+
+                // última ação obtida pelo iterador
+                private Action current;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Action next() {
+                    current = iterator.next();
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    unindex(current);
+                }
+            };
+        }
+
+        /**
+         * Obtém a cardinalidade do conjunto de ações.
+         * @return Cardinalidade do conjunto.
+         */
+        @Override
+        public int size() {
+            return actions.size();
+        }
+
+        /**
+         * Verifica se a ação informada pertence ao conjunto.
+         * @param object Ação a ser verificada.
+         * @return Valor lógico informando se a ação pertence ao conjunto.
+         */
+        @Override
+        public boolean contains(Object object) {
+            return actions.contains(object);
+        }
+
+        /**
+         * Adiciona a ação informada ao conjunto e ao índice de nomes.
+         * @param action Ação a ser adicionada.
+         * @return Valor lógico informando se o conjunto foi alterado.
+         */
+        @Override
+        public boolean add(Action action) {
+            boolean result = actions.add(action);
+            index(action);
+            return result;
+        }
+
+        /**
+         * Remove a ação informada do conjunto e do índice de nomes.
+         * @param object Ação a ser removida.
+         * @return Valor lógico informando se o conjunto foi alterado.
+         */
+        @Override
+        public boolean remove(Object object) {
+            boolean result = actions.remove(object);
+            if (result) {
+                unindex((Action) object);
+            }
+            return result;
+        }
+    }
+
     /**
      * Construtor. Cria um novo conjunto.
      */
     public ActionsSet() {
         actions = new HashSet<>();
+        names = new HashMap<>();
+        view = new View();
     }
 
     /**
@@ -47,14 +144,41 @@ public class ActionsSet {
      */
     public void add(Action action) {
         actions.add(action);
+        index(action);
     }
 
     /**
-     * Obtém o conjunto de ações.
+     * Adiciona a ação informada ao índice de nomes. Entradas já existentes
+     * são preservadas.
+     * @param action Ação a ser indexada.
+     */
+    private void index(Action action) {
+        if (!names.containsKey(action.getName())) {
+            names.put(action.getName(), action);
+        }
+    }
+
+    /**
+     * Remove a ação informada do índice de nomes. Uma ação de mesmo nome que
+     * ainda pertença ao conjunto é indexada novamente na próxima consulta.
+     * @param action Ação a ser removida do índice.
+     */
+    private void unindex(Action action) {
+        if (names.get(action.getName()) == action) {
+            names.remove(action.getName());
+        }
+        else {
+            names.values().remove(action);
+        }
+    }
+
+    /**
+     * Obtém o conjunto de ações. Alterações realizadas através do conjunto
+     * retornado são refletidas no índice de nomes.
      * @return Conjunto de ações.
      */
     public Set<Action> getActions() {
-        return actions;
+        return view;
     }
 
     /**
@@ -63,6 +187,10 @@ public class ActionsSet {
      */
     public void setActions(Set<Action> actions) {
         this.actions = actions;
+        names = new HashMap<>();
+        for (Action action : actions) {
+            index(action);
+        }
     }
 
     /**
@@ -79,14 +207,31 @@ public class ActionsSet {
      * @return A ação referente ao nome informado.
      */
     public Action fromName(String name) {
+        Action result = names.get(name);
+        if (result == null || !result.getName().equals(name)) {
+            result = find(name);
+            if (result == null) {
+                throw new IllegalArgumentException(String.format(
+                        "Não existe ação com nome '%s'.", name));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Procura, no conjunto de ações, a ação com o nome informado e atualiza o
+     * índice de nomes. Este método trata as ações cujo nome foi alterado após
+     * a inserção no conjunto.
+     * @param name Nome da ação a ser pesquisada.
+     * @return A ação referente ao nome informado, ou nulo caso não exista.
+     */
+    private Action find(String name) {
         for (Action action : actions) {
             if (action.getName().equals(name)) {
+                names.put(name, action);
                 return action;
             }
         }
-        Validate.isTrue(false, "Não existe ação com nome '"
-                .concat(String.valueOf(name)).concat("'.")
-        );
         return null;
     }
 
@@ -95,17 +240,13 @@ public class ActionsSet {
      * @param name Nome da ação a ser removida do conjunto.
      */
     public void removeByName(String name) {
-        Action result = null;
-        for (Action action : actions) {
-            if (action.getName().equals(name)) {
-                result = action;
-                break;
-            }
+        Action result = names.get(name);
+        if (result == null || !result.getName().equals(name)) {
+            result = find(name);
         }
-        Validate.notNull(result, "Não existe ação com nome '"
-                .concat(String.valueOf(name)).concat("'.")
-        );
+        Validate.notNull(result, "Não existe ação com nome '%s'.", name);
         actions.remove(result);
+        names.remove(name);
     }
     
     /**
@@ -0,0 +1,159 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Submachine;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calcula e armazena os estados co-alcançáveis de um conjunto de transições,
+ * isto é, os estados a partir dos quais algum estado final de sua submáquina
+ * pode ser alcançado. Uma chamada de submáquina só contribui para o cálculo
+ * quando o estado inicial da submáquina chamada também é co-alcançável, uma
+ * vez que, caso contrário, a chamada nunca retorna. Estados que alcançam
+ * transições com ações associadas são considerados co-alcançáveis, pois as
+ * ações podem alterar o conjunto de transições. Os estados são recalculados
+ * sempre que a versão do conjunto de transições é alterada.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class CoReachableSets {
+
+    // conjunto de transições e submáquinas de referência, versão na qual os
+    // estados foram calculados, estados co-alcançáveis e sinalizador de
+    // estabilidade do conjunto de transições
+    private final Mapping mapping;
+    private final SubmachinesSet submachines;
+    private long version;
+    private Set<State> states;
+    private boolean stable;
+
+    /**
+     * Construtor.
+     * @param mapping Conjunto de transições de referência.
+     * @param submachines Conjunto de submáquinas.
+     */
+    public CoReachableSets(Mapping mapping, SubmachinesSet submachines) {
+        this.mapping = mapping;
+        this.submachines = submachines;
+        this.version = -1;
+    }
+
+    /**
+     * Verifica se algum estado final da submáquina do estado informado pode
+     * ser alcançado a partir deste.
+     * @param state Estado.
+     * @return Valor lógico informando se o estado é co-alcançável.
+     */
+    public boolean isCoReachable(State state) {
+        update();
+        return states.contains(state);
+    }
+
+    /**
+     * Verifica se o conjunto de transições é estável, isto é, se nenhuma de
+     * suas transições possui ações associadas.
+     * @return Valor lógico informando se o conjunto de transições é estável.
+     */
+    public boolean isStable() {
+        update();
+        return stable;
+    }
+
+    /**
+     * Verifica se a transição informada certamente conduz a uma configuração
+     * que não pode ser aceita, isto é, se o estado alcançado não é
+     * co-alcançável ou, no caso de uma chamada de submáquina, se a submáquina
+     * chamada nunca retorna.
+     * @param transition Transição.
+     * @return Valor lógico informando se a transição conduz a uma
+     * configuração condenada.
+     */
+    public boolean isDoomed(Transition transition) {
+        if (transition.isSubmachineReturn() ||
+                transition.hasPriorActionCall() ||
+                transition.hasPostActionCall()) {
+            return false;
+        }
+        if (transition.isSubmachineCall()) {
+            Submachine submachine = submachines.getFromName(
+                    transition.getSubmachineCall());
+            if (submachine != null &&
+                    !isCoReachable(submachine.getInitialState())) {
+                return true;
+            }
+        }
+        return !isCoReachable(transition.getTargetState());
+    }
+
+    /**
+     * Recalcula os estados caso a versão do conjunto de transições tenha sido
+     * alterada.
+     */
+    private void update() {
+        if (version == mapping.getVersion()) {
+            return;
+        }
+        version = mapping.getVersion();
+        states = new HashSet<>();
+        stable = true;
+        
+        // os estados finais de todas as submáquinas e os estados de origem
+        // de transições com ações são co-alcançáveis por definição
+        Map<String, State> initials = new HashMap<>();
+        for (Submachine submachine : submachines.getSubmachines()) {
+            states.addAll(submachine.getAcceptingStates());
+            initials.put(submachine.getName(), submachine.getInitialState());
+        }
+        for (Transition t : mapping.getTransitions()) {
+            if (t.hasPriorActionCall() || t.hasPostActionCall()) {
+                states.add(t.getSourceState());
+                stable = false;
+            }
+        }
+        
+        // o conjunto só cresce, portanto o cálculo
+        // termina quando o conjunto não é alterado
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Transition t : mapping.getTransitions()) {
+                if (states.contains(t.getSourceState()) ||
+                        !states.contains(t.getTargetState())) {
+                    continue;
+                }
+                if (t.isSubmachineCall()) {
+                    State initial = initials.get(t.getSubmachineCall());
+                    if (initial != null && !states.contains(initial)) {
+                        continue;
+                    }
+                }
+                changed |= states.add(t.getSourceState());
+            }
+        }
+    }
+
+}
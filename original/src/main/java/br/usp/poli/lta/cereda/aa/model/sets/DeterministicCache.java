@@ -0,0 +1,196 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Symbol;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache de subconjuntos determinísticos construído sob demanda a partir de um
+ * conjunto de transições. Cada estado determinístico representa um conjunto de
+ * estados fechado em relação às transições em vazio puras, e os sucessores são
+ * calculados apenas quando um símbolo é efetivamente consumido. Entradas cujos
+ * estados tiveram transições alteradas são descartadas, de modo que o cache
+ * acompanha as modificações realizadas pelas ações adaptativas.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class DeterministicCache {
+
+    // quantidade máxima de estados determinísticos armazenados; ao exceder
+    // esse valor, o cache é esvaziado e reconstruído sob demanda
+    private static final int LIMIT = 4096;
+
+    // conjunto de transições de referência, versão na qual as entradas foram
+    // verificadas pela última vez e mapa de estados determinísticos
+    private final Mapping mapping;
+    private long version;
+    private final Map<Set<State>, DeterministicState> states;
+
+    /**
+     * Construtor.
+     * @param mapping Conjunto de transições de referência.
+     */
+    public DeterministicCache(Mapping mapping) {
+        this.mapping = mapping;
+        this.version = mapping.getVersion();
+        this.states = new HashMap<>();
+    }
+
+    /**
+     * Verifica se a transição informada pode ser simulada pelo cache, isto é,
+     * se é uma transição de consumo de símbolo ou em vazio sem ações
+     * associadas.
+     * @param transition Transição.
+     * @return Valor lógico informando se a transição está livre de ações.
+     */
+    public static boolean isActionFree(Transition transition) {
+        return !transition.isSubmachineCall() &&
+                !transition.isSubmachineReturn() &&
+                !transition.hasPriorActionCall() &&
+                !transition.hasPostActionCall();
+    }
+
+    /**
+     * Obtém o estado determinístico inicial a partir do estado informado, isto
+     * é, o fecho em vazio do estado.
+     * @param state Estado de origem.
+     * @return Estado determinístico correspondente ao fecho em vazio.
+     */
+    public DeterministicState getInitialState(State state) {
+        validate();
+        Set<State> result = new LinkedHashSet<>();
+        close(state, result);
+        return intern(result);
+    }
+
+    /**
+     * Obtém o estado determinístico sucessor do estado informado mediante o
+     * consumo do símbolo informado. O estado informado deve estar livre de
+     * ações.
+     * @param current Estado determinístico corrente.
+     * @param symbol Símbolo a ser consumido.
+     * @return Estado determinístico sucessor, possivelmente vazio.
+     */
+    public DeterministicState getSuccessor(DeterministicState current,
+            Symbol symbol) {
+        validate();
+        if (states.get(current.getStates()) != current) {
+            current = intern(new LinkedHashSet<>(current.getStates()));
+        }
+        DeterministicState result = current.getSuccessors().get(symbol);
+        if (result == null) {
+            Set<State> targets = new LinkedHashSet<>();
+            for (State state : current.getStates()) {
+                for (Transition t : mapping.
+                        withSourceStateAndSymbol(state, symbol)) {
+                    close(t.getTargetState(), targets);
+                }
+            }
+            result = intern(targets);
+            current.getSuccessors().put(symbol, result);
+        }
+        return result;
+    }
+
+    /**
+     * Adiciona o fecho em vazio do estado informado ao conjunto de estados.
+     * @param state Estado.
+     * @param result Conjunto de estados.
+     */
+    private void close(State state, Set<State> result) {
+        if (result.add(state)) {
+            for (Transition t : mapping.getEpsilonClosures().
+                    getShortcuts(state)) {
+                result.add(t.getTargetState());
+            }
+        }
+    }
+
+    /**
+     * Obtém o estado determinístico armazenado para o conjunto de estados
+     * informado, criando-o caso não exista.
+     * @param set Conjunto de estados.
+     * @return Estado determinístico.
+     */
+    private DeterministicState intern(Set<State> set) {
+        DeterministicState result = states.get(set);
+        if (result == null) {
+            if (states.size() >= LIMIT) {
+                states.clear();
+            }
+            boolean free = true;
+            for (State state : set) {
+                for (Transition t : mapping.withSourceState(state)) {
+                    if (!isActionFree(t)) {
+                        free = false;
+                        break;
+                    }
+                }
+                if (!free) {
+                    break;
+                }
+            }
+            result = new DeterministicState(set, free, mapping.getVersion());
+            states.put(result.getStates(), result);
+        }
+        return result;
+    }
+
+    /**
+     * Descarta os estados determinísticos que envolvem estados cujas
+     * transições foram alteradas desde a sua construção, bem como as
+     * referências a eles nos mapas de sucessores.
+     */
+    private void validate() {
+        if (version == mapping.getVersion()) {
+            return;
+        }
+        Iterator<DeterministicState> iterator = states.values().iterator();
+        while (iterator.hasNext()) {
+            DeterministicState current = iterator.next();
+            for (State state : current.getStates()) {
+                if (mapping.getVersion(state) > current.getVersion()) {
+                    iterator.remove();
+                    break;
+                }
+            }
+        }
+        for (DeterministicState current : states.values()) {
+            Iterator<DeterministicState> successors =
+                    current.getSuccessors().values().iterator();
+            while (successors.hasNext()) {
+                DeterministicState successor = successors.next();
+                if (states.get(successor.getStates()) != successor) {
+                    successors.remove();
+                }
+            }
+        }
+        version = mapping.getVersion();
+    }
+
+}
@@ -0,0 +1,114 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Symbol;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Representa um estado do autômato determinístico construído sob demanda pelo
+ * cache de subconjuntos, isto é, um conjunto de estados do autômato original
+ * fechado em relação às transições em vazio puras. Os sucessores já calculados
+ * são armazenados por símbolo.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class DeterministicState {
+
+    // conjunto de estados representado, valor lógico indicando se nenhum dos
+    // estados possui transições com ações ou chamadas de submáquina, versão
+    // do conjunto de transições no momento da construção e mapa de sucessores
+    private final Set<State> states;
+    private final boolean actionFree;
+    private final long version;
+    private final Map<Symbol, DeterministicState> successors;
+
+    /**
+     * Construtor.
+     * @param states Conjunto de estados.
+     * @param actionFree Valor lógico indicando se o conjunto de estados está
+     * livre de ações e chamadas de submáquina.
+     * @param version Versão do conjunto de transições no momento da
+     * construção.
+     */
+    DeterministicState(Set<State> states, boolean actionFree, long version) {
+        this.states = Collections.unmodifiableSet(states);
+        this.actionFree = actionFree;
+        this.version = version;
+        this.successors = new HashMap<>();
+    }
+
+    /**
+     * Obtém o conjunto de estados representado.
+     * @return Conjunto de estados.
+     */
+    public Set<State> getStates() {
+        return states;
+    }
+
+    /**
+     * Verifica se nenhum dos estados possui transições com ações ou chamadas
+     * de submáquina.
+     * @return Valor lógico indicando se o conjunto está livre de ações.
+     */
+    public boolean isActionFree() {
+        return actionFree;
+    }
+
+    /**
+     * Verifica se o conjunto de estados é vazio, isto é, se o estado
+     * determinístico corrente é um estado de erro.
+     * @return Valor lógico indicando se o conjunto de estados é vazio.
+     */
+    public boolean isEmpty() {
+        return states.isEmpty();
+    }
+
+    /**
+     * Obtém a versão do conjunto de transições no momento da construção.
+     * @return Versão do conjunto de transições.
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtém o mapa de sucessores já calculados.
+     * @return Mapa de sucessores.
+     */
+    Map<Symbol, DeterministicState> getSuccessors() {
+        return successors;
+    }
+
+    /**
+     * Fornece uma representação textual do estado determinístico.
+     * @return Representação textual do estado determinístico.
+     */
+    @Override
+    public String toString() {
+        return states.toString();
+    }
+
+}
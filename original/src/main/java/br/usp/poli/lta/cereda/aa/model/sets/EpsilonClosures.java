@@ -0,0 +1,160 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import br.usp.poli.lta.cereda.aa.model.ImmutableTransition;
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Calcula e armazena os fechos em vazio dos estados de um conjunto de
+ * transições. Apenas transições em vazio puras, isto é, sem ações anteriores
+ * ou posteriores, participam do fecho, uma vez que sua aplicação não altera o
+ * modelo. Para cada estado, o fecho é representado por transições em vazio
+ * sintetizadas (atalhos) que levam diretamente do estado a cada um dos estados
+ * alcançáveis; os atalhos são imutáveis e compartilhados entre as threads de
+ * execução. Os fechos são descartados sempre que a versão das transições em
+ * vazio do conjunto é alterada.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class EpsilonClosures {
+
+    // conjunto de transições de referência, versão das transições em vazio
+    // na qual os fechos foram calculados, mapa de atalhos por estado e
+    // identificadores de todos os atalhos já sintetizados
+    private final Mapping mapping;
+    private long version;
+    private final ForkableMap<State, List<Transition>> shortcuts;
+    private final Set<Integer> identifiers;
+
+    /**
+     * Construtor.
+     * @param mapping Conjunto de transições de referência.
+     */
+    public EpsilonClosures(Mapping mapping) {
+        this.mapping = mapping;
+        this.version = mapping.getEpsilonVersion();
+        this.shortcuts = new ForkableMap<>();
+        this.identifiers = new HashSet<>();
+    }
+
+    /**
+     * Construtor. Cria os fechos de um conjunto bifurcado a partir dos fechos
+     * do conjunto original, compartilhando em tempo constante os atalhos já
+     * calculados, com cópia sob escrita. Os
+     * identificadores dos atalhos são compartilhados, de modo que um atalho
+     * sintetizado antes da bifurcação continue reconhecido em ambos.
+     * @param mapping Conjunto de transições bifurcado.
+     * @param closures Fechos em vazio do conjunto original.
+     */
+    public EpsilonClosures(Mapping mapping, EpsilonClosures closures) {
+        this.mapping = mapping;
+        this.version = closures.version;
+        this.shortcuts = closures.shortcuts.fork();
+        this.identifiers = closures.identifiers;
+    }
+
+    /**
+     * Verifica se a transição informada é uma transição em vazio pura, isto é,
+     * sem ações associadas.
+     * @param transition Transição.
+     * @return Valor lógico informando se a transição é em vazio e pura.
+     */
+    public static boolean isPure(Transition transition) {
+        return transition.isEpsilonTransition() &&
+                !transition.isSubmachineReturn() &&
+                !transition.hasPriorActionCall() &&
+                !transition.hasPostActionCall();
+    }
+
+    /**
+     * Obtém os atalhos do fecho em vazio do estado informado, isto é, uma
+     * transição em vazio pura para cada estado alcançável a partir do estado
+     * informado através de transições em vazio puras, excetuando-se o próprio
+     * estado.
+     * @param state Estado de origem.
+     * @return Lista de atalhos do fecho em vazio.
+     */
+    public List<Transition> getShortcuts(State state) {
+        if (version != mapping.getEpsilonVersion()) {
+            shortcuts.clear();
+            version = mapping.getEpsilonVersion();
+        }
+        List<Transition> result = shortcuts.get(state);
+        if (result == null) {
+            result = new ArrayList<>();
+            for (State target : getClosure(state)) {
+                if (!target.equals(state)) {
+                    Transition transition = new Transition();
+                    transition.setTransition(state, null, target);
+                    identifiers.add(transition.getIdentifier());
+                    result.add(ImmutableTransition.of(transition));
+                }
+            }
+            result = Collections.unmodifiableList(result);
+            shortcuts.put(state, result);
+        }
+        return result;
+    }
+
+    /**
+     * Verifica se a transição informada é um atalho sintetizado por este
+     * objeto, independentemente da versão na qual foi criado.
+     * @param transition Transição.
+     * @return Valor lógico informando se a transição é um atalho.
+     */
+    public boolean isShortcut(Transition transition) {
+        return identifiers.contains(transition.getIdentifier());
+    }
+
+    /**
+     * Calcula o fecho em vazio do estado informado através de uma busca em
+     * largura sobre as transições em vazio puras.
+     * @param state Estado de origem.
+     * @return Conjunto de estados alcançáveis, incluindo o estado de origem.
+     */
+    private Set<State> getClosure(State state) {
+        Set<State> result = new LinkedHashSet<>();
+        Deque<State> pending = new ArrayDeque<>();
+        result.add(state);
+        pending.add(state);
+        while (!pending.isEmpty()) {
+            State current = pending.poll();
+            for (Transition t : mapping.withEpsilonFromSourceState(current)) {
+                if (isPure(t) && t.getTargetState() != null &&
+                        result.add(t.getTargetState())) {
+                    pending.add(t.getTargetState());
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,251 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Submachine;
+import br.usp.poli.lta.cereda.aa.model.Symbol;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calcula e armazena, para cada estado de um conjunto de transições, o
+ * conjunto de símbolos que podem ser consumidos a seguir (conjunto primeiro),
+ * se o estado alcança um estado final de sua submáquina sem consumir símbolos
+ * (anulável) e se o estado alcança alguma ação sem consumir símbolos. Os
+ * conjuntos são calculados por ponto fixo, atravessando transições em vazio e
+ * chamadas de submáquina, e recalculados sempre que a versão do conjunto de
+ * transições é alterada. Um estado que alcança ações não tem o seu futuro
+ * previsível, uma vez que as ações podem alterar o conjunto de transições.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class FirstSets {
+
+    // conjunto de transições e submáquinas de referência, versão na qual os
+    // conjuntos foram calculados, conjuntos primeiro, estados anuláveis e
+    // estados que alcançam ações sem consumir símbolos
+    private final Mapping mapping;
+    private final SubmachinesSet submachines;
+    private long version;
+    private Map<State, Set<Symbol>> first;
+    private Set<State> nullable;
+    private Set<State> actions;
+    private boolean stable;
+
+    /**
+     * Construtor.
+     * @param mapping Conjunto de transições de referência.
+     * @param submachines Conjunto de submáquinas.
+     */
+    public FirstSets(Mapping mapping, SubmachinesSet submachines) {
+        this.mapping = mapping;
+        this.submachines = submachines;
+        this.version = -1;
+    }
+
+    /**
+     * Obtém o conjunto primeiro do estado informado, isto é, os símbolos que
+     * podem ser consumidos a partir do estado sem sair de sua submáquina.
+     * @param state Estado.
+     * @return Conjunto primeiro do estado.
+     */
+    public Set<Symbol> getFirst(State state) {
+        update();
+        Set<Symbol> result = first.get(state);
+        return (result == null ? Collections.<Symbol>emptySet() :
+                Collections.unmodifiableSet(result));
+    }
+
+    /**
+     * Verifica se o estado informado alcança um estado final de sua
+     * submáquina sem consumir símbolos.
+     * @param state Estado.
+     * @return Valor lógico informando se o estado é anulável.
+     */
+    public boolean isNullable(State state) {
+        update();
+        return nullable.contains(state);
+    }
+
+    /**
+     * Verifica se o estado informado alcança alguma transição com ações
+     * associadas sem consumir símbolos.
+     * @param state Estado.
+     * @return Valor lógico informando se o estado alcança ações.
+     */
+    public boolean hasActions(State state) {
+        update();
+        return actions.contains(state);
+    }
+
+    /**
+     * Verifica se o conjunto de transições é estável, isto é, se nenhuma de
+     * suas transições possui ações associadas, de modo que o conjunto não
+     * pode ser alterado durante o reconhecimento.
+     * @return Valor lógico informando se o conjunto de transições é estável.
+     */
+    public boolean isStable() {
+        update();
+        return stable;
+    }
+
+    /**
+     * Verifica se a transição informada pode ser descartada antes de sua
+     * execução, isto é, se é uma transição em vazio ou uma chamada de
+     * submáquina, sem ações associadas, cujo prosseguimento certamente não
+     * consome o símbolo informado nem retorna da submáquina corrente.
+     * @param transition Transição.
+     * @param symbol Símbolo corrente da cadeia de entrada.
+     * @return Valor lógico informando se a transição pode ser descartada.
+     */
+    public boolean excludes(Transition transition, Symbol symbol) {
+        if (transition.hasPriorActionCall() || transition.hasPostActionCall()) {
+            return false;
+        }
+        if (transition.isSubmachineCall()) {
+            State initial = submachines.getFromName(
+                    transition.getSubmachineCall()).getInitialState();
+            if (hasActions(initial) || getFirst(initial).contains(symbol)) {
+                return false;
+            }
+            return !isNullable(initial) ||
+                    excludes(transition.getTargetState(), symbol);
+        }
+        if (transition.isEpsilonTransition() &&
+                !transition.isSubmachineReturn()) {
+            return excludes(transition.getTargetState(), symbol);
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se o prosseguimento a partir do estado informado certamente
+     * não consome o símbolo informado nem retorna da submáquina corrente.
+     * @param state Estado.
+     * @param symbol Símbolo.
+     * @return Valor lógico informando se o estado pode ser descartado.
+     */
+    private boolean excludes(State state, Symbol symbol) {
+        return !hasActions(state) && !isNullable(state) &&
+                !getFirst(state).contains(symbol);
+    }
+
+    /**
+     * Recalcula os conjuntos caso a versão do conjunto de transições tenha
+     * sido alterada.
+     */
+    private void update() {
+        if (version == mapping.getVersion()) {
+            return;
+        }
+        version = mapping.getVersion();
+        first = new HashMap<>();
+        nullable = new HashSet<>();
+        actions = new HashSet<>();
+        stable = true;
+        
+        // estados finais de todas as submáquinas e estados
+        // iniciais indexados pelo nome da submáquina
+        Set<State> accepting = new HashSet<>();
+        Map<String, State> initials = new HashMap<>();
+        for (Submachine submachine : submachines.getSubmachines()) {
+            accepting.addAll(submachine.getAcceptingStates());
+            initials.put(submachine.getName(), submachine.getInitialState());
+        }
+        nullable.addAll(accepting);
+        
+        // os conjuntos só crescem, portanto o cálculo
+        // termina quando nenhum conjunto é alterado
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Transition t : mapping.getTransitions()) {
+                State source = t.getSourceState();
+                State target = t.getTargetState();
+                if (t.hasPriorActionCall() || t.hasPostActionCall()) {
+                    changed |= actions.add(source);
+                    stable = false;
+                }
+                if (t.isSymbolConsumptionTransition()) {
+                    changed |= symbols(source).add(t.getSymbol());
+                }
+                else if (t.isSubmachineCall()) {
+                    State initial = initials.get(t.getSubmachineCall());
+                    if (initial == null) {
+                        changed |= actions.add(source);
+                        continue;
+                    }
+                    changed |= merge(source, initial, false);
+                    if (nullable.contains(initial)) {
+                        changed |= merge(source, target, true);
+                    }
+                }
+                else if (t.isEpsilonTransition()) {
+                    changed |= merge(source, target, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Propaga as informações do estado de destino para o estado de origem.
+     * @param source Estado de origem.
+     * @param target Estado de destino.
+     * @param empty Valor lógico indicando se a condição de anulável também
+     * deve ser propagada.
+     * @return Valor lógico indicando se alguma informação foi alterada.
+     */
+    private boolean merge(State source, State target, boolean empty) {
+        boolean changed = false;
+        Set<Symbol> symbols = first.get(target);
+        if (symbols != null && !symbols.isEmpty()) {
+            changed |= symbols(source).addAll(symbols);
+        }
+        if (actions.contains(target)) {
+            changed |= actions.add(source);
+        }
+        if (empty && nullable.contains(target)) {
+            changed |= nullable.add(source);
+        }
+        return changed;
+    }
+
+    /**
+     * Obtém o conjunto primeiro do estado informado, criando-o caso
+     * necessário.
+     * @param state Estado.
+     * @return Conjunto primeiro do estado.
+     */
+    private Set<Symbol> symbols(State state) {
+        Set<Symbol> result = first.get(state);
+        if (result == null) {
+            result = new HashSet<>();
+            first.put(state, result);
+        }
+        return result;
+    }
+
+}
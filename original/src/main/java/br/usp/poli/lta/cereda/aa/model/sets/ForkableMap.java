@@ -0,0 +1,219 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mapa com cópia sob escrita, dividido em blocos de acordo com o valor de
+ * espalhamento de cada chave, nos moldes do conjunto de transições com cópia
+ * sob escrita. A bifurcação de um mapa tem custo constante; uma alteração
+ * copia apenas o vetor de blocos e o bloco afetado, e somente na primeira
+ * alteração de cada cópia. Chaves e valores são compartilhados por
+ * referência.
+ * @param <K> Tipo das chaves.
+ * @param <V> Tipo dos valores.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class ForkableMap<K, V> {
+
+    // quantidade de blocos, necessariamente uma potência de dois
+    private static final int CHUNKS = 32;
+
+    // chave de propriedade da cópia corrente, vetor de blocos, chave de
+    // propriedade do vetor e cardinalidade do mapa; uma estrutura só é
+    // alterada diretamente quando sua chave coincide com a da cópia corrente
+    private Object owner;
+    private Chunk<K, V>[] chunks;
+    private Object chunksOwner;
+    private int size;
+
+    /**
+     * Bloco de entradas, associado à chave de propriedade da cópia que o
+     * criou.
+     * @param <K> Tipo das chaves.
+     * @param <V> Tipo dos valores.
+     */
+    private static final class Chunk<K, V> {
+
+        // chave de propriedade e entradas do bloco
+        private final Object owner;
+        private final Map<K, V> entries;
+
+        /**
+         * Construtor.
+         * @param owner Chave de propriedade.
+         * @param entries Entradas do bloco.
+         */
+        private Chunk(Object owner, Map<K, V> entries) {
+            this.owner = owner;
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * Construtor. Cria um mapa vazio.
+     */
+    public ForkableMap() {
+        owner = new Object();
+        chunks = empty();
+        chunksOwner = owner;
+        size = 0;
+    }
+
+    /**
+     * Construtor. Cria uma cópia que compartilha os blocos informados.
+     * @param chunks Vetor de blocos.
+     * @param size Cardinalidade do mapa.
+     */
+    private ForkableMap(Chunk<K, V>[] chunks, int size) {
+        this.owner = new Object();
+        this.chunks = chunks;
+        this.chunksOwner = null;
+        this.size = size;
+    }
+
+    /**
+     * Cria um vetor de blocos vazio.
+     * @return Vetor de blocos.
+     */
+    @SuppressWarnings("unchecked")
+    private Chunk<K, V>[] empty() {
+        return (Chunk<K, V>[]) new Chunk[CHUNKS];
+    }
+
+    /**
+     * Bifurca o mapa corrente em tempo constante. A partir deste ponto,
+     * alterações no mapa corrente e na cópia retornada são independentes.
+     * @return Cópia do mapa corrente.
+     */
+    public ForkableMap<K, V> fork() {
+        ForkableMap<K, V> result = new ForkableMap<>(chunks, size);
+
+        // a cópia corrente renova sua chave de propriedade, de modo que os
+        // blocos existentes passam a ser compartilhados
+        owner = new Object();
+        chunksOwner = null;
+        return result;
+    }
+
+    /**
+     * Obtém o índice do bloco da chave informada.
+     * @param key Chave, possivelmente nula.
+     * @return Índice do bloco.
+     */
+    private static int index(Object key) {
+        int hash = (key == null ? 0 : key.hashCode());
+        return (hash ^ (hash >>> 16)) & (CHUNKS - 1);
+    }
+
+    /**
+     * Obtém as entradas do bloco informado para escrita, copiando o vetor de
+     * blocos e o bloco caso estes sejam compartilhados.
+     * @param index Índice do bloco.
+     * @return Entradas do bloco, pertencentes à cópia corrente.
+     */
+    private Map<K, V> write(int index) {
+        if (chunksOwner != owner) {
+            chunks = chunks.clone();
+            chunksOwner = owner;
+        }
+        Chunk<K, V> chunk = chunks[index];
+        if (chunk == null) {
+            chunk = new Chunk<K, V>(owner, new HashMap<K, V>());
+            chunks[index] = chunk;
+        }
+        else if (chunk.owner != owner) {
+            chunk = new Chunk<K, V>(owner, new HashMap<>(chunk.entries));
+            chunks[index] = chunk;
+        }
+        return chunk.entries;
+    }
+
+    /**
+     * Obtém o valor associado à chave informada.
+     * @param key Chave.
+     * @return Valor associado à chave, ou nulo caso a chave não exista.
+     */
+    public V get(Object key) {
+        Chunk<K, V> chunk = chunks[index(key)];
+        return (chunk == null ? null : chunk.entries.get(key));
+    }
+
+    /**
+     * Verifica se a chave informada existe no mapa.
+     * @param key Chave.
+     * @return Valor lógico informando se a chave existe no mapa.
+     */
+    public boolean containsKey(Object key) {
+        Chunk<K, V> chunk = chunks[index(key)];
+        return chunk != null && chunk.entries.containsKey(key);
+    }
+
+    /**
+     * Associa o valor informado à chave informada.
+     * @param key Chave.
+     * @param value Valor.
+     * @return Valor anteriormente associado à chave, ou nulo.
+     */
+    public V put(K key, V value) {
+        Map<K, V> entries = write(index(key));
+        boolean exists = entries.containsKey(key);
+        V result = entries.put(key, value);
+        if (!exists) {
+            size++;
+        }
+        return result;
+    }
+
+    /**
+     * Remove a chave informada do mapa.
+     * @param key Chave.
+     * @return Valor anteriormente associado à chave, ou nulo.
+     */
+    public V remove(Object key) {
+        if (!containsKey(key)) {
+            return null;
+        }
+        size--;
+        return write(index(key)).remove(key);
+    }
+
+    /**
+     * Remove todas as entradas do mapa, sem afetar as cópias.
+     */
+    public void clear() {
+        chunks = empty();
+        chunksOwner = owner;
+        size = 0;
+    }
+
+    /**
+     * Obtém a cardinalidade do mapa.
+     * @return Cardinalidade do mapa.
+     */
+    public int size() {
+        return size;
+    }
+
+}
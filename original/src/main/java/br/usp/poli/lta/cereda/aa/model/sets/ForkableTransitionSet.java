@@ -0,0 +1,286 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Conjunto de transições com cópia sob escrita, dividido em blocos de acordo
+ * com o valor de espalhamento de cada transição. A bifurcação de um conjunto
+ * tem custo constante, uma vez que os blocos são compartilhados entre as
+ * cópias; uma alteração copia apenas o vetor de blocos e o bloco afetado, e
+ * somente na primeira alteração de cada cópia. As transições em si são
+ * compartilhadas por referência.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class ForkableTransitionSet extends AbstractSet<Transition> {
+
+    // quantidade de blocos, necessariamente uma potência de dois
+    private static final int CHUNKS = 32;
+
+    // chave de propriedade da cópia corrente, vetor de blocos, chave de
+    // propriedade do vetor e cardinalidade do conjunto; uma estrutura só é
+    // alterada diretamente quando sua chave coincide com a da cópia corrente
+    private Object owner;
+    private Chunk[] chunks;
+    private Object chunksOwner;
+    private int size;
+
+    /**
+     * Bloco de transições, associado à chave de propriedade da cópia que o
+     * criou.
+     */
+    private static final class Chunk {
+
+        // chave de propriedade e transições do bloco
+        private final Object owner;
+        private final Set<Transition> transitions;
+
+        /**
+         * Construtor.
+         * @param owner Chave de propriedade.
+         * @param transitions Transições do bloco.
+         */
+        private Chunk(Object owner, Set<Transition> transitions) {
+            this.owner = owner;
+            this.transitions = transitions;
+        }
+    }
+
+    /**
+     * Construtor. Cria um conjunto vazio.
+     */
+    public ForkableTransitionSet() {
+        owner = new Object();
+        chunks = new Chunk[CHUNKS];
+        chunksOwner = owner;
+        size = 0;
+    }
+
+    /**
+     * Construtor. Cria um conjunto contendo as transições informadas.
+     * @param transitions Transições.
+     */
+    public ForkableTransitionSet(Collection<Transition> transitions) {
+        this();
+        addAll(transitions);
+    }
+
+    /**
+     * Construtor. Cria uma cópia que compartilha os blocos informados.
+     * @param chunks Vetor de blocos.
+     * @param size Cardinalidade do conjunto.
+     */
+    private ForkableTransitionSet(Chunk[] chunks, int size) {
+        this.owner = new Object();
+        this.chunks = chunks;
+        this.chunksOwner = null;
+        this.size = size;
+    }
+
+    /**
+     * Bifurca o conjunto corrente em tempo constante. A partir deste ponto,
+     * alterações no conjunto corrente e na cópia retornada são independentes.
+     * @return Cópia do conjunto corrente.
+     */
+    public ForkableTransitionSet fork() {
+        ForkableTransitionSet result = new ForkableTransitionSet(chunks, size);
+        
+        // a cópia corrente renova sua chave de propriedade, de modo que os
+        // blocos existentes passam a ser compartilhados
+        owner = new Object();
+        chunksOwner = null;
+        return result;
+    }
+
+    /**
+     * Obtém o índice do bloco da transição informada.
+     * @param object Transição.
+     * @return Índice do bloco.
+     */
+    private static int index(Object object) {
+        int hash = object.hashCode();
+        return (hash ^ (hash >>> 16)) & (CHUNKS - 1);
+    }
+
+    /**
+     * Obtém as transições do bloco informado para leitura.
+     * @param index Índice do bloco.
+     * @return Transições do bloco, ou nulo caso o bloco não exista.
+     */
+    private Set<Transition> read(int index) {
+        Chunk chunk = chunks[index];
+        return (chunk == null ? null : chunk.transitions);
+    }
+
+    /**
+     * Obtém as transições do bloco informado para escrita, copiando o vetor
+     * de blocos e o bloco caso estes sejam compartilhados.
+     * @param index Índice do bloco.
+     * @return Transições do bloco, pertencentes à cópia corrente.
+     */
+    private Set<Transition> write(int index) {
+        if (chunksOwner != owner) {
+            chunks = chunks.clone();
+            chunksOwner = owner;
+        }
+        Chunk chunk = chunks[index];
+        if (chunk == null) {
+            chunk = new Chunk(owner, new HashSet<Transition>());
+            chunks[index] = chunk;
+        }
+        else if (chunk.owner != owner) {
+            chunk = new Chunk(owner, new HashSet<>(chunk.transitions));
+            chunks[index] = chunk;
+        }
+        return chunk.transitions;
+    }
+
+    /**
+     * Verifica se a transição informada pertence ao conjunto.
+     * @param object Transição.
+     * @return Valor lógico informando se a transição pertence ao conjunto.
+     */
+    @Override
+    public boolean contains(Object object) {
+        if (object == null) {
+            return false;
+        }
+        Set<Transition> chunk = read(index(object));
+        return chunk != null && chunk.contains(object);
+    }
+
+    /**
+     * Adiciona a transição informada ao conjunto.
+     * @param transition Transição.
+     * @return Valor lógico informando se o conjunto foi alterado.
+     */
+    @Override
+    public boolean add(Transition transition) {
+        if (transition == null || contains(transition)) {
+            return false;
+        }
+        write(index(transition)).add(transition);
+        size++;
+        return true;
+    }
+
+    /**
+     * Remove a transição informada do conjunto.
+     * @param object Transição.
+     * @return Valor lógico informando se o conjunto foi alterado.
+     */
+    @Override
+    public boolean remove(Object object) {
+        if (!contains(object)) {
+            return false;
+        }
+        write(index(object)).remove(object);
+        size--;
+        return true;
+    }
+
+    /**
+     * Remove todas as transições do conjunto, sem afetar as cópias.
+     */
+    @Override
+    public void clear() {
+        chunks = new Chunk[CHUNKS];
+        chunksOwner = owner;
+        size = 0;
+    }
+
+    /**
+     * Obtém a cardinalidade do conjunto.
+     * @return Cardinalidade do conjunto.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtém um iterador sobre as transições do conjunto. A remoção através do
+     * iterador é suportada.
+     * @return Iterador sobre as transições do conjunto.
+     */
+    @Override
+    public Iterator<Transition> iterator() {
+        return new Iterator<Transition>() {
+
+            // índice do próximo bloco, bloco corrente, seu iterador e
+            // última transição retornada
+            private int next = 0;
+            private Chunk chunk = null;
+            private Iterator<Transition> current = null;
+            private Transition last = null;
+
+            @Override
+            public boolean hasNext() {
+                while (current == null || !current.hasNext()) {
+                    if (next == CHUNKS) {
+                        return false;
+                    }
+                    chunk = chunks[next++];
+                    current = (chunk == null ? null :
+                            chunk.transitions.iterator());
+                }
+                return true;
+            }
+
+            @Override
+            public Transition next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = current.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                
+                // se o bloco percorrido pertence à cópia corrente, a remoção
+                // é feita através do próprio iterador; caso contrário, o bloco
+                // é copiado e o iterador continua sobre o bloco original
+                if (chunk.owner == owner && chunks[next - 1] == chunk) {
+                    current.remove();
+                    size--;
+                }
+                else {
+                    ForkableTransitionSet.this.remove(last);
+                }
+                last = null;
+            }
+        };
+    }
+
+}
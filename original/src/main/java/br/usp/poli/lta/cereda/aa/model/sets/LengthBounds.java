@@ -0,0 +1,150 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Submachine;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Calcula e armazena, para cada estado de um conjunto de transições, a
+ * quantidade mínima de símbolos que precisam ser consumidos para que algum
+ * estado final de sua submáquina seja alcançado. Uma chamada de submáquina
+ * custa a quantidade mínima de símbolos da submáquina chamada, a partir de
+ * seu estado inicial. Estados de origem de transições com ações associadas
+ * possuem limite nulo, pois as ações podem alterar o conjunto de transições.
+ * Os limites são recalculados sempre que a versão do conjunto de transições
+ * é alterada.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class LengthBounds {
+
+    /**
+     * Limite dos estados a partir dos quais nenhum estado final é alcançável.
+     */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    // conjunto de transições e submáquinas de referência, versão na qual os
+    // limites foram calculados, limites por estado e sinalizador de
+    // estabilidade do conjunto de transições
+    private final Mapping mapping;
+    private final SubmachinesSet submachines;
+    private long version;
+    private Map<State, Integer> bounds;
+    private boolean stable;
+
+    /**
+     * Construtor.
+     * @param mapping Conjunto de transições de referência.
+     * @param submachines Conjunto de submáquinas.
+     */
+    public LengthBounds(Mapping mapping, SubmachinesSet submachines) {
+        this.mapping = mapping;
+        this.submachines = submachines;
+        this.version = -1;
+    }
+
+    /**
+     * Obtém a quantidade mínima de símbolos a serem consumidos a partir do
+     * estado informado até algum estado final de sua submáquina.
+     * @param state Estado.
+     * @return Quantidade mínima de símbolos, ou {@link #UNBOUNDED} caso
+     * nenhum estado final seja alcançável.
+     */
+    public int getBound(State state) {
+        update();
+        return bound(state);
+    }
+
+    /**
+     * Verifica se o conjunto de transições é estável, isto é, se nenhuma de
+     * suas transições possui ações associadas.
+     * @return Valor lógico informando se o conjunto de transições é estável.
+     */
+    public boolean isStable() {
+        update();
+        return stable;
+    }
+
+    /**
+     * Recalcula os limites caso a versão do conjunto de transições tenha sido
+     * alterada.
+     */
+    private void update() {
+        if (version == mapping.getVersion()) {
+            return;
+        }
+        version = mapping.getVersion();
+        bounds = new HashMap<>();
+        stable = true;
+        
+        // os estados finais de todas as submáquinas e os estados de origem
+        // de transições com ações possuem limite nulo por definição
+        Map<String, State> initials = new HashMap<>();
+        for (Submachine submachine : submachines.getSubmachines()) {
+            for (State state : submachine.getAcceptingStates()) {
+                bounds.put(state, 0);
+            }
+            initials.put(submachine.getName(), submachine.getInitialState());
+        }
+        for (Transition t : mapping.getTransitions()) {
+            if (t.hasPriorActionCall() || t.hasPostActionCall()) {
+                bounds.put(t.getSourceState(), 0);
+                stable = false;
+            }
+        }
+        
+        // os limites só diminuem e não são negativos, portanto o cálculo
+        // termina quando nenhum limite é alterado
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Transition t : mapping.getTransitions()) {
+                long cost = bound(t.getTargetState());
+                if (t.isSymbolConsumptionTransition()) {
+                    cost = cost + 1;
+                }
+                if (t.isSubmachineCall() &&
+                        initials.containsKey(t.getSubmachineCall())) {
+                    cost = cost + bound(initials.get(t.getSubmachineCall()));
+                }
+                if (cost < bound(t.getSourceState())) {
+                    bounds.put(t.getSourceState(), (int) cost);
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtém o limite corrente do estado informado durante o cálculo.
+     * @param state Estado.
+     * @return Limite corrente do estado.
+     */
+    private int bound(State state) {
+        Integer result = bounds.get(state);
+        return (result == null ? UNBOUNDED : result);
+    }
+
+}
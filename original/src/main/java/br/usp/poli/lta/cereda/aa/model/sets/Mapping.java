@@ -19,6 +19,7 @@
 **/
 package br.usp.poli.lta.cereda.aa.model.sets;
 
+import br.usp.poli.lta.cereda.aa.model.ImmutableTransition;
 import br.usp.poli.lta.cereda.aa.model.State;
 import br.usp.poli.lta.cereda.aa.model.Symbol;
 import br.usp.poli.lta.cereda.aa.model.Transition;
@@ -36,6 +37,7 @@ import java.util.Set;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.Predicate;
 import org.apache.commons.collections4.PredicateUtils;
+import org.apache.commons.lang3.Validate;
 
 /**
  * Classe que define o conjunto de transições do autômato adaptativo.
@@ -47,11 +49,109 @@ public class Mapping {
     // autômato adaptativo.
     private Set<Transition> transitions;
 
+    // modo de eliminação de duplicatas estruturais, o índice que associa a
+    // chave canônica de cada transição à transição efetivamente armazenada e
+    // o índice inverso, que associa cada transição à chave sob a qual foi
+    // indexada, de modo que a remoção tenha custo constante mesmo que a
+    // transição tenha sido alterada após a inserção
+    private boolean deduplication;
+    private ForkableMap<TransitionKey, Transition> keys;
+    private ForkableMap<Transition, TransitionKey> indexed;
+
+    // modo de transições imutáveis, no qual as transições armazenadas são
+    // compartilhadas por referência entre as threads de execução
+    private boolean frozen;
+
+    // versão das transições em vazio, incrementada sempre que uma transição
+    // em vazio é adicionada ou removida, e os fechos em vazio calculados a
+    // partir dessa versão
+    private long epsilonVersion;
+    private EpsilonClosures closures;
+
+    // versão geral do conjunto, incrementada a cada alteração, versão da
+    // última substituição completa do conjunto, versão da última alteração
+    // envolvendo cada estado de origem e o cache de subconjuntos
+    // determinísticos calculado a partir dessas versões
+    private long version;
+    private long baseline;
+    private ForkableMap<State, Long> touches;
+    private DeterministicCache cache;
+
+    // conjuntos primeiro, estados co-alcançáveis e limites de comprimento,
+    // calculados sob demanda
+    private FirstSets firstSets;
+    private CoReachableSets coReachableSets;
+    private LengthBounds lengthBounds;
+
+    // impressão digital estrutural do conjunto, isto é, a soma das
+    // impressões digitais de todas as transições armazenadas, a impressão
+    // digital com a qual cada transição foi armazenada, de modo que a
+    // remoção desconte o mesmo valor mesmo que a transição tenha sido
+    // alterada desde então, e o índice de transições por identificador
+    private long fingerprint;
+    private ForkableMap<Transition, Long> prints;
+    private ForkableMap<Integer, Transition> identifiers;
+
+    // trilha de alterações, ativada pela primeira marcação, que permite
+    // desfazer as alterações realizadas a partir de uma marcação
+    private List<Entry> trail;
+
+    /**
+     * Registro de uma alteração do conjunto de transições na trilha.
+     */
+    private static final class Entry {
+
+        // transição adicionada ou removida, sinalizador indicando se a
+        // transição foi adicionada, conjunto substituído, caso exista, e a
+        // chave canônica e a impressão digital da transição no momento da
+        // alteração, de modo que a reversão não dependa do estado corrente
+        // da transição
+        private final Transition transition;
+        private final boolean added;
+        private final Set<Transition> transitions;
+        private final TransitionKey key;
+        private final long print;
+
+        /**
+         * Construtor.
+         * @param transition Transição adicionada ou removida.
+         * @param added Valor lógico indicando se a transição foi adicionada.
+         * @param transitions Conjunto substituído, ou nulo.
+         * @param key Chave canônica da transição, ou nulo.
+         * @param print Impressão digital da transição.
+         */
+        private Entry(Transition transition, boolean added,
+                Set<Transition> transitions, TransitionKey key, long print) {
+            this.transition = transition;
+            this.added = added;
+            this.transitions = transitions;
+            this.key = key;
+            this.print = print;
+        }
+    }
+
     /**
      * Construtor. Cria o novo conjunto de transições.
      */
     public Mapping() {
         transitions = new HashSet<>();
+        deduplication = false;
+        keys = null;
+        indexed = null;
+        frozen = false;
+        epsilonVersion = 0;
+        closures = null;
+        version = 0;
+        baseline = 0;
+        touches = new ForkableMap<>();
+        cache = null;
+        firstSets = null;
+        coReachableSets = null;
+        lengthBounds = null;
+        fingerprint = 0;
+        prints = new ForkableMap<>();
+        identifiers = new ForkableMap<>();
+        trail = null;
     }
 
     /**
@@ -67,7 +167,288 @@ public class Mapping {
      * @param transitions Conjunto de transições.
      */
     public void setTransitions(Set<Transition> transitions) {
+        if (trail != null) {
+            trail.add(new Entry(null, false, this.transitions, null, 0));
+        }
         this.transitions = transitions;
+        if (frozen) {
+            freeze();
+        }
+        epsilonVersion++;
+        version++;
+        baseline = version;
+        touches.clear();
+        fingerprint = 0;
+        prints = new ForkableMap<>();
+        identifiers = new ForkableMap<>();
+        for (Transition transition : this.transitions) {
+            long print = TransitionKey.fingerprint(transition);
+            fingerprint += print;
+            prints.put(transition, print);
+            identifiers.put(transition.getIdentifier(), transition);
+        }
+        if (deduplication) {
+            index();
+        }
+    }
+
+    /**
+     * Obtém a versão das transições em vazio. O valor é incrementado a cada
+     * adição ou remoção de uma transição em vazio, permitindo que estruturas
+     * derivadas dessas transições sejam invalidadas apenas quando necessário.
+     * @return Valor inteiro representando a versão das transições em vazio.
+     */
+    public long getEpsilonVersion() {
+        return epsilonVersion;
+    }
+
+    /**
+     * Obtém os fechos em vazio do conjunto de transições. Os fechos são
+     * calculados sob demanda e recalculados quando a versão das transições
+     * em vazio é alterada.
+     * @return Fechos em vazio do conjunto de transições.
+     */
+    public EpsilonClosures getEpsilonClosures() {
+        if (closures == null) {
+            closures = new EpsilonClosures(this);
+        }
+        return closures;
+    }
+
+    /**
+     * Obtém a versão geral do conjunto de transições. O valor é incrementado
+     * a cada adição, remoção ou substituição realizada através deste objeto,
+     * inclusive quando alterações são desfeitas, e nunca decresce.
+     * @return Valor inteiro representando a versão do conjunto.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Obtém a impressão digital estrutural do conjunto de transições, um
+     * valor de 64 bits atualizado em tempo constante a cada adição ou remoção.
+     * A impressão digital é a soma das impressões digitais das transições,
+     * calculadas a partir dos seus campos estruturais, de modo que conjuntos
+     * estruturalmente equivalentes possuem a mesma impressão digital,
+     * independentemente da ordem das alterações e dos identificadores. Valores
+     * distintos garantem topologias distintas; valores iguais indicam, com
+     * alta probabilidade, topologias equivalentes. Alterações diretas em uma
+     * transição já armazenada não são refletidas, exceto através do método de
+     * substituição.
+     * @return Valor inteiro de 64 bits representando a impressão digital do
+     * conjunto de transições.
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Obtém a versão da última alteração envolvendo transições que partem do
+     * estado informado.
+     * @param state Estado de origem.
+     * @return Valor inteiro representando a versão da última alteração
+     * envolvendo o estado informado.
+     */
+    public long getVersion(State state) {
+        Long result = touches.get(state);
+        return (result == null ? baseline : result);
+    }
+
+    /**
+     * Registra uma alteração envolvendo o estado de origem informado.
+     * @param state Estado de origem.
+     */
+    private void touch(State state) {
+        version++;
+        touches.put(state, version);
+    }
+
+    /**
+     * Obtém o cache de subconjuntos determinísticos do conjunto de transições.
+     * O cache é construído sob demanda e suas entradas são descartadas quando
+     * as transições dos estados envolvidos são alteradas.
+     * @return Cache de subconjuntos determinísticos.
+     */
+    public DeterministicCache getDeterministicCache() {
+        if (cache == null) {
+            cache = new DeterministicCache(this);
+        }
+        return cache;
+    }
+
+    /**
+     * Obtém os conjuntos primeiro dos estados do conjunto de transições, em
+     * relação ao conjunto de submáquinas informado na primeira chamada. Os
+     * conjuntos são calculados sob demanda e recalculados quando a versão do
+     * conjunto de transições é alterada.
+     * @param submachines Conjunto de submáquinas.
+     * @return Conjuntos primeiro dos estados.
+     */
+    public FirstSets getFirstSets(SubmachinesSet submachines) {
+        if (firstSets == null) {
+            firstSets = new FirstSets(this, submachines);
+        }
+        return firstSets;
+    }
+
+    /**
+     * Obtém os estados co-alcançáveis do conjunto de transições, em relação
+     * ao conjunto de submáquinas informado na primeira chamada. Os estados
+     * são calculados sob demanda e recalculados quando a versão do conjunto
+     * de transições é alterada.
+     * @param submachines Conjunto de submáquinas.
+     * @return Estados co-alcançáveis.
+     */
+    public CoReachableSets getCoReachableSets(SubmachinesSet submachines) {
+        if (coReachableSets == null) {
+            coReachableSets = new CoReachableSets(this, submachines);
+        }
+        return coReachableSets;
+    }
+
+    /**
+     * Obtém os limites de comprimento dos estados do conjunto de transições,
+     * isto é, a quantidade mínima de símbolos até um estado final, em relação
+     * ao conjunto de submáquinas informado na primeira chamada. Os limites
+     * são calculados sob demanda e recalculados quando a versão do conjunto
+     * de transições é alterada.
+     * @param submachines Conjunto de submáquinas.
+     * @return Limites de comprimento dos estados.
+     */
+    public LengthBounds getLengthBounds(SubmachinesSet submachines) {
+        if (lengthBounds == null) {
+            lengthBounds = new LengthBounds(this, submachines);
+        }
+        return lengthBounds;
+    }
+
+    /**
+     * Informa se o modo de eliminação de duplicatas estruturais está ativo.
+     * @return Valor lógico informando se o modo está ativo.
+     */
+    public boolean isDeduplication() {
+        return deduplication;
+    }
+
+    /**
+     * Define o modo de eliminação de duplicatas estruturais. Com o modo ativo,
+     * a adição de uma transição cujos estados, símbolo, chamada de submáquina,
+     * ações e parâmetros coincidem com os de uma transição já existente é
+     * ignorada, evitando bifurcações redundantes durante o reconhecimento.
+     * Ao ativar o modo, duplicatas já existentes no conjunto são removidas.
+     * @param deduplication Valor lógico que define se o modo está ativo.
+     */
+    public void setDeduplication(boolean deduplication) {
+        this.deduplication = deduplication;
+        if (deduplication) {
+            index();
+        }
+        else {
+            keys = null;
+            indexed = null;
+        }
+    }
+
+    /**
+     * Informa se o modo de transições imutáveis está ativo.
+     * @return Valor lógico informando se o modo está ativo.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Define o modo de transições imutáveis. Com o modo ativo, cada transição
+     * adicionada ao conjunto é convertida em uma transição imutável com o
+     * mesmo identificador, de modo que as threads de execução compartilham a
+     * transição por referência em vez de copiá-la a cada passo. Ao ativar o
+     * modo, as transições já existentes no conjunto são convertidas. Uma
+     * transição imutável é alterada através do método de substituição.
+     * @param frozen Valor lógico que define se o modo está ativo.
+     */
+    public void setFrozen(boolean frozen) {
+        this.frozen = frozen;
+        if (frozen) {
+            setTransitions(transitions);
+        }
+    }
+
+    /**
+     * Converte as transições do conjunto em transições imutáveis, mantendo os
+     * seus identificadores.
+     */
+    private void freeze() {
+        Set<Transition> result = (transitions instanceof ForkableTransitionSet ?
+                new ForkableTransitionSet() : new HashSet<Transition>());
+        for (Transition transition : transitions) {
+            result.add(ImmutableTransition.of(transition));
+        }
+        transitions = result;
+    }
+
+    /**
+     * Bifurca o conjunto de transições, de modo que o conjunto corrente e o
+     * conjunto retornado possam ser alterados de forma independente. As
+     * transições são armazenadas em um conjunto com cópia sob escrita, cuja
+     * bifurcação tem custo constante; uma alteração posterior copia apenas o
+     * bloco afetado. Os índices, as versões por estado e os fechos em vazio
+     * já calculados são compartilhados da mesma forma, de modo que o custo
+     * da bifurcação independe da quantidade de estados e transições. As
+     * transições em si são compartilhadas por referência, então alterações
+     * diretas em uma transição são visíveis em ambos os conjuntos, exceto no
+     * modo de transições imutáveis. O cache de subconjuntos determinísticos
+     * da cópia é reconstruído sob demanda.
+     * @return Cópia independente do conjunto de transições.
+     */
+    public Mapping fork() {
+        if (!(transitions instanceof ForkableTransitionSet)) {
+            transitions = new ForkableTransitionSet(transitions);
+        }
+        Mapping result = new Mapping();
+        result.transitions = ((ForkableTransitionSet) transitions).fork();
+        result.deduplication = deduplication;
+        if (deduplication) {
+            result.keys = keys.fork();
+            result.indexed = indexed.fork();
+        }
+        result.frozen = frozen;
+        result.epsilonVersion = epsilonVersion;
+        result.version = version;
+        result.baseline = baseline;
+        result.touches = touches.fork();
+        result.fingerprint = fingerprint;
+        result.prints = prints.fork();
+        result.identifiers = identifiers.fork();
+        if (closures != null) {
+            result.closures = new EpsilonClosures(result, closures);
+        }
+        return result;
+    }
+
+    /**
+     * Reconstrói o índice de chaves canônicas e o índice inverso a partir do
+     * conjunto de transições, removendo as transições estruturalmente
+     * duplicadas. As remoções atualizam a impressão digital e as versões e
+     * são registradas na trilha, como qualquer outra remoção.
+     */
+    private void index() {
+        keys = new ForkableMap<>();
+        indexed = new ForkableMap<>();
+        List<Transition> duplicates = new ArrayList<>();
+        for (Transition transition : transitions) {
+            TransitionKey key = new TransitionKey(transition);
+            if (keys.containsKey(key)) {
+                duplicates.add(transition);
+            }
+            else {
+                keys.put(key, transition);
+                indexed.put(transition, key);
+            }
+        }
+        for (Transition transition : duplicates) {
+            remove(transition, null);
+        }
     }
 
     /**
@@ -79,12 +460,7 @@ public class Mapping {
      * informado existe no conjunto de transições.
      */
     public boolean hasIdentifier(int identifier) {
-        for (Transition transition : transitions) {
-            if (transition.getIdentifier() == identifier) {
-                return true;
-            }
-        }
-        return false;
+        return identifiers.containsKey(identifier);
     }
 
     /**
@@ -309,11 +685,53 @@ public class Mapping {
     }
     
     /**
-     * Adiciona a transição no conjunto de transições.
+     * Adiciona a transição no conjunto de transições. Se o modo de eliminação
+     * de duplicatas estiver ativo e já existir uma transição estruturalmente
+     * equivalente, o conjunto permanece inalterado.
      * @param t Transição a ser adicionada.
      */
     public void add(Transition t) {
-        transitions.add(t);
+        if (frozen) {
+            t = ImmutableTransition.of(t);
+        }
+        TransitionKey key = null;
+        if (deduplication) {
+            key = new TransitionKey(t);
+            if (keys.containsKey(key)) {
+                return;
+            }
+        }
+        if (transitions.add(t)) {
+            long print = TransitionKey.fingerprint(t);
+            insert(t, key, print);
+            if (trail != null) {
+                trail.add(new Entry(t, true, null, key, print));
+            }
+        }
+    }
+
+    /**
+     * Atualiza as versões, a impressão digital e os índices após a inserção
+     * da transição informada no conjunto de transições.
+     * @param t Transição inserida.
+     * @param key Chave canônica da transição, ou nulo caso o modo de
+     * eliminação de duplicatas não esteja ativo.
+     * @param print Impressão digital da transição.
+     */
+    private void insert(Transition t, TransitionKey key, long print) {
+        fingerprint += print;
+        prints.put(t, print);
+        identifiers.put(t.getIdentifier(), t);
+        touch(t.getSourceState());
+        if (t.isEpsilonTransition()) {
+            epsilonVersion++;
+        }
+        if (key != null) {
+            if (!keys.containsKey(key)) {
+                keys.put(key, t);
+            }
+            indexed.put(t, key);
+        }
     }
     
     /**
@@ -344,18 +762,143 @@ public class Mapping {
      * ser removida.
      */
     public void removeFromIdentifier(int identifier) {
-        Transition result = null;
-        for (Transition transition : transitions) {
-            if (transition.getIdentifier() == identifier) {
-                result = transition;
-                break;
+        Transition result = identifiers.get(identifier);
+        if (result != null) {
+            TransitionKey key = (indexed == null ? null : indexed.get(result));
+            remove(result, key);
+        }
+    }
+
+    /**
+     * Remove a transição informada do conjunto de transições, registrando a
+     * remoção na trilha caso esta esteja ativa.
+     * @param result Transição a ser removida.
+     * @param key Chave canônica da transição, ou nulo.
+     */
+    private void remove(Transition result, TransitionKey key) {
+        long print = print(result);
+        delete(result);
+        if (trail != null) {
+            trail.add(new Entry(result, false, null, key, print));
+        }
+    }
+
+    /**
+     * Obtém a impressão digital com a qual a transição informada foi
+     * armazenada, calculando-a caso a transição não tenha sido registrada.
+     * @param t Transição.
+     * @return Impressão digital da transição.
+     */
+    private long print(Transition t) {
+        Long result = prints.get(t);
+        return (result == null ? TransitionKey.fingerprint(t) : result);
+    }
+
+    /**
+     * Remove a transição informada do conjunto de transições, atualizando as
+     * versões e os índices. A chave e a impressão digital são obtidas dos
+     * índices, pois a transição pode ter sido alterada após a inserção.
+     * @param result Transição a ser removida.
+     */
+    private void delete(Transition result) {
+        if (transitions.remove(result)) {
+            fingerprint -= print(result);
+            prints.remove(result);
+            if (identifiers.get(result.getIdentifier()) == result) {
+                identifiers.remove(result.getIdentifier());
+            }
+            touch(result.getSourceState());
+            if (result.isEpsilonTransition()) {
+                epsilonVersion++;
+            }
+            if (indexed != null) {
+                TransitionKey key = indexed.remove(result);
+                if (key != null && keys.get(key) == result) {
+                    keys.remove(key);
+                }
             }
         }
-        if (result != null) {
-            transitions.remove(result);
+    }
+
+    /**
+     * Reinsere uma transição removida, conforme registrada na trilha. A
+     * verificação de duplicatas não é aplicada, pois a transição pertencia ao
+     * conjunto no ponto restaurado, e a chave e a impressão digital
+     * registradas são utilizadas, mesmo que a transição tenha sido alterada
+     * diretamente desde então.
+     * @param entry Registro da remoção.
+     */
+    private void restore(Entry entry) {
+        Transition t = entry.transition;
+        TransitionKey key = null;
+        if (deduplication) {
+            key = (entry.key != null ? entry.key : new TransitionKey(t));
+        }
+        if (transitions.add(t)) {
+            insert(t, key, entry.print);
         }
     }
     
+    /**
+     * Marca a posição corrente da trilha de alterações, ativando a trilha
+     * caso necessário. A partir da primeira marcação, toda adição, remoção ou
+     * substituição do conjunto é registrada, de modo que possa ser desfeita.
+     * Alterações diretas em uma transição não são registradas, mas uma
+     * transição removida é restaurada mesmo que tenha sido alterada desde a
+     * sua inserção.
+     * @return Posição corrente da trilha.
+     */
+    public int mark() {
+        if (trail == null) {
+            trail = new ArrayList<>();
+        }
+        return trail.size();
+    }
+
+    /**
+     * Desfaz, em ordem inversa, todas as alterações registradas na trilha
+     * após a marcação informada. As versões do conjunto continuam crescentes,
+     * de modo que as estruturas derivadas são invalidadas normalmente.
+     * @param mark Posição da trilha obtida através de uma marcação.
+     */
+    public void undo(int mark) {
+        Validate.isTrue(
+                trail != null && mark >= 0 && mark <= trail.size(),
+                "A marcação %d não pertence à trilha.", mark
+        );
+        
+        // a trilha é suspensa durante a reversão, de modo que as operações
+        // inversas não sejam registradas
+        List<Entry> entries = trail;
+        trail = null;
+        while (entries.size() > mark) {
+            Entry entry = entries.remove(entries.size() - 1);
+            if (entry.transitions != null) {
+                setTransitions(entry.transitions);
+            }
+            else if (entry.added) {
+                delete(entry.transition);
+            }
+            else {
+                restore(entry);
+            }
+        }
+        trail = entries;
+    }
+
+    /**
+     * Substitui a transição que possui o mesmo identificador da transição
+     * informada, preservando a identidade da transição no conjunto. Caso não
+     * exista tal transição, a transição informada é simplesmente adicionada.
+     * No modo de transições imutáveis, esta é a forma de alterar uma
+     * transição existente.
+     * @param t Transição substituta.
+     */
+    public void replace(Transition t) {
+        removeFromIdentifier(t.getIdentifier());
+        add(t);
+    }
+
     /**
      * Retorna uma representação textual do conjunto de transições.
      * @return Representação textual do conjunto de transições.
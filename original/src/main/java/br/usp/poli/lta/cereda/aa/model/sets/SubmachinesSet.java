@@ -21,7 +21,13 @@ package br.usp.poli.lta.cereda.aa.model.sets;
 
 import br.usp.poli.lta.cereda.aa.model.State;
 import br.usp.poli.lta.cereda.aa.model.Submachine;
+import br.usp.poli.lta.cereda.aa.utils.Copyable;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.Validate;
 
@@ -31,17 +37,129 @@ import org.apache.commons.lang3.Validate;
  * @version 1.0
  * @since 1.0
  */
-public class SubmachinesSet {
+public class SubmachinesSet implements Copyable<SubmachinesSet> {
 
     // atributo da classe, representando o conjunto de todas as submáquinas do
     // autômato adaptativo
     private Set<Submachine> submachines;
 
+    // índices que resolvem nomes e estados diretamente para as referências
+    // das submáquinas, evitando a varredura do conjunto a cada passo
+    // computacional do autômato adaptativo
+    private Map<String, Submachine> names;
+    private Map<State, Submachine> states;
+
+    // visão do conjunto de submáquinas exposta aos usuários, que mantém os
+    // índices atualizados quando submáquinas são adicionadas ou removidas
+    // através dela
+    private final Set<Submachine> view;
+
+    /**
+     * Visão do conjunto de submáquinas que mantém os índices atualizados.
+     */
+    private final class View extends AbstractSet<Submachine> {
+
+        /**
+         * Obtém um iterador sobre as submáquinas. A remoção através do
+         * iterador também remove a submáquina dos índices.
+         * @return Iterador sobre as submáquinas.
+         */
+        @Override
+        public Iterator<Submachine> iterator() {
+            final Iterator<Submachine> iterator = submachines.iterator();
+            return new Iterator<Submachine>() {
+
+                // última submáquina obtida pelo iterador
+                private Submachine current;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Submachine next() {
+                    current = iterator.next();
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    unindex(current);
+                }
+            };
+        }
+
+        /**
+         * Obtém a cardinalidade do conjunto de submáquinas.
+         * @return Cardinalidade do conjunto.
+         */
+        @Override
+        public int size() {
+            return submachines.size();
+        }
+
+        /**
+         * Verifica se a submáquina informada pertence ao conjunto.
+         * @param object Submáquina a ser verificada.
+         * @return Valor lógico informando se a submáquina pertence ao
+         * conjunto.
+         */
+        @Override
+        public boolean contains(Object object) {
+            return submachines.contains(object);
+        }
+
+        /**
+         * Adiciona a submáquina informada ao conjunto e aos índices.
+         * @param submachine Submáquina a ser adicionada.
+         * @return Valor lógico informando se o conjunto foi alterado.
+         */
+        @Override
+        public boolean add(Submachine submachine) {
+            boolean result = submachines.add(submachine);
+            index(submachine);
+            return result;
+        }
+
+        /**
+         * Remove a submáquina informada do conjunto e dos índices.
+         * @param object Submáquina a ser removida.
+         * @return Valor lógico informando se o conjunto foi alterado.
+         */
+        @Override
+        public boolean remove(Object object) {
+            boolean result = submachines.remove(object);
+            if (result) {
+                unindex((Submachine) object);
+            }
+            return result;
+        }
+    }
+
     /**
      * Construtor. Cria um novo conjunto de submáquinas.
      */
     public SubmachinesSet() {
         submachines = new HashSet<>();
+        names = new HashMap<>();
+        states = new HashMap<>();
+        view = new View();
+    }
+
+    /**
+     * Cria uma cópia do conjunto de submáquinas corrente, copiando também
+     * cada uma das submáquinas.
+     * @return Cópia do conjunto de submáquinas.
+     */
+    @Override
+    public SubmachinesSet copy() {
+        SubmachinesSet result = new SubmachinesSet();
+        for (Submachine submachine : submachines) {
+            result.add(submachine.copy());
+        }
+        return result;
     }
 
     /**
@@ -50,14 +168,43 @@ public class SubmachinesSet {
      */
     public void add(Submachine submachine) {
         submachines.add(submachine);
+        index(submachine);
     }
 
     /**
-     * Obtém o conjunto de todas as submáquinas.
+     * Adiciona a submáquina informada aos índices de nomes e estados. Entradas
+     * já existentes são preservadas.
+     * @param submachine Submáquina a ser indexada.
+     */
+    private void index(Submachine submachine) {
+        if (!names.containsKey(submachine.getName())) {
+            names.put(submachine.getName(), submachine);
+        }
+        for (State state : submachine.getStates()) {
+            if (!states.containsKey(state)) {
+                states.put(state, submachine);
+            }
+        }
+    }
+
+    /**
+     * Remove a submáquina informada dos índices de nomes e estados. Uma
+     * submáquina de mesmo nome ou com os mesmos estados que ainda pertença ao
+     * conjunto é indexada novamente na próxima consulta.
+     * @param submachine Submáquina a ser removida dos índices.
+     */
+    private void unindex(Submachine submachine) {
+        names.values().removeAll(Collections.singleton(submachine));
+        states.values().removeAll(Collections.singleton(submachine));
+    }
+
+    /**
+     * Obtém o conjunto de todas as submáquinas. Alterações realizadas através
+     * do conjunto retornado são refletidas nos índices.
      * @return Conjunto de todas as submáquinas.
      */
     public Set<Submachine> getSubmachines() {
-        return submachines;
+        return view;
     }
 
     /**
@@ -66,6 +213,11 @@ public class SubmachinesSet {
      */
     public void setSubmachines(Set<Submachine> submachines) {
         this.submachines = submachines;
+        names = new HashMap<>();
+        states = new HashMap<>();
+        for (Submachine submachine : submachines) {
+            index(submachine);
+        }
     }
 
     /**
@@ -84,15 +236,23 @@ public class SubmachinesSet {
      * @return Submáquina que contém o estado pesquisado.
      */
     public Submachine getFromState(State state) {
-        for (Submachine submachine : submachines) {
-            if (submachine.getStates().contains(state)) {
-                return submachine;
+        Submachine result = states.get(state);
+        if (result == null || !result.getStates().contains(state)) {
+            result = null;
+            for (Submachine submachine : submachines) {
+                if (submachine.getStates().contains(state)) {
+                    states.put(state, submachine);
+                    result = submachine;
+                    break;
+                }
             }
         }
-        Validate.isTrue(false, "Não existe submáquina com o estado '"
-                .concat(String.valueOf(state)).concat("' em seu conjunto.")
-        );
-        return null;
+        if (result == null) {
+            throw new IllegalArgumentException(String.format(
+                    "Não existe submáquina com o estado '%s' em seu conjunto.",
+                    state));
+        }
+        return result;
     }
 
     /**
@@ -101,14 +261,31 @@ public class SubmachinesSet {
      * @return Submáquina que possui o nome pesquisado.
      */
     public Submachine getFromName(String name) {
+        Submachine result = names.get(name);
+        if (result == null || !result.getName().equals(name)) {
+            result = find(name);
+            if (result == null) {
+                throw new IllegalArgumentException(String.format(
+                        "Não existe submáquina com o nome '%s'.", name));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Procura, no conjunto de submáquinas, a submáquina com o nome informado e
+     * atualiza o índice de nomes. Este método trata as submáquinas cujo nome
+     * foi alterado após a inserção no conjunto.
+     * @param name Nome da submáquina.
+     * @return Submáquina que possui o nome pesquisado, ou nulo caso não exista.
+     */
+    private Submachine find(String name) {
         for (Submachine submachine : submachines) {
             if (submachine.getName().equals(name)) {
+                names.put(name, submachine);
                 return submachine;
             }
         }
-        Validate.isTrue(false, "Não existe submáquina com o nome '"
-                .concat(String.valueOf(name)).concat("'.")
-        );
         return null;
     }
 
@@ -118,17 +295,14 @@ public class SubmachinesSet {
      * @param name Nome da submáquina a ser removida do conjunto de submáquinas.
      */
     public void removeByName(String name) {
-        Submachine result = null;
-        for (Submachine submachine : submachines) {
-            if (submachine.getName().equals(name)) {
-                result = submachine;
-                break;
-            }
+        Submachine result = names.get(name);
+        if (result == null || !result.getName().equals(name)) {
+            result = find(name);
         }
-        Validate.notNull(result, "Não existe submáquina com o nome '"
-                .concat(String.valueOf(name)).concat("'.")
-        );
+        Validate.notNull(result, "Não existe submáquina com o nome '%s'.",
+                name);
         submachines.remove(result);
+        unindex(result);
     }
 
     /**
@@ -0,0 +1,177 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Symbol;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.Arrays;
+import java.util.Objects;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * Chave canônica de uma transição, formada apenas pelos seus campos
+ * estruturais (estados de origem e destino, símbolo, chamada de submáquina,
+ * ações e seus parâmetros, prioridade). O identificador unívoco da transição
+ * não faz parte da chave, de modo que duas transições distintas com a mesma
+ * estrutura são consideradas equivalentes. Os valores são copiados no
+ * momento da criação da chave.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public final class TransitionKey {
+
+    // campos estruturais da transição e o valor de espalhamento
+    // calculado uma única vez, na criação da chave
+    private final State sourceState;
+    private final Symbol symbol;
+    private final State targetState;
+    private final String submachineCall;
+    private final String priorActionCall;
+    private final Object[] priorActionArguments;
+    private final String postActionCall;
+    private final Object[] postActionArguments;
+    private final boolean submachineReturn;
+    private final int priority;
+    private final int hash;
+
+    /**
+     * Construtor. Extrai os campos estruturais da transição informada.
+     * @param transition Transição.
+     */
+    public TransitionKey(Transition transition) {
+        this.sourceState = transition.getSourceState();
+        this.symbol = transition.getSymbol();
+        this.targetState = transition.getTargetState();
+        this.submachineCall = transition.getSubmachineCall();
+        this.priorActionCall = transition.getPriorActionCall();
+        this.priorActionArguments = copy(transition.getPriorActionArguments());
+        this.postActionCall = transition.getPostActionCall();
+        this.postActionArguments = copy(transition.getPostActionArguments());
+        this.submachineReturn = transition.isSubmachineReturn();
+        this.priority = transition.getPriority();
+        this.hash = new HashCodeBuilder().
+                append(sourceState).
+                append(symbol).
+                append(targetState).
+                append(submachineCall).
+                append(priorActionCall).
+                append(priorActionArguments).
+                append(postActionCall).
+                append(postActionArguments).
+                append(submachineReturn).
+                append(priority).
+                toHashCode();
+    }
+
+    /**
+     * Calcula a impressão digital estrutural de 64 bits da transição
+     * informada, a partir dos mesmos campos que compõem a chave canônica.
+     * Transições estruturalmente equivalentes possuem a mesma impressão
+     * digital, independentemente de seus identificadores.
+     * @param transition Transição.
+     * @return Valor inteiro de 64 bits representando a impressão digital.
+     */
+    public static long fingerprint(Transition transition) {
+        long hash = 0;
+        hash = mix(hash, Objects.hashCode(transition.getSourceState()));
+        hash = mix(hash, Objects.hashCode(transition.getSymbol()));
+        hash = mix(hash, Objects.hashCode(transition.getTargetState()));
+        hash = mix(hash, Objects.hashCode(transition.getSubmachineCall()));
+        hash = mix(hash, Objects.hashCode(transition.getPriorActionCall()));
+        hash = mix(hash,
+                Arrays.deepHashCode(transition.getPriorActionArguments()));
+        hash = mix(hash, Objects.hashCode(transition.getPostActionCall()));
+        hash = mix(hash,
+                Arrays.deepHashCode(transition.getPostActionArguments()));
+        hash = mix(hash, transition.isSubmachineReturn() ? 1 : 0);
+        hash = mix(hash, transition.getPriority());
+        
+        // dispersão final, de modo que todos os bits dependam
+        // de todos os campos
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * Combina o valor de espalhamento de um campo ao valor acumulado.
+     * @param hash Valor acumulado.
+     * @param value Valor de espalhamento do campo.
+     * @return Novo valor acumulado.
+     */
+    private static long mix(long hash, int value) {
+        hash = (hash + value + 0x9E3779B97F4A7C15L) * 0xC2B2AE3D27D4EB4FL;
+        return hash ^ (hash >>> 29);
+    }
+
+    /**
+     * Copia o vetor de parâmetros de uma ação, de modo que alterações
+     * posteriores na transição não afetem a chave.
+     * @param arguments Vetor de parâmetros.
+     * @return Cópia do vetor, ou nulo caso o vetor seja nulo.
+     */
+    private static Object[] copy(Object[] arguments) {
+        return (arguments == null ? null : arguments.clone());
+    }
+
+    /**
+     * Verifica se a chave corrente é igual ao objeto informado.
+     * @param object Objeto a ser comparado.
+     * @return Valor lógico informando se as chaves são equivalentes.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof TransitionKey)) {
+            return false;
+        }
+        TransitionKey key = (TransitionKey) object;
+        if (hash != key.hash) {
+            return false;
+        }
+        return new EqualsBuilder().
+                append(sourceState, key.sourceState).
+                append(symbol, key.symbol).
+                append(targetState, key.targetState).
+                append(submachineCall, key.submachineCall).
+                append(priorActionCall, key.priorActionCall).
+                append(priorActionArguments, key.priorActionArguments).
+                append(postActionCall, key.postActionCall).
+                append(postActionArguments, key.postActionArguments).
+                append(submachineReturn, key.submachineReturn).
+                append(priority, key.priority).
+                isEquals();
+    }
+
+    /**
+     * Obtém o valor de espalhamento da chave.
+     * @return Valor de espalhamento.
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+}
@@ -0,0 +1,97 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.utils;
+
+import com.rits.cloning.Cloner;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Realiza cópias de objetos do modelo. Objetos imutáveis são compartilhados
+ * por referência, objetos copiáveis produzem suas próprias cópias e os demais
+ * são clonados profundamente por reflexão. Todos os métodos dessa classe são
+ * estáticos, portanto a classe não deve ser instanciada na forma de um objeto.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class CopyUtils {
+
+    // objeto de clonagem, utilizado apenas para objetos que não são
+    // imutáveis nem copiáveis
+    private static final Cloner dolly = new Cloner();
+
+    /**
+     * Copia o objeto informado.
+     * @param <T> Tipo do objeto.
+     * @param object Objeto a ser copiado.
+     * @return Cópia do objeto, ou o próprio objeto caso seja nulo ou imutável.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T copy(T object) {
+        if (object == null || object instanceof Immutable) {
+            return object;
+        }
+        if (object instanceof Copyable) {
+            return (T) ((Copyable<?>) object).copy();
+        }
+        return dolly.deepClone(object);
+    }
+
+    /**
+     * Copia o objeto informado, compartilhando por referência as instâncias
+     * informadas caso sejam encontradas durante a clonagem profunda, em vez
+     * de cloná-las.
+     * @param <T> Tipo do objeto.
+     * @param object Objeto a ser copiado.
+     * @param shared Instâncias compartilhadas entre o objeto e a sua cópia;
+     * valores nulos são ignorados.
+     * @return Cópia do objeto, ou o próprio objeto caso seja nulo ou imutável.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T copy(T object, Object... shared) {
+        if (object == null || object instanceof Immutable) {
+            return object;
+        }
+        if (object instanceof Copyable) {
+            return (T) ((Copyable<?>) object).copy();
+        }
+        return dolly.deepCloneDontCloneInstances(object, shared);
+    }
+
+    /**
+     * Copia a lista informada, copiando também cada um de seus elementos.
+     * @param <T> Tipo dos elementos.
+     * @param list Lista a ser copiada.
+     * @return Nova lista contendo as cópias dos elementos, ou nulo caso a
+     * lista seja nula.
+     */
+    public static <T> List<T> copyList(List<T> list) {
+        if (list == null) {
+            return null;
+        }
+        List<T> result = new ArrayList<>(list.size());
+        for (T element : list) {
+            result.add(copy(element));
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,39 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.utils;
+
+/**
+ * Interface para objetos que sabem produzir cópias de si mesmos, dispensando
+ * a clonagem profunda por reflexão. A cópia deve ser independente do objeto
+ * original em tudo o que puder ser alterado durante o reconhecimento.
+ * @param <T> Tipo da cópia.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public interface Copyable<T> {
+
+    /**
+     * Cria uma cópia do objeto corrente.
+     * @return Cópia do objeto corrente.
+     */
+    T copy();
+
+}
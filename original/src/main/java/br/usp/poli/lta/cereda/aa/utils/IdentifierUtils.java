@@ -19,23 +19,27 @@
 **/
 package br.usp.poli.lta.cereda.aa.utils;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Gera identificadores unívocos para representar submáquinas, caminhos de
  * reconhecimento, ações, transições e threads de execução. Todos os métodos
  * dessa classe são estáticos, portanto a classe não deve ser instanciada na
- * forma de um objeto.
+ * forma de um objeto. Os identificadores são obtidos de forma atômica,
+ * podendo ser utilizados por diversas threads simultaneamente.
  * @author Paulo Roberto Massa Cereda
  * @version 1.0
  * @since 1.0
  */
 public class IdentifierUtils {
 
-    // identificadores, iniciando seus valores em 1
-    private static int SUBMACHINE_IDENTIFIER = 1;
-    private static int RECOGNITION_PATH_IDENTIFIER = 1;
-    private static int ACTION_IDENTIFIER = 1;
-    private static int TRANSITION_IDENTIFIER = 1;
-    private static int KERNEL_IDENTIFIER = 1;
+    // identificadores, iniciando seus valores em 1; os contadores são
+    // atômicos, uma vez que são compartilhados por todas as threads
+    private static final AtomicInteger SUBMACHINE_IDENTIFIER = new AtomicInteger(1);
+    private static final AtomicInteger RECOGNITION_PATH_IDENTIFIER = new AtomicInteger(1);
+    private static final AtomicInteger ACTION_IDENTIFIER = new AtomicInteger(1);
+    private static final AtomicInteger TRANSITION_IDENTIFIER = new AtomicInteger(1);
+    private static final AtomicInteger KERNEL_IDENTIFIER = new AtomicInteger(1);
 
     /**
      * Obtém um novo identificador de submáquina.
@@ -43,9 +47,7 @@ public class IdentifierUtils {
      * uma submáquina.
      */
     public static int getSubmachineIdentifier() {
-        int result = SUBMACHINE_IDENTIFIER;
-        SUBMACHINE_IDENTIFIER++;
-        return result;
+        return SUBMACHINE_IDENTIFIER.getAndIncrement();
     }
     
     /**
@@ -54,9 +56,7 @@ public class IdentifierUtils {
      * um caminho de reconhecimento.
      */
     public static int getRecognitionPathIdentifier() {
-        int result = RECOGNITION_PATH_IDENTIFIER;
-        RECOGNITION_PATH_IDENTIFIER++;
-        return result;
+        return RECOGNITION_PATH_IDENTIFIER.getAndIncrement();
     }
 
     /**
@@ -65,9 +65,7 @@ public class IdentifierUtils {
      * uma determinada ação.
      */
     public static int getActionIdentifier() {
-        int result = ACTION_IDENTIFIER;
-        ACTION_IDENTIFIER++;
-        return result;
+        return ACTION_IDENTIFIER.getAndIncrement();
     }
     
     /**
@@ -76,9 +74,7 @@ public class IdentifierUtils {
      * uma transição.
      */
     public static int getTransitionIdentifier() {
-        int result = TRANSITION_IDENTIFIER;
-        TRANSITION_IDENTIFIER++;
-        return result;
+        return TRANSITION_IDENTIFIER.getAndIncrement();
     }
     
     /**
@@ -87,9 +83,7 @@ public class IdentifierUtils {
      * uma thread de reconhecimento.
      */
     public static int getKernelIdentifier() {
-        int result = KERNEL_IDENTIFIER;
-        KERNEL_IDENTIFIER++;
-        return result;
+        return KERNEL_IDENTIFIER.getAndIncrement();
     }
     
 }
@@ -31,7 +31,7 @@ import java.util.List;
  * @version 1.0
  * @since 1.0
  */
-public class RecognitionPath {
+public class RecognitionPath implements Copyable<RecognitionPath> {
 
     // atributos da classe, contendo um identificador unívoco, uma lista de
     // strings contendo todos os passos de reconhecimento, a posição corrente
@@ -54,6 +54,31 @@ public class RecognitionPath {
         state = null;
     }
 
+    /**
+     * Construtor de cópia. Utiliza o identificador informado, sem obter um
+     * novo identificador.
+     * @param identifier Identificador do caminho de reconhecimento.
+     */
+    private RecognitionPath(int identifier) {
+        this.identifier = identifier;
+    }
+
+    /**
+     * Cria uma cópia do caminho de reconhecimento corrente, mantendo o
+     * identificador. A lista de passos é copiada e o estado final, caso
+     * exista, também é copiado.
+     * @return Cópia do caminho de reconhecimento.
+     */
+    @Override
+    public RecognitionPath copy() {
+        RecognitionPath result = new RecognitionPath(identifier);
+        result.path = new ArrayList<>(path);
+        result.cursor = cursor;
+        result.state = CopyUtils.copy(state);
+        result.result = this.result;
+        return result;
+    }
+
     /**
      * Informa se o caminho reconhecimento representado por esse objeto já
      * encerrou-se. O término de um caminho de reconhecimento ocorre quando
@@ -0,0 +1,389 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa;
+
+import br.usp.poli.lta.cereda.aa.examples.ExampleState;
+import br.usp.poli.lta.cereda.aa.examples.ExampleSymbol;
+import br.usp.poli.lta.cereda.aa.execution.AdaptiveAutomaton;
+import br.usp.poli.lta.cereda.aa.model.Action;
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Submachine;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Construtor de autômatos adaptativos para os testes. O modelo é descrito
+ * através de submáquinas e transições identificadas por nomes de estados e
+ * símbolos, e é criado novamente a cada configuração do autômato.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class AutomatonBuilder {
+
+    // descrições das submáquinas, das transições e das ações, e os modos do
+    // conjunto de transições
+    private final List<SubmachineSpec> submachines;
+    private final List<TransitionSpec> transitions;
+    private final List<Action> actions;
+    private boolean frozen;
+    private boolean deduplication;
+
+    /**
+     * Descrição de uma submáquina.
+     */
+    private static final class SubmachineSpec {
+        private String name;
+        private String initial;
+        private String[] accepting;
+        private final Set<String> states = new HashSet<>();
+    }
+
+    /**
+     * Descrição de uma transição.
+     */
+    private static final class TransitionSpec {
+        private String from;
+        private String symbol;
+        private String call;
+        private String to;
+        private String prior;
+        private Object[] priorArguments;
+        private String post;
+        private Object[] postArguments;
+        private int priority;
+    }
+
+    /**
+     * Construtor.
+     */
+    public AutomatonBuilder() {
+        submachines = new ArrayList<>();
+        transitions = new ArrayList<>();
+        actions = new ArrayList<>();
+    }
+
+    /**
+     * Inicia a descrição de uma submáquina; as transições seguintes partem
+     * de estados desta submáquina. A primeira submáquina é a principal.
+     * @param name Nome da submáquina.
+     * @param initial Estado inicial.
+     * @param accepting Estados de aceitação.
+     * @return O próprio construtor.
+     */
+    public AutomatonBuilder submachine(String name, String initial,
+            String... accepting) {
+        SubmachineSpec spec = new SubmachineSpec();
+        spec.name = name;
+        spec.initial = initial;
+        spec.accepting = accepting;
+        spec.states.add(initial);
+        for (String state : accepting) {
+            spec.states.add(state);
+        }
+        submachines.add(spec);
+        return this;
+    }
+
+    /**
+     * Adiciona uma transição que consome um símbolo.
+     * @param from Estado de origem.
+     * @param symbol Símbolo consumido.
+     * @param to Estado de destino.
+     * @return O próprio construtor.
+     */
+    public AutomatonBuilder symbol(String from, String symbol, String to) {
+        return transition(from, symbol, null, to);
+    }
+
+    /**
+     * Adiciona uma transição em vazio.
+     * @param from Estado de origem.
+     * @param to Estado de destino.
+     * @return O próprio construtor.
+     */
+    public AutomatonBuilder epsilon(String from, String to) {
+        return transition(from, null, null, to);
+    }
+
+    /**
+     * Adiciona uma chamada de submáquina.
+     * @param from Estado de origem.
+     * @param submachine Submáquina chamada.
+     * @param to Estado de retorno.
+     * @return O próprio construtor.
+     */
+    public AutomatonBuilder call(String from, String submachine, String to) {
+        return transition(from, null, submachine, to);
+    }
+
+    /**
+     * Associa uma ação anterior à última transição.
+     * @param action Nome da ação.
+     * @param arguments Argumentos da ação.
+     * @return O próprio construtor.
+     */
+    public AutomatonBuilder prior(String action, Object... arguments) {
+        last().prior = action;
+        last().priorArguments = arguments;
+        return this;
+    }
+
+    /**
+     * Associa uma ação posterior à última transição.
+     * @param action Nome da ação.
+     * @param arguments Argumentos da ação.
+     * @return O próprio construtor.
+     */
+    public AutomatonBuilder post(String action, Object... arguments) {
+        last().post = action;
+        last().postArguments = arguments;
+        return this;
+    }
+
+    /**
+     * Define a prioridade da última transição.
+     * @param priority Prioridade.
+     * @return O próprio construtor.
+     */
+    public AutomatonBuilder priority(int priority) {
+        last().priority = priority;
+        return this;
+    }
+
+    /**
+     * Registra uma ação.
+     * @param action Ação.
+     * @return O próprio construtor.
+     */
+    public AutomatonBuilder action(Action action) {
+        actions.add(action);
+        return this;
+    }
+
+    /**
+     * Habilita o modo de transições imutáveis do conjunto de transições.
+     * @return O próprio construtor.
+     */
+    public AutomatonBuilder frozen() {
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * Habilita a eliminação de duplicatas do conjunto de transições.
+     * @return O próprio construtor.
+     */
+    public AutomatonBuilder deduplication() {
+        deduplication = true;
+        return this;
+    }
+
+    /**
+     * Cria o autômato adaptativo descrito.
+     * @return Autômato adaptativo.
+     */
+    public AdaptiveAutomaton build() {
+        final List<SubmachineSpec> machines = new ArrayList<>(submachines);
+        final List<TransitionSpec> edges = new ArrayList<>(transitions);
+        final List<Action> procedures = new ArrayList<>(actions);
+        final boolean immutable = frozen;
+        final boolean unique = deduplication;
+        return new AdaptiveAutomaton() {
+            @Override
+            public void setup() {
+                transitions.setDeduplication(unique);
+                transitions.setFrozen(immutable);
+                for (SubmachineSpec spec : machines) {
+                    Set<State> states = new HashSet<>();
+                    for (String name : spec.states) {
+                        states.add(state(name));
+                    }
+                    Set<State> accepting = new HashSet<>();
+                    for (String name : spec.accepting) {
+                        accepting.add(state(name));
+                    }
+                    submachines.add(new Submachine(spec.name, states,
+                            state(spec.initial), accepting));
+                }
+                for (Action action : procedures) {
+                    actions.add(action);
+                }
+                for (TransitionSpec spec : edges) {
+                    transitions.add(AutomatonBuilder.create(spec));
+                }
+                setMainSubmachine(machines.get(0).name);
+            }
+        };
+    }
+
+    /**
+     * Cria um estado de exemplo.
+     * @param name Nome do estado.
+     * @return Estado.
+     */
+    public static State state(String name) {
+        return new ExampleState(name);
+    }
+
+    /**
+     * Cria uma transição avulsa entre estados de exemplo.
+     * @param from Estado de origem.
+     * @param symbol Símbolo, ou nulo para uma transição em vazio.
+     * @param to Estado de destino.
+     * @return Transição.
+     */
+    public static Transition transition(String from, String symbol,
+            String to) {
+        Transition t = new Transition();
+        t.setTransition(state(from),
+                symbol == null ? null : new ExampleSymbol(symbol), state(to));
+        return t;
+    }
+
+    /**
+     * Cria a transição descrita.
+     * @param spec Descrição da transição.
+     * @return Transição.
+     */
+    private static Transition create(TransitionSpec spec) {
+        Transition t = new Transition();
+        if (spec.call != null) {
+            t.setSubmachineCall(state(spec.from), spec.call, state(spec.to));
+        }
+        else {
+            t.setTransition(state(spec.from), spec.symbol == null ? null :
+                    new ExampleSymbol(spec.symbol), state(spec.to));
+        }
+        if (spec.prior != null) {
+            t.setPriorActionCall(spec.prior);
+            t.setPriorActionArguments(spec.priorArguments);
+        }
+        if (spec.post != null) {
+            t.setPostActionCall(spec.post);
+            t.setPostActionArguments(spec.postArguments);
+        }
+        t.setPriority(spec.priority);
+        return t;
+    }
+
+    /**
+     * Adiciona a descrição de uma transição à submáquina corrente.
+     * @param from Estado de origem.
+     * @param symbol Símbolo consumido, ou nulo.
+     * @param call Submáquina chamada, ou nulo.
+     * @param to Estado de destino.
+     * @return O próprio construtor.
+     */
+    private AutomatonBuilder transition(String from, String symbol,
+            String call, String to) {
+        TransitionSpec spec = new TransitionSpec();
+        spec.from = from;
+        spec.symbol = symbol;
+        spec.call = call;
+        spec.to = to;
+        SubmachineSpec current = submachines.get(submachines.size() - 1);
+        current.states.add(from);
+        current.states.add(to);
+        transitions.add(spec);
+        return this;
+    }
+
+    /**
+     * Obtém a descrição da última transição.
+     * @return Descrição da última transição.
+     */
+    private TransitionSpec last() {
+        return transitions.get(transitions.size() - 1);
+    }
+
+    /**
+     * Cria um autômato aleatório sem ações adaptativas, com até três
+     * submáquinas sobre o alfabeto {a, b}. As submáquinas apenas chamam
+     * submáquinas posteriores, de modo que não há recursão.
+     * @param seed Semente do gerador.
+     * @return Construtor descrevendo o autômato.
+     */
+    public static AutomatonBuilder random(long seed) {
+        Random random = new Random(seed);
+        AutomatonBuilder result = new AutomatonBuilder();
+        int count = 1 + random.nextInt(3);
+        Map<Integer, Integer> sizes = new HashMap<>();
+        for (int m = 0; m < count; m++) {
+            int size = 2 + random.nextInt(4);
+            sizes.put(m, size);
+        }
+        for (int m = 0; m < count; m++) {
+            int size = sizes.get(m);
+            List<String> accepting = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (random.nextInt(3) == 0 || i == size - 1) {
+                    accepting.add("M" + m + "q" + i);
+                }
+            }
+            result.submachine("M" + m, "M" + m + "q0",
+                    accepting.toArray(new String[accepting.size()]));
+            int edges = 2 + random.nextInt(6);
+            for (int k = 0; k < edges; k++) {
+                int i = random.nextInt(size);
+                int kind = random.nextInt(6);
+                String from = "M" + m + "q" + i;
+                if (kind <= 2) {
+                    result.symbol(from, random.nextBoolean() ? "a" : "b",
+                            "M" + m + "q" + random.nextInt(size));
+                }
+                else if (kind <= 4) {
+                    if (i < size - 1) {
+                        result.epsilon(from, "M" + m + "q" +
+                                (i + 1 + random.nextInt(size - i - 1)));
+                    }
+                }
+                else if (m < count - 1 && i < size - 1) {
+                    result.call(from, "M" + (m + 1 + random.nextInt(count - m - 1)),
+                            "M" + m + "q" + (i + 1 + random.nextInt(size - i - 1)));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cria uma cadeia aleatória de até cinco símbolos sobre o alfabeto
+     * {a, b}.
+     * @param seed Semente do gerador.
+     * @return Cadeia aleatória.
+     */
+    public static String input(long seed) {
+        Random random = new Random(seed * 31 + 7);
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            sb.append(random.nextBoolean() ? 'a' : 'b');
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,148 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Testes do escalonador em feixe.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class BeamSchedulerTest {
+
+    // comparador que prioriza as threads de menor identificador
+    private static final Comparator<Kernel> OLDEST = new Comparator<Kernel>() {
+        @Override
+        public int compare(Kernel a, Kernel b) {
+            return Integer.compare(a.getIdentifier(), b.getIdentifier());
+        }
+    };
+
+    // comparador que considera todas as threads equivalentes
+    private static final Comparator<Kernel> NONE = new Comparator<Kernel>() {
+        @Override
+        public int compare(Kernel a, Kernel b) {
+            return 0;
+        }
+    };
+
+    // comparador que prioriza as threads cuja transição leva ao estado q1
+    private static final Comparator<Kernel> DEAD_END = new Comparator<Kernel>() {
+        @Override
+        public int compare(Kernel a, Kernel b) {
+            return Boolean.compare(!leadsToDeadEnd(a), !leadsToDeadEnd(b));
+        }
+
+        private boolean leadsToDeadEnd(Kernel k) {
+            return k.getTransition().getTargetState().equals(state("q1"));
+        }
+    };
+
+    /**
+     * Cria uma thread pendente com o cursor informado.
+     * @param cursor Cursor.
+     * @param removals Lista de remoção de threads.
+     * @param statistics Estatísticas.
+     * @return Thread pendente.
+     */
+    private static Kernel kernel(int cursor, List<Integer> removals,
+            Statistics statistics) {
+        Kernel kernel = new Kernel(new ArrayList<Kernel>(), removals,
+                new HashMap<Integer, RecognitionPath>());
+        kernel.setCursor(cursor);
+        kernel.setStatistics(statistics);
+        return kernel;
+    }
+
+    /**
+     * Cada feixe mantém no máximo a largura informada, descartando as piores
+     * threads, e o feixe de menor cursor é executado primeiro.
+     */
+    @Test
+    public void widthLimitsEachBeam() {
+        List<Integer> removals = new ArrayList<>();
+        Statistics statistics = new Statistics(0, 0, 0, 0);
+        Kernel a = kernel(2, removals, statistics);
+        Kernel b = kernel(2, removals, statistics);
+        Kernel c = kernel(2, removals, statistics);
+        Kernel d = kernel(1, removals, statistics);
+        Scheduler scheduler = new BeamScheduler(2, OLDEST);
+        scheduler.offer(c);
+        scheduler.offer(b);
+        scheduler.offer(a);
+        scheduler.offer(d);
+        assertEquals(3, scheduler.size());
+        assertEquals(1, removals.size());
+        assertEquals(c.getIdentifier(), (int) removals.get(0));
+        assertEquals(1, statistics.getPruned());
+        assertTrue(statistics.isApproximate());
+        assertSame(d, scheduler.poll());
+        assertSame(a, scheduler.poll());
+        assertSame(b, scheduler.poll());
+        assertTrue(scheduler.isEmpty());
+    }
+
+    /**
+     * A largura deve ser positiva.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void widthMustBePositive() {
+        new BeamScheduler(0, OLDEST);
+    }
+
+    /**
+     * Um feixe estreito pode descartar o único caminho de aceitação; a
+     * rejeição resultante é marcada como aproximada.
+     */
+    @Test
+    public void narrowBeamIsApproximate() {
+        AutomatonBuilder builder = new AutomatonBuilder().
+                submachine("M", "q0", "q9").
+                symbol("q0", "a", "q1").
+                symbol("q0", "a", "q2").
+                symbol("q2", "b", "q9");
+        AdaptiveAutomaton narrow = builder.build();
+        narrow.setScheduler(new BeamScheduler(1, DEAD_END));
+        assertFalse(narrow.recognize(ExampleUtils.convert("ab")));
+        assertTrue(narrow.getStatistics().isApproximate());
+        assertEquals(1, narrow.getStatistics().getPruned());
+
+        AdaptiveAutomaton wide = builder.build();
+        wide.setScheduler(new BeamScheduler(2, DEAD_END));
+        assertTrue(wide.recognize(ExampleUtils.convert("ab")));
+        assertFalse(wide.getStatistics().isApproximate());
+    }
+
+}
@@ -0,0 +1,151 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleSymbol;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import br.usp.poli.lta.cereda.aa.model.sets.Mapping;
+import java.util.Arrays;
+import java.util.HashSet;
+import org.junit.Test;
+
+/**
+ * Testes da memorização de chamadas de submáquinas.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class CallTableTest {
+
+    /**
+     * Cria um conjunto de transições com uma única transição.
+     * @return Conjunto de transições.
+     */
+    private static Mapping mapping() {
+        Mapping mapping = new Mapping();
+        Transition t = new Transition();
+        t.setTransition(state("q0"), new ExampleSymbol("a"), state("q1"));
+        mapping.add(t);
+        return mapping;
+    }
+
+    /**
+     * Os registros são indexados pela submáquina, pelo cursor de entrada e
+     * pela impressão digital do conjunto de transições.
+     */
+    @Test
+    public void framesAreKeyedByCallAndTopology() {
+        CallTable table = new CallTable();
+        Mapping mapping = mapping();
+        CallFrame frame = table.get("N", 0, mapping);
+        assertSame(frame, table.get("N", 0, mapping));
+        assertNotSame(frame, table.get("N", 1, mapping));
+        assertNotSame(frame, table.get("P", 0, mapping));
+        assertSame(frame, table.get("N", 0, mapping()));
+        Mapping changed = mapping();
+        Transition t = new Transition();
+        t.setTransition(state("q1"), new ExampleSymbol("b"), state("q2"));
+        changed.add(t);
+        assertNotSame(frame, table.get("N", 0, changed));
+        assertEquals(4, table.size());
+    }
+
+    /**
+     * Um registro é concluído quando todas as threads deixam a chamada, e
+     * mantém os cursores de saída.
+     */
+    @Test
+    public void framesCompleteWhenEveryThreadLeaves() {
+        CallFrame frame = new CallFrame(mapping());
+        frame.join();
+        frame.join();
+        frame.exit(2);
+        frame.leave();
+        assertFalse(frame.isComplete());
+        frame.exit(3);
+        frame.exit(2);
+        frame.leave();
+        assertTrue(frame.isComplete());
+        assertFalse(frame.isTainted());
+        assertEquals(new HashSet<>(Arrays.asList(2, 3)), frame.getExits());
+    }
+
+    /**
+     * Um registro invalidado, seja por uma ação ou por uma alteração no
+     * conjunto de transições durante a chamada, é substituído.
+     */
+    @Test
+    public void taintedFramesAreReplaced() {
+        CallTable table = new CallTable();
+        Mapping mapping = mapping();
+        CallFrame frame = table.get("N", 0, mapping);
+        frame.join();
+        frame.taint();
+        frame.leave();
+        assertNotSame(frame, table.get("N", 0, mapping));
+        CallFrame other = new CallFrame(mapping);
+        other.join();
+        Transition t = new Transition();
+        t.setTransition(state("q1"), new ExampleSymbol("b"), state("q2"));
+        mapping.add(t);
+        other.leave();
+        assertTrue(other.isComplete());
+        assertTrue(other.isTainted());
+    }
+
+    /**
+     * Uma chamada já concluída a partir do mesmo cursor é reaproveitada, sem
+     * simular a submáquina novamente.
+     */
+    @Test
+    public void completedCallsAreReused() {
+        AutomatonBuilder builder = new AutomatonBuilder().
+                submachine("M", "q0", "q3").
+                call("q0", "N", "q1").
+                call("q0", "N", "q2").
+                symbol("q1", "c", "q3").
+                symbol("q2", "d", "q3").
+                submachine("N", "p0", "p4").
+                symbol("p0", "a", "p1").
+                symbol("p1", "b", "p2").
+                symbol("p2", "a", "p3").
+                symbol("p3", "b", "p4");
+        AdaptiveAutomaton plain = builder.build();
+        plain.setDepthFirst(true);
+        assertTrue(plain.recognize(ExampleUtils.convert("ababd")));
+        AdaptiveAutomaton memoized = builder.build();
+        memoized.setDepthFirst(true);
+        memoized.setCallMemoization(true);
+        assertTrue(memoized.recognize(ExampleUtils.convert("ababd")));
+        assertTrue(memoized.getStatistics().getSteps() <
+                plain.getStatistics().getSteps());
+        assertFalse(memoized.recognize(ExampleUtils.convert("ababe")));
+    }
+
+}
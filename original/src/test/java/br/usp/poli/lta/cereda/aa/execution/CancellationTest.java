@@ -0,0 +1,159 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import java.util.Comparator;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+/**
+ * Testes do cancelamento de reconhecimentos que não terminariam por si só.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class CancellationTest {
+
+    /**
+     * Cria um autômato adaptativo com um ciclo de transições em vazio, cujo
+     * reconhecimento não termina sem a detecção de ciclos.
+     * @return Autômato adaptativo.
+     */
+    private static AdaptiveAutomaton loop() {
+        return new AutomatonBuilder().
+                submachine("M", "q0", "q9").
+                epsilon("q0", "q1").
+                epsilon("q1", "q0").
+                build();
+    }
+
+    /**
+     * Verifica se alguma thread do reconhecimento ainda está ativa.
+     * @return Valor lógico informando se há threads ativas.
+     */
+    private static boolean running() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread instanceof Kernel && thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Aguarda o término de todas as threads do reconhecimento.
+     * @throws InterruptedException A espera foi interrompida.
+     */
+    private static void awaitKernels() throws InterruptedException {
+        while (running()) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Interrompe a thread que conduz o reconhecimento do autômato informado
+     * e verifica o desfecho de cancelamento e a restauração da sinalização de
+     * interrupção.
+     * @param automaton Autômato adaptativo.
+     * @throws InterruptedException A espera foi interrompida.
+     */
+    private static void assertInterruptCancels(final AdaptiveAutomaton automaton)
+            throws InterruptedException {
+        final boolean[] outcome = new boolean[3];
+        Thread driver = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                outcome[0] = automaton.recognize(ExampleUtils.convert("a"));
+                outcome[1] = automaton.getStatistics().getOutcome() ==
+                        Outcome.CANCELLED;
+                outcome[2] = Thread.currentThread().isInterrupted();
+            }
+        });
+        driver.start();
+        Thread.sleep(200);
+        assertTrue(driver.isAlive());
+        driver.interrupt();
+        driver.join();
+        assertFalse(outcome[0]);
+        assertTrue(outcome[1]);
+        assertTrue(outcome[2]);
+        awaitKernels();
+    }
+
+    /**
+     * A interrupção cancela o reconhecimento no laço padrão.
+     * @throws InterruptedException A espera foi interrompida.
+     */
+    @Test(timeout = 10000)
+    public void interruptCancelsRounds() throws InterruptedException {
+        assertInterruptCancels(loop());
+    }
+
+    /**
+     * A interrupção cancela a busca em profundidade com retrocesso.
+     * @throws InterruptedException A espera foi interrompida.
+     */
+    @Test(timeout = 10000)
+    public void interruptCancelsDepthFirst() throws InterruptedException {
+        AdaptiveAutomaton automaton = loop();
+        automaton.setDepthFirst(true);
+        assertInterruptCancels(automaton);
+    }
+
+    /**
+     * A interrupção cancela o reconhecimento conduzido por um escalonador.
+     * @throws InterruptedException A espera foi interrompida.
+     */
+    @Test(timeout = 10000)
+    public void interruptCancelsScheduler() throws InterruptedException {
+        AdaptiveAutomaton automaton = loop();
+        automaton.setScheduler(new BestFirstScheduler(new Comparator<Kernel>() {
+            @Override
+            public int compare(Kernel a, Kernel b) {
+                return 0;
+            }
+        }));
+        assertInterruptCancels(automaton);
+    }
+
+    /**
+     * O cancelamento do valor futuro, com interrupção, encerra o
+     * reconhecimento assíncrono sem encerrar a máquina virtual.
+     * @throws InterruptedException A espera foi interrompida.
+     */
+    @Test(timeout = 10000)
+    public void asyncCancelStopsTheWorker() throws InterruptedException {
+        Future<RecognitionResult> future =
+                loop().recognizeAsync(ExampleUtils.convert("a"));
+        Thread.sleep(200);
+        assertFalse(future.isDone());
+        assertTrue(running());
+        assertTrue(future.cancel(true));
+        assertTrue(future.isCancelled());
+        awaitKernels();
+        assertFalse(running());
+    }
+
+}
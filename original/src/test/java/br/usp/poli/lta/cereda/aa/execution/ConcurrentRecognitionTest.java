@@ -0,0 +1,158 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Testes de reconhecimentos simultâneos sobre o mesmo autômato.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class ConcurrentRecognitionTest {
+
+    /**
+     * Cria um autômato adaptativo que reconhece cadeias da forma a*b.
+     * @return Autômato adaptativo.
+     */
+    private static AdaptiveAutomaton automaton() {
+        return new AutomatonBuilder().
+                submachine("M", "q0", "q9").
+                symbol("q0", "a", "q0").
+                symbol("q0", "b", "q9").
+                build();
+    }
+
+    /**
+     * Cria uma cadeia de entrada com a quantidade informada de símbolos a,
+     * terminada ou não pelo símbolo b.
+     * @param length Quantidade de símbolos a.
+     * @param accepted Valor lógico informando se a cadeia termina em b.
+     * @return Cadeia de entrada.
+     */
+    private static String input(int length, boolean accepted) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append('a');
+        }
+        return sb.append(accepted ? 'b' : 'a').toString();
+    }
+
+    /**
+     * Cada thread obtém o resultado da sua própria avaliação, ainda que
+     * outras threads avaliem cadeias distintas no mesmo autômato.
+     * @throws InterruptedException A espera foi interrompida.
+     */
+    @Test(timeout = 30000)
+    public void evaluationsAreIndependent() throws InterruptedException {
+        final AdaptiveAutomaton automaton = automaton();
+        final List<String> failures =
+                Collections.synchronizedList(new ArrayList<String>());
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            final int length = i + 1;
+            final boolean accepted = i % 2 == 0;
+            Thread worker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    String text = input(length, accepted);
+                    for (int j = 0; j < 20; j++) {
+                        RecognitionResult result = automaton.evaluate(
+                                ExampleUtils.convert(text));
+                        Outcome outcome = result.getStatistics().getOutcome();
+                        List<RecognitionPath> paths =
+                                result.getRecognitionPaths();
+                        if (result.isAccepted() != accepted || outcome != (accepted ?
+                                Outcome.ACCEPTED : Outcome.REJECTED) ||
+                                paths.size() != 1 ||
+                                paths.get(0).getCursor() != text.length()) {
+                            failures.add(text);
+                        }
+                    }
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertTrue(failures.toString(), failures.isEmpty());
+    }
+
+    /**
+     * O último reconhecimento é visível a partir de qualquer thread.
+     * @throws InterruptedException A espera foi interrompida.
+     */
+    @Test(timeout = 10000)
+    @SuppressWarnings("deprecation")
+    public void lastRecognitionIsVisibleToOtherThreads()
+            throws InterruptedException {
+        final AdaptiveAutomaton automaton = automaton();
+        Thread worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                automaton.recognize(ExampleUtils.convert("aab"));
+            }
+        });
+        worker.start();
+        worker.join();
+        assertEquals(Outcome.ACCEPTED, automaton.getStatistics().getOutcome());
+        assertEquals(3, automaton.getRecognitionPaths().get(0).getCursor());
+    }
+
+    /**
+     * Sem um reconhecimento anterior, não há último reconhecimento.
+     */
+    @Test(expected = IllegalStateException.class)
+    @SuppressWarnings("deprecation")
+    public void noLastRecognitionBeforeRecognizing() {
+        automaton().getStatistics();
+    }
+
+    /**
+     * O reconhecimento avulso retorna um resultado independente e não altera
+     * o último reconhecimento do autômato.
+     */
+    @Test
+    @SuppressWarnings("deprecation")
+    public void evaluateLeavesTheLastRecognition() {
+        AdaptiveAutomaton automaton = automaton();
+        assertTrue(automaton.recognize(ExampleUtils.convert("ab")));
+        RecognitionResult result = automaton.evaluate(
+                ExampleUtils.convert("aa"));
+        assertFalse(result.isAccepted());
+        assertEquals(Outcome.REJECTED, result.getStatistics().getOutcome());
+        assertEquals(Outcome.ACCEPTED, automaton.getStatistics().getOutcome());
+        assertTrue(automaton.getRecognitionPaths().get(0).getResult());
+    }
+
+}
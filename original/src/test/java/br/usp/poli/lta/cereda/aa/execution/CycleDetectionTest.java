@@ -0,0 +1,110 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import org.junit.Test;
+
+/**
+ * Testes da detecção de ciclos sem consumo de símbolos.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class CycleDetectionTest {
+
+    // limite de passos computacionais, que apenas impede que uma regressão
+    // faça o teste executar indefinidamente
+    private static final long LIMIT = 100000;
+
+    /**
+     * Um laço em vazio ao lado de uma transição alternativa é interrompido
+     * na primeira revisita, com uma quantidade de passos linear no
+     * comprimento da cadeia, em vez de fatorial.
+     */
+    @Test
+    public void epsilonLoopsAreCutOnTheFirstRevisit() {
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("M", "q0", "q0").
+                epsilon("q0", "q0").
+                symbol("q0", "a", "q0").
+                build();
+        automaton.setCycleDetection(true);
+        automaton.setMaximumSteps(LIMIT);
+        assertTrue(automaton.recognize(ExampleUtils.convert("aaaaaaa")));
+        assertEquals(Outcome.ACCEPTED,
+                automaton.getStatistics().getOutcome());
+        assertTrue(automaton.getStatistics().getSteps() < 200);
+        assertFalse(automaton.recognize(ExampleUtils.convert("aaaaaab")));
+        assertEquals(Outcome.REJECTED,
+                automaton.getStatistics().getOutcome());
+        assertTrue(automaton.getStatistics().getSteps() < 200);
+    }
+
+    /**
+     * Sem a detecção de ciclos, o mesmo autômato esgota o limite de passos.
+     */
+    @Test
+    public void epsilonLoopsRunForeverWithoutDetection() {
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("M", "q0", "q2").
+                epsilon("q0", "q1").
+                epsilon("q1", "q0").
+                symbol("q0", "a", "q2").
+                build();
+        automaton.setMaximumSteps(1000);
+        assertFalse(automaton.recognize(ExampleUtils.convert("b")));
+        assertEquals(Outcome.STEP_LIMIT_EXCEEDED,
+                automaton.getStatistics().getOutcome());
+        automaton.setCycleDetection(true);
+        assertFalse(automaton.recognize(ExampleUtils.convert("b")));
+        assertEquals(Outcome.REJECTED,
+                automaton.getStatistics().getOutcome());
+    }
+
+    /**
+     * Chamadas recursivas à esquerda, em que a pilha cresce a cada
+     * revisita, continuam sendo reconhecidas.
+     */
+    @Test
+    public void leftRecursionIsStillRecognized() {
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("E", "e0", "e2", "e3").
+                call("e0", "E", "e1").
+                symbol("e1", "+", "e2").
+                symbol("e0", "n", "e3").
+                epsilon("e2", "e3").
+                build();
+        automaton.setCycleDetection(true);
+        automaton.setMaximumSteps(LIMIT);
+        assertTrue(automaton.recognize(ExampleUtils.convert("n")));
+        assertTrue(automaton.recognize(ExampleUtils.convert("n+")));
+        assertTrue(automaton.recognize(ExampleUtils.convert("n++")));
+        assertFalse(automaton.recognize(ExampleUtils.convert("+n")));
+        assertEquals(Outcome.REJECTED,
+                automaton.getStatistics().getOutcome());
+    }
+
+}
@@ -0,0 +1,223 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleSymbol;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import br.usp.poli.lta.cereda.aa.model.Action;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import br.usp.poli.lta.cereda.aa.model.sets.Mapping;
+import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Testes do passo computacional do núcleo do autômato adaptativo.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class KernelTest {
+
+    /**
+     * Repete a cadeia informada.
+     * @param text Cadeia.
+     * @param times Quantidade de repetições.
+     * @return Cadeia repetida.
+     */
+    private static String repeat(String text, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(text);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Um autômato determinístico é simulado por uma única thread, que
+     * prossegue sem criar novas threads.
+     */
+    @Test
+    public void deterministicStepsRunInPlace() {
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("M", "q0", "q0").
+                symbol("q0", "a", "q1").
+                symbol("q1", "b", "q0").
+                build();
+        String input = repeat("ab", 100);
+        assertTrue(automaton.recognize(ExampleUtils.convert(input)));
+        assertTrue(automaton.getStatistics().getPeakThreads() <= 1);
+        assertEquals(input.length() + 1,
+                automaton.getStatistics().getSteps());
+        List<RecognitionPath> paths = automaton.getRecognitionPaths();
+        assertEquals(1, paths.size());
+        assertEquals(input.length(), paths.get(0).getPath().size());
+        assertTrue(paths.get(0).getResult());
+    }
+
+    /**
+     * Após uma bifurcação, cada ramo mantém o seu próprio caminho de
+     * reconhecimento.
+     */
+    @Test
+    public void forksKeepSeparatePaths() {
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("M", "q0", "q2", "q3").
+                symbol("q0", "a", "q1").
+                symbol("q1", "b", "q2").
+                symbol("q1", "b", "q3").
+                build();
+        assertTrue(automaton.recognize(ExampleUtils.convert("ab")));
+        assertTrue(automaton.getStatistics().getPeakThreads() > 1);
+        List<RecognitionPath> paths = automaton.getRecognitionPaths();
+        assertEquals(2, paths.size());
+        for (RecognitionPath path : paths) {
+            assertTrue(path.getResult());
+            assertEquals(2, path.getPath().size());
+        }
+    }
+
+    /**
+     * Uma transição nula é rejeitada antes de qualquer uso.
+     */
+    @Test(expected = NullPointerException.class)
+    public void nullTransitionIsRejected() {
+        Kernel kernel = new Kernel(new ArrayList<Kernel>(),
+                new ArrayList<Integer>(),
+                new HashMap<Integer, RecognitionPath>());
+        kernel.run();
+    }
+
+    /**
+     * Uma ação posterior que adiciona transições altera o restante do
+     * reconhecimento.
+     */
+    @Test
+    public void postActionsAdaptTheAutomaton() {
+        Action adapt = new Action("A") {
+            @Override
+            public void execute(Mapping transitions, Transition transition,
+                    Object... parameters) {
+                Transition t = new Transition();
+                t.setTransition(AutomatonBuilder.state("q1"),
+                        new ExampleSymbol("b"), AutomatonBuilder.state("q2"));
+                transitions.add(t);
+            }
+        };
+        AutomatonBuilder builder = new AutomatonBuilder().
+                submachine("M", "q0", "q2").
+                symbol("q0", "a", "q1").post("A").
+                action(adapt);
+        assertTrue(builder.build().recognize(ExampleUtils.convert("ab")));
+        assertFalse(new AutomatonBuilder().
+                submachine("M", "q0", "q2").
+                symbol("q0", "a", "q1").
+                build().recognize(ExampleUtils.convert("ab")));
+    }
+
+    /**
+     * Uma ação anterior que remove a transição corrente faz com que uma nova
+     * transição seja calculada a partir do estado de origem.
+     */
+    @Test
+    public void priorActionsRemovingTheTransitionReselect() {
+        Action remove = new Action("R") {
+            @Override
+            public void execute(Mapping transitions, Transition transition,
+                    Object... parameters) {
+                for (Transition t : transitions.withSymbol(
+                        new ExampleSymbol("a"))) {
+                    if (t.hasPriorActionCall()) {
+                        transitions.removeFromIdentifier(t.getIdentifier());
+                    }
+                }
+            }
+        };
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("M", "q0", "q2").
+                symbol("q0", "a", "q1").prior("R").
+                symbol("q0", "a", "q2").
+                action(remove).
+                build();
+        assertTrue(automaton.recognize(ExampleUtils.convert("a")));
+        for (RecognitionPath path : automaton.getRecognitionPaths()) {
+            assertTrue(path.getResult());
+        }
+    }
+
+    /**
+     * Uma chamada de submáquina retorna ao estado indicado após atingir um
+     * estado de aceitação da submáquina chamada.
+     */
+    @Test
+    public void submachineCallsReturn() {
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("M", "q0", "q2").
+                call("q0", "N", "q1").
+                symbol("q1", "c", "q2").
+                submachine("N", "p0", "p1").
+                symbol("p0", "a", "p1").
+                symbol("p1", "b", "p0").
+                build();
+        assertTrue(automaton.recognize(ExampleUtils.convert("abac")));
+        assertFalse(automaton.recognize(ExampleUtils.convert("abc")));
+        assertFalse(automaton.recognize(ExampleUtils.convert("ab")));
+    }
+
+    /**
+     * Com as ramificações isoladas ou com a busca em profundidade, as
+     * alterações feitas pelas ações de uma ramificação não são vistas pelas
+     * demais.
+     */
+    @Test
+    public void isolatedBranchesDoNotShareAdaptations() {
+        Action adapt = new Action("A") {
+            @Override
+            public void execute(Mapping transitions, Transition transition,
+                    Object... parameters) {
+                Transition t = new Transition();
+                t.setTransition(AutomatonBuilder.state("r1"),
+                        new ExampleSymbol("b"), AutomatonBuilder.state("r2"));
+                transitions.add(t);
+            }
+        };
+        AutomatonBuilder builder = new AutomatonBuilder().
+                submachine("M", "q0", "r2").
+                symbol("q0", "a", "p1").post("A").
+                symbol("q0", "a", "r0").
+                epsilon("r0", "r1").
+                action(adapt);
+        assertTrue(builder.build().recognize(ExampleUtils.convert("ab")));
+        AdaptiveAutomaton automaton = builder.build();
+        automaton.setIsolatedBranches(true);
+        assertFalse(automaton.recognize(ExampleUtils.convert("ab")));
+        automaton = builder.build();
+        automaton.setDepthFirst(true);
+        assertFalse(automaton.recognize(ExampleUtils.convert("ab")));
+    }
+
+}
@@ -0,0 +1,122 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Testes da escolha ordenada.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class OrderedChoiceTest {
+
+    /**
+     * Obtém os caminhos de aceitação do último reconhecimento.
+     * @param automaton Autômato adaptativo.
+     * @return Caminhos de aceitação.
+     */
+    private static List<RecognitionPath> accepted(AdaptiveAutomaton automaton) {
+        List<RecognitionPath> result = new ArrayList<>();
+        for (RecognitionPath path : automaton.getRecognitionPaths()) {
+            if (path.getResult()) {
+                result.add(path);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * As alternativas são tentadas em ordem decrescente de prioridade, e a
+     * primeira aceitação efetiva o reconhecimento.
+     */
+    @Test
+    public void alternativesFollowPriority() {
+        for (int low = 0; low < 2; low++) {
+            AutomatonBuilder builder = new AutomatonBuilder().
+                    submachine("M", "q0", "x", "y").
+                    symbol("q0", "a", "x").priority(low).
+                    symbol("q0", "a", "y").priority(1 - low);
+            AdaptiveAutomaton plain = builder.build();
+            assertTrue(plain.recognize(ExampleUtils.convert("a")));
+            assertEquals(2, accepted(plain).size());
+            AdaptiveAutomaton ordered = builder.build();
+            ordered.setOrderedChoice(true);
+            assertTrue(ordered.recognize(ExampleUtils.convert("a")));
+            assertEquals(1, accepted(ordered).size());
+            assertEquals(state(low == 0 ? "y" : "x"),
+                    accepted(ordered).get(0).getState());
+        }
+    }
+
+    /**
+     * O retorno de uma chamada efetiva a escolha feita dentro dela; uma
+     * falha posterior não retorna à chamada para tentar a alternativa de
+     * menor prioridade.
+     */
+    @Test
+    public void returnCommitsTheChoice() {
+        AutomatonBuilder builder = new AutomatonBuilder().
+                submachine("M", "q0", "q9").
+                call("q0", "S", "q1").
+                symbol("q1", "b", "q9").
+                submachine("S", "s0", "s9").
+                symbol("s0", "a", "s9").priority(1).
+                symbol("s0", "a", "s1").
+                symbol("s1", "a", "s9");
+        AdaptiveAutomaton plain = builder.build();
+        assertTrue(plain.recognize(ExampleUtils.convert("aab")));
+        AdaptiveAutomaton ordered = builder.build();
+        ordered.setOrderedChoice(true);
+        assertFalse(ordered.recognize(ExampleUtils.convert("aab")));
+        ordered = builder.build();
+        ordered.setOrderedChoice(true);
+        assertTrue(ordered.recognize(ExampleUtils.convert("ab")));
+    }
+
+    /**
+     * Sem uma chamada que efetive a escolha, a falha de uma alternativa
+     * retrocede para a alternativa seguinte.
+     */
+    @Test
+    public void failureBacktracksToTheNextAlternative() {
+        AdaptiveAutomaton ordered = new AutomatonBuilder().
+                submachine("M", "q0", "q9").
+                symbol("q0", "a", "q9").priority(1).
+                symbol("q0", "a", "q1").
+                symbol("q1", "b", "q9").
+                build();
+        ordered.setOrderedChoice(true);
+        assertTrue(ordered.recognize(ExampleUtils.convert("ab")));
+        assertEquals(1, accepted(ordered).size());
+    }
+
+}
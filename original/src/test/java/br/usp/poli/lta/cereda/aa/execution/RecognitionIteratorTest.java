@@ -0,0 +1,156 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * Testes do reconhecimento com caminhos aceitos sob demanda.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class RecognitionIteratorTest {
+
+    /**
+     * O iterador apresenta exatamente os caminhos aceitos do resultado
+     * completo, disponível ao término da iteração.
+     */
+    @Test(timeout = 10000)
+    public void streamedPathsMatchTheResult() {
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("M", "q0", "x", "y", "z").
+                symbol("q0", "a", "x").
+                symbol("q0", "a", "y").
+                symbol("q0", "a", "z").
+                symbol("q0", "a", "q1").
+                build();
+        RecognitionIterator iterator =
+                automaton.recognizeLazily(ExampleUtils.convert("a"));
+        Set<State> streamed = new HashSet<>();
+        while (iterator.hasNext()) {
+            RecognitionPath path = iterator.next();
+            assertTrue(path.getResult());
+            streamed.add(path.getState());
+        }
+        RecognitionResult result = iterator.getResult();
+        assertNotNull(result);
+        assertTrue(result.isAccepted());
+        assertEquals(Outcome.ACCEPTED, result.getStatistics().getOutcome());
+        Set<State> accepted = new HashSet<>();
+        for (RecognitionPath path : result.getRecognitionPaths()) {
+            if (path.getResult()) {
+                accepted.add(path.getState());
+            }
+        }
+        assertEquals(3, streamed.size());
+        assertEquals(accepted, streamed);
+    }
+
+    /**
+     * Uma cadeia rejeitada não produz caminhos.
+     */
+    @Test(timeout = 10000)
+    public void rejectionProducesNoPaths() {
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("M", "q0", "q1").
+                symbol("q0", "a", "q1").
+                build();
+        RecognitionIterator iterator =
+                automaton.recognizeLazily(ExampleUtils.convert("b"));
+        assertFalse(iterator.hasNext());
+        assertFalse(iterator.getResult().isAccepted());
+        assertEquals(Outcome.REJECTED,
+                iterator.getResult().getStatistics().getOutcome());
+    }
+
+    /**
+     * Ao término da iteração, o próximo caminho não existe.
+     */
+    @Test(timeout = 10000, expected = NoSuchElementException.class)
+    public void nextAfterTheEndFails() {
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("M", "q0", "q1").
+                symbol("q0", "a", "q1").
+                build();
+        RecognitionIterator iterator =
+                automaton.recognizeLazily(ExampleUtils.convert("a"));
+        iterator.next();
+        iterator.next();
+    }
+
+    /**
+     * Fechar o iterador cancela um reconhecimento que não terminaria por si
+     * só.
+     */
+    @Test(timeout = 10000)
+    public void closeCancelsTheRecognition() {
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("M", "q0", "q9").
+                epsilon("q0", "q0").
+                build();
+        RecognitionIterator iterator =
+                automaton.recognizeLazily(ExampleUtils.convert("a"));
+        iterator.close();
+        assertFalse(iterator.hasNext());
+        RecognitionResult result = iterator.getResult();
+        assertNotNull(result);
+        assertFalse(result.isAccepted());
+        assertEquals(Outcome.CANCELLED, result.getStatistics().getOutcome());
+    }
+
+    /**
+     * Fechar o iterador após uma aceitação encerra o reconhecimento, mas a
+     * cadeia continua aceita, assim como no esgotamento de um limite.
+     */
+    @Test(timeout = 10000)
+    public void closeAfterAcceptanceKeepsTheResult() {
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("M", "q0", "q9").
+                epsilon("q0", "q0").
+                symbol("q0", "a", "q9").
+                build();
+        RecognitionIterator iterator =
+                automaton.recognizeLazily(ExampleUtils.convert("a"));
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        iterator.close();
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+        RecognitionResult result = iterator.getResult();
+        assertNotNull(result);
+        assertTrue(result.isAccepted());
+        assertEquals(Outcome.ACCEPTED, result.getStatistics().getOutcome());
+    }
+
+}
@@ -0,0 +1,284 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import static org.junit.Assert.assertEquals;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import java.util.Comparator;
+import org.junit.Test;
+
+/**
+ * Testes de equivalência dos modos de reconhecimento. Para autômatos
+ * aleatórios sem ações adaptativas, cada modo deve aceitar exatamente as
+ * mesmas cadeias que o reconhecimento padrão.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class RecognitionModesTest {
+
+    // quantidade de autômatos aleatórios verificados por modo
+    private static final int SAMPLES = 300;
+
+    /**
+     * Configuração de um modo de reconhecimento.
+     */
+    private interface Mode {
+
+        /**
+         * Aplica o modo ao autômato informado.
+         * @param automaton Autômato adaptativo.
+         */
+        void apply(AdaptiveAutomaton automaton);
+    }
+
+    /**
+     * Verifica que o modo informado aceita as mesmas cadeias que o
+     * reconhecimento padrão.
+     * @param mode Modo de reconhecimento.
+     */
+    private static void assertEquivalent(Mode mode) {
+        for (long seed = 0; seed < SAMPLES; seed++) {
+            AutomatonBuilder builder = AutomatonBuilder.random(seed);
+            String input = AutomatonBuilder.input(seed);
+            boolean expected = builder.build().recognize(
+                    ExampleUtils.convert(input));
+            AdaptiveAutomaton automaton = builder.build();
+            mode.apply(automaton);
+            assertEquals("semente " + seed + ", cadeia '" + input + "'",
+                    expected, automaton.recognize(ExampleUtils.convert(input)));
+        }
+    }
+
+    /**
+     * Os fechos em vazio não alteram a linguagem reconhecida.
+     */
+    @Test
+    public void epsilonClosures() {
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setEpsilonClosures(true);
+            }
+        });
+    }
+
+    /**
+     * O cache de subconjuntos determinísticos não altera a linguagem
+     * reconhecida.
+     */
+    @Test
+    public void deterministicCache() {
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setDeterministicCache(true);
+            }
+        });
+    }
+
+    /**
+     * As ramificações isoladas não alteram a linguagem reconhecida por
+     * autômatos sem ações adaptativas.
+     */
+    @Test
+    public void isolatedBranches() {
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setIsolatedBranches(true);
+            }
+        });
+    }
+
+    /**
+     * A busca em profundidade com retrocesso não altera a linguagem
+     * reconhecida.
+     */
+    @Test
+    public void depthFirst() {
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setDepthFirst(true);
+            }
+        });
+    }
+
+    /**
+     * A memorização de chamadas de submáquinas não altera a linguagem
+     * reconhecida, tanto na busca em largura quanto na busca em
+     * profundidade.
+     */
+    @Test
+    public void callMemoization() {
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setCallMemoization(true);
+            }
+        });
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setCallMemoization(true);
+                automaton.setDepthFirst(true);
+            }
+        });
+    }
+
+    /**
+     * O descarte de candidatos pelos conjuntos primeiro não altera a
+     * linguagem reconhecida.
+     */
+    @Test
+    public void lookahead() {
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setLookahead(true);
+            }
+        });
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setLookahead(true);
+                automaton.setDepthFirst(true);
+            }
+        });
+    }
+
+    /**
+     * O descarte de transições que conduzem a estados não co-alcançáveis não
+     * altera a linguagem reconhecida.
+     */
+    @Test
+    public void coReachability() {
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setCoReachability(true);
+            }
+        });
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setCoReachability(true);
+                automaton.setDepthFirst(true);
+            }
+        });
+    }
+
+    /**
+     * A rejeição antecipada pelos limites de comprimento não altera a
+     * linguagem reconhecida.
+     */
+    @Test
+    public void lengthBound() {
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setLengthBound(true);
+            }
+        });
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setLengthBound(true);
+                automaton.setDepthFirst(true);
+            }
+        });
+    }
+
+    /**
+     * A detecção de ciclos não altera a linguagem reconhecida.
+     */
+    @Test
+    public void cycleDetection() {
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setCycleDetection(true);
+            }
+        });
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setCycleDetection(true);
+                automaton.setDepthFirst(true);
+            }
+        });
+    }
+
+    /**
+     * Os escalonadores não alteram a linguagem reconhecida por autômatos sem
+     * ações adaptativas.
+     */
+    @Test
+    public void schedulers() {
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setScheduler(new BreadthFirstScheduler());
+            }
+        });
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setScheduler(new DepthFirstScheduler());
+            }
+        });
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setScheduler(new BestFirstScheduler(
+                        new Comparator<Kernel>() {
+                    @Override
+                    public int compare(Kernel a, Kernel b) {
+                        return Integer.compare(b.getCursor(), a.getCursor());
+                    }
+                }));
+            }
+        });
+    }
+
+    /**
+     * Um feixe suficientemente largo não descarta threads e, portanto, não
+     * altera a linguagem reconhecida.
+     */
+    @Test
+    public void wideBeam() {
+        assertEquivalent(new Mode() {
+            @Override
+            public void apply(AdaptiveAutomaton automaton) {
+                automaton.setScheduler(new BeamScheduler(1024,
+                        new Comparator<Kernel>() {
+                    @Override
+                    public int compare(Kernel a, Kernel b) {
+                        return 0;
+                    }
+                }));
+            }
+        });
+    }
+
+}
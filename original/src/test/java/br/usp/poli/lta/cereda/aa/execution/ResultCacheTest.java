@@ -0,0 +1,209 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * Testes do cache de resultados de reconhecimento.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class ResultCacheTest {
+
+    /**
+     * Cria um autômato adaptativo que reconhece cadeias da forma a*b.
+     * @return Autômato adaptativo.
+     */
+    private static AdaptiveAutomaton automaton() {
+        return new AutomatonBuilder().
+                submachine("M", "q0", "q9").
+                symbol("q0", "a", "q0").
+                symbol("q0", "b", "q9").
+                build();
+    }
+
+    /**
+     * Cria um resultado com o desfecho informado.
+     * @param outcome Desfecho do reconhecimento.
+     * @return Resultado do reconhecimento.
+     */
+    private static RecognitionResult result(Outcome outcome) {
+        Statistics statistics = new Statistics(0, 0, 0, 0);
+        switch (outcome) {
+            case ACCEPTED:
+                statistics.finish(true);
+                break;
+            case REJECTED:
+                statistics.finish(false);
+                break;
+            default:
+                statistics.cancel();
+                statistics.finish(false);
+                break;
+        }
+        return new RecognitionResult(outcome == Outcome.ACCEPTED,
+                new HashMap<Integer, RecognitionPath>(), statistics);
+    }
+
+    /**
+     * Acertos e falhas são contabilizados, e o resultado utilizado há mais
+     * tempo é descartado quando a capacidade é excedida.
+     */
+    @Test
+    public void countsAndEvictsLeastRecentlyUsed() {
+        ResultCache cache = new ResultCache(2);
+        cache.put(ExampleUtils.convert("a"), result(Outcome.ACCEPTED));
+        cache.put(ExampleUtils.convert("b"), result(Outcome.REJECTED));
+        assertTrue(cache.get(ExampleUtils.convert("a")).isAccepted());
+        cache.put(ExampleUtils.convert("c"), result(Outcome.REJECTED));
+        assertEquals(2, cache.size());
+        assertNull(cache.get(ExampleUtils.convert("b")));
+        assertFalse(cache.get(ExampleUtils.convert("c")).isAccepted());
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    /**
+     * Reconhecimentos interrompidos não são armazenados.
+     */
+    @Test
+    public void interruptedResultsAreNotCached() {
+        ResultCache cache = new ResultCache(2);
+        cache.put(ExampleUtils.convert("a"), result(Outcome.CANCELLED));
+        assertEquals(0, cache.size());
+
+        AdaptiveAutomaton automaton = automaton();
+        automaton.setResultCache(4);
+        automaton.setMaximumSteps(2);
+        assertFalse(automaton.recognize(ExampleUtils.convert("aaab")));
+        assertEquals(Outcome.STEP_LIMIT_EXCEEDED,
+                automaton.getStatistics().getOutcome());
+        assertEquals(0, automaton.getResultCache().size());
+    }
+
+    /**
+     * Cada acerto devolve uma cópia independente do resultado armazenado;
+     * alterar os caminhos ou o mapa de um resultado não afeta os demais.
+     */
+    @Test
+    public void hitsAreIsolated() {
+        AdaptiveAutomaton automaton = automaton();
+        automaton.setResultCache(4);
+        assertTrue(automaton.recognize(ExampleUtils.convert("ab")));
+        Map<Integer, RecognitionPath> first = automaton.getRecognitionMap();
+        Statistics statistics = automaton.getStatistics();
+        RecognitionPath path = first.values().iterator().next();
+        int steps = path.getPath().size();
+        path.addPath("alterado");
+        path.setResult(false);
+        first.clear();
+
+        assertTrue(automaton.recognize(ExampleUtils.convert("ab")));
+        assertEquals(1, automaton.getResultCache().getHits());
+        assertNotSame(statistics, automaton.getStatistics());
+        List<RecognitionPath> second = automaton.getRecognitionPaths();
+        assertEquals(1, second.size());
+        assertEquals(steps, second.get(0).getPath().size());
+        assertTrue(second.get(0).getResult());
+
+        automaton.getRecognitionMap().clear();
+        RecognitionResult third = automaton.evaluate(
+                ExampleUtils.convert("ab"));
+        assertEquals(1, third.getRecognitionPaths().size());
+        assertNotSame(second.get(0), third.getRecognitionPaths().get(0));
+    }
+
+    /**
+     * Resultados aproximados não são armazenados, ainda que o
+     * reconhecimento tenha sido concluído.
+     */
+    @Test
+    public void approximateResultsAreNotCached() {
+        ResultCache cache = new ResultCache(2);
+        RecognitionResult result = result(Outcome.ACCEPTED);
+        result.getStatistics().prune();
+        cache.put(ExampleUtils.convert("a"), result);
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * A cópia utilizada em cada reconhecimento não possui o cache, de modo
+     * que a configuração da cópia não descarta os resultados armazenados.
+     */
+    @Test
+    public void recognitionsKeepTheCache() {
+        AdaptiveAutomaton automaton = automaton();
+        automaton.setResultCache(4);
+        ResultCache cache = automaton.getResultCache();
+        automaton.evaluate(ExampleUtils.convert("ab"));
+        automaton.evaluate(ExampleUtils.convert("aab"));
+        automaton.evaluate(ExampleUtils.convert("ab"));
+        assertSame(cache, automaton.getResultCache());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getHits());
+    }
+
+    /**
+     * A alteração de qualquer opção do autômato descarta os resultados
+     * armazenados.
+     */
+    @Test
+    public void optionChangesClearTheCache() {
+        AdaptiveAutomaton automaton = automaton();
+        automaton.setResultCache(4);
+        ResultCache cache = automaton.getResultCache();
+        automaton.evaluate(ExampleUtils.convert("ab"));
+        automaton.setMaximumSteps(100);
+        assertEquals(0, cache.size());
+        automaton.evaluate(ExampleUtils.convert("ab"));
+        automaton.setScheduler(new DepthFirstScheduler());
+        assertEquals(0, cache.size());
+        automaton.evaluate(ExampleUtils.convert("ab"));
+        automaton.setRetentionPolicy(RetentionPolicy.accepting());
+        assertEquals(0, cache.size());
+        automaton.evaluate(ExampleUtils.convert("ab"));
+        automaton.setStopAtFirstResult(true);
+        assertEquals(0, cache.size());
+        automaton.evaluate(ExampleUtils.convert("ab"));
+        automaton.setScheduler(null);
+        automaton.setOrderedChoice(true);
+        assertEquals(0, cache.size());
+        assertTrue(automaton.evaluate(ExampleUtils.convert("ab")).
+                isAccepted());
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getHits());
+    }
+
+}
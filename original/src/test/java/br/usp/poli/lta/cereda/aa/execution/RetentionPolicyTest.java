@@ -0,0 +1,136 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import org.junit.Test;
+
+/**
+ * Testes das políticas de retenção dos caminhos de reconhecimento.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class RetentionPolicyTest {
+
+    /**
+     * Encerra os caminhos informados, na ordem, sob a política informada.
+     * Cada caminho é descrito pelo cursor, com sinal negativo para as
+     * rejeições.
+     * @param policy Política de retenção.
+     * @param cursors Cursores dos caminhos encerrados.
+     * @return Chaves dos caminhos retidos.
+     */
+    private static TreeSet<Integer> retain(RetentionPolicy policy,
+            int... cursors) {
+        Map<Integer, RecognitionPath> paths = new HashMap<>();
+        RetentionPolicy.Run run = policy.start();
+        for (int key = 0; key < cursors.length; key++) {
+            RecognitionPath path = new RecognitionPath();
+            path.setCursor(Math.abs(cursors[key]));
+            path.setResult(cursors[key] > 0);
+            paths.put(key, path);
+            run.apply(key, paths);
+        }
+        return new TreeSet<>(paths.keySet());
+    }
+
+    /**
+     * Conjunto de chaves.
+     * @param keys Chaves.
+     * @return Conjunto de chaves.
+     */
+    private static TreeSet<Integer> keys(Integer... keys) {
+        TreeSet<Integer> result = new TreeSet<>();
+        for (Integer key : keys) {
+            result.add(key);
+        }
+        return result;
+    }
+
+    /**
+     * Cada modo retém os caminhos esperados.
+     */
+    @Test
+    public void modesRetainTheExpectedPaths() {
+        int[] cursors = { -1, 2, -3, 2, -3 };
+        assertEquals(keys(0, 1, 2, 3, 4),
+                retain(RetentionPolicy.all(), cursors));
+        assertEquals(keys(1, 3), retain(RetentionPolicy.accepting(), cursors));
+        assertEquals(keys(0, 1), retain(RetentionPolicy.first(2), cursors));
+        assertEquals(keys(1, 2, 3), retain(RetentionPolicy.furthest(), cursors));
+    }
+
+    /**
+     * A política não guarda estado entre reconhecimentos.
+     */
+    @Test
+    public void policyIsStateless() {
+        RetentionPolicy policy = RetentionPolicy.first(1);
+        assertEquals(RetentionPolicy.Mode.FIRST, policy.getMode());
+        assertEquals(1, policy.getLimit());
+        assertEquals(keys(0), retain(policy, 1, 1));
+        assertEquals(keys(0), retain(policy, 1, 1));
+    }
+
+    /**
+     * A quantidade de caminhos do modo dos primeiros caminhos deve ser
+     * positiva.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void firstLimitMustBePositive() {
+        RetentionPolicy.first(0);
+    }
+
+    /**
+     * A política não altera o resultado do reconhecimento, e a mesma política
+     * pode ser utilizada em reconhecimentos sucessivos.
+     */
+    @Test
+    public void resultDoesNotDependOnPolicy() {
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("M", "q0", "q9").
+                symbol("q0", "a", "q1").
+                symbol("q0", "a", "q2").
+                symbol("q0", "a", "q3").
+                symbol("q3", "b", "q9").
+                build();
+        RetentionPolicy[] policies = { RetentionPolicy.all(),
+            RetentionPolicy.accepting(), RetentionPolicy.first(1),
+            RetentionPolicy.furthest() };
+        int[] sizes = { 3, 1, 1, 2 };
+        for (int i = 0; i < policies.length; i++) {
+            automaton.setRetentionPolicy(policies[i]);
+            for (int j = 0; j < 2; j++) {
+                assertTrue(automaton.recognize(ExampleUtils.convert("ab")));
+                assertEquals(sizes[i], automaton.getRecognitionPaths().size());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import br.usp.poli.lta.cereda.aa.utils.RecognitionPath;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import org.junit.Test;
+
+/**
+ * Testes dos escalonadores de threads pendentes.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class SchedulersTest {
+
+    // comparador que prioriza as threads de maior cursor
+    private static final Comparator<Kernel> FURTHEST = new Comparator<Kernel>() {
+        @Override
+        public int compare(Kernel a, Kernel b) {
+            return Integer.compare(b.getCursor(), a.getCursor());
+        }
+    };
+
+    /**
+     * Cria uma thread pendente com o cursor informado.
+     * @param cursor Cursor.
+     * @return Thread pendente.
+     */
+    private static Kernel kernel(int cursor) {
+        Kernel kernel = new Kernel(new ArrayList<Kernel>(),
+                new ArrayList<Integer>(),
+                new HashMap<Integer, RecognitionPath>());
+        kernel.setCursor(cursor);
+        return kernel;
+    }
+
+    /**
+     * Oferece as threads informadas e verifica a ordem de retirada.
+     * @param scheduler Escalonador.
+     * @param offered Threads oferecidas, em ordem.
+     * @param expected Ordem esperada de retirada, por índice das threads
+     * oferecidas.
+     */
+    private static void assertOrder(Scheduler scheduler, Kernel[] offered,
+            int... expected) {
+        for (Kernel k : offered) {
+            scheduler.offer(k);
+        }
+        assertEquals(offered.length, scheduler.size());
+        for (int i : expected) {
+            assertSame(offered[i], scheduler.poll());
+        }
+        assertTrue(scheduler.isEmpty());
+        assertNull(scheduler.poll());
+    }
+
+    /**
+     * O escalonador em largura retira as threads na ordem de criação.
+     */
+    @Test
+    public void breadthFirstOrder() {
+        Kernel[] kernels = { kernel(0), kernel(2), kernel(1) };
+        assertOrder(new BreadthFirstScheduler(), kernels, 0, 1, 2);
+    }
+
+    /**
+     * O escalonador em profundidade explora cada bifurcação na ordem de
+     * criação, mas prioriza as threads criadas mais recentemente.
+     */
+    @Test
+    public void depthFirstOrder() {
+        Kernel[] kernels = { kernel(0), kernel(1), kernel(2), kernel(3) };
+        Scheduler scheduler = new DepthFirstScheduler();
+        scheduler.offer(kernels[0]);
+        scheduler.offer(kernels[1]);
+        assertSame(kernels[0], scheduler.poll());
+        scheduler.offer(kernels[2]);
+        scheduler.offer(kernels[3]);
+        assertEquals(3, scheduler.size());
+        assertSame(kernels[2], scheduler.poll());
+        assertSame(kernels[3], scheduler.poll());
+        assertSame(kernels[1], scheduler.poll());
+        assertTrue(scheduler.isEmpty());
+        assertNull(scheduler.poll());
+    }
+
+    /**
+     * O escalonador pela melhor escolha segue o comparador e desempata pela
+     * ordem de criação.
+     */
+    @Test
+    public void bestFirstOrder() {
+        Kernel[] kernels = { kernel(1), kernel(3), kernel(1), kernel(2) };
+        assertOrder(new BestFirstScheduler(FURTHEST), kernels, 1, 3, 0, 2);
+    }
+
+    /**
+     * A limpeza remove todas as threads pendentes.
+     */
+    @Test
+    public void clearEmptiesTheFrontier() {
+        Scheduler scheduler = new BestFirstScheduler(FURTHEST);
+        scheduler.offer(kernel(0));
+        scheduler.offer(kernel(1));
+        scheduler.clear();
+        assertTrue(scheduler.isEmpty());
+        assertEquals(0, scheduler.size());
+    }
+
+    /**
+     * Com a parada no primeiro resultado, a melhor escolha pelo maior cursor
+     * encontra a aceitação com menos passos do que a busca em largura.
+     */
+    @Test
+    public void bestFirstFindsAcceptanceSooner() {
+        AutomatonBuilder builder = new AutomatonBuilder().
+                submachine("M", "q0", "q9");
+        for (int i = 1; i <= 4; i++) {
+            builder.epsilon("q0", "p" + i).epsilon("p" + i, "r" + i).
+                    epsilon("r" + i, "s" + i).symbol("s" + i, "b", "q9");
+        }
+        builder.symbol("q0", "a", "q8").symbol("q8", "b", "q9");
+        AdaptiveAutomaton plain = builder.build();
+        plain.setStopAtFirstResult(true);
+        assertTrue(plain.recognize(ExampleUtils.convert("ab")));
+        AdaptiveAutomaton best = builder.build();
+        best.setStopAtFirstResult(true);
+        best.setScheduler(new BestFirstScheduler(FURTHEST));
+        assertTrue(best.recognize(ExampleUtils.convert("ab")));
+        assertTrue(best.getStatistics().getSteps() <
+                plain.getStatistics().getSteps());
+    }
+
+}
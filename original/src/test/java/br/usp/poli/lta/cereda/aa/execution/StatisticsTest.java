@@ -0,0 +1,158 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.execution;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import org.junit.Test;
+
+/**
+ * Testes dos limites de recursos e das estatísticas do reconhecimento.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class StatisticsTest {
+
+    /**
+     * Cria um autômato cujo laço em vazio nunca termina sem limites.
+     * @return Autômato adaptativo.
+     */
+    private static AdaptiveAutomaton loop() {
+        return new AutomatonBuilder().
+                submachine("M", "q0", "q2").
+                epsilon("q0", "q1").
+                epsilon("q1", "q0").
+                symbol("q0", "a", "q2").
+                build();
+    }
+
+    /**
+     * Os limites são verificados a cada passo, e o primeiro limite esgotado
+     * define o desfecho.
+     */
+    @Test
+    public void limitsDefineTheOutcome() {
+        Statistics statistics = new Statistics(2, 0, 1, 0);
+        assertTrue(statistics.step(0));
+        assertFalse(statistics.step(2));
+        assertEquals(Outcome.STACK_LIMIT_EXCEEDED, statistics.getOutcome());
+        assertTrue(statistics.isExceeded());
+        assertFalse(statistics.step(0));
+        assertEquals(2, statistics.getSteps());
+        statistics.finish(false);
+        assertEquals(Outcome.STACK_LIMIT_EXCEEDED, statistics.getOutcome());
+        statistics = new Statistics(0, 1, 0, 0);
+        assertNull(statistics.getOutcome());
+        assertTrue(statistics.threads(1));
+        assertFalse(statistics.threads(2));
+        assertEquals(Outcome.THREAD_LIMIT_EXCEEDED, statistics.getOutcome());
+    }
+
+    /**
+     * Um resultado positivo prevalece sobre um limite esgotado, e o
+     * cancelamento não substitui um desfecho já definido.
+     */
+    @Test
+    public void acceptanceAndCancellation() {
+        Statistics statistics = new Statistics(1, 0, 0, 0);
+        statistics.step(0);
+        statistics.step(0);
+        statistics.finish(true);
+        assertEquals(Outcome.ACCEPTED, statistics.getOutcome());
+        assertFalse(statistics.isExceeded());
+        statistics.cancel();
+        assertEquals(Outcome.ACCEPTED, statistics.getOutcome());
+        statistics = new Statistics(0, 0, 0, 0);
+        statistics.cancel();
+        assertEquals(Outcome.CANCELLED, statistics.getOutcome());
+        assertTrue(statistics.isExceeded());
+    }
+
+    /**
+     * O limite de passos interrompe um reconhecimento que não termina.
+     */
+    @Test
+    public void stepLimit() {
+        AdaptiveAutomaton automaton = loop();
+        automaton.setMaximumSteps(50);
+        assertFalse(automaton.recognize(ExampleUtils.convert("b")));
+        assertEquals(Outcome.STEP_LIMIT_EXCEEDED,
+                automaton.getStatistics().getOutcome());
+        assertEquals(51, automaton.getStatistics().getSteps());
+    }
+
+    /**
+     * O limite de tempo interrompe um reconhecimento que não termina.
+     */
+    @Test
+    public void timeLimit() {
+        AdaptiveAutomaton automaton = loop();
+        automaton.setTimeLimit(100);
+        assertFalse(automaton.recognize(ExampleUtils.convert("b")));
+        assertEquals(Outcome.TIME_LIMIT_EXCEEDED,
+                automaton.getStatistics().getOutcome());
+        assertTrue(automaton.getStatistics().getElapsedTime() >= 100);
+    }
+
+    /**
+     * O limite de profundidade da pilha interrompe uma recursão sem fim.
+     */
+    @Test
+    public void stackLimit() {
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("E", "e0", "e2").
+                call("e0", "E", "e1").
+                symbol("e1", "a", "e2").
+                build();
+        automaton.setMaximumStackDepth(10);
+        assertFalse(automaton.recognize(ExampleUtils.convert("a")));
+        assertEquals(Outcome.STACK_LIMIT_EXCEEDED,
+                automaton.getStatistics().getOutcome());
+        assertEquals(11, automaton.getStatistics().getPeakStackDepth());
+    }
+
+    /**
+     * O limite de threads simultâneas interrompe uma bifurcação excessiva.
+     */
+    @Test
+    public void threadLimit() {
+        AutomatonBuilder builder = new AutomatonBuilder().
+                submachine("M", "q0", "q9");
+        for (int i = 1; i <= 5; i++) {
+            builder.symbol("q0", "a", "q" + i).symbol("q" + i, "b", "q9");
+        }
+        AdaptiveAutomaton automaton = builder.build();
+        assertTrue(automaton.recognize(ExampleUtils.convert("ab")));
+        assertEquals(Outcome.ACCEPTED,
+                automaton.getStatistics().getOutcome());
+        assertTrue(automaton.getStatistics().getPeakThreads() >= 5);
+        automaton.setMaximumThreads(2);
+        assertFalse(automaton.recognize(ExampleUtils.convert("ab")));
+        assertEquals(Outcome.THREAD_LIMIT_EXCEEDED,
+                automaton.getStatistics().getOutcome());
+    }
+
+}
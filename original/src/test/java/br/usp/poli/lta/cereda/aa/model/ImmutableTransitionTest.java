@@ -0,0 +1,148 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.transition;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.execution.AdaptiveAutomaton;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import br.usp.poli.lta.cereda.aa.model.sets.Mapping;
+import br.usp.poli.lta.cereda.aa.utils.Immutable;
+import org.junit.Test;
+
+/**
+ * Testes das transições imutáveis e do modo de transições imutáveis do
+ * conjunto de transições.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class ImmutableTransitionTest {
+
+    /**
+     * A transição imutável mantém o identificador e os atributos da
+     * transição original.
+     */
+    @Test
+    public void conversionKeepsIdentity() {
+        Transition t = transition("q0", "a", "q1");
+        Transition immutable = ImmutableTransition.of(t);
+        assertTrue(immutable instanceof Immutable);
+        assertEquals(t.getIdentifier(), immutable.getIdentifier());
+        assertEquals(t.getSourceState(), immutable.getSourceState());
+        assertEquals(t.getSymbol(), immutable.getSymbol());
+        assertEquals(t.getTargetState(), immutable.getTargetState());
+        assertSame(immutable, ImmutableTransition.of(immutable));
+        assertSame(immutable, immutable.copy());
+    }
+
+    /**
+     * Os métodos de alteração lançam uma exceção.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void settersFail() {
+        ImmutableTransition.of(transition("q0", "a", "q1")).
+                setTargetState(state("q2"));
+    }
+
+    /**
+     * Os vetores de parâmetros das ações não podem ser alterados através da
+     * transição imutável.
+     */
+    @Test
+    public void argumentsAreNotExposed() {
+        Transition t = transition("q0", "a", "q1");
+        t.setPostActionCall("A");
+        t.setPostActionArguments(new Object[] { "x" });
+        Transition immutable = ImmutableTransition.of(t);
+        immutable.getPostActionArguments()[0] = "y";
+        assertEquals("x", immutable.getPostActionArguments()[0]);
+    }
+
+    /**
+     * No modo de transições imutáveis, as transições existentes e as
+     * adicionadas são convertidas, e a substituição troca a transição de
+     * mesmo identificador.
+     */
+    @Test
+    public void frozenMappingsStoreImmutableTransitions() {
+        Mapping mapping = new Mapping();
+        Transition t1 = transition("q0", "a", "q1");
+        mapping.add(t1);
+        mapping.setFrozen(true);
+        mapping.add(transition("q1", "b", "q2"));
+        for (Transition t : mapping.getTransitions()) {
+            assertTrue(t instanceof Immutable);
+        }
+        Transition changed = t1.copy();
+        changed.setTargetState(state("q3"));
+        mapping.replace(changed);
+        assertEquals(2, mapping.size());
+        Transition stored = mapping.withSourceState(state("q0")).get(0);
+        assertEquals(t1.getIdentifier(), stored.getIdentifier());
+        assertEquals(state("q3"), stored.getTargetState());
+        assertTrue(stored instanceof Immutable);
+    }
+
+    /**
+     * O modo de transições imutáveis não altera a linguagem reconhecida,
+     * inclusive com ações que substituem transições.
+     */
+    @Test
+    public void frozenAutomataRecognizeTheSameLanguage() {
+        for (long seed = 0; seed < 100; seed++) {
+            AutomatonBuilder builder = AutomatonBuilder.random(seed);
+            String input = AutomatonBuilder.input(seed);
+            boolean expected = builder.build().recognize(
+                    ExampleUtils.convert(input));
+            assertEquals("semente " + seed, expected, builder.frozen().
+                    build().recognize(ExampleUtils.convert(input)));
+        }
+        Action move = new Action("A") {
+            @Override
+            public void execute(Mapping transitions, Transition transition,
+                    Object... parameters) {
+                for (Transition t : transitions.withSourceState(
+                        state("q1"))) {
+                    Transition changed = new Transition();
+                    changed.setTransition(t.getSourceState(), t.getSymbol(),
+                            state("q2"));
+                    changed.setIdentifier(t.getIdentifier());
+                    transitions.replace(changed);
+                }
+            }
+        };
+        AdaptiveAutomaton automaton = new AutomatonBuilder().
+                submachine("M", "q0", "q2").
+                symbol("q0", "a", "q1").post("A").
+                symbol("q1", "b", "q3").
+                action(move).frozen().
+                build();
+        assertTrue(automaton.recognize(ExampleUtils.convert("ab")));
+        assertFalse(automaton.recognize(ExampleUtils.convert("a")));
+    }
+
+}
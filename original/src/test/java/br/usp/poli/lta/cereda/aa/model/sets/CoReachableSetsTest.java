@@ -0,0 +1,133 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.transition;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.examples.ExampleSymbol;
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Submachine;
+import br.usp.poli.lta.cereda.aa.model.Symbol;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.junit.Test;
+
+/**
+ * Testes dos estados co-alcançáveis.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class CoReachableSetsTest {
+
+    // símbolos utilizados nos testes
+    private static final Symbol A = new ExampleSymbol("a");
+    private static final Symbol B = new ExampleSymbol("b");
+
+    // conjunto de transições e submáquinas utilizados nos testes
+    private final Mapping mapping = new Mapping();
+    private final SubmachinesSet submachines = new SubmachinesSet();
+
+    /**
+     * Construtor. Cria a submáquina M, na qual q3 é um beco sem saída e a
+     * chamada de N a partir de q0 nunca retorna, e a submáquina N, cujo
+     * estado final é inalcançável.
+     */
+    public CoReachableSetsTest() {
+        submachine("M", "q0", "q1", "q3", "q4", "q2");
+        submachine("N", "p0", "p1", "p2");
+        mapping.add(transition("q0", "a", "q1"));
+        mapping.add(transition("q1", "b", "q2"));
+        mapping.add(transition("q0", "b", "q3"));
+        Transition call = new Transition();
+        call.setSubmachineCall(state("q0"), "N", state("q1"));
+        mapping.add(call);
+        mapping.add(transition("p0", "a", "p1"));
+    }
+
+    /**
+     * Adiciona uma submáquina cujo único estado final é o último estado
+     * informado.
+     * @param name Nome da submáquina.
+     * @param states Estados; o primeiro é o inicial.
+     */
+    private void submachine(String name, String... states) {
+        HashSet<State> set = new HashSet<>();
+        for (String s : Arrays.asList(states)) {
+            set.add(state(s));
+        }
+        submachines.add(new Submachine(name, set, state(states[0]),
+                new HashSet<State>(Collections.singleton(
+                        state(states[states.length - 1])))));
+    }
+
+    /**
+     * Apenas os estados que alcançam um estado final de sua submáquina são
+     * co-alcançáveis.
+     */
+    @Test
+    public void onlyStatesReachingAcceptanceAreCoReachable() {
+        CoReachableSets sets = mapping.getCoReachableSets(submachines);
+        assertTrue(sets.isCoReachable(state("q0")));
+        assertTrue(sets.isCoReachable(state("q1")));
+        assertTrue(sets.isCoReachable(state("q2")));
+        assertFalse(sets.isCoReachable(state("q3")));
+        assertFalse(sets.isCoReachable(state("p0")));
+        assertTrue(sets.isStable());
+    }
+
+    /**
+     * Transições para becos sem saída e chamadas que nunca retornam estão
+     * condenadas.
+     */
+    @Test
+    public void doomedTransitionsAreDetected() {
+        CoReachableSets sets = mapping.getCoReachableSets(submachines);
+        assertTrue(sets.isDoomed(mapping.withSourceStateAndSymbol(
+                state("q0"), B).get(0)));
+        assertFalse(sets.isDoomed(mapping.withSourceStateAndSymbol(
+                state("q0"), A).get(0)));
+        assertTrue(sets.isDoomed(mapping.withSubmachine("N").get(0)));
+    }
+
+    /**
+     * Os estados são recalculados após alterações, e estados que alcançam
+     * ações são considerados co-alcançáveis.
+     */
+    @Test
+    public void changesAndActionsAreTakenIntoAccount() {
+        CoReachableSets sets = mapping.getCoReachableSets(submachines);
+        assertFalse(sets.isCoReachable(state("p0")));
+        mapping.add(transition("p1", "b", "p2"));
+        assertTrue(sets.isCoReachable(state("p0")));
+        assertFalse(sets.isDoomed(mapping.withSubmachine("N").get(0)));
+        Transition t = transition("q3", "a", "q4");
+        t.setPostActionCall("X");
+        mapping.add(t);
+        assertFalse(sets.isStable());
+        assertTrue(sets.isCoReachable(state("q3")));
+    }
+
+}
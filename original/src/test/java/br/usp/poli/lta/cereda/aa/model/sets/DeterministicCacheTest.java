@@ -0,0 +1,134 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.transition;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.examples.ExampleSymbol;
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Symbol;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.Arrays;
+import java.util.HashSet;
+import org.junit.Test;
+
+/**
+ * Testes do cache de subconjuntos determinísticos.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class DeterministicCacheTest {
+
+    // símbolos utilizados nos testes
+    private static final Symbol A = new ExampleSymbol("a");
+    private static final Symbol B = new ExampleSymbol("b");
+
+    /**
+     * Cria um conjunto de estados a partir dos nomes informados.
+     * @param names Nomes dos estados.
+     * @return Conjunto de estados.
+     */
+    private static HashSet<State> states(String... names) {
+        HashSet<State> result = new HashSet<>();
+        for (String name : Arrays.asList(names)) {
+            result.add(state(name));
+        }
+        return result;
+    }
+
+    /**
+     * Cria o conjunto de transições de '(a|b)*a' com uma bifurcação em q0.
+     * @return Conjunto de transições.
+     */
+    private static Mapping nondeterministic() {
+        Mapping mapping = new Mapping();
+        mapping.add(transition("q0", "a", "q0"));
+        mapping.add(transition("q0", "b", "q0"));
+        mapping.add(transition("q0", "a", "q1"));
+        mapping.add(transition("q1", null, "q2"));
+        return mapping;
+    }
+
+    /**
+     * Os sucessores são os fechos em vazio dos destinos de todos os estados
+     * do subconjunto.
+     */
+    @Test
+    public void successorsFollowTheSubsetConstruction() {
+        DeterministicCache cache = nondeterministic().getDeterministicCache();
+        DeterministicState initial = cache.getInitialState(state("q0"));
+        assertEquals(states("q0"), initial.getStates());
+        assertTrue(initial.isActionFree());
+        DeterministicState afterA = cache.getSuccessor(initial, A);
+        assertEquals(states("q0", "q1", "q2"), afterA.getStates());
+        assertEquals(states("q0"), cache.getSuccessor(afterA, B).getStates());
+        assertTrue(cache.getSuccessor(cache.getInitialState(state("q2")), A).
+                isEmpty());
+    }
+
+    /**
+     * Os estados determinísticos são compartilhados entre consultas.
+     */
+    @Test
+    public void statesAreInterned() {
+        DeterministicCache cache = nondeterministic().getDeterministicCache();
+        DeterministicState initial = cache.getInitialState(state("q0"));
+        DeterministicState afterB = cache.getSuccessor(initial, B);
+        assertSame(initial, afterB);
+        assertSame(cache.getSuccessor(initial, A),
+                cache.getSuccessor(initial, A));
+    }
+
+    /**
+     * Estados com transições que possuem ações não estão livres de ações.
+     */
+    @Test
+    public void actionsAreDetected() {
+        Mapping mapping = nondeterministic();
+        Transition t = transition("q2", "a", "q0");
+        t.setPostActionCall("X");
+        mapping.add(t);
+        DeterministicCache cache = mapping.getDeterministicCache();
+        assertFalse(cache.getInitialState(state("q1")).isActionFree());
+        assertTrue(cache.getInitialState(state("q0")).isActionFree());
+    }
+
+    /**
+     * A alteração das transições de um estado invalida os sucessores já
+     * calculados que o envolvem.
+     */
+    @Test
+    public void changesInvalidateAffectedEntries() {
+        Mapping mapping = nondeterministic();
+        DeterministicCache cache = mapping.getDeterministicCache();
+        DeterministicState initial = cache.getInitialState(state("q0"));
+        assertEquals(states("q0"), cache.getSuccessor(initial, B).getStates());
+        mapping.add(transition("q0", "b", "q3"));
+        assertEquals(states("q0", "q3"),
+                cache.getSuccessor(initial, B).getStates());
+    }
+
+}
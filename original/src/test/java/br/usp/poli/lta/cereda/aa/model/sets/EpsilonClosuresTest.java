@@ -0,0 +1,142 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.examples.ExampleSymbol;
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * Testes dos fechos em vazio do conjunto de transições.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class EpsilonClosuresTest {
+
+    /**
+     * Cria uma transição em vazio.
+     * @param from Estado de origem.
+     * @param to Estado de destino.
+     * @return Transição.
+     */
+    private static Transition epsilon(String from, String to) {
+        Transition t = new Transition();
+        t.setTransition(state(from), null, state(to));
+        return t;
+    }
+
+    /**
+     * Obtém os estados de destino dos atalhos informados.
+     * @param shortcuts Atalhos.
+     * @return Conjunto de estados de destino.
+     */
+    private static Set<State> targets(List<Transition> shortcuts) {
+        Set<State> result = new HashSet<>();
+        for (Transition t : shortcuts) {
+            result.add(t.getTargetState());
+        }
+        return result;
+    }
+
+    /**
+     * O fecho contém todos os estados alcançáveis por transições em vazio
+     * puras, inclusive através de ciclos, exceto o próprio estado.
+     */
+    @Test
+    public void closureFollowsPureEpsilonTransitions() {
+        Mapping mapping = new Mapping();
+        mapping.add(epsilon("q0", "q1"));
+        mapping.add(epsilon("q1", "q2"));
+        mapping.add(epsilon("q2", "q0"));
+        Transition t = new Transition();
+        t.setTransition(state("q2"), new ExampleSymbol("a"), state("q3"));
+        mapping.add(t);
+        List<Transition> shortcuts = mapping.getEpsilonClosures().
+                getShortcuts(state("q0"));
+        Set<State> expected = new HashSet<>();
+        expected.add(state("q1"));
+        expected.add(state("q2"));
+        assertEquals(expected, targets(shortcuts));
+        for (Transition shortcut : shortcuts) {
+            assertTrue(shortcut.isEpsilonTransition());
+            assertTrue(mapping.getEpsilonClosures().isShortcut(shortcut));
+        }
+    }
+
+    /**
+     * Transições em vazio com ações não participam do fecho.
+     */
+    @Test
+    public void transitionsWithActionsAreExcluded() {
+        Mapping mapping = new Mapping();
+        Transition t = epsilon("q0", "q1");
+        t.setPriorActionCall("A");
+        mapping.add(t);
+        assertTrue(mapping.getEpsilonClosures().getShortcuts(state("q0")).
+                isEmpty());
+        assertFalse(EpsilonClosures.isPure(t));
+    }
+
+    /**
+     * Os fechos são recalculados quando as transições em vazio mudam.
+     */
+    @Test
+    public void closuresAreInvalidatedByEpsilonChanges() {
+        Mapping mapping = new Mapping();
+        mapping.add(epsilon("q0", "q1"));
+        assertEquals(1, mapping.getEpsilonClosures().
+                getShortcuts(state("q0")).size());
+        Transition t = epsilon("q1", "q2");
+        mapping.add(t);
+        assertEquals(2, mapping.getEpsilonClosures().
+                getShortcuts(state("q0")).size());
+        mapping.removeFromIdentifier(t.getIdentifier());
+        assertEquals(1, mapping.getEpsilonClosures().
+                getShortcuts(state("q0")).size());
+    }
+
+    /**
+     * Os atalhos de um mesmo estado são reaproveitados enquanto as
+     * transições em vazio não mudam.
+     */
+    @Test
+    public void shortcutsAreCached() {
+        Mapping mapping = new Mapping();
+        mapping.add(epsilon("q0", "q1"));
+        List<Transition> first = mapping.getEpsilonClosures().
+                getShortcuts(state("q0"));
+        Transition t = new Transition();
+        t.setTransition(state("q1"), new ExampleSymbol("a"), state("q2"));
+        mapping.add(t);
+        assertTrue(first == mapping.getEpsilonClosures().
+                getShortcuts(state("q0")));
+    }
+
+}
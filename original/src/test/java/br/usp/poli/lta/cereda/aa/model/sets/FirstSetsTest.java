@@ -0,0 +1,141 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.transition;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.examples.ExampleSymbol;
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Submachine;
+import br.usp.poli.lta.cereda.aa.model.Symbol;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.junit.Test;
+
+/**
+ * Testes dos conjuntos primeiro.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class FirstSetsTest {
+
+    // símbolos utilizados nos testes
+    private static final Symbol A = new ExampleSymbol("a");
+    private static final Symbol B = new ExampleSymbol("b");
+    private static final Symbol C = new ExampleSymbol("c");
+
+    // conjunto de transições e submáquinas utilizados nos testes
+    private final Mapping mapping = new Mapping();
+    private final SubmachinesSet submachines = new SubmachinesSet();
+
+    /**
+     * Construtor. Cria a submáquina M, que consome 'a' após uma transição em
+     * vazio ou chama N e consome 'b', e a submáquina anulável N, que consome
+     * 'c' ou nada.
+     */
+    public FirstSetsTest() {
+        submachine("M", "q0", "q2", "q4");
+        submachine("N", "p0", "p1", "p2");
+        mapping.add(transition("q0", null, "q1"));
+        mapping.add(transition("q1", "a", "q2"));
+        Transition call = new Transition();
+        call.setSubmachineCall(state("q0"), "N", state("q3"));
+        mapping.add(call);
+        mapping.add(transition("q3", "b", "q4"));
+        mapping.add(transition("p0", "c", "p1"));
+        mapping.add(transition("p0", null, "p2"));
+    }
+
+    /**
+     * Adiciona uma submáquina cujo único estado final é o último estado
+     * informado.
+     * @param name Nome da submáquina.
+     * @param states Estados; o primeiro é o inicial.
+     */
+    private void submachine(String name, String... states) {
+        HashSet<State> set = new HashSet<>();
+        for (String s : Arrays.asList(states)) {
+            set.add(state(s));
+        }
+        submachines.add(new Submachine(name, set, state(states[0]),
+                new HashSet<State>(Collections.singleton(
+                        state(states[states.length - 1])))));
+    }
+
+    /**
+     * O conjunto primeiro atravessa transições em vazio e chamadas, e segue
+     * adiante quando a submáquina chamada é anulável.
+     */
+    @Test
+    public void firstSetsFollowEpsilonsAndCalls() {
+        FirstSets sets = mapping.getFirstSets(submachines);
+        assertEquals(new HashSet<>(Arrays.asList(A, B, C)),
+                sets.getFirst(state("q0")));
+        assertEquals(Collections.singleton(A), sets.getFirst(state("q1")));
+        assertTrue(sets.getFirst(state("q4")).isEmpty());
+        assertTrue(sets.isNullable(state("p0")));
+        assertFalse(sets.isNullable(state("q0")));
+        assertTrue(sets.isStable());
+    }
+
+    /**
+     * Transições em vazio e chamadas que não consomem o símbolo corrente são
+     * descartadas, e as demais são mantidas.
+     */
+    @Test
+    public void excludesOnlyHopelessCandidates() {
+        FirstSets sets = mapping.getFirstSets(submachines);
+        Transition epsilon = mapping.withEpsilonFromSourceState(
+                state("q0")).get(0);
+        assertTrue(sets.excludes(epsilon, B));
+        assertFalse(sets.excludes(epsilon, A));
+        Transition call = mapping.withSubmachine("N").get(0);
+        assertFalse(sets.excludes(call, C));
+        assertFalse(sets.excludes(call, B));
+        assertTrue(sets.excludes(call, A));
+        assertFalse(sets.excludes(transition("q1", "a", "q2"), B));
+    }
+
+    /**
+     * Estados que alcançam ações não são previsíveis, e os conjuntos são
+     * recalculados após alterações.
+     */
+    @Test
+    public void actionsDisableExclusion() {
+        FirstSets sets = mapping.getFirstSets(submachines);
+        Transition epsilon = mapping.withEpsilonFromSourceState(
+                state("q0")).get(0);
+        assertTrue(sets.excludes(epsilon, B));
+        Transition t = transition("q1", null, "q5");
+        t.setPostActionCall("X");
+        mapping.add(t);
+        assertFalse(sets.isStable());
+        assertTrue(sets.hasActions(state("q0")));
+        assertFalse(sets.excludes(epsilon, B));
+    }
+
+}
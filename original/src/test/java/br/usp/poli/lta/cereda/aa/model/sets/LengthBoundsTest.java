@@ -0,0 +1,143 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.transition;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import br.usp.poli.lta.cereda.aa.execution.AdaptiveAutomaton;
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Submachine;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import org.junit.Test;
+
+/**
+ * Testes dos limites de comprimento.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class LengthBoundsTest {
+
+    // conjunto de transições e submáquinas utilizados nos testes
+    private final Mapping mapping = new Mapping();
+    private final SubmachinesSet submachines = new SubmachinesSet();
+
+    /**
+     * Construtor. Cria a submáquina M, que consome 'a', chama N e consome
+     * 'b', ou alcança o estado final diretamente por um atalho em vazio a
+     * partir de q1, e a submáquina N, que consome 'aa'.
+     */
+    public LengthBoundsTest() {
+        submachine("M", "q0", "q1", "q2", "q5", "q3");
+        submachine("N", "p0", "p1", "p2");
+        mapping.add(transition("q0", "a", "q1"));
+        Transition call = new Transition();
+        call.setSubmachineCall(state("q1"), "N", state("q2"));
+        mapping.add(call);
+        mapping.add(transition("q2", "b", "q3"));
+        mapping.add(transition("q5", null, "q3"));
+        mapping.add(transition("p0", "a", "p1"));
+        mapping.add(transition("p1", "a", "p2"));
+    }
+
+    /**
+     * Adiciona uma submáquina cujo único estado final é o último estado
+     * informado.
+     * @param name Nome da submáquina.
+     * @param states Estados; o primeiro é o inicial.
+     */
+    private void submachine(String name, String... states) {
+        HashSet<State> set = new HashSet<>();
+        for (String s : Arrays.asList(states)) {
+            set.add(state(s));
+        }
+        submachines.add(new Submachine(name, set, state(states[0]),
+                new HashSet<State>(Collections.singleton(
+                        state(states[states.length - 1])))));
+    }
+
+    /**
+     * O limite conta os símbolos consumidos, inclusive dentro das
+     * submáquinas chamadas, e não conta as transições em vazio.
+     */
+    @Test
+    public void boundsCountConsumedSymbols() {
+        LengthBounds bounds = mapping.getLengthBounds(submachines);
+        assertEquals(4, bounds.getBound(state("q0")));
+        assertEquals(3, bounds.getBound(state("q1")));
+        assertEquals(0, bounds.getBound(state("q5")));
+        assertEquals(2, bounds.getBound(state("p0")));
+        assertEquals(LengthBounds.UNBOUNDED, bounds.getBound(state("x")));
+        assertTrue(bounds.isStable());
+    }
+
+    /**
+     * Os limites são recalculados após alterações, e os estados de origem de
+     * transições com ações possuem limite nulo.
+     */
+    @Test
+    public void changesAndActionsAreTakenIntoAccount() {
+        LengthBounds bounds = mapping.getLengthBounds(submachines);
+        assertEquals(3, bounds.getBound(state("q1")));
+        mapping.add(transition("q1", null, "q5"));
+        assertEquals(0, bounds.getBound(state("q1")));
+        assertEquals(1, bounds.getBound(state("q0")));
+        Transition t = transition("p0", "b", "p1");
+        t.setPriorActionCall("X");
+        mapping.add(t);
+        assertFalse(bounds.isStable());
+        assertEquals(0, bounds.getBound(state("p0")));
+    }
+
+    /**
+     * Com o modo habilitado, configurações cuja cadeia restante é curta
+     * demais são rejeitadas sem alterar o resultado.
+     */
+    @Test
+    public void shortInputsAreRejectedEarly() {
+        AutomatonBuilder builder = new AutomatonBuilder().
+                submachine("M", "q0", "q9").
+                symbol("q0", "a", "q1").
+                symbol("q1", "a", "q2").
+                symbol("q2", "a", "q3").
+                symbol("q3", "a", "q4").
+                symbol("q4", "b", "q9").
+                symbol("q0", "a", "r1").
+                symbol("r1", "a", "q9");
+        AdaptiveAutomaton plain = builder.build();
+        assertTrue(plain.recognize(ExampleUtils.convert("aa")));
+        AdaptiveAutomaton bounded = builder.build();
+        bounded.setLengthBound(true);
+        assertTrue(bounded.recognize(ExampleUtils.convert("aa")));
+        assertTrue(bounded.getStatistics().getSteps() <
+                plain.getStatistics().getSteps());
+        assertFalse(bounded.recognize(ExampleUtils.convert("aaa")));
+    }
+
+}
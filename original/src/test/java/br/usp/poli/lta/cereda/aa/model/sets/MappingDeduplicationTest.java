@@ -0,0 +1,214 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.transition;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.AutomatonBuilder;
+import br.usp.poli.lta.cereda.aa.examples.ExampleUtils;
+import br.usp.poli.lta.cereda.aa.execution.AdaptiveAutomaton;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * Testes da eliminação de duplicatas estruturais do conjunto de transições.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class MappingDeduplicationTest {
+
+    /**
+     * Transições estruturalmente equivalentes são adicionadas uma única vez.
+     */
+    @Test
+    public void structuralDuplicatesAreIgnored() {
+        Mapping mapping = new Mapping();
+        mapping.setDeduplication(true);
+        mapping.add(transition("q0", "a", "q1"));
+        mapping.add(transition("q0", "a", "q1"));
+        mapping.add(transition("q0", "b", "q1"));
+        assertEquals(2, mapping.size());
+    }
+
+    /**
+     * Sem a eliminação de duplicatas, as transições equivalentes são mantidas.
+     */
+    @Test
+    public void duplicatesAreKeptWithoutDeduplication() {
+        Mapping mapping = new Mapping();
+        mapping.add(transition("q0", "a", "q1"));
+        mapping.add(transition("q0", "a", "q1"));
+        assertEquals(2, mapping.size());
+    }
+
+    /**
+     * A ativação do modo remove as duplicatas já existentes.
+     */
+    @Test
+    public void enablingDeduplicationRemovesExistingDuplicates() {
+        Mapping mapping = new Mapping();
+        mapping.add(transition("q0", "a", "q1"));
+        mapping.add(transition("q0", "a", "q1"));
+        mapping.add(transition("q1", "a", "q0"));
+        mapping.setDeduplication(true);
+        assertEquals(2, mapping.size());
+    }
+
+    /**
+     * As duplicatas removidas pela ativação do modo são descontadas da
+     * impressão digital e alteram as versões do conjunto e dos estados de
+     * origem envolvidos.
+     */
+    @Test
+    public void enablingDeduplicationUpdatesFingerprintAndVersions() {
+        Mapping mapping = new Mapping();
+        mapping.add(transition("q0", "a", "q1"));
+        mapping.add(transition("q0", "a", "q1"));
+        mapping.add(transition("q1", null, "q2"));
+        mapping.add(transition("q1", null, "q2"));
+        mapping.add(transition("q2", "b", "q0"));
+        long version = mapping.getVersion();
+        long epsilonVersion = mapping.getEpsilonVersion();
+        long source = mapping.getVersion(state("q0"));
+        long untouched = mapping.getVersion(state("q2"));
+        mapping.setDeduplication(true);
+        assertEquals(3, mapping.size());
+        assertEquals(unique().getFingerprint(), mapping.getFingerprint());
+        assertTrue(mapping.getVersion() > version);
+        assertTrue(mapping.getEpsilonVersion() > epsilonVersion);
+        assertTrue(mapping.getVersion(state("q0")) > source);
+        assertEquals(untouched, mapping.getVersion(state("q2")));
+    }
+
+    /**
+     * A substituição do conjunto com o modo ativo remove as duplicatas e
+     * mantém a impressão digital e as versões consistentes.
+     */
+    @Test
+    public void settingTransitionsRemovesDuplicates() {
+        Mapping mapping = new Mapping();
+        mapping.setDeduplication(true);
+        Set<Transition> transitions = new HashSet<>();
+        transitions.add(transition("q0", "a", "q1"));
+        transitions.add(transition("q0", "a", "q1"));
+        transitions.add(transition("q1", null, "q2"));
+        transitions.add(transition("q2", "b", "q0"));
+        mapping.setTransitions(transitions);
+        long epsilonVersion = mapping.getEpsilonVersion();
+        assertEquals(3, mapping.size());
+        assertEquals(unique().getFingerprint(), mapping.getFingerprint());
+        assertTrue(mapping.getVersion(state("q0")) >
+                mapping.getVersion(state("q2")));
+        mapping.add(transition("q1", null, "q2"));
+        assertEquals(3, mapping.size());
+        assertEquals(epsilonVersion, mapping.getEpsilonVersion());
+    }
+
+    /**
+     * Cria um conjunto de transições sem duplicatas, equivalente aos
+     * conjuntos deduplicados dos testes.
+     * @return Conjunto de transições.
+     */
+    private static Mapping unique() {
+        Mapping mapping = new Mapping();
+        mapping.add(transition("q0", "a", "q1"));
+        mapping.add(transition("q1", null, "q2"));
+        mapping.add(transition("q2", "b", "q0"));
+        return mapping;
+    }
+
+    /**
+     * Os parâmetros das ações fazem parte da chave canônica.
+     */
+    @Test
+    public void actionArgumentsDistinguishTransitions() {
+        Mapping mapping = new Mapping();
+        mapping.setDeduplication(true);
+        Transition first = transition("q0", "a", "q1");
+        first.setPostActionCall("A");
+        first.setPostActionArguments(new Object[] { "x" });
+        Transition second = transition("q0", "a", "q1");
+        second.setPostActionCall("A");
+        second.setPostActionArguments(new Object[] { "y" });
+        mapping.add(first);
+        mapping.add(second);
+        assertEquals(2, mapping.size());
+    }
+
+    /**
+     * A prioridade faz parte da chave canônica, pois altera a ordem das
+     * alternativas na escolha ordenada.
+     */
+    @Test
+    public void priorityDistinguishesTransitions() {
+        Transition first = transition("q0", "a", "q1");
+        Transition second = transition("q0", "a", "q1");
+        second.setPriority(1);
+        assertFalse(new TransitionKey(first).equals(new TransitionKey(second)));
+        Mapping mapping = new Mapping();
+        mapping.setDeduplication(true);
+        mapping.add(first);
+        mapping.add(second);
+        assertEquals(2, mapping.size());
+    }
+
+    /**
+     * Uma transição removida libera a sua chave canônica.
+     */
+    @Test
+    public void removedTransitionCanBeAddedAgain() {
+        Mapping mapping = new Mapping();
+        mapping.setDeduplication(true);
+        Transition first = transition("q0", "a", "q1");
+        mapping.add(first);
+        mapping.removeFromIdentifier(first.getIdentifier());
+        assertEquals(0, mapping.size());
+        Transition second = transition("q0", "a", "q1");
+        mapping.add(second);
+        assertEquals(1, mapping.size());
+        assertTrue(mapping.hasIdentifier(second.getIdentifier()));
+        assertFalse(mapping.hasIdentifier(first.getIdentifier()));
+    }
+
+    /**
+     * As duplicatas não bifurcam o reconhecimento.
+     */
+    @Test
+    public void duplicatesDoNotForkRecognition() {
+        AutomatonBuilder builder = new AutomatonBuilder().
+                submachine("M", "q0", "q1").
+                symbol("q0", "a", "q1").
+                symbol("q0", "a", "q1");
+        AdaptiveAutomaton plain = builder.build();
+        assertTrue(plain.recognize(ExampleUtils.convert("a")));
+        assertEquals(2, plain.getRecognitionPaths().size());
+        AdaptiveAutomaton unique = builder.deduplication().build();
+        assertTrue(unique.recognize(ExampleUtils.convert("a")));
+        assertEquals(1, unique.getRecognitionPaths().size());
+    }
+
+}
@@ -0,0 +1,142 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.transition;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import org.junit.Test;
+
+/**
+ * Testes da impressão digital estrutural do conjunto de transições e da sua
+ * consistência com os índices e com a trilha de alterações.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class MappingFingerprintTest {
+
+    /**
+     * A impressão digital independe da ordem das adições e dos
+     * identificadores das transições.
+     */
+    @Test
+    public void fingerprintIgnoresOrderAndIdentifiers() {
+        Mapping first = new Mapping();
+        first.add(transition("q0", "a", "q1"));
+        first.add(transition("q1", "b", "q2"));
+        Mapping second = new Mapping();
+        second.add(transition("q1", "b", "q2"));
+        second.add(transition("q0", "a", "q1"));
+        assertEquals(first.getFingerprint(), second.getFingerprint());
+        second.add(transition("q2", "c", "q3"));
+        assertFalse(first.getFingerprint() == second.getFingerprint());
+        second.removeFromIdentifier(second.withSourceState(state("q2")).
+                get(0).getIdentifier());
+        assertEquals(first.getFingerprint(), second.getFingerprint());
+    }
+
+    /**
+     * A substituição de uma transição atualiza a impressão digital.
+     */
+    @Test
+    public void replaceUpdatesTheFingerprint() {
+        Mapping mapping = new Mapping();
+        Transition t = transition("q0", "a", "q1");
+        mapping.add(t);
+        long before = mapping.getFingerprint();
+        Transition replacement = transition("q0", "a", "q2");
+        replacement.setIdentifier(t.getIdentifier());
+        mapping.replace(replacement);
+        assertFalse(before == mapping.getFingerprint());
+        Mapping expected = new Mapping();
+        expected.add(transition("q0", "a", "q2"));
+        assertEquals(expected.getFingerprint(), mapping.getFingerprint());
+    }
+
+    /**
+     * A remoção desconta a impressão digital com a qual a transição foi
+     * armazenada, de modo que uma alteração direta não desvia a impressão
+     * digital do conjunto.
+     */
+    @Test
+    public void mutationDoesNotMakeTheFingerprintDrift() {
+        Mapping mapping = new Mapping();
+        Transition t = transition("q0", "a", "q1");
+        mapping.add(t);
+        mapping.add(transition("q1", "b", "q2"));
+        t.setTargetState(state("q9"));
+        mapping.removeFromIdentifier(t.getIdentifier());
+        assertFalse(mapping.hasIdentifier(t.getIdentifier()));
+        Mapping expected = new Mapping();
+        expected.add(transition("q1", "b", "q2"));
+        assertEquals(expected.getFingerprint(), mapping.getFingerprint());
+    }
+
+    /**
+     * Uma transição alterada diretamente após a inserção é removida também
+     * do índice de chaves canônicas.
+     */
+    @Test
+    public void mutatedTransitionsLeaveTheIndex() {
+        Mapping mapping = new Mapping();
+        mapping.setDeduplication(true);
+        Transition t = transition("q0", "a", "q1");
+        mapping.add(t);
+        t.setTargetState(state("q2"));
+        mapping.removeFromIdentifier(t.getIdentifier());
+        assertEquals(0, mapping.size());
+        mapping.add(transition("q0", "a", "q1"));
+        mapping.add(transition("q0", "a", "q2"));
+        assertEquals(2, mapping.size());
+    }
+
+    /**
+     * Desfazer a remoção de uma transição alterada diretamente a restaura,
+     * ainda que sua estrutura corrente coincida com a de outra transição.
+     */
+    @Test
+    public void undoRestoresMutatedTransitions() {
+        Mapping mapping = new Mapping();
+        mapping.setDeduplication(true);
+        Transition t1 = transition("q0", "a", "q1");
+        Transition t2 = transition("q0", "a", "q2");
+        mapping.add(t1);
+        mapping.add(t2);
+        long fingerprint = mapping.getFingerprint();
+        int mark = mapping.mark();
+        mapping.removeFromIdentifier(t1.getIdentifier());
+        t1.setTargetState(state("q2"));
+        mapping.undo(mark);
+        assertEquals(2, mapping.size());
+        assertTrue(mapping.hasIdentifier(t1.getIdentifier()));
+        assertEquals(fingerprint, mapping.getFingerprint());
+        mapping.removeFromIdentifier(t1.getIdentifier());
+        mapping.removeFromIdentifier(t2.getIdentifier());
+        assertEquals(0, mapping.size());
+        mapping.add(transition("q0", "a", "q1"));
+        assertEquals(1, mapping.size());
+    }
+
+}
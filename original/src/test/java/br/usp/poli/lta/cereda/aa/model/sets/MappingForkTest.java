@@ -0,0 +1,205 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.transition;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Testes das bifurcações do conjunto de transições.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class MappingForkTest {
+
+    /**
+     * Cria uma lista de transições distintas.
+     * @param count Quantidade de transições.
+     * @return Lista de transições.
+     */
+    private static List<Transition> transitions(int count) {
+        List<Transition> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            result.add(transition("q" + i, "a", "q" + (i + 1)));
+        }
+        return result;
+    }
+
+    /**
+     * As alterações no conjunto original e na bifurcação não são visíveis um
+     * no outro.
+     */
+    @Test
+    public void forksAreIndependent() {
+        Mapping mapping = new Mapping();
+        List<Transition> list = transitions(100);
+        for (Transition t : list) {
+            mapping.add(t);
+        }
+        Mapping fork = mapping.fork();
+        fork.removeFromIdentifier(list.get(0).getIdentifier());
+        fork.add(transition("x", "b", "y"));
+        mapping.add(transition("z", "b", "w"));
+        assertEquals(101, mapping.size());
+        assertEquals(100, fork.size());
+        assertTrue(mapping.hasIdentifier(list.get(0).getIdentifier()));
+        assertFalse(fork.hasIdentifier(list.get(0).getIdentifier()));
+        assertTrue(mapping.withSourceState(state("x")).isEmpty());
+        assertTrue(fork.withSourceState(state("z")).isEmpty());
+        assertFalse(mapping.getVersion(state("q0")) ==
+                fork.getVersion(state("q0")));
+    }
+
+    /**
+     * Bifurcações sucessivas preservam o conteúdo de cada geração.
+     */
+    @Test
+    public void nestedForksKeepTheirContents() {
+        Mapping mapping = new Mapping();
+        List<Transition> list = transitions(10);
+        for (Transition t : list) {
+            mapping.add(t);
+        }
+        Mapping child = mapping.fork();
+        child.removeFromIdentifier(list.get(1).getIdentifier());
+        Mapping grandchild = child.fork();
+        grandchild.removeFromIdentifier(list.get(2).getIdentifier());
+        child.removeFromIdentifier(list.get(3).getIdentifier());
+        assertEquals(10, mapping.size());
+        assertEquals(8, child.size());
+        assertEquals(8, grandchild.size());
+        assertTrue(grandchild.hasIdentifier(list.get(3).getIdentifier()));
+        assertTrue(child.hasIdentifier(list.get(2).getIdentifier()));
+    }
+
+    /**
+     * A bifurcação mantém a eliminação de duplicatas.
+     */
+    @Test
+    public void forksKeepDeduplication() {
+        Mapping mapping = new Mapping();
+        mapping.setDeduplication(true);
+        mapping.add(transition("q0", "a", "q1"));
+        Mapping fork = mapping.fork();
+        fork.add(transition("q0", "a", "q1"));
+        assertEquals(1, fork.size());
+        assertEquals(mapping.getFingerprint(), fork.getFingerprint());
+    }
+
+    /**
+     * O custo de uma bifurcação independe da quantidade de estados, uma vez
+     * que os índices, as versões por estado e os fechos em vazio são
+     * compartilhados com cópia sob escrita; copiá-los a cada bifurcação
+     * excederia o tempo limite.
+     */
+    @Test(timeout = 10000)
+    public void forkCostDoesNotDependOnStates() {
+        Mapping mapping = new Mapping();
+        mapping.setDeduplication(true);
+        for (Transition t : transitions(100000)) {
+            mapping.add(t);
+        }
+        mapping.add(transition("q0", null, "q2"));
+        assertEquals(1, mapping.getEpsilonClosures().
+                getShortcuts(state("q0")).size());
+        Mapping fork = null;
+        for (int i = 0; i < 20000; i++) {
+            fork = mapping.fork();
+        }
+        fork.add(transition("q0", "a", "q1"));
+        fork.add(transition("q1", "b", "q0"));
+        assertEquals(100002, fork.size());
+        assertEquals(100001, mapping.size());
+        assertEquals(mapping.getVersion(state("q5")),
+                fork.getVersion(state("q5")));
+        assertFalse(mapping.getVersion(state("q1")) ==
+                fork.getVersion(state("q1")));
+        assertTrue(fork.getEpsilonClosures().isShortcut(
+                mapping.getEpsilonClosures().getShortcuts(state("q0")).get(0)));
+    }
+
+    /**
+     * O mapa com cópia sob escrita mantém as alterações de cada bifurcação
+     * independentes.
+     */
+    @Test
+    public void forkableMapsAreIndependent() {
+        ForkableMap<String, Integer> map = new ForkableMap<>();
+        for (int i = 0; i < 200; i++) {
+            map.put("k" + i, i);
+        }
+        ForkableMap<String, Integer> fork = map.fork();
+        fork.remove("k0");
+        fork.put("k1", -1);
+        map.put("k200", 200);
+        map.put(null, 0);
+        assertEquals(202, map.size());
+        assertEquals(199, fork.size());
+        assertEquals(Integer.valueOf(1), map.get("k1"));
+        assertEquals(Integer.valueOf(-1), fork.get("k1"));
+        assertTrue(map.containsKey("k0"));
+        assertFalse(fork.containsKey("k0"));
+        assertFalse(fork.containsKey("k200"));
+        assertTrue(map.containsKey(null));
+        fork.clear();
+        assertEquals(0, fork.size());
+        assertEquals(202, map.size());
+    }
+
+    /**
+     * O conjunto com cópia sob escrita se comporta como um conjunto comum,
+     * inclusive na remoção através do iterador.
+     */
+    @Test
+    public void forkableSetsBehaveAsSets() {
+        List<Transition> list = transitions(200);
+        ForkableTransitionSet set = new ForkableTransitionSet(list);
+        assertEquals(200, set.size());
+        assertFalse(set.add(list.get(0)));
+        ForkableTransitionSet fork = set.fork();
+        Iterator<Transition> iterator = fork.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getIdentifier() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        assertEquals(200, set.size());
+        assertEquals(new HashSet<>(list), new HashSet<>(set));
+        for (Transition t : fork) {
+            assertTrue(t.getIdentifier() % 2 != 0);
+            assertTrue(set.contains(t));
+        }
+        fork.clear();
+        assertTrue(fork.isEmpty());
+        assertEquals(200, set.size());
+    }
+
+}
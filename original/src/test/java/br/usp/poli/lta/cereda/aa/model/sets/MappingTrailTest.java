@@ -0,0 +1,122 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.transition;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.examples.ExampleSymbol;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * Testes da trilha de alterações do conjunto de transições.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class MappingTrailTest {
+
+    /**
+     * Cria um conjunto de transições com duas transições.
+     * @return Conjunto de transições.
+     */
+    private static Mapping mapping() {
+        Mapping mapping = new Mapping();
+        mapping.add(transition("q0", "a", "q1"));
+        mapping.add(transition("q1", "b", "q2"));
+        return mapping;
+    }
+
+    /**
+     * Desfazer as alterações registradas após uma marcação restaura o
+     * conteúdo e a impressão digital do conjunto.
+     */
+    @Test
+    public void undoRestoresTheMarkedContents() {
+        Mapping mapping = mapping();
+        Set<Transition> before = new HashSet<>(mapping.getTransitions());
+        long fingerprint = mapping.getFingerprint();
+        int mark = mapping.mark();
+        Transition removed = mapping.withSourceState(state("q0")).get(0);
+        mapping.removeFromIdentifier(removed.getIdentifier());
+        mapping.add(transition("q2", "c", "q3"));
+        Transition replacement = new Transition();
+        replacement.setTransition(state("q1"), new ExampleSymbol("b"),
+                state("q4"));
+        replacement.setIdentifier(mapping.withSourceState(state("q1")).
+                get(0).getIdentifier());
+        mapping.replace(replacement);
+        mapping.setTransitions(new HashSet<Transition>());
+        mapping.add(transition("q5", "a", "q5"));
+        mapping.undo(mark);
+        assertEquals(before, new HashSet<>(mapping.getTransitions()));
+        assertEquals(fingerprint, mapping.getFingerprint());
+    }
+
+    /**
+     * As marcações são aninhadas, e desfazer uma marcação interna preserva
+     * as alterações anteriores a ela.
+     */
+    @Test
+    public void marksAreNested() {
+        Mapping mapping = mapping();
+        int outer = mapping.mark();
+        mapping.add(transition("q2", "c", "q3"));
+        int inner = mapping.mark();
+        mapping.add(transition("q3", "d", "q4"));
+        mapping.undo(inner);
+        assertEquals(3, mapping.size());
+        assertTrue(mapping.withSourceState(state("q3")).isEmpty());
+        mapping.undo(outer);
+        assertEquals(2, mapping.size());
+        assertTrue(mapping.withSourceState(state("q2")).isEmpty());
+    }
+
+    /**
+     * As versões continuam crescentes durante a reversão, de modo que as
+     * estruturas derivadas sejam invalidadas.
+     */
+    @Test
+    public void undoAdvancesVersions() {
+        Mapping mapping = mapping();
+        int mark = mapping.mark();
+        mapping.add(transition("q0", "b", "q2"));
+        long version = mapping.getVersion(state("q0"));
+        mapping.undo(mark);
+        assertTrue(mapping.getVersion(state("q0")) > version);
+        assertFalse(mapping.getVersion() <= version);
+    }
+
+    /**
+     * Uma marcação que não pertence à trilha é rejeitada.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownMarksAreRejected() {
+        Mapping mapping = mapping();
+        mapping.undo(mapping.mark() + 1);
+    }
+
+}
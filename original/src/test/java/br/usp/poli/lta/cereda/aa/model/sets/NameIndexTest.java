@@ -0,0 +1,216 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.model.sets;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import br.usp.poli.lta.cereda.aa.model.Action;
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Submachine;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * Testes dos índices de nomes e estados dos conjuntos de ações e de
+ * submáquinas.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class NameIndexTest {
+
+    /**
+     * Cria uma ação sem efeito.
+     * @param name Nome da ação.
+     * @return Ação.
+     */
+    private static Action action(String name) {
+        return new Action(name) {
+            @Override
+            public void execute(Mapping transitions, Transition transition,
+                    Object... parameters) {
+            }
+        };
+    }
+
+    /**
+     * Cria uma submáquina cujos estados são informados pelos nomes.
+     * @param name Nome da submáquina.
+     * @param states Nomes dos estados; o primeiro é o inicial e o último é
+     * o de aceitação.
+     * @return Submáquina.
+     */
+    private static Submachine submachine(String name, String... states) {
+        Set<State> set = new HashSet<>();
+        for (String s : states) {
+            set.add(state(s));
+        }
+        return new Submachine(name, set, state(states[0]),
+                new HashSet<>(Arrays.asList(state(states[states.length - 1]))));
+    }
+
+    /**
+     * As ações são resolvidas pelo nome.
+     */
+    @Test
+    public void actionIsResolvedByName() {
+        ActionsSet set = new ActionsSet();
+        Action a = action("A");
+        Action b = action("B");
+        set.add(a);
+        set.add(b);
+        assertSame(a, set.fromName("A"));
+        assertSame(b, set.fromName("B"));
+    }
+
+    /**
+     * Um nome inexistente resulta em uma exceção de argumento inválido.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownActionIsRejected() {
+        new ActionsSet().fromName("X");
+    }
+
+    /**
+     * Uma ação removida através do conjunto exposto deixa de ser resolvida.
+     */
+    @Test
+    public void actionRemovedThroughViewIsUnindexed() {
+        ActionsSet set = new ActionsSet();
+        Action a = action("A");
+        set.add(a);
+        set.getActions().remove(a);
+        assertEquals(0, set.size());
+        try {
+            set.fromName("A");
+            fail("A ação removida não deveria ser encontrada.");
+        }
+        catch (IllegalArgumentException expected) {
+        }
+    }
+
+    /**
+     * Uma ação removida através do iterador do conjunto exposto deixa de ser
+     * resolvida, e uma nova ação de mesmo nome é resolvida.
+     */
+    @Test
+    public void actionRemovedThroughIteratorIsReplaced() {
+        ActionsSet set = new ActionsSet();
+        set.add(action("A"));
+        Iterator<Action> iterator = set.getActions().iterator();
+        iterator.next();
+        iterator.remove();
+        Action replacement = action("A");
+        set.getActions().add(replacement);
+        assertSame(replacement, set.fromName("A"));
+    }
+
+    /**
+     * As submáquinas são resolvidas pelo nome e pelos seus estados.
+     */
+    @Test
+    public void submachineIsResolvedByNameAndState() {
+        SubmachinesSet set = new SubmachinesSet();
+        Submachine m = submachine("M", "m0", "m1");
+        Submachine n = submachine("N", "n0", "n1");
+        set.add(m);
+        set.add(n);
+        assertSame(m, set.getFromName("M"));
+        assertSame(n, set.getFromState(state("n1")));
+        assertSame(m, set.getFromState(state("m0")));
+    }
+
+    /**
+     * Um estado inexistente resulta em uma exceção de argumento inválido.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownStateIsRejected() {
+        SubmachinesSet set = new SubmachinesSet();
+        set.add(submachine("M", "m0", "m1"));
+        set.getFromState(state("x"));
+    }
+
+    /**
+     * Uma submáquina removida através do conjunto exposto deixa de ser
+     * resolvida pelo nome e pelos estados.
+     */
+    @Test
+    public void submachineRemovedThroughViewIsUnindexed() {
+        SubmachinesSet set = new SubmachinesSet();
+        Submachine m = submachine("M", "m0", "m1");
+        set.add(m);
+        assertSame(m, set.getFromState(state("m0")));
+        set.getSubmachines().remove(m);
+        assertFalse(set.getSubmachines().contains(m));
+        try {
+            set.getFromName("M");
+            fail("A submáquina removida não deveria ser encontrada.");
+        }
+        catch (IllegalArgumentException expected) {
+        }
+        try {
+            set.getFromState(state("m0"));
+            fail("O estado da submáquina removida não deveria ser encontrado.");
+        }
+        catch (IllegalArgumentException expected) {
+        }
+    }
+
+    /**
+     * Um estado acrescentado a uma submáquina após a inserção é encontrado.
+     */
+    @Test
+    public void stateAddedAfterInsertionIsFound() {
+        SubmachinesSet set = new SubmachinesSet();
+        Submachine m = submachine("M", "m0", "m1");
+        set.add(m);
+        m.getStates().add(state("m2"));
+        assertSame(m, set.getFromState(state("m2")));
+    }
+
+    /**
+     * A remoção pelo nome remove a submáquina dos índices.
+     */
+    @Test
+    public void submachineRemovedByNameIsUnindexed() {
+        SubmachinesSet set = new SubmachinesSet();
+        set.add(submachine("M", "m0", "m1"));
+        Submachine n = submachine("N", "n0", "n1");
+        set.add(n);
+        set.removeByName("M");
+        assertEquals(1, set.size());
+        assertSame(n, set.getFromName("N"));
+        try {
+            set.getFromState(state("m1"));
+            fail("O estado da submáquina removida não deveria ser encontrado.");
+        }
+        catch (IllegalArgumentException expected) {
+        }
+    }
+
+}
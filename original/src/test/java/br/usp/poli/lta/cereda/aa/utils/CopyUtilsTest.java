@@ -0,0 +1,185 @@
+/**
+* ------------------------------------------------------
+*    Laboratório de Linguagens e Técnicas Adaptativas
+*       Escola Politécnica, Universidade São Paulo
+* ------------------------------------------------------
+* 
+* This program is free software: you can redistribute it
+* and/or modify  it under the  terms of the  GNU General
+* Public  License  as  published by  the  Free  Software
+* Foundation, either  version 3  of the License,  or (at
+* your option) any later version.
+* 
+* This program is  distributed in the hope  that it will
+* be useful, but WITHOUT  ANY WARRANTY; without even the
+* implied warranty  of MERCHANTABILITY or FITNESS  FOR A
+* PARTICULAR PURPOSE. See the GNU General Public License
+* for more details.
+* 
+**/
+package br.usp.poli.lta.cereda.aa.utils;
+
+import static br.usp.poli.lta.cereda.aa.AutomatonBuilder.state;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import br.usp.poli.lta.cereda.aa.examples.ExampleSymbol;
+import br.usp.poli.lta.cereda.aa.model.ImmutableTransition;
+import br.usp.poli.lta.cereda.aa.model.Stack;
+import br.usp.poli.lta.cereda.aa.model.State;
+import br.usp.poli.lta.cereda.aa.model.Submachine;
+import br.usp.poli.lta.cereda.aa.model.Transition;
+import br.usp.poli.lta.cereda.aa.model.sets.SubmachinesSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Testes das cópias de objetos do modelo.
+ * @author Paulo Roberto Massa Cereda
+ * @version 1.0
+ * @since 1.0
+ */
+public class CopyUtilsTest {
+
+    /**
+     * Objeto compartilhado entre o objeto copiado e a sua cópia.
+     */
+    private static class Shared {
+    }
+
+    /**
+     * Objeto que referencia um objeto compartilhado e uma lista.
+     */
+    private static class Holder {
+        private final Shared shared = new Shared();
+        private final List<String> values = new ArrayList<>();
+    }
+
+    /**
+     * Objetos nulos e imutáveis são compartilhados por referência.
+     */
+    @Test
+    public void nullAndImmutableAreShared() {
+        assertNull(CopyUtils.copy(null));
+        Transition t = new Transition();
+        t.setTransition(state("q0"), new ExampleSymbol("a"), state("q1"));
+        Transition immutable = ImmutableTransition.of(t);
+        assertSame(immutable, CopyUtils.copy(immutable));
+    }
+
+    /**
+     * A cópia de uma transição mantém o identificador e não compartilha os
+     * parâmetros das ações.
+     */
+    @Test
+    public void transitionCopiesAreIndependent() {
+        Transition t = new Transition();
+        t.setTransition(state("q0"), new ExampleSymbol("a"), state("q1"));
+        t.setPostActionCall("A");
+        t.setPostActionArguments(new Object[] { new StringBuilder("x") });
+        Transition copy = CopyUtils.copy(t);
+        assertNotSame(t, copy);
+        assertEquals(t.getIdentifier(), copy.getIdentifier());
+        assertEquals(t.getSourceState(), copy.getSourceState());
+        assertNotSame(t.getPostActionArguments(),
+                copy.getPostActionArguments());
+        ((StringBuilder) copy.getPostActionArguments()[0]).append("y");
+        assertEquals("x", t.getPostActionArguments()[0].toString());
+        copy.setTargetState(state("q2"));
+        assertEquals(state("q1"), t.getTargetState());
+    }
+
+    /**
+     * A cópia da pilha é independente da original.
+     */
+    @Test
+    public void stackCopiesAreIndependent() {
+        Stack stack = new Stack();
+        stack.push(state("q0"));
+        stack.push(state("q1"));
+        Stack copy = CopyUtils.copy(stack);
+        assertEquals(state("q1"), copy.pop());
+        copy.push(state("q2"));
+        copy.push(state("q3"));
+        assertEquals(state("q1"), stack.pop());
+        assertEquals(state("q0"), stack.pop());
+        assertTrue(stack.isEmpty());
+        assertEquals(state("q3"), copy.pop());
+        assertEquals(state("q2"), copy.pop());
+        assertEquals(state("q0"), copy.pop());
+        assertTrue(copy.isEmpty());
+    }
+
+    /**
+     * A cópia do conjunto de submáquinas mantém os índices de nomes e de
+     * estados e é independente do original.
+     */
+    @Test
+    public void submachinesCopiesAreIndependent() {
+        SubmachinesSet set = new SubmachinesSet();
+        set.add(new Submachine("M", new HashSet<State>(Arrays.asList(
+                state("q0"), state("q1"))), state("q0"),
+                new HashSet<State>(Collections.singleton(state("q1")))));
+        SubmachinesSet copy = CopyUtils.copy(set);
+        assertNotSame(set.getFromName("M"), copy.getFromName("M"));
+        assertEquals("M", copy.getFromState(state("q1")).getName());
+        copy.removeByName("M");
+        assertTrue(copy.getSubmachines().isEmpty());
+        assertEquals("M", set.getFromName("M").getName());
+    }
+
+    /**
+     * A cópia de um caminho de reconhecimento é independente do original.
+     */
+    @Test
+    public void recognitionPathCopiesAreIndependent() {
+        RecognitionPath path = new RecognitionPath();
+        path.addPath("t1");
+        RecognitionPath copy = CopyUtils.copy(path);
+        assertEquals(path.getIdentifier(), copy.getIdentifier());
+        copy.addPath("t2");
+        copy.setResult(true);
+        assertEquals(1, path.getPath().size());
+        assertFalse(path.done());
+    }
+
+    /**
+     * Objetos que não são imutáveis nem copiáveis são clonados
+     * profundamente, e as listas têm seus elementos copiados.
+     */
+    @Test
+    public void othersAreDeepCloned() {
+        List<StringBuilder> list = new ArrayList<>();
+        list.add(new StringBuilder("a"));
+        List<StringBuilder> clone = CopyUtils.copy(list);
+        clone.get(0).append("b");
+        assertEquals("a", list.get(0).toString());
+        List<StringBuilder> copy = CopyUtils.copyList(list);
+        assertNotSame(list.get(0), copy.get(0));
+        assertEquals("a", copy.get(0).toString());
+        assertNull(CopyUtils.copyList(null));
+    }
+
+    /**
+     * As instâncias informadas como compartilhadas não são clonadas, ao
+     * contrário dos demais atributos, e apenas na cópia em questão.
+     */
+    @Test
+    public void sharedInstancesAreNotCloned() {
+        Holder holder = new Holder();
+        Holder copy = CopyUtils.copy(holder, holder.shared, null);
+        assertNotSame(holder, copy);
+        assertSame(holder.shared, copy.shared);
+        assertNotSame(holder.values, copy.values);
+        assertNotSame(holder.shared, CopyUtils.copy(holder).shared);
+    }
+
+}